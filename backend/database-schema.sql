@@ -1,5 +1,6 @@
 -- Todo应用数据库初始化脚本
 -- 在MySQL中执行此脚本来创建数据库和表结构
+-- 注意：应用启动时由Flyway执行src/main/resources/db/migration下的版本化脚本，本文件仅供手工建库参考
 
 -- 创建数据库
 CREATE DATABASE IF NOT EXISTS todoapp CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
@@ -7,26 +8,167 @@ CREATE DATABASE IF NOT EXISTS todoapp CHARACTER SET utf8mb4 COLLATE utf8mb4_unic
 -- 使用数据库
 USE todoapp;
 
+-- 创建todo_descriptions表，存放完整描述，列表查询不会读取
+CREATE TABLE IF NOT EXISTS todo_descriptions (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    body TEXT NOT NULL
+);
+
 -- 创建todos表
 CREATE TABLE IF NOT EXISTS todos (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    tenant_id VARCHAR(64) NOT NULL DEFAULT 'default',
     title VARCHAR(255) NOT NULL,
-    description TEXT,
+    description_id BIGINT,
+    description_preview VARCHAR(120),
+    description_length INT,
+    position VARCHAR(64),
     completed BOOLEAN DEFAULT FALSE,
+    due_at TIMESTAMP NULL,
+    remind_at TIMESTAMP NULL,
+    recurrence_id BIGINT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
 
+-- 创建archived_todos表，存放归档的已完成Todo（描述GZIP压缩），ID沿用原Todo
+CREATE TABLE IF NOT EXISTS archived_todos (
+    id BIGINT PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description_preview VARCHAR(120),
+    description_length INT,
+    description_gzip BLOB,
+    completed BOOLEAN NOT NULL DEFAULT TRUE,
+    due_at TIMESTAMP NULL,
+    recurrence_id BIGINT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+-- 创建import_checkpoints表，记录批量导入已提交的批次
+CREATE TABLE IF NOT EXISTS import_checkpoints (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    job_id VARCHAR(64) NOT NULL,
+    chunk_index INT NOT NULL,
+    imported_count INT NOT NULL,
+    rejected_count INT NOT NULL,
+    committed_at TIMESTAMP NOT NULL,
+    UNIQUE KEY uk_import_checkpoints_job_chunk (job_id, chunk_index)
+);
+
+-- 创建idempotency_keys表，多节点部署时保存带Idempotency-Key的写请求响应
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(64) PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    status INT NULL,
+    content_type VARCHAR(100),
+    body MEDIUMBLOB,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    INDEX idx_idempotency_keys_expires_at (expires_at)
+);
+
+-- 创建todo_closure表，保存子任务的所有祖先/后代路径（闭包表）
+CREATE TABLE IF NOT EXISTS todo_closure (
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    INDEX idx_todo_closure_descendant_depth (descendant_id, depth)
+);
+
+-- 创建tags表，标签名在租户内唯一
+CREATE TABLE IF NOT EXISTS tags (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL DEFAULT 'default',
+    name VARCHAR(50) NOT NULL,
+    UNIQUE KEY uk_tags_tenant_name (tenant_id, name)
+);
+
+-- 创建todo_tags关联表，(tag_id, todo_id)索引用于按标签过滤
+CREATE TABLE IF NOT EXISTS todo_tags (
+    todo_id BIGINT NOT NULL,
+    tag_id BIGINT NOT NULL,
+    PRIMARY KEY (todo_id, tag_id),
+    INDEX idx_todo_tags_tag_todo (tag_id, todo_id)
+);
+
+-- 创建reminder_leases表，提醒调度的租约，持有者负责加载并触发本库的提醒
+CREATE TABLE IF NOT EXISTS reminder_leases (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(64) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- 创建todo_recurrences表，重复规则只保存一次，Todo实例由后台任务按滚动窗口生成
+CREATE TABLE IF NOT EXISTS todo_recurrences (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    tenant_id VARCHAR(64) NOT NULL DEFAULT 'default',
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    rule VARCHAR(255) NOT NULL,
+    starts_at TIMESTAMP NOT NULL,
+    ends_at TIMESTAMP NULL,
+    next_at TIMESTAMP NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- 创建todo_events表，Todo变更历史只追加，changes保存本次变化的字段
+CREATE TABLE IF NOT EXISTS todo_events (
+    todo_id BIGINT NOT NULL,
+    version INT NOT NULL,
+    tenant_id VARCHAR(64) NOT NULL DEFAULT 'default',
+    event_type VARCHAR(32) NOT NULL,
+    actor VARCHAR(64),
+    changes TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (todo_id, version)
+);
+
+-- 创建todo_snapshots表，每隔固定版本数保存一次完整状态，限制按时间点重建时回放的事件数
+CREATE TABLE IF NOT EXISTS todo_snapshots (
+    todo_id BIGINT NOT NULL,
+    version INT NOT NULL,
+    tenant_id VARCHAR(64) NOT NULL DEFAULT 'default',
+    state TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (todo_id, version)
+);
+
 -- 创建索引优化查询性能
-CREATE INDEX IF NOT EXISTS idx_todos_completed ON todos(completed);
-CREATE INDEX IF NOT EXISTS idx_todos_created_at ON todos(created_at);
-CREATE INDEX IF NOT EXISTS idx_todos_title ON todos(title);
+-- 所有查询都带租户条件，列表按completed过滤、按created_at倒序
+CREATE INDEX IF NOT EXISTS idx_todos_tenant_created_at ON todos(tenant_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_todos_tenant_completed_created_at ON todos(tenant_id, completed, created_at, id);
+-- 归档任务跨租户扫描长时间未更新的已完成Todo
+CREATE INDEX IF NOT EXISTS idx_todos_completed_updated_at ON todos(completed, updated_at, id);
+-- 手动排序与按排序键分页
+CREATE INDEX IF NOT EXISTS idx_todos_tenant_position ON todos(tenant_id, position, id);
+-- 提醒调度按待触发时间加载即将到期的窗口
+CREATE INDEX IF NOT EXISTS idx_todos_remind_at ON todos(remind_at, id);
+-- 重复规则的实例：判断是否还有未完成的实例
+CREATE INDEX IF NOT EXISTS idx_todos_recurrence ON todos(recurrence_id, completed);
+-- 后台任务按下一次生成时间领取规则
+CREATE INDEX IF NOT EXISTS idx_todo_recurrences_next_at ON todo_recurrences(next_at, id);
+-- 变更历史按时间点换算版本
+CREATE INDEX IF NOT EXISTS idx_todo_events_todo_created ON todo_events(todo_id, created_at, version);
+CREATE INDEX IF NOT EXISTS idx_archived_todos_tenant_created_at ON archived_todos(tenant_id, created_at);
+
+-- 从旧版本升级：todos.description中的描述由迁移V10__split_todo_descriptions在启动时拆分到todo_descriptions表，
+-- 确认迁移完成后可执行 ALTER TABLE todos DROP COLUMN description;
 
 -- 插入示例数据
-INSERT IGNORE INTO todos (title, description, completed) VALUES 
-('学习Spring Boot', '完成Spring Boot基础教程', FALSE),
-('完成项目文档', '编写技术架构文档', FALSE),
-('代码审查', '审查待办事项应用代码', TRUE);
+INSERT IGNORE INTO todo_descriptions (id, body) VALUES 
+(1, '完成Spring Boot基础教程'),
+(2, '编写技术架构文档'),
+(3, '审查待办事项应用代码');
+
+INSERT IGNORE INTO todos (title, description_id, description_preview, description_length, completed) VALUES 
+('学习Spring Boot', 1, '完成Spring Boot基础教程', 17, FALSE),
+('完成项目文档', 2, '编写技术架构文档', 8, FALSE),
+('代码审查', 3, '审查待办事项应用代码', 10, TRUE);
 
 -- 显示表结构
 DESCRIBE todos;
@@ -0,0 +1,103 @@
+#!/usr/bin/env bash
+# 启动耗时与首个请求延迟基准
+#
+# 用法: scripts/startup-benchmark.sh <jvm|aot-cds|native> [运行次数]
+#   jvm      普通fat jar（mvn package）
+#   aot-cds  AOT + AppCDS（mvn -Paot package）
+#   native   GraalVM原生镜像（mvn -Pnative native:compile）
+#
+# 环境变量:
+#   APP_ARGS  传给应用的额外参数，例如 "--spring.datasource.url=jdbc:mysql://db:3306/todoapp"
+#   PORT      监听端口，默认18000
+#   JAVA      java可执行文件，默认取JAVA_HOME
+#   READY_PATH  就绪判断的路径，默认/health；prod profile下使用/actuator/health/readiness（预热完成后才返回200）
+#
+# 对比生产启动配置:
+#   scripts/startup-benchmark.sh jvm
+#   APP_ARGS=--spring.profiles.active=prod READY_PATH=/actuator/health/readiness scripts/startup-benchmark.sh jvm
+#
+# 输出每次运行的就绪耗时（进程启动到READY_PATH返回200）、首个和第二个列表请求的延迟以及就绪时的RSS，最后给出中位数
+
+set -euo pipefail
+
+MODE=${1:?usage: $0 <jvm|aot-cds|native> [runs]}
+RUNS=${2:-5}
+PORT=${PORT:-18000}
+READY_PATH=${READY_PATH:-/health}
+JAVA=${JAVA:-${JAVA_HOME:+$JAVA_HOME/bin/}java}
+BASE_DIR=$(cd "$(dirname "$0")/.." && pwd)
+TARGET=$BASE_DIR/target
+BASE_URL=http://localhost:$PORT
+
+# shellcheck disable=SC2206
+EXTRA_ARGS=(--server.port=$PORT ${APP_ARGS:-})
+
+case "$MODE" in
+  jvm)
+    # -Paot构建时可执行fat jar带exec分类器
+    JAR=$(ls "$TARGET"/todo-backend-*-exec.jar 2>/dev/null || ls "$TARGET"/todo-backend-*.jar | grep -v '\.original$')
+    JAR=$(echo "$JAR" | head -1)
+    COMMAND=("$JAVA" -jar "$JAR")
+    ;;
+  aot-cds)
+    JAR=$(ls "$TARGET"/todo-backend-*.jar | grep -v -e '-exec\.jar$' -e '\.original$' | head -1)
+    [[ -f "$TARGET/todo-backend.jsa" ]] || { echo "missing $TARGET/todo-backend.jsa, run: mvn -Paot package" >&2; exit 1; }
+    COMMAND=("$JAVA" -XX:SharedArchiveFile="$TARGET/todo-backend.jsa" -Dspring.aot.enabled=true -jar "$JAR")
+    ;;
+  native)
+    [[ -x "$TARGET/todo-backend" ]] || { echo "missing $TARGET/todo-backend, run: mvn -Pnative native:compile" >&2; exit 1; }
+    COMMAND=("$TARGET/todo-backend")
+    ;;
+  *)
+    echo "unknown mode: $MODE" >&2
+    exit 1
+    ;;
+esac
+
+now_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { if (NR % 2) print v[(NR + 1) / 2]; else print (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+READY=()
+FIRST=()
+SECOND=()
+RSS=()
+
+echo "mode=$MODE runs=$RUNS command=${COMMAND[*]} ${EXTRA_ARGS[*]}"
+for run in $(seq 1 "$RUNS"); do
+  start=$(now_ms)
+  "${COMMAND[@]}" "${EXTRA_ARGS[@]}" > "$TARGET/startup-benchmark-$MODE.log" 2>&1 &
+  pid=$!
+
+  until curl -sf -o /dev/null "$BASE_URL$READY_PATH"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "application exited, see $TARGET/startup-benchmark-$MODE.log" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  ready=$(( $(now_ms) - start ))
+
+  first=$(curl -s -o /dev/null -w '%{time_total}' "$BASE_URL/api/v1/todos" | awk '{ printf "%d", $1 * 1000 }')
+  second=$(curl -s -o /dev/null -w '%{time_total}' "$BASE_URL/api/v1/todos" | awk '{ printf "%d", $1 * 1000 }')
+  rss=$(( $(ps -o rss= -p "$pid") / 1024 ))
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+
+  READY+=("$ready")
+  FIRST+=("$first")
+  SECOND+=("$second")
+  RSS+=("$rss")
+  printf 'run %d: ready=%dms first-request=%dms second-request=%dms rss=%dMB\n' "$run" "$ready" "$first" "$second" "$rss"
+done
+
+printf 'median: ready=%sms first-request=%sms second-request=%sms rss=%sMB\n' \
+  "$(printf '%s\n' "${READY[@]}" | median)" \
+  "$(printf '%s\n' "${FIRST[@]}" | median)" \
+  "$(printf '%s\n' "${SECOND[@]}" | median)" \
+  "$(printf '%s\n' "${RSS[@]}" | median)"
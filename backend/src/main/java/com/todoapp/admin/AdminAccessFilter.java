@@ -0,0 +1,69 @@
+package com.todoapp.admin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 管理接口访问控制
+ * /api/v1/admin下的请求必须在X-Admin-Token中携带配置的管理令牌（常量时间比较），否则返回401；
+ * 管理接口只供运维脚本调用，带Origin请求头的浏览器跨域请求（含预检）一律返回403，不参与租户接口的CORS配置
+ */
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class AdminAccessFilter extends OncePerRequestFilter {
+
+    public static final String ADMIN_PATH = "/api/v1/admin/";
+    public static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    private final byte[] token;
+    private final ObjectMapper objectMapper;
+
+    public AdminAccessFilter(String token, ObjectMapper objectMapper) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + ADMIN_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (request.getHeader(HttpHeaders.ORIGIN) != null) {
+            writeError(response, HttpStatus.FORBIDDEN, "Admin API is not available to browsers");
+            return;
+        }
+        String presented = request.getHeader(ADMIN_TOKEN_HEADER);
+        if (presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            log.warn("Rejected admin request {} {} without a valid {}", request.getMethod(),
+                    request.getRequestURI(), ADMIN_TOKEN_HEADER);
+            writeError(response, HttpStatus.UNAUTHORIZED, "Missing or invalid " + ADMIN_TOKEN_HEADER);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(status.value(), message));
+    }
+}
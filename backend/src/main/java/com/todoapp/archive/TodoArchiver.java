@@ -0,0 +1,178 @@
+package com.todoapp.archive;
+
+import com.todoapp.config.ArchiveProperties;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.event.TodoChangedEvent.ChangeType;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 已完成Todo归档任务
+ * 在低峰期把完成时间早于阈值的Todo分批迁移到archived_todos（描述GZIP压缩），
+ * 每批在分片内的一个事务中完成插入归档和删除热数据，热表只保留活跃数据。
+ * 只归档没有子任务的Todo，父任务在其子任务都归档后的下一轮归档
+ */
+@Slf4j
+public class TodoArchiver {
+
+    private static final String SELECT_BATCH =
+            "SELECT id, tenant_id, title, description_id, description_preview, description_length, due_at, recurrence_id, "
+            + "created_at, updated_at FROM todos WHERE completed = TRUE AND updated_at < ? "
+            + "AND NOT EXISTS (SELECT 1 FROM todo_closure c WHERE c.ancestor_id = todos.id) "
+            + "ORDER BY updated_at, id LIMIT ? FOR UPDATE";
+
+    private static final String INSERT_ARCHIVE =
+            "INSERT INTO archived_todos (id, tenant_id, title, description_preview, description_length, description_gzip, "
+            + "completed, due_at, recurrence_id, created_at, updated_at, archived_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, TRUE, ?, ?, ?, ?, ?)";
+
+    private static final RowMapper<HotRow> HOT_ROW_MAPPER = (rs, rowNum) -> {
+        Object descriptionId = rs.getObject("description_id");
+        Object descriptionLength = rs.getObject("description_length");
+        Object recurrenceId = rs.getObject("recurrence_id");
+        return new HotRow(
+                rs.getLong("id"),
+                rs.getString("tenant_id"),
+                rs.getString("title"),
+                descriptionId != null ? ((Number) descriptionId).longValue() : null,
+                rs.getString("description_preview"),
+                descriptionLength != null ? ((Number) descriptionLength).intValue() : null,
+                rs.getTimestamp("due_at"),
+                recurrenceId != null ? ((Number) recurrenceId).longValue() : null,
+                rs.getTimestamp("created_at"),
+                rs.getTimestamp("updated_at"));
+    };
+
+    private final ShardFanOutExecutor shardExecutor;
+    private final ArchiveProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    public TodoArchiver(ShardFanOutExecutor shardExecutor, ArchiveProperties properties,
+                        ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.shardExecutor = shardExecutor;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 归档所有分片上满足条件的已完成Todo
+     * @return 归档的数量
+     */
+    @Scheduled(cron = "${todo.archive.cron:0 30 3 * * *}")
+    public int archiveCompleted() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getOlderThan());
+        long deadline = System.nanoTime() + properties.getMaxRunDuration().toNanos();
+        log.info("Archiving todos completed before {} across {} shards", cutoff, shardExecutor.getShardCount());
+
+        List<Integer> perShard = shardExecutor.execute((shard, jdbc) -> archiveShard(shard, jdbc, cutoff, deadline));
+        int archived = perShard.stream().mapToInt(Integer::intValue).sum();
+
+        log.info("Archived {} completed todos", archived);
+        return archived;
+    }
+
+    private int archiveShard(int shard, JdbcTemplate jdbc, LocalDateTime cutoff, long deadline) {
+        TransactionTemplate transaction = new TransactionTemplate(
+                new DataSourceTransactionManager(Objects.requireNonNull(jdbc.getDataSource())));
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbc);
+
+        int archived = 0;
+        while (System.nanoTime() < deadline) {
+            Integer moved = transaction.execute(status -> archiveBatch(jdbc, named, cutoff));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+            meterRegistry.counter("todo.archive.archived", "shard", String.valueOf(shard)).increment(moved);
+            eventPublisher.publishEvent(TodoChangedEvent.bulk(ChangeType.ARCHIVED));
+            if (moved < properties.getBatchSize() || !pause()) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * 迁移一批：锁定热数据行，写入归档表后删除热数据及其描述
+     */
+    private int archiveBatch(JdbcTemplate jdbc, NamedParameterJdbcTemplate named, LocalDateTime cutoff) {
+        List<HotRow> rows = jdbc.query(SELECT_BATCH, HOT_ROW_MAPPER, Timestamp.valueOf(cutoff), properties.getBatchSize());
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> descriptionIds = rows.stream().map(HotRow::descriptionId).filter(Objects::nonNull).toList();
+        Map<Long, String> descriptions = new HashMap<>();
+        if (!descriptionIds.isEmpty()) {
+            named.query("SELECT id, body FROM todo_descriptions WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", descriptionIds),
+                    rs -> {
+                        descriptions.put(rs.getLong("id"), rs.getString("body"));
+                    });
+        }
+
+        Timestamp archivedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbc.batchUpdate(INSERT_ARCHIVE, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.id());
+            ps.setString(2, row.tenantId());
+            ps.setString(3, row.title());
+            ps.setString(4, row.descriptionPreview());
+            ps.setObject(5, row.descriptionLength());
+            ps.setBytes(6, ArchiveCodec.compress(descriptions.get(row.descriptionId())));
+            ps.setTimestamp(7, row.dueAt());
+            ps.setObject(8, row.recurrenceId());
+            ps.setTimestamp(9, row.createdAt());
+            ps.setTimestamp(10, row.updatedAt());
+            ps.setTimestamp(11, archivedAt);
+        });
+
+        List<Long> ids = rows.stream().map(HotRow::id).toList();
+        named.update("DELETE FROM todos WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids));
+        named.update("DELETE FROM todo_closure WHERE descendant_id IN (:ids)", new MapSqlParameterSource("ids", ids));
+        named.update("DELETE FROM todo_tags WHERE todo_id IN (:ids)", new MapSqlParameterSource("ids", ids));
+        if (!descriptionIds.isEmpty()) {
+            named.update("DELETE FROM todo_descriptions WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", descriptionIds));
+        }
+        return rows.size();
+    }
+
+    private boolean pause() {
+        if (properties.getPauseBetweenBatchesMs() <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.getPauseBetweenBatchesMs());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 待归档的热数据行
+     */
+    private record HotRow(long id, String tenantId, String title, Long descriptionId, String descriptionPreview,
+                          Integer descriptionLength, Timestamp dueAt, Long recurrenceId, Timestamp createdAt,
+                          Timestamp updatedAt) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.todoapp.cache;
+
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 集群缓存失效总线
+ * 将本节点的Todo写事件通过InvalidationTransport广播，并把其他节点的消息分发给本地缓存
+ */
+@Slf4j
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final InvalidationTransport transport;
+    private final List<CacheInvalidationListener> listeners;
+    private final MeterRegistry meterRegistry;
+    private volatile boolean running;
+
+    public CacheInvalidationBus(InvalidationTransport transport, List<CacheInvalidationListener> listeners,
+                                MeterRegistry meterRegistry) {
+        this.transport = transport;
+        this.listeners = listeners;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 在写操作的事务提交前发送失效消息，保证消息与数据同时可见
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        transport.publish(new InvalidationMessage(nodeId, event.getType(), event.getTodoId(), TenantContext.current()));
+        meterRegistry.counter("todo.cache.invalidation.published").increment();
+    }
+
+    void receive(InvalidationMessage message) {
+        if (nodeId.equals(message.nodeId())) {
+            return;
+        }
+        log.debug("Received remote invalidation {}", message);
+        meterRegistry.counter("todo.cache.invalidation.received").increment();
+        for (CacheInvalidationListener listener : listeners) {
+            listener.onRemoteInvalidation(message);
+        }
+    }
+
+    @Override
+    public void start() {
+        transport.start(this::receive);
+        running = true;
+        log.info("Cache invalidation bus started on node {}", nodeId);
+    }
+
+    @Override
+    public void stop() {
+        transport.stop();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,10 @@
+package com.todoapp.cache;
+
+/**
+ * 本地缓存失效监听器
+ * 持有Todo或统计数据本地副本的组件实现此接口，在其他节点写入后清除本地数据
+ */
+public interface CacheInvalidationListener {
+
+    void onRemoteInvalidation(InvalidationMessage message);
+}
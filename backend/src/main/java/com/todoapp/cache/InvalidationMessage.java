@@ -0,0 +1,13 @@
+package com.todoapp.cache;
+
+import com.todoapp.event.TodoChangedEvent.ChangeType;
+
+/**
+ * 集群间传递的缓存失效消息
+ * @param nodeId 发出消息的节点
+ * @param changeType 变更类型
+ * @param todoId 受影响的Todo ID，批量操作时为null
+ * @param tenant 变更所属租户
+ */
+public record InvalidationMessage(String nodeId, ChangeType changeType, Long todoId, String tenant) {
+}
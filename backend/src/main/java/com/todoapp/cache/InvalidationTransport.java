@@ -0,0 +1,25 @@
+package com.todoapp.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * 缓存失效消息传输
+ * 内置实现为JdbcInvalidationTransport，也可以替换为消息队列等实现
+ */
+public interface InvalidationTransport {
+
+    /**
+     * 发送失效消息，在写操作的事务中调用，事务回滚时消息不应被投递
+     */
+    void publish(InvalidationMessage message);
+
+    /**
+     * 开始接收其他节点的失效消息
+     */
+    void start(Consumer<InvalidationMessage> receiver);
+
+    /**
+     * 停止接收
+     */
+    void stop();
+}
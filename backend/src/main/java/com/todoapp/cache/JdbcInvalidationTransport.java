@@ -0,0 +1,209 @@
+package com.todoapp.cache;
+
+import com.todoapp.config.CacheInvalidationProperties;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import com.todoapp.entity.CacheInvalidation;
+import com.todoapp.event.TodoChangedEvent.ChangeType;
+import com.todoapp.repository.CacheInvalidationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 基于数据库表的失效消息传输
+ * 写入方在业务事务中插入cache_invalidations，各节点按id增量轮询所有分片，无需外部消息中间件。
+ * 自增id按分配顺序而非提交顺序可见，每个节点记录自己在各分片上见过的最大id和其下尚未见过的id（空洞）：
+ * 新消息从最大id之后分页读到没有为止，空洞每次轮询按id重新查询，提交晚的事务的消息出现时再投递。
+ * 回滚的事务会留下永远不出现的空洞，在之后又分配了gap-window个id或等待超过gap-timeout-ms后放弃
+ */
+@Slf4j
+public class JdbcInvalidationTransport implements InvalidationTransport {
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, node_id, change_type, todo_id, tenant FROM cache_invalidations ";
+
+    /**
+     * 按id重新查询空洞时每条语句的最大id数
+     */
+    private static final int GAP_QUERY_SIZE = 500;
+
+    private static final long PURGE_INTERVAL_MS = 60_000;
+
+    private final CacheInvalidationRepository repository;
+    private final ShardFanOutExecutor shardExecutor;
+    private final CacheInvalidationProperties properties;
+
+    private ScheduledExecutorService scheduler;
+    private List<Cursor> cursors;
+
+    public JdbcInvalidationTransport(CacheInvalidationRepository repository,
+                                     ShardFanOutExecutor shardExecutor,
+                                     CacheInvalidationProperties properties) {
+        this.repository = repository;
+        this.shardExecutor = shardExecutor;
+        this.properties = properties;
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        CacheInvalidation invalidation = new CacheInvalidation();
+        invalidation.setNodeId(message.nodeId());
+        invalidation.setChangeType(message.changeType().name());
+        invalidation.setTodoId(message.todoId());
+        invalidation.setTenant(message.tenant());
+        invalidation.setCreatedAt(LocalDateTime.now());
+        repository.save(invalidation);
+    }
+
+    @Override
+    public synchronized void start(Consumer<InvalidationMessage> receiver) {
+        // 从当前位置开始消费，不回放历史消息
+        List<Long> maxIds = shardExecutor.execute(jdbc -> jdbc.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) FROM cache_invalidations", Long.class));
+        cursors = maxIds.stream().map(Cursor::new).toList();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> pollSafely(receiver),
+                properties.getPollIntervalMs(), properties.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::purgeSafely,
+                PURGE_INTERVAL_MS, PURGE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 拉取所有分片的新消息并投递
+     */
+    void poll(Consumer<InvalidationMessage> receiver) {
+        List<List<InvalidationMessage>> perShard = shardExecutor.execute((shard, jdbc) -> pollShard(cursors.get(shard), jdbc));
+        perShard.forEach(messages -> messages.forEach(receiver));
+    }
+
+    private List<InvalidationMessage> pollShard(Cursor cursor, JdbcTemplate jdbc) {
+        List<InvalidationMessage> messages = new ArrayList<>();
+        int batchSize = properties.getBatchSize();
+        long gapWindow = properties.getGapWindow();
+        long now = System.currentTimeMillis();
+
+        // 最大id之后的新消息，读满一页时继续读下一页，突发写入不会滞留
+        while (true) {
+            List<Long> ids = new ArrayList<>();
+            messages.addAll(jdbc.query(SELECT_COLUMNS + "WHERE id > ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> {
+                        ids.add(rs.getLong("id"));
+                        return toMessage(rs);
+                    },
+                    cursor.maxSeen, batchSize));
+            for (long id : ids) {
+                for (long gap = Math.max(cursor.maxSeen + 1, id - gapWindow); gap < id; gap++) {
+                    cursor.gaps.put(gap, now);
+                }
+                cursor.maxSeen = id;
+            }
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+
+        // 之后已分配超过gap-window个id的空洞不再等待
+        NavigableMap<Long, Long> abandoned = cursor.gaps.headMap(cursor.maxSeen - gapWindow, true);
+        if (!abandoned.isEmpty()) {
+            log.debug("Giving up on {} cache invalidation ids up to {}", abandoned.size(), abandoned.lastKey());
+            abandoned.clear();
+        }
+
+        // 等待超过gap-timeout-ms的空洞不再等待；空洞按id顺序发现，发现时间随id递增
+        int expired = 0;
+        Iterator<Map.Entry<Long, Long>> oldest = cursor.gaps.entrySet().iterator();
+        while (oldest.hasNext()) {
+            if (now - oldest.next().getValue() < properties.getGapTimeoutMs()) {
+                break;
+            }
+            oldest.remove();
+            expired++;
+        }
+        if (expired > 0) {
+            log.debug("Giving up on {} cache invalidation ids older than {}ms", expired, properties.getGapTimeoutMs());
+        }
+
+        // 空洞中已经提交的消息
+        List<Long> gaps = new ArrayList<>(cursor.gaps.keySet());
+        for (int from = 0; from < gaps.size(); from += GAP_QUERY_SIZE) {
+            List<Long> chunk = gaps.subList(from, Math.min(from + GAP_QUERY_SIZE, gaps.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            messages.addAll(jdbc.query(SELECT_COLUMNS + "WHERE id IN (" + placeholders + ")",
+                    (rs, rowNum) -> {
+                        cursor.gaps.remove(rs.getLong("id"));
+                        return toMessage(rs);
+                    },
+                    chunk.toArray()));
+        }
+        return messages;
+    }
+
+    private static InvalidationMessage toMessage(ResultSet rs) throws SQLException {
+        Object todoId = rs.getObject("todo_id");
+        return new InvalidationMessage(
+                rs.getString("node_id"),
+                ChangeType.valueOf(rs.getString("change_type")),
+                todoId != null ? ((Number) todoId).longValue() : null,
+                rs.getString("tenant"));
+    }
+
+    private void pollSafely(Consumer<InvalidationMessage> receiver) {
+        try {
+            poll(receiver);
+        } catch (Exception ex) {
+            log.warn("Failed to poll cache invalidations: {}", ex.getMessage());
+        }
+    }
+
+    private void purgeSafely() {
+        try {
+            Timestamp cutoff = new Timestamp(System.currentTimeMillis() - properties.getRetentionMs());
+            List<Integer> purged = shardExecutor.execute(jdbc -> jdbc.update(
+                    "DELETE FROM cache_invalidations WHERE created_at < ?", cutoff));
+            log.debug("Purged {} expired cache invalidations", purged.stream().mapToInt(Integer::intValue).sum());
+        } catch (Exception ex) {
+            log.warn("Failed to purge cache invalidations: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 本节点在一个分片上的消费位置：见过的最大id和其下尚未见过的id（及发现时间）
+     */
+    private static final class Cursor {
+
+        private long maxSeen;
+        private final NavigableMap<Long, Long> gaps = new TreeMap<>();
+
+        Cursor(long maxSeen) {
+            this.maxSeen = maxSeen;
+        }
+    }
+}
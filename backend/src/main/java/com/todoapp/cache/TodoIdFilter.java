@@ -0,0 +1,180 @@
+package com.todoapp.cache;
+
+import com.todoapp.config.NegativeLookupProperties;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.event.TodoChangedEvent.ChangeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 已存在Todo ID的过滤器
+ * 回答"ID一定不存在"，让不存在ID的读写请求不访问数据库直接返回404；
+ * 新建的ID（包括批量导入和生成的重复实例）在发布事件时加入（事务回滚只会留下无害的误判），删除的ID在下次重建时清除。
+ * 过滤器覆盖所有租户和分片，"可能存在"时仍按当前租户查询数据库
+ */
+@Component
+@Slf4j
+public class TodoIdFilter implements CacheInvalidationListener {
+
+    private final NegativeLookupProperties properties;
+    private final ShardFanOutExecutor shardExecutor;
+    private final Counter shortCircuits;
+    private final Object lock = new Object();
+    private final AtomicLong staleGeneration = new AtomicLong();
+
+    /**
+     * 当前使用的过滤器，首次加载完成前为null
+     */
+    private volatile BloomFilter filter;
+
+    /**
+     * 重建中的过滤器，重建期间新建的ID同时写入
+     */
+    private BloomFilter rebuilding;
+
+    /**
+     * 上次重建开始后新建的ID，合并进下一个过滤器，避免与重建扫描的事务可见性竞争
+     */
+    private List<Long> recentIds = new ArrayList<>();
+
+    /**
+     * 收到其他节点批量导入等不带ID的失效消息后置为true，重建完成前不做判定
+     */
+    private volatile boolean stale;
+
+    private volatile long lastLoadedCount;
+
+    public TodoIdFilter(NegativeLookupProperties properties, ShardFanOutExecutor shardExecutor,
+                        MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.shardExecutor = shardExecutor;
+        this.shortCircuits = meterRegistry.counter("todo.negative-lookup.short-circuits");
+    }
+
+    /**
+     * 判断ID是否可能存在
+     * @return false表示一定不存在；未启用、尚未加载或待重建时总是返回true
+     */
+    public boolean mightContain(long id) {
+        BloomFilter current = filter;
+        if (!properties.isEnabled() || current == null || stale || current.mightContain(id)) {
+            return true;
+        }
+        shortCircuits.increment();
+        return false;
+    }
+
+    /**
+     * 记录新建的ID
+     */
+    public void add(long id) {
+        synchronized (lock) {
+            if (!properties.isEnabled()) {
+                // 停用期间不再维护，重新启用后等待重建
+                filter = null;
+                return;
+            }
+            recentIds.add(id);
+            if (filter != null) {
+                filter.add(id);
+            }
+            if (rebuilding != null) {
+                rebuilding.add(id);
+            }
+        }
+    }
+
+    /**
+     * 从所有分片重新加载ID，替换当前过滤器
+     */
+    @Scheduled(initialDelayString = "${todo.negative-lookup.rebuild-interval-ms:600000}",
+            fixedDelayString = "${todo.negative-lookup.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        long generation = staleGeneration.get();
+        BloomFilter next = new BloomFilter(
+                Math.max(properties.getExpectedIds(), lastLoadedCount * 2), properties.getFalsePositiveRate());
+        List<Long> carried;
+        synchronized (lock) {
+            rebuilding = next;
+            carried = recentIds;
+            recentIds = new ArrayList<>();
+        }
+
+        long loaded;
+        try {
+            loaded = shardExecutor.execute(jdbc -> {
+                long[] count = {0};
+                jdbc.query("SELECT id FROM todos", rs -> {
+                    next.add(rs.getLong(1));
+                    count[0]++;
+                });
+                return count[0];
+            }).stream().mapToLong(Long::longValue).sum();
+        } catch (RuntimeException ex) {
+            synchronized (lock) {
+                rebuilding = null;
+                carried.addAll(recentIds);
+                recentIds = carried;
+            }
+            log.warn("Failed to rebuild todo id filter, keeping the previous one", ex);
+            return;
+        }
+        carried.forEach(next::add);
+
+        synchronized (lock) {
+            filter = next;
+            rebuilding = null;
+        }
+        lastLoadedCount = loaded;
+        if (staleGeneration.get() == generation) {
+            stale = false;
+        }
+        log.info("Rebuilt todo id filter with {} ids ({} bits, {} hashes) in {}ms",
+                loaded, next.getBitCount(), next.getHashCount(), System.currentTimeMillis() - startedAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * 本节点写入：加入新建和批量新建的ID
+     */
+    @EventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.getType() == ChangeType.CREATED && event.getTodoId() != null) {
+            add(event.getTodoId());
+        }
+        event.getCreatedIds().forEach(this::add);
+    }
+
+    /**
+     * 其他节点写入（需要启用缓存失效总线）
+     */
+    @Override
+    public void onRemoteInvalidation(InvalidationMessage message) {
+        ChangeType type = message.changeType();
+        if (type == ChangeType.CREATED && message.todoId() != null) {
+            add(message.todoId());
+        } else if (type == ChangeType.IMPORTED || type == ChangeType.MATERIALIZED) {
+            // 消息不携带批量生成的ID，等待重建
+            staleGeneration.incrementAndGet();
+            stale = true;
+        }
+    }
+}
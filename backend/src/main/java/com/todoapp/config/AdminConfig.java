@@ -0,0 +1,24 @@
+package com.todoapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.admin.AdminAccessFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 跨租户管理API配置
+ * 管理接口可以读取和删除所有租户的数据，只在todo.admin.enabled时注册，并且每个请求都要携带管理令牌
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "todo.admin", name = "enabled", havingValue = "true")
+public class AdminConfig {
+
+    @Bean
+    public AdminAccessFilter adminAccessFilter(AdminProperties properties, ObjectMapper objectMapper) {
+        if (properties.getToken() == null || properties.getToken().isBlank()) {
+            throw new IllegalStateException("todo.admin.token must be set when todo.admin.enabled is true");
+        }
+        return new AdminAccessFilter(properties.getToken(), objectMapper);
+    }
+}
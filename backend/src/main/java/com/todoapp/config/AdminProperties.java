@@ -0,0 +1,22 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 跨租户管理API配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.admin")
+public class AdminProperties {
+
+    /**
+     * 是否注册/api/v1/admin下的接口，默认关闭
+     */
+    private boolean enabled = false;
+
+    /**
+     * 管理令牌，请求需在X-Admin-Token请求头中携带；启用时必须配置
+     */
+    private String token;
+}
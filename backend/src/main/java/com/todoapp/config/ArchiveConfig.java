@@ -0,0 +1,24 @@
+package com.todoapp.config;
+
+import com.todoapp.archive.TodoArchiver;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 已完成Todo归档配置
+ * 定期把旧的已完成Todo迁移到archived_todos，列表查询通过includeArchived读取两层数据
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "todo.archive", name = "enabled", havingValue = "true")
+public class ArchiveConfig {
+
+    @Bean
+    public TodoArchiver todoArchiver(ShardFanOutExecutor shardFanOutExecutor, ArchiveProperties properties,
+                                     ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        return new TodoArchiver(shardFanOutExecutor, properties, eventPublisher, meterRegistry);
+    }
+}
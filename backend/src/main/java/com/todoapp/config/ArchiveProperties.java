@@ -0,0 +1,44 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 已完成Todo归档配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.archive")
+public class ArchiveProperties {
+
+    /**
+     * 是否启用归档任务
+     */
+    private boolean enabled = false;
+
+    /**
+     * 归档任务的执行时间（cron），默认在凌晨低峰期执行，"-"表示只手动触发
+     */
+    private String cron = "0 30 3 * * *";
+
+    /**
+     * 完成（最后更新）超过该时长的Todo才会归档
+     */
+    private Duration olderThan = Duration.ofDays(30);
+
+    /**
+     * 每个事务归档的行数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 批次之间的暂停时间（毫秒），降低对在线流量的影响
+     */
+    private long pauseBetweenBatchesMs = 50;
+
+    /**
+     * 单次运行的最长时间，超时后剩余数据留到下次运行，避免进入业务高峰
+     */
+    private Duration maxRunDuration = Duration.ofHours(1);
+}
@@ -0,0 +1,38 @@
+package com.todoapp.config;
+
+import com.todoapp.cache.CacheInvalidationBus;
+import com.todoapp.cache.CacheInvalidationListener;
+import com.todoapp.cache.InvalidationTransport;
+import com.todoapp.cache.JdbcInvalidationTransport;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import com.todoapp.repository.CacheInvalidationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * 集群缓存失效配置
+ * 多实例部署时开启，使某个节点的写入能清除其他节点的本地缓存
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "todo.cache.invalidation", name = "enabled", havingValue = "true")
+public class CacheInvalidationConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "todo.cache.invalidation", name = "transport", havingValue = "jdbc", matchIfMissing = true)
+    public JdbcInvalidationTransport jdbcInvalidationTransport(CacheInvalidationRepository repository,
+                                                               ShardFanOutExecutor shardFanOutExecutor,
+                                                               CacheInvalidationProperties properties) {
+        return new JdbcInvalidationTransport(repository, shardFanOutExecutor, properties);
+    }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(InvalidationTransport transport,
+                                                     List<CacheInvalidationListener> listeners,
+                                                     MeterRegistry meterRegistry) {
+        return new CacheInvalidationBus(transport, listeners, meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 集群缓存失效配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.cache.invalidation")
+public class CacheInvalidationProperties {
+
+    /**
+     * 是否启用集群缓存失效，单实例部署无需开启
+     */
+    private boolean enabled = false;
+
+    /**
+     * 失效消息传输方式：jdbc为内置的表轮询实现，其他值需自行提供InvalidationTransport
+     */
+    private String transport = "jdbc";
+
+    /**
+     * 轮询失效表的间隔（毫秒）
+     */
+    private long pollIntervalMs = 100;
+
+    /**
+     * 每次轮询读取的最大消息数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 尚未出现的id（事务未提交或已回滚）最多等待到之后又分配了这么多个id，每次轮询按id重新查询
+     */
+    private long gapWindow = 10_000;
+
+    /**
+     * 尚未出现的id最多等待的时间（毫秒），写入量小时也不会一直重新查询，应大于最长事务的耗时
+     */
+    private long gapTimeoutMs = 60_000;
+
+    /**
+     * 失效消息保留时间（毫秒），过期后被清理
+     */
+    private long retentionMs = 600_000;
+}
@@ -0,0 +1,22 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 读请求合并（single-flight）配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.coalescing")
+public class CoalescingProperties {
+
+    /**
+     * 是否启用读请求合并
+     */
+    private boolean enabled = true;
+
+    /**
+     * 合并窗口（毫秒）：结果返回后在此时间内到达的相同请求直接复用结果，0表示只合并进行中的请求
+     */
+    private long windowMs = 0;
+}
@@ -0,0 +1,48 @@
+package com.todoapp.config;
+
+import com.todoapp.datasource.AdaptivePoolSizer;
+import com.todoapp.datasource.ConnectionPoolTuner;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 连接池配置
+ * spring.datasource创建的连接池通过BeanPostProcessor调优，读写分离和分片的连接池在创建时调优
+ */
+@Configuration
+public class ConnectionPoolConfig {
+
+    @Bean
+    public ConnectionPoolTuner connectionPoolTuner(ConnectionPoolProperties properties,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ConnectionPoolTuner(properties, meterRegistry);
+    }
+
+    /**
+     * 在连接池第一次获取连接（启动）之前应用配置
+     */
+    @Bean
+    public static BeanPostProcessor connectionPoolTuningPostProcessor(ObjectProvider<ConnectionPoolTuner> tuner) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    tuner.getObject().tune(pool, beanName);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "todo.datasource.pool.adaptive", name = "enabled", havingValue = "true")
+    public AdaptivePoolSizer adaptivePoolSizer(ConnectionPoolTuner tuner, ConnectionPoolProperties properties,
+                                               MeterRegistry meterRegistry) {
+        return new AdaptivePoolSizer(tuner, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,180 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 连接池与JDBC驱动性能配置
+ * 作用于所有HikariCP连接池（单数据源、读写分离的主库和副本、各分片）
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.datasource.pool")
+public class ConnectionPoolProperties {
+
+    /**
+     * 最大连接数，为空时沿用spring.datasource.hikari或HikariCP默认值（10）；启用自适应调节时作为初始值
+     */
+    private Integer maximumPoolSize;
+
+    /**
+     * 最小空闲连接数，为空时沿用HikariCP默认值（等于最大连接数，即固定大小的连接池）
+     */
+    private Integer minimumIdle;
+
+    /**
+     * 获取连接的最长等待时间
+     */
+    private Duration connectionTimeout;
+
+    /**
+     * 超出最小空闲数的连接空闲多久后关闭
+     */
+    private Duration idleTimeout;
+
+    /**
+     * 连接最长存活时间，应小于数据库的wait_timeout
+     */
+    private Duration maxLifetime;
+
+    /**
+     * 空闲连接保活探测间隔
+     */
+    private Duration keepaliveTime;
+
+    /**
+     * MySQL Connector/J驱动参数
+     */
+    private Driver driver = new Driver();
+
+    /**
+     * 自适应连接池大小
+     */
+    private Adaptive adaptive = new Adaptive();
+
+    /**
+     * MySQL Connector/J性能参数，只对jdbc:mysql连接生效
+     * 以连接属性传给驱动，会覆盖URL中的同名参数；spring.datasource.hikari.data-source-properties中已有的保留
+     */
+    @Data
+    public static class Driver {
+
+        /**
+         * 客户端缓存PreparedStatement
+         */
+        private boolean cachePrepStmts = true;
+
+        /**
+         * 每个连接缓存的PreparedStatement数量
+         */
+        private int prepStmtCacheSize = 250;
+
+        /**
+         * 可缓存的SQL最大长度
+         */
+        private int prepStmtCacheSqlLimit = 2048;
+
+        /**
+         * 使用服务端预编译，配合缓存避免重复解析SQL
+         */
+        private boolean useServerPrepStmts = true;
+
+        /**
+         * 把批量INSERT改写为多值语句，批量导入依赖此参数
+         */
+        private boolean rewriteBatchedStatements = true;
+
+        /**
+         * 缓存结果集元数据
+         */
+        private boolean cacheResultSetMetadata = true;
+
+        /**
+         * 缓存服务端变量，新建连接时不再查询
+         */
+        private boolean cacheServerConfiguration = true;
+
+        /**
+         * 自动提交状态未变化时不发送SET autocommit
+         */
+        private boolean elideSetAutoCommits = true;
+
+        /**
+         * 按本地记录的会话状态判断是否需要发送只读、隔离级别等SET语句
+         */
+        private boolean useLocalSessionState = true;
+
+        /**
+         * 是否统计驱动内部耗时
+         */
+        private boolean maintainTimeStats = false;
+
+        /**
+         * 转换为驱动连接属性
+         */
+        public Map<String, String> toProperties() {
+            Map<String, String> properties = new LinkedHashMap<>();
+            properties.put("cachePrepStmts", String.valueOf(cachePrepStmts));
+            properties.put("prepStmtCacheSize", String.valueOf(prepStmtCacheSize));
+            properties.put("prepStmtCacheSqlLimit", String.valueOf(prepStmtCacheSqlLimit));
+            properties.put("useServerPrepStmts", String.valueOf(useServerPrepStmts));
+            properties.put("rewriteBatchedStatements", String.valueOf(rewriteBatchedStatements));
+            properties.put("cacheResultSetMetadata", String.valueOf(cacheResultSetMetadata));
+            properties.put("cacheServerConfiguration", String.valueOf(cacheServerConfiguration));
+            properties.put("elideSetAutoCommits", String.valueOf(elideSetAutoCommits));
+            properties.put("useLocalSessionState", String.valueOf(useLocalSessionState));
+            properties.put("maintainTimeStats", String.valueOf(maintainTimeStats));
+            return properties;
+        }
+    }
+
+    /**
+     * 自适应连接池大小：按统计区间内的平均获取等待时间和连接使用率调整最大连接数
+     */
+    @Data
+    public static class Adaptive {
+
+        /**
+         * 是否启用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 最大连接数下限
+         */
+        private int minSize = 4;
+
+        /**
+         * 最大连接数上限，所有实例合计不应超过数据库的max_connections
+         */
+        private int maxSize = 40;
+
+        /**
+         * 统计与调节间隔（毫秒）
+         */
+        private long intervalMs = 10000;
+
+        /**
+         * 区间内平均获取连接等待超过该值（毫秒）或有线程在排队时扩容
+         */
+        private double scaleUpWaitMs = 5;
+
+        /**
+         * 每次扩容增加的连接数
+         */
+        private int scaleUpStep = 2;
+
+        /**
+         * 区间内平均使用率（使用中的连接时间/最大连接数）低于该值时缩容
+         */
+        private double scaleDownUtilization = 0.5;
+
+        /**
+         * 连续多少个低使用率区间后缩容一个连接，避免抖动
+         */
+        private int scaleDownAfterIntervals = 3;
+    }
+}
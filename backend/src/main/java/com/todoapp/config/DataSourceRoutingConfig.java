@@ -0,0 +1,80 @@
+package com.todoapp.config;
+
+import com.todoapp.datasource.ConnectionPoolTuner;
+import com.todoapp.datasource.ReadYourWritesInterceptor;
+import com.todoapp.datasource.ReplicaHealthChecker;
+import com.todoapp.datasource.ReplicaNode;
+import com.todoapp.datasource.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离数据源配置
+ * 启用后，@Transactional(readOnly = true)的调用路由到副本，其余路由到主库
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "todo.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(RoutingDataSourceProperties properties,
+                                                             ConnectionPoolTuner connectionPoolTuner,
+                                                             MeterRegistry meterRegistry) {
+        DataSource primary = connectionPoolTuner.tune(build(properties.getPrimary()), "primary");
+
+        List<ReplicaNode> replicas = new ArrayList<>();
+        int index = 0;
+        for (RoutingDataSourceProperties.Replica replica : properties.getReplicas()) {
+            String name = replica.getName() != null ? replica.getName() : "replica-" + index;
+            replicas.add(new ReplicaNode(name, connectionPoolTuner.tune(build(replica), name), replica.getLagQuery()));
+            index++;
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, properties.getMaxLagMs(), meterRegistry);
+    }
+
+    /**
+     * 延迟获取物理连接，确保路由时事务的只读标记已生效
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaHealthChecker(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public WebMvcConfigurer readYourWritesConfigurer(RoutingDataSourceProperties properties) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ReadYourWritesInterceptor(properties.getStickyWindowMs()))
+                        .addPathPatterns("/api/**");
+            }
+        };
+    }
+
+    private static DataSource build(RoutingDataSourceProperties.Endpoint endpoint) {
+        return DataSourceBuilder.create()
+                .url(endpoint.getUrl())
+                .username(endpoint.getUsername())
+                .password(endpoint.getPassword())
+                .driverClassName(endpoint.getDriverClassName())
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.todoapp.config;
+
+import com.todoapp.graphql.TodoComplexityCalculator;
+import com.todoapp.graphql.TodoDataFetchers;
+import com.todoapp.service.TodoService;
+import graphql.GraphQL;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * GraphQL配置
+ * 按classpath:graphql/schema.graphqls构建Schema，执行前按深度和复杂度拒绝过大的查询；
+ * todo.graphql.enabled=false时不加载
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo.graphql.enabled", matchIfMissing = true)
+public class GraphQlConfig {
+
+    @Bean
+    public TodoDataFetchers todoDataFetchers(TodoService todoService, LookupProperties lookupProperties) {
+        return new TodoDataFetchers(todoService, lookupProperties);
+    }
+
+    @Bean
+    public GraphQL graphQL(@Value("classpath:graphql/schema.graphqls") Resource schema,
+                           TodoDataFetchers fetchers,
+                           GraphQlProperties properties) throws IOException {
+        TypeDefinitionRegistry registry;
+        try (Reader reader = new InputStreamReader(schema.getInputStream(), StandardCharsets.UTF_8)) {
+            registry = new SchemaParser().parse(reader);
+        }
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder
+                        .dataFetcher("todos", fetchers.todos())
+                        .dataFetcher("todo", fetchers.todo())
+                        .dataFetcher("todosByIds", fetchers.todosByIds())
+                        .dataFetcher("stats", fetchers.stats()))
+                .type("TodoStats", builder -> builder
+                        .dataFetcher("total", fetchers.count(null))
+                        .dataFetcher("completed", fetchers.count(true))
+                        .dataFetcher("pending", fetchers.count(false)))
+                .build();
+        GraphQLSchema graphQLSchema = new SchemaGenerator().makeExecutableSchema(registry, wiring);
+
+        return GraphQL.newGraphQL(graphQLSchema)
+                .instrumentation(new ChainedInstrumentation(List.of(
+                        new MaxQueryDepthInstrumentation(properties.getMaxDepth()),
+                        new MaxQueryComplexityInstrumentation(properties.getMaxComplexity(),
+                                new TodoComplexityCalculator(properties)))))
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * GraphQL接口配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.graphql")
+public class GraphQlProperties {
+
+    /**
+     * 是否启用POST /api/v1/graphql
+     */
+    private boolean enabled = true;
+
+    /**
+     * 查询的最大嵌套深度
+     */
+    private int maxDepth = 5;
+
+    /**
+     * 查询的最大复杂度，超过时在执行前拒绝
+     */
+    private int maxComplexity = 1000;
+
+    /**
+     * 无界列表（todos）按此行数估算复杂度
+     */
+    private int listSizeEstimate = 50;
+
+    /**
+     * 读取完整描述的字段复杂度（其他字段为1）
+     */
+    private int descriptionComplexity = 5;
+}
@@ -0,0 +1,27 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 变更历史配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.history")
+public class HistoryProperties {
+
+    /**
+     * 每隔多少个版本保存一次完整状态快照，重建任意版本最多回放snapshotInterval - 1个事件
+     */
+    private int snapshotInterval = 20;
+
+    /**
+     * 历史查询默认每页事件数
+     */
+    private int defaultLimit = 50;
+
+    /**
+     * 历史查询每页最大事件数
+     */
+    private int maxLimit = 500;
+}
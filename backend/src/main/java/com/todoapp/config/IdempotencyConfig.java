@@ -0,0 +1,42 @@
+package com.todoapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import com.todoapp.idempotency.IdempotencyFilter;
+import com.todoapp.idempotency.IdempotencyStore;
+import com.todoapp.idempotency.InMemoryIdempotencyStore;
+import com.todoapp.idempotency.JdbcIdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 幂等键配置
+ * 带Idempotency-Key的重复写请求直接重放首个请求保存的响应，不再执行TodoService
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "todo.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "todo.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+    public InMemoryIdempotencyStore inMemoryIdempotencyStore(IdempotencyProperties properties) {
+        return new InMemoryIdempotencyStore(properties.getTtl(), properties.getMaxEntries());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "todo.idempotency", name = "store", havingValue = "jdbc")
+    public JdbcIdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate, ShardFanOutExecutor shardFanOutExecutor,
+                                                     IdempotencyProperties properties) {
+        return new JdbcIdempotencyStore(jdbcTemplate, shardFanOutExecutor, properties.getTtl(),
+                properties.getLeaseTimeout());
+    }
+
+    @Bean
+    public IdempotencyFilter idempotencyFilter(IdempotencyStore idempotencyStore, IdempotencyProperties properties,
+                                               ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new IdempotencyFilter(idempotencyStore, properties, objectMapper, meterRegistry);
+    }
+}
@@ -0,0 +1,63 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 幂等键（Idempotency-Key）配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * 是否处理Idempotency-Key请求头
+     */
+    private boolean enabled = true;
+
+    /**
+     * 响应的保存位置：memory为单节点内存，jdbc为idempotency_keys表（多节点共享）
+     */
+    private Store store = Store.MEMORY;
+
+    /**
+     * 响应保存时长，过期后相同的键按新请求执行
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * 内存中最多保存的键数量，超出时淘汰最早完成的键，全部执行中时新键返回503
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * 相同键的并发请求等待首个请求完成的最长时间，超时返回409
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /**
+     * jdbc存储中执行中的键的租约时长，首个请求所在节点崩溃后，超过该时长由相同键的请求接管；应大于请求的最长执行时间
+     */
+    private Duration leaseTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 处理幂等键的路由，格式为"方法 路径模式"
+     */
+    private List<String> routes = new ArrayList<>(List.of(
+            "POST /api/v1/todos",
+            "PUT /api/v1/todos/{id}",
+            "POST /api/v1/todos/{id}/subtasks",
+            "PATCH /api/v1/todos/{id}/toggle",
+            "PATCH /api/v1/todos/{id}/move",
+            "PATCH /api/v1/todos/{id}/parent",
+            "POST /api/v1/todos/recurrences"));
+
+    public enum Store {
+        MEMORY,
+        JDBC
+    }
+}
@@ -0,0 +1,52 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 批量导入配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.import")
+public class ImportProperties {
+
+    /**
+     * 上传文件、任务元数据和错误文件的存放目录
+     */
+    private String directory = System.getProperty("java.io.tmpdir") + "/todo-imports";
+
+    /**
+     * 每个批量事务写入的行数
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * 并行写入的线程数，不应超过连接池大小
+     */
+    private int parallelism = 4;
+
+    /**
+     * 进度日志的最小间隔（毫秒）
+     */
+    private long progressIntervalMs = 2000;
+
+    /**
+     * 命令行导入：启动时导入该文件后退出，为空时不执行
+     */
+    private String file;
+
+    /**
+     * 命令行导入的文件格式（csv、ndjson），为空时按扩展名判断
+     */
+    private String format;
+
+    /**
+     * 命令行导入的任务ID，传入已中断任务的ID时从检查点继续
+     */
+    private String jobId;
+
+    /**
+     * 命令行导入的目标租户
+     */
+    private String tenant;
+}
@@ -0,0 +1,22 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 按ID批量获取配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.lookup")
+public class LookupProperties {
+
+    /**
+     * 单次请求最多的ID数量（去重后）
+     */
+    private int maxIds = 1000;
+
+    /**
+     * 每条IN查询的ID数量，取2的幂与Hibernate的IN参数补齐对齐，所有查询只会产生少数几种SQL
+     */
+    private int chunkSize = 256;
+}
@@ -0,0 +1,134 @@
+package com.todoapp.config;
+
+import com.todoapp.dto.ApiResponse;
+import com.todoapp.dto.DeleteResponse;
+import com.todoapp.dto.GraphQlRequest;
+import com.todoapp.dto.ImportJobResponse;
+import com.todoapp.dto.RecurrenceCreateRequest;
+import com.todoapp.dto.RecurrenceResponse;
+import com.todoapp.dto.TagFacet;
+import com.todoapp.dto.TagMatch;
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.dto.TodoHistoryEntry;
+import com.todoapp.dto.TodoHistoryResponse;
+import com.todoapp.dto.TodoHistoryStateResponse;
+import com.todoapp.dto.TodoLookupRequest;
+import com.todoapp.dto.TodoLookupResponse;
+import com.todoapp.dto.TodoMoveRequest;
+import com.todoapp.dto.TodoPageResponse;
+import com.todoapp.dto.TodoParentRequest;
+import com.todoapp.dto.TodoProgress;
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.dto.TodoTreeNode;
+import com.todoapp.dto.TodoUpdateRequest;
+import com.todoapp.entity.ArchivedTodo;
+import com.todoapp.entity.ReminderLease;
+import com.todoapp.entity.Tag;
+import com.todoapp.entity.Todo;
+import com.todoapp.entity.TodoClosure;
+import com.todoapp.entity.TodoDescription;
+import com.todoapp.entity.TodoEvent;
+import com.todoapp.entity.TodoPositionHead;
+import com.todoapp.entity.TodoRecurrence;
+import com.todoapp.entity.TodoSnapshot;
+import com.todoapp.entity.TodoTag;
+import com.todoapp.repository.TagFacetView;
+import com.todoapp.repository.TodoListView;
+import com.todoapp.repository.TodoPositionView;
+import com.todoapp.repository.TodoPreviewView;
+import com.todoapp.repository.TodoProgressView;
+import com.todoapp.repository.TodoSummaryView;
+import com.todoapp.repository.TodoTagView;
+import com.todoapp.reminder.Reminder;
+import com.todoapp.repository.TodoTreeView;
+import com.todoapp.service.TodoService;
+import com.todoapp.tenant.TenantIdentifierResolver;
+import db.migration.V10__split_todo_descriptions;
+import db.migration.V1__baseline_schema;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.projection.TargetAware;
+
+import java.util.List;
+
+/**
+ * 原生镜像运行时提示
+ * 注册AOT无法自动推断的反射、动态代理和资源，JVM模式下不产生任何影响
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.TodoRuntimeHints.class)
+@RegisterReflectionForBinding({
+        ApiResponse.class,
+        TodoResponse.class,
+        TodoCreateRequest.class,
+        TodoUpdateRequest.class,
+        TodoLookupRequest.class,
+        TodoLookupResponse.class,
+        TodoMoveRequest.class,
+        TodoPageResponse.class,
+        TodoParentRequest.class,
+        TodoProgress.class,
+        TodoTreeNode.class,
+        TagFacet.class,
+        TagMatch.class,
+        Reminder.class,
+        RecurrenceCreateRequest.class,
+        RecurrenceResponse.class,
+        TodoHistoryResponse.class,
+        TodoHistoryEntry.class,
+        TodoHistoryStateResponse.class,
+        DeleteResponse.class,
+        GraphQlRequest.class,
+        ImportJobResponse.class,
+        TodoService.TodoStatsResponse.class
+})
+public class NativeHintsConfig {
+
+    /**
+     * 项目自身的运行时提示
+     */
+    static class TodoRuntimeHints implements RuntimeHintsRegistrar {
+
+        /**
+         * 动态投影（Class<T>参数）在构建时无法推断，需要显式注册JDK代理
+         */
+        private static final List<Class<?>> PROJECTIONS =
+                List.of(TodoSummaryView.class, TodoPreviewView.class, TodoListView.class, TodoPositionView.class,
+                        TodoProgressView.class, TodoTagView.class, TagFacetView.class);
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> entity : List.of(Todo.class, TodoDescription.class, ArchivedTodo.class,
+                    TodoClosure.class, TodoClosure.Key.class, Tag.class, TodoTag.class, TodoTag.Key.class,
+                    ReminderLease.class, TodoRecurrence.class, TodoEvent.class, TodoEvent.Key.class,
+                    TodoSnapshot.class, TodoPositionHead.class)) {
+                hints.reflection().registerType(entity, MemberCategory.values());
+            }
+            // 通过hibernate.tenant_identifier_resolver按类名实例化
+            hints.reflection().registerType(TenantIdentifierResolver.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            // 子树查询通过构造器表达式实例化
+            hints.reflection().registerType(TodoTreeView.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+            for (Class<?> projection : PROJECTIONS) {
+                hints.reflection().registerType(projection, MemberCategory.INVOKE_PUBLIC_METHODS);
+                hints.proxies().registerJdkProxy(projection, TargetAware.class, SpringProxy.class, DecoratingProxy.class);
+            }
+            // Flyway按目录扫描迁移脚本，Java迁移按类名实例化
+            hints.resources().registerPattern("db/migration/*.sql");
+            hints.resources().registerPattern("db/migration/*.class");
+            hints.reflection().registerType(V1__baseline_schema.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.reflection().registerType(V10__split_todo_descriptions.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.resources().registerPattern("db/seed/*.sql");
+            hints.resources().registerPattern("db/online/*.sql");
+            hints.resources().registerPattern("graphql/*.graphqls");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 不存在ID快速判定（布隆过滤器）配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.negative-lookup")
+public class NegativeLookupProperties {
+
+    /**
+     * 是否启用；启用后所有Todo写入必须经过TodoService或批量导入，直接写库的ID要等下次重建才会被识别
+     */
+    private boolean enabled = false;
+
+    /**
+     * 预计ID数量，实际数量超过一半时下次重建按实际数量的两倍分配
+     */
+    private long expectedIds = 1_000_000;
+
+    /**
+     * 目标误判率（把不存在的ID判为可能存在，此时仍会查询数据库）
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * 从数据库重建过滤器的间隔（毫秒），清除已删除的ID并恢复批量导入后的判定
+     */
+    private long rebuildIntervalMs = 600_000;
+}
@@ -0,0 +1,22 @@
+package com.todoapp.config;
+
+import com.todoapp.datasource.ShardFanOutExecutor;
+import com.todoapp.migration.OnlineMigrationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 在线迁移配置
+ * 启动阶段的Flyway只执行轻量的建表和数据脚本，大表索引变更交给OnlineMigrationRunner在后台执行
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "todo.migration.online", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OnlineMigrationConfig {
+
+    @Bean
+    public OnlineMigrationRunner onlineMigrationRunner(ShardFanOutExecutor shardFanOutExecutor,
+                                                       OnlineMigrationProperties properties) {
+        return new OnlineMigrationRunner(shardFanOutExecutor, properties);
+    }
+}
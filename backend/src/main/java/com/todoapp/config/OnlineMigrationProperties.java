@@ -0,0 +1,52 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 在线迁移配置
+ * 索引等大表结构变更在应用就绪后于后台执行，不阻塞启动和请求
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.migration.online")
+public class OnlineMigrationProperties {
+
+    /**
+     * 是否执行在线迁移
+     */
+    private boolean enabled = true;
+
+    /**
+     * 在线迁移脚本位置，脚本中的${online_ddl}在MySQL上展开为ALGORITHM=INPLACE LOCK=NONE
+     */
+    private List<String> locations = new ArrayList<>(List.of("classpath:db/online"));
+
+    /**
+     * 在线迁移的历史表，与启动阶段的flyway_schema_history分开记录
+     */
+    private String table = "flyway_online_history";
+
+    /**
+     * 是否在后台线程执行；关闭后在应用就绪事件中同步执行
+     */
+    private boolean async = true;
+
+    /**
+     * 获取元数据锁的最长等待时间（秒），超时后放弃本次尝试而不是让后续请求排队
+     */
+    private int lockWaitTimeoutSeconds = 5;
+
+    /**
+     * 单个分片的最大尝试次数
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * 两次尝试之间的等待时间
+     */
+    private Duration retryDelay = Duration.ofSeconds(30);
+}
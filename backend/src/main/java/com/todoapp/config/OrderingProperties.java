@@ -0,0 +1,32 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 手动排序配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.ordering")
+public class OrderingProperties {
+
+    /**
+     * 排序键超过该长度时在后台重排所在租户的键
+     */
+    private int maxKeyLength = 24;
+
+    /**
+     * 后台重排的间隔（毫秒），只处理写入时标记的租户
+     */
+    private long rebalanceIntervalMs = 10_000;
+
+    /**
+     * 按排序键分页的默认每页数量
+     */
+    private int defaultPageSize = 50;
+
+    /**
+     * 按排序键分页的最大每页数量
+     */
+    private int maxPageSize = 200;
+}
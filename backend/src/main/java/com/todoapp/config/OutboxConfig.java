@@ -0,0 +1,57 @@
+package com.todoapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import com.todoapp.outbox.FileOutboxSink;
+import com.todoapp.outbox.InMemoryOutboxSink;
+import com.todoapp.outbox.OutboxRelay;
+import com.todoapp.outbox.OutboxSink;
+import com.todoapp.outbox.OutboxWriter;
+import com.todoapp.outbox.WebhookOutboxSink;
+import com.todoapp.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 事务性发件箱配置
+ * Todo变更事件在同一事务中写入outbox_events，由OutboxRelay异步投递到下游
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "todo.outbox", name = "enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean
+    public OutboxWriter outboxWriter(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        return new OutboxWriter(outboxEventRepository, objectMapper);
+    }
+
+    @Bean
+    public InMemoryOutboxSink inMemoryOutboxSink(OutboxProperties properties) {
+        return new InMemoryOutboxSink(properties.getMemoryCapacity());
+    }
+
+    @Bean
+    public FileOutboxSink fileOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new FileOutboxSink(Path.of(properties.getFilePath()), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "todo.outbox", name = "webhook-url")
+    public WebhookOutboxSink webhookOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new WebhookOutboxSink(properties.getWebhookUrl(),
+                Duration.ofMillis(properties.getWebhookTimeoutMs()), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "todo.outbox", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(ShardFanOutExecutor shardFanOutExecutor, List<OutboxSink> sinks,
+                                   OutboxProperties properties, MeterRegistry meterRegistry) {
+        return new OutboxRelay(shardFanOutExecutor, sinks, properties, meterRegistry);
+    }
+}
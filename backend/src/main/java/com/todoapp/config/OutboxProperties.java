@@ -0,0 +1,85 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 事务性发件箱配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.outbox")
+public class OutboxProperties {
+
+    /**
+     * 是否在写操作的事务中记录outbox事件
+     */
+    private boolean enabled = false;
+
+    /**
+     * 是否在本实例运行投递任务；多实例都开启时每个分片同一时间只由持有租约的实例投递
+     */
+    private boolean relayEnabled = true;
+
+    /**
+     * 投递租约时长（毫秒），持有者每批投递前续约，需大于一批投递的最长耗时
+     */
+    private long leaseMs = 30_000;
+
+    /**
+     * 单个事件的最大尝试次数，达到后进入死信，不再阻塞后续事件
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * 首次失败后的重试间隔（毫秒），之后每次翻倍
+     */
+    private long retryBackoffMs = 1000;
+
+    /**
+     * 重试间隔上限（毫秒）
+     */
+    private long maxRetryBackoffMs = 300_000;
+
+    /**
+     * 投递轮询间隔（毫秒）
+     */
+    private long relayIntervalMs = 200;
+
+    /**
+     * 每批投递的最大事件数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 已投递事件的保留时间（毫秒）
+     */
+    private long retentionMs = 86_400_000;
+
+    /**
+     * 启用的投递目标：memory、file、webhook
+     */
+    private List<String> sinks = new ArrayList<>(List.of("memory"));
+
+    /**
+     * 内存投递目标保留的最大事件数
+     */
+    private int memoryCapacity = 10_000;
+
+    /**
+     * 文件投递目标的输出路径（NDJSON）
+     */
+    private String filePath = "outbox-events.ndjson";
+
+    /**
+     * Webhook投递目标地址
+     */
+    private String webhookUrl;
+
+    /**
+     * Webhook请求超时（毫秒）
+     */
+    private long webhookTimeoutMs = 5000;
+}
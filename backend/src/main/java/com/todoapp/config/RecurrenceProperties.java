@@ -0,0 +1,34 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 重复规则配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.recurrence")
+public class RecurrenceProperties {
+
+    /**
+     * 滚动窗口：后台任务只生成截止时间早于当前时间加该时长的实例，更远的出现只保存在规则中
+     */
+    private Duration horizon = Duration.ofDays(2);
+
+    /**
+     * 后台生成任务的间隔（毫秒）
+     */
+    private long intervalMs = 60_000;
+
+    /**
+     * 每个事务领取的规则数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 每个事务中单条规则最多生成的实例数，停机后补生成时剩余的在后续事务中继续生成
+     */
+    private int maxOccurrencesPerRule = 50;
+}
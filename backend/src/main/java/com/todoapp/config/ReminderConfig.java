@@ -0,0 +1,48 @@
+package com.todoapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import com.todoapp.reminder.LogReminderSink;
+import com.todoapp.reminder.ReminderScheduler;
+import com.todoapp.reminder.ReminderSink;
+import com.todoapp.reminder.SseReminderSink;
+import com.todoapp.reminder.WebhookReminderSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 到期提醒配置
+ * 有截止时间的Todo在到期时由ReminderScheduler投递到log/sse/webhook，多实例通过reminder_leases租约协调
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "todo.reminders", name = "enabled", havingValue = "true")
+public class ReminderConfig {
+
+    @Bean
+    public LogReminderSink logReminderSink() {
+        return new LogReminderSink();
+    }
+
+    @Bean
+    public SseReminderSink sseReminderSink(ReminderProperties properties) {
+        return new SseReminderSink(properties.getSseTimeoutMs());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "todo.reminders", name = "webhook-url")
+    public WebhookReminderSink webhookReminderSink(ReminderProperties properties, ObjectMapper objectMapper) {
+        return new WebhookReminderSink(properties.getWebhookUrl(),
+                Duration.ofMillis(properties.getWebhookTimeoutMs()), objectMapper);
+    }
+
+    @Bean
+    public ReminderScheduler reminderScheduler(ShardFanOutExecutor shardFanOutExecutor, List<ReminderSink> sinks,
+                                               ReminderProperties properties, MeterRegistry meterRegistry) {
+        return new ReminderScheduler(shardFanOutExecutor, sinks, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,75 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 到期提醒配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.reminders")
+public class ReminderProperties {
+
+    /**
+     * 是否运行提醒调度
+     */
+    private boolean enabled = false;
+
+    /**
+     * 时间轮每格的毫秒数，即提醒的触发精度
+     */
+    private long tickMs = 1000;
+
+    /**
+     * 时间轮每层的格数
+     */
+    private int wheelSize = 64;
+
+    /**
+     * 时间轮层数，可调度的最远距离约为tick-ms * wheel-size^levels
+     */
+    private int levels = 4;
+
+    /**
+     * 每次从数据库加载的时间窗口（毫秒），只有窗口内到期的提醒进入内存
+     */
+    private long lookaheadMs = 300_000;
+
+    /**
+     * 重新加载窗口并续约的间隔（毫秒），需小于lookahead-ms和lease-ms
+     */
+    private long loadIntervalMs = 30_000;
+
+    /**
+     * 租约有效期（毫秒），持有者停止续约后其他实例在过期后接管
+     */
+    private long leaseMs = 90_000;
+
+    /**
+     * 每批加载和投递的最大提醒数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 启用的投递目标：log、sse、webhook
+     */
+    private List<String> sinks = new ArrayList<>(List.of("log"));
+
+    /**
+     * SSE连接的超时时间（毫秒），客户端应在断开后重连
+     */
+    private long sseTimeoutMs = 1_800_000;
+
+    /**
+     * Webhook投递目标地址
+     */
+    private String webhookUrl;
+
+    /**
+     * Webhook请求超时（毫秒）
+     */
+    private long webhookTimeoutMs = 5000;
+}
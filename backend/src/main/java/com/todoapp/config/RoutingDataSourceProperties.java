@@ -0,0 +1,78 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离数据源配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.datasource.routing")
+public class RoutingDataSourceProperties {
+
+    /**
+     * 是否启用读写分离，关闭时使用spring.datasource单数据源
+     */
+    private boolean enabled = false;
+
+    /**
+     * 主库连接
+     */
+    private Endpoint primary = new Endpoint();
+
+    /**
+     * 只读副本连接
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * 副本健康检查间隔（毫秒）
+     */
+    private long healthCheckIntervalMs = 5000;
+
+    /**
+     * 允许的最大复制延迟（毫秒），超过则该副本暂停接收读流量
+     */
+    private long maxLagMs = 3000;
+
+    /**
+     * 会话写入后强制读主库的时间（毫秒），保证读己之写
+     */
+    private long stickyWindowMs = 5000;
+
+    /**
+     * 数据库连接信息
+     */
+    @Data
+    public static class Endpoint {
+        private String url;
+        private String username;
+        /**
+         * 不输出到toString，避免随配置或副本状态写入日志
+         */
+        @ToString.Exclude
+        private String password;
+        private String driverClassName;
+    }
+
+    /**
+     * 副本连接信息
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    @ToString(callSuper = true)
+    public static class Replica extends Endpoint {
+
+        private String name;
+
+        /**
+         * 查询复制延迟的SQL，第一列返回毫秒数；为空时视为无延迟
+         */
+        private String lagQuery;
+    }
+}
@@ -0,0 +1,125 @@
+package com.todoapp.config;
+
+import com.todoapp.datasource.ConnectionPoolTuner;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import com.todoapp.datasource.ShardRouter;
+import com.todoapp.datasource.ShardRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分片配置
+ * 启用后按租户哈希将todos分布到多个数据库，跨分片操作由ShardFanOutExecutor并行执行
+ */
+@Configuration
+@Slf4j
+public class ShardingConfig {
+
+    /**
+     * 未启用分片时，跨分片操作只在唯一的数据源上执行
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "todo.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public ShardFanOutExecutor singleShardFanOutExecutor(DataSource dataSource) {
+        return new ShardFanOutExecutor(List.of(dataSource));
+    }
+
+    /**
+     * 多分片配置
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "todo.sharding", name = "enabled", havingValue = "true")
+    static class ShardedDataSourceConfig {
+
+        @Bean
+        public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties,
+                                                             ConnectionPoolTuner connectionPoolTuner) {
+            if (properties.getShards().isEmpty()) {
+                throw new IllegalStateException("todo.sharding.shards must not be empty when sharding is enabled");
+            }
+
+            List<DataSource> shards = new ArrayList<>();
+            for (RoutingDataSourceProperties.Endpoint endpoint : properties.getShards()) {
+                shards.add(connectionPoolTuner.tune(build(endpoint), "shard-" + shards.size()));
+            }
+
+            log.info("Sharding enabled with {} shards", shards.size());
+            return new ShardRoutingDataSource(shards);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+            return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+        }
+
+        /**
+         * 版本化迁移在每个分片上分别执行，而不是只作用于路由数据源当前指向的分片；迁移后把分片的自增ID移到各自的区间
+         */
+        @Bean
+        public FlywayMigrationStrategy shardFlywayMigrationStrategy(ShardRoutingDataSource shardRoutingDataSource) {
+            return flyway -> {
+                List<DataSource> shards = shardRoutingDataSource.getShards();
+                for (int i = 0; i < shards.size(); i++) {
+                    log.info("Migrating schema on shard {}", i);
+                    Flyway.configure()
+                            .configuration(flyway.getConfiguration())
+                            .dataSource(shards.get(i))
+                            .load()
+                            .migrate();
+                    reserveIdRange(shards.get(i), i);
+                }
+            };
+        }
+
+        @Bean
+        public ShardFanOutExecutor shardFanOutExecutor(ShardRoutingDataSource shardRoutingDataSource) {
+            return new ShardFanOutExecutor(shardRoutingDataSource.getShards());
+        }
+
+        /**
+         * 分片上还没有落在自己区间内的ID时，把todos的自增起点移到区间起点；之后的启动不再调整
+         */
+        private static void reserveIdRange(DataSource shard, int index) {
+            long firstId = ShardRouter.firstId(index);
+            long lastId = ShardRouter.firstId(index + 1) - 1;
+            JdbcTemplate jdbc = new JdbcTemplate(shard);
+            Long maxId = jdbc.queryForObject("SELECT MAX(id) FROM todos", Long.class);
+            if (maxId != null && maxId > lastId) {
+                throw new IllegalStateException("Shard " + index + " has todo ids beyond its range: " + maxId);
+            }
+            if (maxId != null && maxId >= firstId || firstId == 0) {
+                return;
+            }
+            String product = jdbc.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            if ("H2".equals(product)) {
+                jdbc.execute("ALTER TABLE todos ALTER COLUMN id RESTART WITH " + firstId);
+            } else {
+                jdbc.execute("ALTER TABLE todos AUTO_INCREMENT = " + firstId);
+            }
+            log.info("Todo ids on shard {} start at {}", index, firstId);
+        }
+
+        private static DataSource build(RoutingDataSourceProperties.Endpoint endpoint) {
+            return DataSourceBuilder.create()
+                    .url(endpoint.getUrl())
+                    .username(endpoint.getUsername())
+                    .password(endpoint.getPassword())
+                    .driverClassName(endpoint.getDriverClassName())
+                    .build();
+        }
+    }
+}
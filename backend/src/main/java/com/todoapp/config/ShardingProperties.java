@@ -0,0 +1,25 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按租户水平分片配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.sharding")
+public class ShardingProperties {
+
+    /**
+     * 是否启用分片，关闭时所有租户共用spring.datasource
+     */
+    private boolean enabled = false;
+
+    /**
+     * 分片连接，租户按哈希值路由到其中之一；分片数量确定后不可随意变更
+     */
+    private List<RoutingDataSourceProperties.Endpoint> shards = new ArrayList<>();
+}
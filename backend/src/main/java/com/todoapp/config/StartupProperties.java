@@ -0,0 +1,48 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 启动相关配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.startup")
+public class StartupProperties {
+
+    /**
+     * 应用就绪后立即退出，用于生成AppCDS归档的训练运行
+     */
+    private boolean exitOnReady = false;
+
+    /**
+     * 就绪前预热
+     */
+    private WarmUp warmUp = new WarmUp();
+
+    @Data
+    public static class WarmUp {
+
+        /**
+         * 是否在报告就绪前预热热点路径
+         */
+        private boolean enabled = false;
+
+        /**
+         * 每条热点路径的调用次数
+         */
+        private int iterations = 20;
+
+        /**
+         * 是否通过本机HTTP调用预热完整请求链路（过滤器、参数绑定、消息转换）
+         */
+        private boolean http = true;
+
+        /**
+         * 预热最长耗时，超过后提前结束，避免拖慢发布
+         */
+        private Duration maxDuration = Duration.ofSeconds(10);
+    }
+}
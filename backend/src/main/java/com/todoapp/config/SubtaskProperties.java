@@ -0,0 +1,17 @@
+package com.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 子任务配置
+ */
+@Data
+@ConfigurationProperties(prefix = "todo.subtasks")
+public class SubtaskProperties {
+
+    /**
+     * 子任务的最大层数（顶层Todo为0），闭包表的行数随层数线性增长
+     */
+    private int maxDepth = 32;
+}
@@ -0,0 +1,55 @@
+package com.todoapp.controller;
+
+import com.todoapp.dto.GraphQlRequest;
+import com.todoapp.graphql.TodoDataFetchers;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * GraphQL API控制器
+ * 响应按GraphQL规范返回data/errors，不包装为ApiResponse
+ */
+@RestController
+@RequestMapping("/api/v1/graphql")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:3000")
+@ConditionalOnProperty(name = "todo.graphql.enabled", matchIfMissing = true)
+@Tag(name = "Todo GraphQL", description = "待办事项GraphQL查询API")
+public class GraphQlController {
+
+    private final GraphQL graphQL;
+    private final TodoDataFetchers todoDataFetchers;
+
+    /**
+     * 执行GraphQL查询
+     */
+    @PostMapping
+    @Operation(summary = "执行GraphQL查询", description = "按所选字段读取待办事项和统计信息，超过深度或复杂度限制的查询在执行前被拒绝")
+    public Map<String, Object> execute(@Valid @RequestBody GraphQlRequest request) {
+
+        log.info("POST /api/v1/graphql - operation: {}", request.getOperationName());
+
+        ExecutionInput input = ExecutionInput.newExecutionInput()
+                .query(request.getQuery())
+                .operationName(request.getOperationName())
+                .variables(request.getVariables() != null ? request.getVariables() : Map.of())
+                .dataLoaderRegistry(todoDataFetchers.newRegistry())
+                .build();
+        ExecutionResult result = graphQL.execute(input);
+        if (!result.getErrors().isEmpty()) {
+            log.warn("GraphQL query completed with errors: {}", result.getErrors());
+        }
+        return result.toSpecification();
+    }
+}
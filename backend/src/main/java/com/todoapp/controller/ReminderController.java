@@ -0,0 +1,40 @@
+package com.todoapp.controller;
+
+import com.todoapp.reminder.SseReminderSink;
+import com.todoapp.tenant.TenantContext;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 到期提醒API控制器
+ * 只在启用todo.reminders时注册
+ */
+@RestController
+@RequestMapping("/api/v1/todos/reminders")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:3000")
+@ConditionalOnProperty(prefix = "todo.reminders", name = "enabled", havingValue = "true")
+@Tag(name = "Todo Reminders", description = "待办事项到期提醒API")
+public class ReminderController {
+    
+    private final SseReminderSink sseReminderSink;
+    
+    /**
+     * 订阅当前租户的到期提醒
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "订阅到期提醒", description = "SSE事件流，每条reminder事件对应一个到期的待办事项（需在sinks中启用sse）")
+    public SseEmitter stream() {
+        
+        log.info("GET /api/v1/todos/reminders/stream - tenant: {}", TenantContext.current());
+        
+        return sseReminderSink.subscribe(TenantContext.current());
+    }
+}
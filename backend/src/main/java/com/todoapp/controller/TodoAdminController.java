@@ -0,0 +1,70 @@
+package com.todoapp.controller;
+
+import com.todoapp.dto.ApiResponse;
+import com.todoapp.dto.DeleteResponse;
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.service.TodoAdminService;
+import com.todoapp.service.TodoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 跨租户管理API控制器
+ * 不在请求热点路径上，首次调用时才初始化；只在todo.admin.enabled时注册，访问控制见AdminAccessFilter
+ */
+@RestController
+@Lazy
+@ConditionalOnProperty(prefix = "todo.admin", name = "enabled", havingValue = "true")
+@RequestMapping("/api/v1/admin/todos")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Todo Administration", description = "跨租户待办事项管理API")
+public class TodoAdminController {
+    
+    private final TodoAdminService todoAdminService;
+    
+    /**
+     * 获取所有租户的待办事项
+     */
+    @GetMapping
+    @Operation(summary = "获取所有租户的待办事项", description = "并行查询所有分片并按创建时间倒序合并")
+    public ApiResponse<List<TodoResponse>> getAllTodos() {
+        
+        log.info("GET /api/v1/admin/todos");
+        
+        return ApiResponse.success(todoAdminService.getAllTodos());
+    }
+    
+    /**
+     * 获取所有租户的统计信息
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "获取全局统计信息", description = "汇总所有分片的待办事项统计数据")
+    public ApiResponse<TodoService.TodoStatsResponse> getStats() {
+        
+        log.info("GET /api/v1/admin/todos/stats");
+        
+        return ApiResponse.success(todoAdminService.getStats());
+    }
+    
+    /**
+     * 删除所有租户已完成的待办事项
+     */
+    @DeleteMapping("/completed")
+    @Operation(summary = "删除所有租户已完成的待办事项", description = "在所有分片上并行删除已完成的待办事项")
+    public ApiResponse<DeleteResponse> deleteCompletedTodos() {
+        
+        log.info("DELETE /api/v1/admin/todos/completed");
+        
+        int deletedCount = todoAdminService.deleteCompletedTodos();
+        return ApiResponse.success("Completed todos deleted successfully", 
+                DeleteResponse.of(deletedCount));
+    }
+}
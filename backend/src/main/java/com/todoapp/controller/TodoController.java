@@ -1,7 +1,13 @@
 package com.todoapp.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.todoapp.cache.TodoIdFilter;
 import com.todoapp.dto.*;
+import com.todoapp.exception.TodoNotFoundException;
+import com.todoapp.service.RequestCoalescer;
 import com.todoapp.service.TodoService;
+import com.todoapp.service.TodoTagService;
+import com.todoapp.service.TodoTreeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -25,20 +31,33 @@ import java.util.List;
 @Tag(name = "Todo Management", description = "待办事项管理API")
 public class TodoController {
     
+    private static final TypeReference<List<TodoResponse>> TODO_LIST = new TypeReference<>() {};
+    
     private final TodoService todoService;
+    private final TodoTreeService todoTreeService;
+    private final TodoTagService todoTagService;
+    private final RequestCoalescer requestCoalescer;
+    private final TodoIdFilter todoIdFilter;
     
     /**
      * 获取所有待办事项
+     * ids、sort=position和tags各自对应独立的查询，不能组合使用；组合时没有匹配的映射，返回400
      */
-    @GetMapping
+    @GetMapping(params = {"!ids", "!sort", "!tags"})
     @Operation(summary = "获取所有待办事项", description = "获取待办事项列表，可选择按完成状态过滤")
     public ApiResponse<List<TodoResponse>> getAllTodos(
             @Parameter(description = "过滤条件：true=已完成，false=未完成，不传=全部")
-            @RequestParam(required = false) Boolean completed) {
+            @RequestParam(required = false) Boolean completed,
+            @Parameter(description = "返回字段：preview=描述预览（默认），full=完整描述，summary=不含描述")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "是否包含已归档的待办事项")
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         
-        log.info("GET /api/v1/todos - completed: {}", completed);
+        log.info("GET /api/v1/todos - completed: {}, fields: {}, includeArchived: {}", completed, fields, includeArchived);
         
-        List<TodoResponse> todos = todoService.getAllTodos(completed);
+        TodoFieldSet fieldSet = TodoFieldSet.from(fields);
+        List<TodoResponse> todos = requestCoalescer.execute("list:" + completed + ":" + fieldSet + ":" + includeArchived,
+                TODO_LIST, () -> todoService.getAllTodos(completed, fieldSet, includeArchived));
         return ApiResponse.success(todos);
     }
     
@@ -49,14 +68,94 @@ public class TodoController {
     @Operation(summary = "获取单个待办事项", description = "根据ID获取待办事项详情")
     public ApiResponse<TodoResponse> getTodoById(
             @Parameter(description = "待办事项ID")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = "不在热数据中时是否查询归档表")
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         
-        log.info("GET /api/v1/todos/{}", id);
+        log.info("GET /api/v1/todos/{} - includeArchived: {}", id, includeArchived);
         
-        TodoResponse todo = todoService.getTodoById(id);
+        if (!includeArchived) {
+            requireMightExist(id);
+        }
+        TodoResponse todo = requestCoalescer.execute("get:" + id + ":" + includeArchived,
+                TodoResponse.class, () -> todoService.getTodoById(id, includeArchived));
         return ApiResponse.success(todo);
     }
     
+    /**
+     * 按ID批量获取待办事项
+     */
+    @GetMapping(params = {"ids", "!sort", "!tags"})
+    @Operation(summary = "批量获取待办事项", description = "按逗号分隔的ID批量获取，结果按请求顺序排列并列出不存在的ID")
+    public ApiResponse<TodoLookupResponse> getTodosByIds(
+            @Parameter(description = "待办事项ID列表，例如ids=3,1,2")
+            @RequestParam List<Long> ids,
+            @Parameter(description = "不在热数据中时是否查询归档表")
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        
+        log.info("GET /api/v1/todos - ids: {}, includeArchived: {}", ids.size(), includeArchived);
+        
+        return ApiResponse.success(lookup(ids, includeArchived));
+    }
+    
+    /**
+     * 按手动排序分页获取待办事项
+     */
+    @GetMapping(params = {"sort=position", "!ids", "!tags"})
+    @Operation(summary = "按手动排序分页获取待办事项", description = "按拖拽后的顺序返回一页待办事项，下一页通过nextCursor获取")
+    public ApiResponse<TodoPageResponse> getTodoPage(
+            @Parameter(description = "过滤条件：true=已完成，false=未完成，不传=全部")
+            @RequestParam(required = false) Boolean completed,
+            @Parameter(description = "每页数量")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "上一页返回的nextCursor，不传表示第一页")
+            @RequestParam(required = false) String cursor) {
+        
+        log.info("GET /api/v1/todos?sort=position - completed: {}, limit: {}, cursor: {}", completed, limit, cursor);
+        
+        return ApiResponse.success(todoService.getTodoPage(completed, limit, cursor));
+    }
+    
+    /**
+     * 按标签过滤待办事项
+     */
+    @GetMapping(params = {"tags", "!ids", "!sort"})
+    @Operation(summary = "按标签过滤待办事项", description = "match=all返回带有全部标签的待办事项，match=any返回带有任一标签的待办事项")
+    public ApiResponse<List<TodoResponse>> getTodosByTags(
+            @Parameter(description = "标签列表，例如tags=work,urgent")
+            @RequestParam List<String> tags,
+            @Parameter(description = "匹配方式：all或any（默认）")
+            @RequestParam(required = false) String match,
+            @Parameter(description = "过滤条件：true=已完成，false=未完成，不传=全部")
+            @RequestParam(required = false) Boolean completed,
+            @Parameter(description = "返回字段：preview=描述预览（默认），full=完整描述，summary=不含描述")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "归档的待办事项不保留标签，只能为false")
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        
+        log.info("GET /api/v1/todos - tags: {}, match: {}, completed: {}, fields: {}", tags, match, completed, fields);
+        
+        if (includeArchived) {
+            throw new IllegalArgumentException("includeArchived is not supported with tags, archived todos keep no tags");
+        }
+        return ApiResponse.success(todoTagService.findTagged(tags, TagMatch.from(match), completed,
+                TodoFieldSet.from(fields)));
+    }
+    
+    /**
+     * 按ID批量获取待办事项（ID较多、超出URL长度时使用）
+     */
+    @PostMapping("/lookup")
+    @Operation(summary = "批量获取待办事项", description = "请求体中传入ID列表，结果按请求顺序排列并列出不存在的ID")
+    public ApiResponse<TodoLookupResponse> lookupTodos(
+            @Valid @RequestBody TodoLookupRequest request) {
+        
+        log.info("POST /api/v1/todos/lookup - ids: {}, includeArchived: {}",
+                request.getIds().size(), request.isIncludeArchived());
+        
+        return ApiResponse.success(lookup(request.getIds(), request.isIncludeArchived()));
+    }
+    
     /**
      * 创建待办事项
      */
@@ -72,6 +171,39 @@ public class TodoController {
         return ApiResponse.created("Todo created successfully", todo);
     }
     
+    /**
+     * 创建子任务
+     */
+    @PostMapping("/{id}/subtasks")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "创建子任务", description = "在指定的待办事项下创建子任务")
+    public ApiResponse<TodoResponse> createSubtask(
+            @Parameter(description = "父任务ID")
+            @PathVariable Long id,
+            @Valid @RequestBody TodoCreateRequest request) {
+        
+        log.info("POST /api/v1/todos/{}/subtasks - title: {}", id, request.getTitle());
+        
+        requireMightExist(id);
+        TodoResponse todo = todoTreeService.createSubtask(id, request);
+        return ApiResponse.created("Subtask created successfully", todo);
+    }
+    
+    /**
+     * 获取子树
+     */
+    @GetMapping("/{id}/subtree")
+    @Operation(summary = "获取子任务树", description = "一次返回待办事项的所有层级子任务及各节点的完成进度")
+    public ApiResponse<TodoTreeNode> getSubtree(
+            @Parameter(description = "待办事项ID")
+            @PathVariable Long id) {
+        
+        log.info("GET /api/v1/todos/{}/subtree", id);
+        
+        requireMightExist(id);
+        return ApiResponse.success(todoTreeService.getSubtree(id));
+    }
+    
     /**
      * 更新待办事项
      */
@@ -84,6 +216,7 @@ public class TodoController {
         
         log.info("PUT /api/v1/todos/{} - title: {}", id, request.getTitle());
         
+        requireMightExist(id);
         TodoResponse todo = todoService.updateTodo(id, request);
         return ApiResponse.success("Todo updated successfully", todo);
     }
@@ -99,21 +232,57 @@ public class TodoController {
         
         log.info("PATCH /api/v1/todos/{}/toggle", id);
         
+        requireMightExist(id);
         TodoResponse todo = todoService.toggleTodoStatus(id);
         return ApiResponse.success("Todo status toggled successfully", todo);
     }
     
+    /**
+     * 移动待办事项
+     */
+    @PatchMapping("/{id}/move")
+    @Operation(summary = "移动待办事项", description = "把待办事项移动到afterId之后、beforeId之前，只改写被移动的一行")
+    public ApiResponse<TodoResponse> moveTodo(
+            @Parameter(description = "待办事项ID")
+            @PathVariable Long id,
+            @RequestBody TodoMoveRequest request) {
+        
+        log.info("PATCH /api/v1/todos/{}/move - afterId: {}, beforeId: {}", id, request.getAfterId(), request.getBeforeId());
+        
+        requireMightExist(id);
+        TodoResponse todo = todoService.moveTodo(id, request);
+        return ApiResponse.success("Todo moved successfully", todo);
+    }
+    
+    /**
+     * 修改父任务
+     */
+    @PatchMapping("/{id}/parent")
+    @Operation(summary = "修改父任务", description = "把待办事项连同其子任务移到新的父任务下，parentId为null时移为顶层")
+    public ApiResponse<TodoResponse> changeParent(
+            @Parameter(description = "待办事项ID")
+            @PathVariable Long id,
+            @RequestBody TodoParentRequest request) {
+        
+        log.info("PATCH /api/v1/todos/{}/parent - parentId: {}", id, request.getParentId());
+        
+        requireMightExist(id);
+        TodoResponse todo = todoTreeService.changeParent(id, request.getParentId());
+        return ApiResponse.success("Todo parent changed successfully", todo);
+    }
+    
     /**
      * 删除待办事项
      */
     @DeleteMapping("/{id}")
-    @Operation(summary = "删除待办事项", description = "删除指定的待办事项")
+    @Operation(summary = "删除待办事项", description = "删除指定的待办事项及其所有子任务")
     public ApiResponse<Void> deleteTodo(
             @Parameter(description = "待办事项ID")
             @PathVariable Long id) {
         
         log.info("DELETE /api/v1/todos/{}", id);
         
+        requireMightExist(id);
         todoService.deleteTodo(id);
         return ApiResponse.success("Todo deleted successfully");
     }
@@ -146,6 +315,18 @@ public class TodoController {
                 DeleteResponse.of(deletedCount));
     }
     
+    /**
+     * 获取标签分面计数
+     */
+    @GetMapping("/tags")
+    @Operation(summary = "获取标签分面计数", description = "每个标签下的待办事项总数、已完成数和未完成数")
+    public ApiResponse<List<TagFacet>> getTagFacets() {
+        
+        log.info("GET /api/v1/todos/tags");
+        
+        return ApiResponse.success(todoTagService.getFacets());
+    }
+    
     /**
      * 获取统计信息
      */
@@ -155,7 +336,22 @@ public class TodoController {
         
         log.info("GET /api/v1/todos/stats");
         
-        TodoService.TodoStatsResponse stats = todoService.getStats();
+        TodoService.TodoStatsResponse stats = requestCoalescer.execute("stats:",
+                TodoService.TodoStatsResponse.class, todoService::getStats);
         return ApiResponse.success(stats);
     }
+    
+    /**
+     * ID一定不存在时直接返回404，不开启事务也不访问数据库
+     */
+    private void requireMightExist(Long id) {
+        if (!todoIdFilter.mightContain(id)) {
+            throw new TodoNotFoundException(id);
+        }
+    }
+    
+    private TodoLookupResponse lookup(List<Long> ids, boolean includeArchived) {
+        return requestCoalescer.execute("lookup:" + ids + ":" + includeArchived,
+                TodoLookupResponse.class, () -> todoService.lookupTodos(ids, includeArchived));
+    }
 }
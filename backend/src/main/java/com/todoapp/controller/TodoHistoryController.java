@@ -0,0 +1,67 @@
+package com.todoapp.controller;
+
+import com.todoapp.config.JacksonConfig;
+import com.todoapp.dto.ApiResponse;
+import com.todoapp.dto.TodoHistoryResponse;
+import com.todoapp.dto.TodoHistoryStateResponse;
+import com.todoapp.service.TodoHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Todo变更历史API控制器
+ * 不经过布隆过滤器，已删除和已归档的Todo仍可查询历史
+ */
+@RestController
+@RequestMapping("/api/v1/todos/{id}/history")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Todo History", description = "待办事项变更历史API")
+public class TodoHistoryController {
+    
+    private final TodoHistoryService todoHistoryService;
+    
+    /**
+     * 获取变更历史
+     */
+    @GetMapping
+    @Operation(summary = "获取变更历史", description = "按版本升序返回每次变更的类型、操作者（X-Actor-Id请求头）、时间和变化字段的旧值与新值")
+    public ApiResponse<TodoHistoryResponse> getHistory(
+            @Parameter(description = "待办事项ID")
+            @PathVariable Long id,
+            @Parameter(description = "上一页返回的nextVersion，不传时从第一个版本开始")
+            @RequestParam(required = false) Integer afterVersion,
+            @Parameter(description = "每页事件数")
+            @RequestParam(required = false) Integer limit) {
+        
+        log.info("GET /api/v1/todos/{}/history - afterVersion: {}, limit: {}", id, afterVersion, limit);
+        
+        return ApiResponse.success(todoHistoryService.getHistory(id, afterVersion, limit));
+    }
+    
+    /**
+     * 获取某个版本或时间点的状态
+     */
+    @GetMapping("/state")
+    @Operation(summary = "重建历史状态", description = "从最近的快照回放事件，返回指定版本或时间点的状态，都不传时返回最新状态")
+    public ApiResponse<TodoHistoryStateResponse> getState(
+            @Parameter(description = "待办事项ID")
+            @PathVariable Long id,
+            @Parameter(description = "版本")
+            @RequestParam(required = false) Integer version,
+            @Parameter(description = "时间点，格式yyyy-MM-dd HH:mm:ss")
+            @RequestParam(required = false) @DateTimeFormat(pattern = JacksonConfig.DATE_TIME_FORMAT) LocalDateTime at) {
+        
+        log.info("GET /api/v1/todos/{}/history/state - version: {}, at: {}", id, version, at);
+        
+        return ApiResponse.success(todoHistoryService.getState(id, version, at));
+    }
+}
@@ -0,0 +1,106 @@
+package com.todoapp.controller;
+
+import com.todoapp.dto.ApiResponse;
+import com.todoapp.dto.ImportJobResponse;
+import com.todoapp.importer.ImportFormat;
+import com.todoapp.importer.TodoImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Todo批量导入API控制器
+ * 不在请求热点路径上，首次调用时才初始化
+ */
+@RestController
+@Lazy
+@RequestMapping("/api/v1/todos/import")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Todo Import", description = "待办事项批量导入API")
+public class TodoImportController {
+    
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    
+    private final TodoImportService todoImportService;
+    
+    /**
+     * 上传文件并开始导入
+     */
+    @PostMapping(consumes = MediaType.ALL_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "批量导入待办事项", description = "请求体为CSV（text/csv）或NDJSON（application/x-ndjson），后台流式解析并分批写入")
+    public ApiResponse<ImportJobResponse> startImport(
+            @Parameter(description = "文件格式：csv或ndjson，不传时按Content-Type判断")
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) throws IOException {
+        
+        log.info("POST /api/v1/todos/import - format: {}, contentType: {}", format, request.getContentType());
+        
+        ImportFormat importFormat = ImportFormat.resolve(format, request.getContentType());
+        ImportJobResponse job = todoImportService.submit(request.getInputStream(), importFormat);
+        return new ApiResponse<>(HttpStatus.ACCEPTED.value(), "Import started", job);
+    }
+    
+    /**
+     * 获取导入进度
+     */
+    @GetMapping("/{jobId}")
+    @Operation(summary = "获取导入进度", description = "返回已读取、已导入和被拒绝的行数及写入速率")
+    public ApiResponse<ImportJobResponse> getImportStatus(
+            @Parameter(description = "导入任务ID")
+            @PathVariable String jobId) throws IOException {
+        
+        log.info("GET /api/v1/todos/import/{}", jobId);
+        
+        return ApiResponse.success(todoImportService.getStatus(jobId));
+    }
+    
+    /**
+     * 从检查点继续导入
+     */
+    @PostMapping("/{jobId}/resume")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "继续导入", description = "跳过已提交的批次，继续失败或中断的导入任务")
+    public ApiResponse<ImportJobResponse> resumeImport(
+            @Parameter(description = "导入任务ID")
+            @PathVariable String jobId) throws IOException {
+        
+        log.info("POST /api/v1/todos/import/{}/resume", jobId);
+        
+        ImportJobResponse job = todoImportService.resume(jobId);
+        return new ApiResponse<>(HttpStatus.ACCEPTED.value(), "Import resumed", job);
+    }
+    
+    /**
+     * 下载错误文件
+     */
+    @GetMapping("/{jobId}/errors")
+    @Operation(summary = "下载错误文件", description = "NDJSON格式，每行包含被拒绝行的行号、错误信息和原始内容")
+    public ResponseEntity<Resource> getImportErrors(
+            @Parameter(description = "导入任务ID")
+            @PathVariable String jobId) {
+        
+        log.info("GET /api/v1/todos/import/{}/errors", jobId);
+        
+        Path errorFile = todoImportService.getErrorFile(jobId);
+        Resource body = Files.exists(errorFile) ? new FileSystemResource(errorFile) : new ByteArrayResource(new byte[0]);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
@@ -0,0 +1,72 @@
+package com.todoapp.controller;
+
+import com.todoapp.dto.ApiResponse;
+import com.todoapp.dto.RecurrenceCreateRequest;
+import com.todoapp.dto.RecurrenceResponse;
+import com.todoapp.service.TodoRecurrenceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 重复待办事项API控制器
+ */
+@RestController
+@RequestMapping("/api/v1/todos/recurrences")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Todo Recurrences", description = "重复待办事项API")
+public class TodoRecurrenceController {
+    
+    private final TodoRecurrenceService todoRecurrenceService;
+    
+    /**
+     * 创建重复规则
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "创建重复规则", description = "规则为RRULE子集（FREQ=DAILY|WEEKLY|MONTHLY，可选INTERVAL和BYDAY），立即生成第一个实例，其余实例由后台任务在滚动窗口内生成")
+    public ApiResponse<RecurrenceResponse> createRecurrence(
+            @Valid @RequestBody RecurrenceCreateRequest request) {
+        
+        log.info("POST /api/v1/todos/recurrences - title: {}, rule: {}", request.getTitle(), request.getRule());
+        
+        RecurrenceResponse recurrence = todoRecurrenceService.createRecurrence(request);
+        return ApiResponse.created("Recurrence created successfully", recurrence);
+    }
+    
+    /**
+     * 获取所有重复规则
+     */
+    @GetMapping
+    @Operation(summary = "获取重复规则", description = "按创建时间倒序返回所有重复规则及下一次出现时间")
+    public ApiResponse<List<RecurrenceResponse>> getRecurrences() {
+        
+        log.info("GET /api/v1/todos/recurrences");
+        
+        return ApiResponse.success(todoRecurrenceService.getRecurrences());
+    }
+    
+    /**
+     * 删除重复规则
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "删除重复规则", description = "停止生成新实例，已生成的实例保留为普通待办事项")
+    public ApiResponse<Void> deleteRecurrence(
+            @Parameter(description = "重复规则ID")
+            @PathVariable Long id) {
+        
+        log.info("DELETE /api/v1/todos/recurrences/{}", id);
+        
+        todoRecurrenceService.deleteRecurrence(id);
+        return ApiResponse.success("Recurrence deleted successfully");
+    }
+}
@@ -0,0 +1,149 @@
+package com.todoapp.datasource;
+
+import com.todoapp.config.ConnectionPoolProperties;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 自适应连接池大小
+ * 定期读取HikariCP的获取连接耗时（hikaricp.connections.acquire）和连接使用时长（hikaricp.connections.usage），
+ * 计算区间内的平均等待时间和使用率：等待变长或有线程排队时按步长扩容，连续低使用率时逐个缩容。
+ * 缩容只降低上限，多出的空闲连接在idle-timeout后由HikariCP关闭
+ */
+@Slf4j
+public class AdaptivePoolSizer {
+
+    private final ConnectionPoolTuner tuner;
+    private final ConnectionPoolProperties.Adaptive settings;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, PoolWindow> windows = new ConcurrentHashMap<>();
+
+    public AdaptivePoolSizer(ConnectionPoolTuner tuner, ConnectionPoolProperties properties, MeterRegistry meterRegistry) {
+        this.tuner = tuner;
+        this.settings = properties.getAdaptive();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 调节所有连接池
+     */
+    @Scheduled(fixedDelayString = "${todo.datasource.pool.adaptive.interval-ms:10000}")
+    public void adjust() {
+        for (HikariDataSource pool : tuner.getPools()) {
+            try {
+                adjust(pool);
+            } catch (RuntimeException ex) {
+                log.warn("Failed to adjust connection pool {}: {}", pool.getPoolName(), ex.getMessage());
+            }
+        }
+    }
+
+    void adjust(HikariDataSource pool) {
+        HikariPoolMXBean poolBean = pool.getHikariPoolMXBean();
+        if (poolBean == null) {
+            // 连接池尚未启动
+            return;
+        }
+        HikariConfigMXBean config = pool.getHikariConfigMXBean();
+        PoolWindow window = windows.computeIfAbsent(config.getPoolName(), this::newWindow);
+        if (!window.sample(config.getPoolName(), config.getMaximumPoolSize())) {
+            return;
+        }
+
+        int current = config.getMaximumPoolSize();
+        int target = window.decide(current, poolBean.getThreadsAwaitingConnection());
+        if (target == current) {
+            return;
+        }
+        if (config.getMinimumIdle() > target) {
+            config.setMinimumIdle(target);
+        }
+        config.setMaximumPoolSize(target);
+        meterRegistry.counter("todo.datasource.pool.resizes",
+                "pool", config.getPoolName(), "direction", target > current ? "up" : "down").increment();
+        log.info("Connection pool {} resized {} -> {} (mean wait {}ms, utilization {})", config.getPoolName(),
+                current, target, String.format("%.2f", window.meanWaitMs), String.format("%.2f", window.utilization));
+    }
+
+    private PoolWindow newWindow(String poolName) {
+        PoolWindow window = new PoolWindow();
+        Gauge.builder("todo.datasource.pool.wait", window, w -> w.meanWaitMs)
+                .description("Mean connection acquire wait in the last sizing interval (ms)")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+        Gauge.builder("todo.datasource.pool.utilization", window, w -> w.utilization)
+                .description("Share of the pool in use during the last sizing interval")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+        return window;
+    }
+
+    /**
+     * 单个连接池的统计区间
+     */
+    private final class PoolWindow {
+
+        private boolean initialized;
+        private long lastNanos;
+        private long lastAcquireCount;
+        private double lastAcquireNanos;
+        private double lastUsageMillis;
+        private int lowIntervals;
+
+        private volatile double meanWaitMs;
+        private volatile double utilization;
+
+        /**
+         * 采样并计算上一区间的平均等待和使用率
+         * @return 是否已有完整区间（第一次调用只记录基线）
+         */
+        boolean sample(String poolName, int maximumPoolSize) {
+            Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", poolName).timer();
+            Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", poolName).timer();
+            long now = System.nanoTime();
+            long acquireCount = acquire != null ? acquire.count() : 0;
+            double acquireNanos = acquire != null ? acquire.totalTime(TimeUnit.NANOSECONDS) : 0;
+            double usageMillis = usage != null ? usage.totalTime(TimeUnit.MILLISECONDS) : 0;
+
+            boolean complete = initialized;
+            if (complete) {
+                long acquired = acquireCount - lastAcquireCount;
+                meanWaitMs = acquired > 0 ? (acquireNanos - lastAcquireNanos) / acquired / 1_000_000 : 0;
+                double elapsedMillis = Math.max(1, (now - lastNanos) / 1_000_000.0);
+                utilization = Math.min(1, (usageMillis - lastUsageMillis) / (elapsedMillis * maximumPoolSize));
+            }
+            initialized = true;
+            lastNanos = now;
+            lastAcquireCount = acquireCount;
+            lastAcquireNanos = acquireNanos;
+            lastUsageMillis = usageMillis;
+            return complete;
+        }
+
+        int decide(int current, int waitingThreads) {
+            if (meanWaitMs > settings.getScaleUpWaitMs() || waitingThreads > 0) {
+                lowIntervals = 0;
+                return Math.min(settings.getMaxSize(), current + settings.getScaleUpStep());
+            }
+            if (utilization >= settings.getScaleDownUtilization()) {
+                lowIntervals = 0;
+                return current;
+            }
+            if (++lowIntervals < settings.getScaleDownAfterIntervals()) {
+                return current;
+            }
+            lowIntervals = 0;
+            return Math.max(settings.getMinSize(), current - 1);
+        }
+    }
+}
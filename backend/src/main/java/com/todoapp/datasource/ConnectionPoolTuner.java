@@ -0,0 +1,107 @@
+package com.todoapp.datasource;
+
+import com.todoapp.config.ConnectionPoolProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 连接池调优
+ * 在连接池启动前应用ConnectionPoolProperties中的大小、超时和驱动参数，并注册hikaricp.connections.*指标；
+ * 经过调优的连接池由AdaptivePoolSizer统一调节
+ */
+@Slf4j
+public class ConnectionPoolTuner {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final ConnectionPoolProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final List<HikariDataSource> pools = new CopyOnWriteArrayList<>();
+
+    public ConnectionPoolTuner(ConnectionPoolProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 调优数据源，非HikariCP数据源原样返回
+     * @param poolName 连接池名称，同时作为指标的pool标签；已通过spring.datasource.hikari.pool-name指定时保留原值
+     */
+    public DataSource tune(DataSource dataSource, String poolName) {
+        if (dataSource instanceof HikariDataSource pool) {
+            tune(pool, poolName);
+        }
+        return dataSource;
+    }
+
+    public HikariDataSource tune(HikariDataSource pool, String poolName) {
+        if (pools.contains(pool)) {
+            return pool;
+        }
+        if (pool.getPoolName() == null) {
+            pool.setPoolName(poolName);
+        }
+
+        Integer maximumPoolSize = properties.getMaximumPoolSize();
+        ConnectionPoolProperties.Adaptive adaptive = properties.getAdaptive();
+        if (adaptive.isEnabled()) {
+            // 未配置时HikariCP在启动时才把-1解析为默认的10
+            int initial = maximumPoolSize != null ? maximumPoolSize
+                    : pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+            maximumPoolSize = Math.max(adaptive.getMinSize(), Math.min(adaptive.getMaxSize(), initial));
+        }
+        if (maximumPoolSize != null) {
+            pool.setMaximumPoolSize(maximumPoolSize);
+        }
+        if (properties.getMinimumIdle() != null) {
+            pool.setMinimumIdle(properties.getMinimumIdle());
+        }
+        if (properties.getConnectionTimeout() != null) {
+            pool.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        }
+        if (properties.getIdleTimeout() != null) {
+            pool.setIdleTimeout(properties.getIdleTimeout().toMillis());
+        }
+        if (properties.getMaxLifetime() != null) {
+            pool.setMaxLifetime(properties.getMaxLifetime().toMillis());
+        }
+        if (properties.getKeepaliveTime() != null) {
+            pool.setKeepaliveTime(properties.getKeepaliveTime().toMillis());
+        }
+
+        if (isMySql(pool.getJdbcUrl())) {
+            for (Map.Entry<String, String> entry : properties.getDriver().toProperties().entrySet()) {
+                pool.getDataSourceProperties().putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null && pool.getMetricRegistry() == null && pool.getMetricsTrackerFactory() == null) {
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+
+        pools.add(pool);
+        log.info("Connection pool {} tuned: maximumPoolSize={}, minimumIdle={}",
+                pool.getPoolName(), pool.getMaximumPoolSize(), pool.getMinimumIdle());
+        return pool;
+    }
+
+    /**
+     * 所有经过调优的连接池
+     */
+    public List<HikariDataSource> getPools() {
+        return List.copyOf(pools);
+    }
+
+    private static boolean isMySql(String jdbcUrl) {
+        return jdbcUrl != null && jdbcUrl.startsWith("jdbc:mysql:");
+    }
+}
@@ -0,0 +1,65 @@
+package com.todoapp.datasource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * 副本健康检查
+ * 定期探测副本连通性和复制延迟，不可用的副本会被路由数据源跳过
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ReplicaHealthChecker {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    /**
+     * 检查所有副本
+     */
+    @Scheduled(fixedDelayString = "${todo.datasource.routing.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (ReplicaNode replica : routingDataSource.getReplicas()) {
+            check(replica);
+        }
+    }
+
+    void check(ReplicaNode replica) {
+        boolean wasHealthy = replica.isHealthy();
+        try (Connection connection = replica.getDataSource().getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                throw new IllegalStateException("connection is not valid");
+            }
+            replica.markHealthy(queryLag(connection, replica.getLagQuery()));
+            if (!wasHealthy) {
+                log.info("Replica {} is healthy again, lag: {}ms", replica.getName(), replica.getLagMs());
+            }
+        } catch (Exception ex) {
+            replica.markUnhealthy();
+            if (wasHealthy) {
+                log.warn("Replica {} marked unhealthy: {}", replica.getName(), ex.getMessage());
+            }
+        }
+    }
+
+    private long queryLag(Connection connection, String lagQuery) throws Exception {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return 0;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                return 0;
+            }
+            long lag = resultSet.getLong(1);
+            // 延迟未知（如复制线程停止时返回NULL）视为不可用
+            return resultSet.wasNull() ? Long.MAX_VALUE : lag;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.todoapp.datasource;
+
+import lombok.Getter;
+
+import javax.sql.DataSource;
+
+/**
+ * 只读副本节点及其健康状态
+ */
+@Getter
+public class ReplicaNode {
+
+    private final String name;
+    private final DataSource dataSource;
+    private final String lagQuery;
+
+    private volatile boolean healthy = true;
+    private volatile long lagMs = 0;
+
+    public ReplicaNode(String name, DataSource dataSource, String lagQuery) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.lagQuery = lagQuery;
+    }
+
+    /**
+     * 是否可以接收读流量
+     */
+    public boolean isAvailable(long maxLagMs) {
+        return healthy && lagMs <= maxLagMs;
+    }
+
+    void markHealthy(long lagMs) {
+        this.healthy = true;
+        this.lagMs = lagMs;
+    }
+
+    void markUnhealthy() {
+        this.healthy = false;
+    }
+}
@@ -0,0 +1,81 @@
+package com.todoapp.datasource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 跨分片并行执行器
+ * 在每个分片上并行执行同一操作，按分片顺序返回结果；未启用分片时只有一个分片
+ */
+public class ShardFanOutExecutor implements DisposableBean {
+
+    private final List<JdbcTemplate> shards;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardFanOutExecutor(List<DataSource> shards) {
+        this.shards = shards.stream().map(JdbcTemplate::new).toList();
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * 在所有分片上并行执行
+     * @param work 分片上的操作
+     * @return 各分片的结果，顺序与分片顺序一致
+     */
+    public <T> List<T> execute(Function<JdbcTemplate, T> work) {
+        return execute((shard, jdbc) -> work.apply(jdbc));
+    }
+
+    /**
+     * 在所有分片上并行执行，操作可以获取分片序号
+     * @param work 分片上的操作，参数为分片序号和该分片的JdbcTemplate
+     * @return 各分片的结果，顺序与分片顺序一致
+     */
+    public <T> List<T> execute(BiFunction<Integer, JdbcTemplate, T> work) {
+        if (shards.size() == 1) {
+            return List.of(work.apply(0, shards.get(0)));
+        }
+
+        List<Future<T>> futures = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            int shard = i;
+            futures.add(executor.submit(() -> work.apply(shard, shards.get(shard))));
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted while waiting for shards", ex);
+        } catch (ExecutionException ex) {
+            futures.forEach(future -> future.cancel(true));
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Shard operation failed", ex.getCause());
+        }
+        return results;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
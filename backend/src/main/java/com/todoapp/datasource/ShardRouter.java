@@ -0,0 +1,43 @@
+package com.todoapp.datasource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * 租户分片路由
+ * 使用CRC32哈希取模，保证同一租户在所有实例上路由到同一分片。
+ * 每个分片的todos从shard << ID_RANGE_BITS开始分配自增ID，ID在所有分片上唯一，可以直接作为缓存和布隆过滤器的键
+ */
+public class ShardRouter {
+
+    /**
+     * 每个分片的ID区间位数，2^40个ID；8192个分片以内的ID都不超过JavaScript的安全整数
+     */
+    public static final int ID_RANGE_BITS = 40;
+
+    private final int shardCount;
+
+    public ShardRouter(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int shardFor(String tenant) {
+        CRC32 crc = new CRC32();
+        crc.update(tenant.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shardCount);
+    }
+
+    /**
+     * 分片ID区间的起点
+     */
+    public static long firstId(int shard) {
+        return (long) shard << ID_RANGE_BITS;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+}
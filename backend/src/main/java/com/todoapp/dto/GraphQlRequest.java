@@ -0,0 +1,28 @@
+package com.todoapp.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * GraphQL请求DTO（GraphQL over HTTP的JSON请求体）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphQlRequest {
+
+    @NotBlank(message = "查询不能为空")
+    private String query;
+
+    private String operationName;
+
+    private Map<String, Object> variables;
+
+    public GraphQlRequest(String query) {
+        this.query = query;
+    }
+}
@@ -0,0 +1,50 @@
+package com.todoapp.dto;
+
+import com.todoapp.importer.ImportJob;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 导入任务进度响应DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponse {
+
+    private String jobId;
+    private String status;
+    private String format;
+    private String tenant;
+    private Long rowsRead;
+    private Long imported;
+    private Long rejected;
+    private Long resumedRows;
+    private Long rowsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+
+    /**
+     * 从运行中的任务生成进度快照
+     */
+    public static ImportJobResponse from(ImportJob job) {
+        return new ImportJobResponse(
+            job.getId(),
+            job.getStatus().name(),
+            job.getFormat().name().toLowerCase(),
+            job.getTenant(),
+            job.getRowsRead().sum(),
+            job.getImported().sum(),
+            job.getRejected().sum(),
+            job.getResumedRows().sum(),
+            job.getRowsPerSecond(),
+            job.getStartedAt(),
+            job.getFinishedAt(),
+            job.getMessage()
+        );
+    }
+}
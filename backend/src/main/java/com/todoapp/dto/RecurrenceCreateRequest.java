@@ -0,0 +1,47 @@
+package com.todoapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 创建重复规则请求DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurrenceCreateRequest {
+    
+    @NotBlank(message = "标题不能为空")
+    @Size(max = 255, message = "标题长度不能超过255个字符")
+    private String title;
+    
+    @Size(max = 1000, message = "描述长度不能超过1000个字符")
+    private String description;
+    
+    /**
+     * 重复规则，RRULE子集，例如FREQ=WEEKLY;BYDAY=MO,WE,FR
+     */
+    @NotBlank(message = "重复规则不能为空")
+    @Size(max = 255, message = "重复规则长度不能超过255个字符")
+    private String rule;
+    
+    /**
+     * 开始时间，决定每次出现的时分秒
+     */
+    @NotNull(message = "开始时间不能为空")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime startsAt;
+    
+    /**
+     * 结束时间，晚于该时间不再生成实例，null表示不结束
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime endsAt;
+}
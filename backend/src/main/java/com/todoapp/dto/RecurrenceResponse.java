@@ -0,0 +1,49 @@
+package com.todoapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.todoapp.entity.TodoRecurrence;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 重复规则响应DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurrenceResponse {
+    
+    private Long id;
+    private String title;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String description;
+    private String rule;
+    private LocalDateTime startsAt;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime endsAt;
+    /**
+     * 下一次尚未生成的出现时间，规则已结束时为null
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime nextAt;
+    private LocalDateTime createdAt;
+    
+    /**
+     * 从Entity转换为DTO
+     */
+    public static RecurrenceResponse fromEntity(TodoRecurrence recurrence) {
+        return new RecurrenceResponse(
+            recurrence.getId(),
+            recurrence.getTitle(),
+            recurrence.getDescription(),
+            recurrence.getRule(),
+            recurrence.getStartsAt(),
+            recurrence.getEndsAt(),
+            recurrence.getNextAt(),
+            recurrence.getCreatedAt()
+        );
+    }
+}
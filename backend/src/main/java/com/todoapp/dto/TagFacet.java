@@ -0,0 +1,26 @@
+package com.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 标签分面计数DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagFacet {
+
+    private String tag;
+    private long total;
+    private long completed;
+    private long pending;
+
+    /**
+     * 创建分面计数
+     */
+    public static TagFacet of(String tag, long total, long completed) {
+        return new TagFacet(tag, total, completed, total - completed);
+    }
+}
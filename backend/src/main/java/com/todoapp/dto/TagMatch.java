@@ -0,0 +1,34 @@
+package com.todoapp.dto;
+
+import java.util.Locale;
+
+/**
+ * 按多个标签过滤时的匹配方式
+ */
+public enum TagMatch {
+
+    /**
+     * 带有全部指定标签
+     */
+    ALL,
+
+    /**
+     * 带有任一指定标签（默认）
+     */
+    ANY;
+
+    /**
+     * 解析match请求参数，为空时返回ANY
+     * @throws IllegalArgumentException 参数值不合法时
+     */
+    public static TagMatch from(String value) {
+        if (value == null || value.isBlank()) {
+            return ANY;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported match value: " + value + ", expected all or any");
+        }
+    }
+}
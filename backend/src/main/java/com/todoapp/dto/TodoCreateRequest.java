@@ -1,11 +1,15 @@
 package com.todoapp.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * 创建Todo请求DTO
  */
@@ -20,4 +24,20 @@ public class TodoCreateRequest {
     
     @Size(max = 1000, message = "描述长度不能超过1000个字符")
     private String description;
+    
+    /**
+     * 标签名，去除首尾空白并转为小写后保存
+     */
+    @Size(max = 20, message = "标签数量不能超过20个")
+    private List<String> tags;
+    
+    /**
+     * 截止时间，格式与响应中的时间一致；到期时由提醒调度触发提醒
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime dueAt;
+    
+    public TodoCreateRequest(String title, String description) {
+        this(title, description, null, null);
+    }
 }
@@ -0,0 +1,39 @@
+package com.todoapp.dto;
+
+import java.util.Locale;
+
+/**
+ * 列表查询返回的字段集合
+ */
+public enum TodoFieldSet {
+
+    /**
+     * 全部字段，包含完整description
+     */
+    FULL,
+
+    /**
+     * 摘要字段加定长的描述预览（默认）
+     */
+    PREVIEW,
+
+    /**
+     * 摘要字段，不包含description
+     */
+    SUMMARY;
+
+    /**
+     * 解析fields请求参数，为空时返回PREVIEW
+     * @throws IllegalArgumentException 参数值不合法时
+     */
+    public static TodoFieldSet from(String value) {
+        if (value == null || value.isBlank()) {
+            return PREVIEW;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported fields value: " + value + ", expected full, preview or summary");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.todoapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Todo变更历史中的一个事件
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoHistoryEntry {
+
+    private Integer version;
+    /**
+     * 变更类型，与TodoChangedEvent.ChangeType一致
+     */
+    private String type;
+    /**
+     * 操作者，请求未带X-Actor-Id时为null
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String actor;
+    private LocalDateTime changedAt;
+    /**
+     * 变化的字段，每个字段为{"from": 旧值, "to": 新值}
+     */
+    private JsonNode changes;
+}
@@ -0,0 +1,23 @@
+package com.todoapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Todo变更历史响应DTO
+ * 事件按版本升序，nextVersion是下一页的afterVersion，没有下一页时为null
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoHistoryResponse {
+
+    private Long todoId;
+    private List<TodoHistoryEntry> events;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer nextVersion;
+}
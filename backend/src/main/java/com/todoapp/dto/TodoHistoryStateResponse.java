@@ -0,0 +1,31 @@
+package com.todoapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 按版本或时间点重建的Todo状态响应DTO
+ * snapshotVersion和replayedEvents说明重建的代价：从哪个快照开始、回放了多少个事件
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoHistoryStateResponse {
+
+    private Long todoId;
+    private Integer version;
+    private LocalDateTime changedAt;
+    private Boolean deleted;
+    /**
+     * 该版本之后的标题、描述、完成状态、截止时间和标签
+     */
+    private JsonNode state;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer snapshotVersion;
+    private Integer replayedEvents;
+}
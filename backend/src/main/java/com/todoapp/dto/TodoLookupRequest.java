@@ -0,0 +1,25 @@
+package com.todoapp.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 按ID批量获取Todo请求DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoLookupRequest {
+
+    @NotEmpty(message = "ID列表不能为空")
+    private List<Long> ids;
+
+    /**
+     * 热数据中不存在的ID是否继续查询归档表
+     */
+    private boolean includeArchived;
+}
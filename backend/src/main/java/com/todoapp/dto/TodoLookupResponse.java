@@ -0,0 +1,41 @@
+package com.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按ID批量获取Todo响应DTO
+ * todos按请求中ID首次出现的顺序排列，不存在（或不属于当前租户）的ID列在missingIds中
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoLookupResponse {
+
+    private List<TodoResponse> todos;
+    private List<Long> missingIds;
+
+    /**
+     * 按请求顺序组装结果
+     * @param requestedIds 去重后的请求ID
+     * @param found 查询到的Todo，按ID索引
+     */
+    public static TodoLookupResponse of(List<Long> requestedIds, Map<Long, TodoResponse> found) {
+        List<TodoResponse> todos = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            TodoResponse todo = found.get(id);
+            if (todo != null) {
+                todos.add(todo);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new TodoLookupResponse(todos, missingIds);
+    }
+}
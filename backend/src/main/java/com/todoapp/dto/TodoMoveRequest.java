@@ -0,0 +1,25 @@
+package com.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 移动Todo请求DTO
+ * 至少指定一个相邻的Todo：只传afterId时移到它的正下方，只传beforeId时移到它的正上方
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoMoveRequest {
+
+    /**
+     * 移动后排在其后的Todo（上方），null表示不限
+     */
+    private Long afterId;
+
+    /**
+     * 移动后排在其前的Todo（下方），null表示不限
+     */
+    private Long beforeId;
+}
@@ -0,0 +1,53 @@
+package com.todoapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 按排序键分页的响应DTO
+ * nextCursor编码了本页最后一行的(position, id)，没有下一页时为null
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoPageResponse {
+
+    private List<TodoResponse> todos;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    /**
+     * 编码游标
+     */
+    public static String encodeCursor(String position, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((position + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     * @return 上一页最后一行的排序键和ID
+     * @throws IllegalArgumentException 游标格式不正确时
+     */
+    public static Cursor decodeCursor(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(':');
+            return new Cursor(value.substring(0, separator), Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * 分页游标
+     */
+    public record Cursor(String position, Long id) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 修改父任务请求DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoParentRequest {
+
+    /**
+     * 新的父任务，null表示移为顶层Todo
+     */
+    private Long parentId;
+}
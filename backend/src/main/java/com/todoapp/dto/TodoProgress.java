@@ -0,0 +1,24 @@
+package com.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 子任务完成进度DTO，例如3/7表示7个子任务中已完成3个
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoProgress {
+
+    private long total;
+    private long completed;
+
+    /**
+     * 创建进度
+     */
+    public static TodoProgress of(long total, long completed) {
+        return new TodoProgress(total, completed);
+    }
+}
@@ -1,11 +1,18 @@
 package com.todoapp.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.todoapp.entity.ArchivedTodo;
 import com.todoapp.entity.Todo;
+import com.todoapp.repository.TodoListView;
+import com.todoapp.repository.TodoPositionView;
+import com.todoapp.repository.TodoPreviewView;
+import com.todoapp.repository.TodoSummaryView;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Todo响应DTO
@@ -17,10 +24,46 @@ public class TodoResponse {
     
     private Long id;
     private String title;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String descriptionPreview;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean descriptionTruncated;
     private Boolean completed;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private String tenantId;
+    /**
+     * 来自归档表时为true，只在includeArchived查询中出现
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean archived;
+    /**
+     * 手动排序键，归档的Todo没有
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String position;
+    /**
+     * 直接子任务的完成进度，只在分页和子树查询中出现，没有子任务时为null
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private TodoProgress subtasks;
+    /**
+     * 按名称排序的标签，归档的Todo没有
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<String> tags;
+    /**
+     * 截止时间，没有截止时间时为null
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime dueAt;
+    /**
+     * 生成该Todo的重复规则ID，普通Todo为null
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long recurrenceId;
     
     /**
      * 从Entity转换为DTO
@@ -33,9 +76,75 @@ public class TodoResponse {
             todo.getId(),
             todo.getTitle(),
             todo.getDescription(),
+            null,
+            null,
+            todo.getCompleted(),
+            todo.getCreatedAt(),
+            todo.getUpdatedAt(),
+            todo.getTenantId(),
+            null,
+            todo.getPosition(),
+            null,
+            null,
+            todo.getDueAt(),
+            todo.getRecurrenceId()
+        );
+    }
+    
+    /**
+     * 从归档实体转换为DTO，包含解压后的完整描述
+     */
+    public static TodoResponse fromArchived(ArchivedTodo todo) {
+        return new TodoResponse(
+            todo.getId(),
+            todo.getTitle(),
+            todo.getDescription(),
+            null,
+            null,
             todo.getCompleted(),
             todo.getCreatedAt(),
-            todo.getUpdatedAt()
+            todo.getUpdatedAt(),
+            todo.getTenantId(),
+            true,
+            null,
+            null,
+            null,
+            todo.getDueAt(),
+            todo.getRecurrenceId()
+        );
+    }
+    
+    /**
+     * 从列表投影转换为DTO
+     * 完整投影返回description，预览投影返回descriptionPreview，摘要投影两者都不包含
+     */
+    public static TodoResponse fromView(TodoSummaryView view) {
+        String description = null;
+        String preview = null;
+        Boolean truncated = null;
+        if (view instanceof TodoListView listView) {
+            description = listView.getDescription();
+        } else if (view instanceof TodoPreviewView previewView && previewView.getDescriptionPreview() != null) {
+            preview = previewView.getDescriptionPreview();
+            truncated = previewView.getDescriptionLength() != null
+                    && previewView.getDescriptionLength() > preview.length();
+        }
+        return new TodoResponse(
+            view.getId(),
+            view.getTitle(),
+            description,
+            preview,
+            truncated,
+            view.getCompleted(),
+            view.getCreatedAt(),
+            view.getUpdatedAt(),
+            view.getTenantId(),
+            null,
+            view instanceof TodoPositionView positionView ? positionView.getPosition() : null,
+            null,
+            null,
+            view.getDueAt(),
+            view.getRecurrenceId()
         );
     }
 }
@@ -0,0 +1,26 @@
+package com.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 子树节点DTO
+ * todo.subtasks是直接子任务的进度，descendants是整棵子树（不含自身）的进度
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoTreeNode {
+
+    private TodoResponse todo;
+    /**
+     * 相对子树根的层数，根为0
+     */
+    private int depth;
+    private TodoProgress descendants;
+    private List<TodoTreeNode> children = new ArrayList<>();
+}
@@ -1,10 +1,14 @@
 package com.todoapp.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * 更新Todo请求DTO
  */
@@ -20,4 +24,20 @@ public class TodoUpdateRequest {
     private String description;
     
     private Boolean completed;
+    
+    /**
+     * 替换后的全部标签，null表示不修改，空列表表示清空
+     */
+    @Size(max = 20, message = "标签数量不能超过20个")
+    private List<String> tags;
+    
+    /**
+     * 截止时间，格式与响应中的时间一致，null表示不修改；到期时由提醒调度触发提醒
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime dueAt;
+    
+    public TodoUpdateRequest(String title, String description, Boolean completed) {
+        this(title, description, completed, null, null);
+    }
 }
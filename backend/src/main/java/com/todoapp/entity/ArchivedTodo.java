@@ -0,0 +1,72 @@
+package com.todoapp.entity;
+
+import com.todoapp.archive.ArchiveCodec;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDateTime;
+
+/**
+ * 已归档Todo实体
+ * 对应数据库archived_todos表，由TodoArchiver从todos表迁移而来，只读；
+ * ID沿用原Todo的ID，完整描述以GZIP压缩存放
+ */
+@Entity
+@Table(name = "archived_todos", indexes = {
+    @Index(name = "idx_archived_todos_tenant_created_at", columnList = "tenant_id, created_at")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedTodo {
+
+    @Id
+    private Long id;
+
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Column(name = "title", nullable = false, length = 255)
+    private String title;
+
+    @Column(name = "description_preview", length = Todo.DESCRIPTION_PREVIEW_LENGTH)
+    private String descriptionPreview;
+
+    @Column(name = "description_length")
+    private Integer descriptionLength;
+
+    @Lob
+    @Column(name = "description_gzip", columnDefinition = "BLOB")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private byte[] descriptionGzip;
+
+    @Column(name = "completed", nullable = false)
+    private Boolean completed = true;
+
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    @Column(name = "recurrence_id")
+    private Long recurrenceId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * 解压完整描述
+     */
+    public String getDescription() {
+        return ArchiveCodec.decompress(descriptionGzip);
+    }
+}
@@ -0,0 +1,39 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 缓存失效消息实体
+ * 对应数据库cache_invalidations表，与业务写入在同一事务中插入，由各节点轮询消费
+ */
+@Entity
+@Table(name = "cache_invalidations", indexes = {
+    @Index(name = "idx_cache_invalidations_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "node_id", nullable = false, length = 64)
+    private String nodeId;
+
+    @Column(name = "change_type", nullable = false, length = 32)
+    private String changeType;
+
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    @Column(name = "tenant", nullable = false, length = 64)
+    private String tenant;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
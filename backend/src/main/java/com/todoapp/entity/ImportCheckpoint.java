@@ -0,0 +1,39 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 导入检查点实体
+ * 对应数据库import_checkpoints表，与导入数据在同一事务中写入，中断后据此跳过已提交的批次
+ */
+@Entity
+@Table(name = "import_checkpoints", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_import_checkpoints_job_chunk", columnNames = {"job_id", "chunk_index"})
+})
+@Data
+@NoArgsConstructor
+public class ImportCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false, length = 64)
+    private String jobId;
+
+    @Column(name = "chunk_index", nullable = false)
+    private Integer chunkIndex;
+
+    @Column(name = "imported_count", nullable = false)
+    private Integer importedCount;
+
+    @Column(name = "rejected_count", nullable = false)
+    private Integer rejectedCount;
+
+    @Column(name = "committed_at", nullable = false)
+    private LocalDateTime committedAt;
+}
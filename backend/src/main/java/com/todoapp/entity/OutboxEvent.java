@@ -0,0 +1,60 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 发件箱事件实体
+ * 对应数据库outbox_events表，与Todo变更在同一事务中写入，由OutboxRelay异步投递
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_events_published_at", columnList = "published_at, id")
+})
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    @Column(name = "tenant", nullable = false, length = 64)
+    private String tenant;
+
+    @Column(name = "event_type", nullable = false, length = 32)
+    private String eventType;
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    /**
+     * 单独投递失败的次数，整批失败不计入
+     */
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_attempt_at")
+    private LocalDateTime lastAttemptAt;
+
+    @Column(name = "last_error", length = 512)
+    private String lastError;
+
+    /**
+     * 达到最大尝试次数的时间，非空的事件不再投递
+     */
+    @Column(name = "dead_lettered_at")
+    private LocalDateTime deadLetteredAt;
+}
@@ -0,0 +1,28 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 发件箱投递租约实体
+ * 对应数据库outbox_leases表，每个分片一行，由OutboxRelay通过JDBC抢占和续约，持有者负责投递该分片的事件
+ */
+@Entity
+@Table(name = "outbox_leases")
+@Data
+@NoArgsConstructor
+public class OutboxLease {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "owner", nullable = false, length = 64)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
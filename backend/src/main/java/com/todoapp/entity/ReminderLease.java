@@ -0,0 +1,28 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 提醒调度租约实体
+ * 对应数据库reminder_leases表，每个分片一行，由ReminderScheduler通过JDBC抢占和续约，持有者负责触发该分片的提醒
+ */
+@Entity
+@Table(name = "reminder_leases")
+@Data
+@NoArgsConstructor
+public class ReminderLease {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "owner", nullable = false, length = 64)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
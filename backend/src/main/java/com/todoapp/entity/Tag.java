@@ -0,0 +1,42 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
+
+/**
+ * 标签实体
+ * 对应数据库tags表，标签名在租户内唯一，Todo与标签的关联保存在todo_tags表
+ */
+@Entity
+@Table(name = "tags", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_tags_tenant_name", columnNames = {"tenant_id", "name"})
+})
+@Data
+@NoArgsConstructor
+public class Tag {
+
+    /**
+     * 标签名的最大长度（字符数）
+     */
+    public static final int NAME_LENGTH = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 所属租户，由Hibernate根据TenantContext自动写入并用于过滤查询
+     */
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, length = 64, columnDefinition = "VARCHAR(64) DEFAULT 'default'")
+    private String tenantId;
+
+    @Column(name = "name", nullable = false, length = NAME_LENGTH)
+    private String name;
+
+    public Tag(String name) {
+        this.name = name;
+    }
+}
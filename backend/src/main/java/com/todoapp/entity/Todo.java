@@ -1,42 +1,112 @@
 package com.todoapp.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.TenantId;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 /**
  * Todo实体类
- * 对应数据库todos表
+ * 对应数据库todos表，表结构由db/migration下的版本化脚本维护，索引声明需与之保持一致
  */
 @Entity
 @Table(name = "todos", indexes = {
-    @Index(name = "idx_todos_completed", columnList = "completed"),
-    @Index(name = "idx_todos_created_at", columnList = "created_at"),
-    @Index(name = "idx_todos_title", columnList = "title")
+    @Index(name = "idx_todos_tenant_created_at", columnList = "tenant_id, created_at"),
+    @Index(name = "idx_todos_tenant_completed_created_at", columnList = "tenant_id, completed, created_at, id"),
+    @Index(name = "idx_todos_completed_updated_at", columnList = "completed, updated_at, id"),
+    @Index(name = "idx_todos_tenant_position", columnList = "tenant_id, position, id"),
+    @Index(name = "idx_todos_remind_at", columnList = "remind_at, id"),
+    @Index(name = "idx_todos_recurrence", columnList = "recurrence_id, completed")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Todo {
     
+    /**
+     * 描述预览的最大长度（字符数），与description_preview列宽一致
+     */
+    public static final int DESCRIPTION_PREVIEW_LENGTH = 120;
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    /**
+     * 所属租户，由Hibernate根据TenantContext自动写入并用于过滤查询
+     */
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, length = 64, columnDefinition = "VARCHAR(64) DEFAULT 'default'")
+    private String tenantId;
+    
     @Column(name = "title", nullable = false, length = 255)
     private String title;
     
-    @Column(name = "description", columnDefinition = "TEXT")
-    private String description;
+    /**
+     * 完整描述单独存放在todo_descriptions表，只有读取getDescription()时才会加载
+     */
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "description_id")
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private TodoDescription descriptionBody;
+    
+    /**
+     * 描述的前DESCRIPTION_PREVIEW_LENGTH个字符，列表查询只读取这一列
+     */
+    @Column(name = "description_preview", length = DESCRIPTION_PREVIEW_LENGTH)
+    @Setter(AccessLevel.NONE)
+    private String descriptionPreview;
+    
+    /**
+     * 完整描述的字符数
+     */
+    @Column(name = "description_length")
+    @Setter(AccessLevel.NONE)
+    private Integer descriptionLength;
+    
+    /**
+     * 手动排序键，按字典序升序即用户拖拽后的顺序，见RankKeys；迁移前和批量导入的行由TodoRebalancer补齐
+     */
+    @Column(name = "position", length = 64)
+    private String position;
     
     @Column(name = "completed", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    @Setter(AccessLevel.NONE)
     private Boolean completed = false;
     
+    /**
+     * 截止时间，null表示没有截止时间
+     */
+    @Column(name = "due_at")
+    @Setter(AccessLevel.NONE)
+    private LocalDateTime dueAt;
+    
+    /**
+     * 待触发的提醒时间：未完成且提醒尚未触发时等于dueAt，否则为null。
+     * 提醒调度只按这一列加载即将到期的时间窗口，触发后由ReminderScheduler置空
+     */
+    @Column(name = "remind_at")
+    @Setter(AccessLevel.NONE)
+    private LocalDateTime remindAt;
+    
+    /**
+     * 生成该Todo的重复规则，普通Todo为null
+     */
+    @Column(name = "recurrence_id")
+    private Long recurrenceId;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -50,14 +120,78 @@ public class Todo {
      */
     public Todo(String title, String description) {
         this.title = title;
-        this.description = description;
         this.completed = false;
+        setDescription(description);
+    }
+    
+    /**
+     * 获取完整描述，首次调用时才从todo_descriptions表加载
+     */
+    public String getDescription() {
+        return descriptionBody != null ? descriptionBody.getBody() : null;
+    }
+    
+    /**
+     * 设置完整描述，同时更新预览和长度
+     */
+    public void setDescription(String description) {
+        if (description == null) {
+            this.descriptionBody = null;
+            this.descriptionPreview = null;
+            this.descriptionLength = null;
+            return;
+        }
+        if (descriptionBody == null) {
+            this.descriptionBody = new TodoDescription(description);
+        } else {
+            descriptionBody.setBody(description);
+        }
+        this.descriptionPreview = preview(description);
+        this.descriptionLength = description.length();
+    }
+    
+    /**
+     * 截取描述预览，不会把代理对（如emoji）从中间截断
+     */
+    public static String preview(String description) {
+        if (description.length() <= DESCRIPTION_PREVIEW_LENGTH) {
+            return description;
+        }
+        int end = DESCRIPTION_PREVIEW_LENGTH;
+        if (Character.isHighSurrogate(description.charAt(end - 1))) {
+            end--;
+        }
+        return description.substring(0, end);
+    }
+    
+    /**
+     * 设置完成状态，状态变化时重新计算待触发的提醒
+     */
+    public void setCompleted(Boolean completed) {
+        if (!Objects.equals(this.completed, completed)) {
+            this.completed = completed;
+            resetReminder();
+        }
+    }
+    
+    /**
+     * 设置截止时间，截止时间变化时重新计算待触发的提醒
+     */
+    public void setDueAt(LocalDateTime dueAt) {
+        if (!Objects.equals(this.dueAt, dueAt)) {
+            this.dueAt = dueAt;
+            resetReminder();
+        }
     }
     
     /**
      * 切换完成状态
      */
     public void toggleCompleted() {
-        this.completed = !this.completed;
+        setCompleted(!this.completed);
+    }
+    
+    private void resetReminder() {
+        this.remindAt = Boolean.TRUE.equals(completed) ? null : dueAt;
     }
 }
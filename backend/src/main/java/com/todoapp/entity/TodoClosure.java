@@ -0,0 +1,45 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 子任务闭包表实体
+ * 对应数据库todo_closure表，每对祖先/后代一行，depth为两者之间的层数（直接子任务为1）。
+ * 不保存depth=0的自身行，没有子任务的Todo在表中没有任何记录
+ */
+@Entity
+@Table(name = "todo_closure", indexes = {
+    @Index(name = "idx_todo_closure_descendant_depth", columnList = "descendant_id, depth")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoClosure {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "depth", nullable = false)
+    private Integer depth;
+
+    /**
+     * 闭包表主键，(ancestor_id, descendant_id)的前缀即按祖先读取整棵子树的索引
+     */
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "ancestor_id", nullable = false)
+        private Long ancestorId;
+
+        @Column(name = "descendant_id", nullable = false)
+        private Long descendantId;
+    }
+}
@@ -0,0 +1,27 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Todo完整描述实体
+ * 对应数据库todo_descriptions表，与todos表分开存放，列表查询不会读取
+ */
+@Entity
+@Table(name = "todo_descriptions")
+@Data
+@NoArgsConstructor
+public class TodoDescription {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "body", nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    public TodoDescription(String body) {
+        this.body = body;
+    }
+}
@@ -0,0 +1,71 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Todo变更事件实体
+ * 对应数据库todo_events表，只追加不修改；与Todo变更在同一事务中写入，
+ * 主键(todo_id, version)按版本顺序读取单个Todo的历史，changes只保存本次变化的字段的新值（JSON）
+ */
+@Entity
+@Table(name = "todo_events", indexes = {
+    @Index(name = "idx_todo_events_todo_created", columnList = "todo_id, created_at, version")
+})
+@Data
+@NoArgsConstructor
+public class TodoEvent implements Persistable<TodoEvent.Key> {
+
+    @EmbeddedId
+    private Key id;
+
+    /**
+     * 所属租户，由Hibernate根据TenantContext自动写入并用于过滤查询
+     */
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, length = 64, columnDefinition = "VARCHAR(64) DEFAULT 'default'")
+    private String tenantId;
+
+    @Column(name = "event_type", nullable = false, length = 32)
+    private String eventType;
+
+    /**
+     * 操作者，取自X-Actor-Id请求头，后台任务和未传请求头时为null
+     */
+    @Column(name = "actor", length = 64)
+    private String actor;
+
+    @Column(name = "changes", nullable = false, columnDefinition = "TEXT")
+    private String changes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 只追加不修改，保存时直接INSERT，不先按主键查询
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "todo_id", nullable = false)
+        private Long todoId;
+
+        @Column(name = "version", nullable = false)
+        private Integer version;
+    }
+}
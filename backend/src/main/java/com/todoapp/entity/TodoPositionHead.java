@@ -0,0 +1,24 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 租户最前排序键实体
+ * 对应数据库todo_position_heads表，每个租户一行，由TodoPositionHeads通过JDBC加锁读取和更新，
+ * 记录最近一次排到最前的键
+ */
+@Entity
+@Table(name = "todo_position_heads")
+@Data
+@NoArgsConstructor
+public class TodoPositionHead {
+
+    @Id
+    @Column(name = "tenant_id", length = 64)
+    private String tenantId;
+
+    @Column(name = "position", length = 64)
+    private String position;
+}
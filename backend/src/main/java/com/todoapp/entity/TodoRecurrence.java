@@ -0,0 +1,64 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.TenantId;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 重复规则实体
+ * 对应数据库todo_recurrences表，规则只保存一次，按规则生成的Todo实例通过todos.recurrence_id关联；
+ * nextAt是下一次尚未生成的时间，由RecurrenceMaterializer按滚动窗口推进，规则结束后为null
+ */
+@Entity
+@Table(name = "todo_recurrences", indexes = {
+    @Index(name = "idx_todo_recurrences_next_at", columnList = "next_at, id")
+})
+@Data
+@NoArgsConstructor
+public class TodoRecurrence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 所属租户，由Hibernate根据TenantContext自动写入并用于过滤查询
+     */
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, length = 64, columnDefinition = "VARCHAR(64) DEFAULT 'default'")
+    private String tenantId;
+
+    @Column(name = "title", nullable = false, length = 255)
+    private String title;
+
+    @Column(name = "description", length = 1000)
+    private String description;
+
+    /**
+     * 规范化后的重复规则，见RecurrenceRule
+     */
+    @Column(name = "rule", nullable = false, length = 255)
+    private String rule;
+
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
+    @Column(name = "next_at")
+    private LocalDateTime nextAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
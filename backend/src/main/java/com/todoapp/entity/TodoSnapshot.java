@@ -0,0 +1,45 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Todo状态快照实体
+ * 对应数据库todo_snapshots表，保存某个版本之后的完整状态（JSON），主键与todo_events相同；
+ * 每隔todo.history.snapshot-interval个版本写入一次，重建历史状态时从最近的快照开始回放事件
+ */
+@Entity
+@Table(name = "todo_snapshots")
+@Data
+@NoArgsConstructor
+public class TodoSnapshot implements Persistable<TodoEvent.Key> {
+
+    @EmbeddedId
+    private TodoEvent.Key id;
+
+    /**
+     * 所属租户，由Hibernate根据TenantContext自动写入并用于过滤查询
+     */
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, length = 64, columnDefinition = "VARCHAR(64) DEFAULT 'default'")
+    private String tenantId;
+
+    @Column(name = "state", nullable = false, columnDefinition = "TEXT")
+    private String state;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 只追加不修改，保存时直接INSERT，不先按主键查询
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
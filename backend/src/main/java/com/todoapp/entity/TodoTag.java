@@ -0,0 +1,38 @@
+package com.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Todo与标签的关联实体
+ * 对应数据库todo_tags表，主键(todo_id, tag_id)按Todo读取标签，(tag_id, todo_id)索引按标签过滤Todo
+ */
+@Entity
+@Table(name = "todo_tags", indexes = {
+    @Index(name = "idx_todo_tags_tag_todo", columnList = "tag_id, todo_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoTag {
+
+    @EmbeddedId
+    private Key id;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "todo_id", nullable = false)
+        private Long todoId;
+
+        @Column(name = "tag_id", nullable = false)
+        private Long tagId;
+    }
+}
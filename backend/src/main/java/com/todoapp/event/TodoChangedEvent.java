@@ -0,0 +1,69 @@
+package com.todoapp.event;
+
+import com.todoapp.dto.TodoResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Todo变更事件
+ * 由TodoService在每次写操作后发布，供缓存失效等组件订阅
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class TodoChangedEvent {
+
+    /**
+     * 变更类型
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        TOGGLED,
+        MOVED,
+        DELETED,
+        DELETED_COMPLETED,
+        DELETED_ALL,
+        IMPORTED,
+        ARCHIVED,
+        MATERIALIZED
+    }
+
+    private final ChangeType type;
+
+    /**
+     * 受影响的Todo ID，批量操作时为null
+     */
+    private final Long todoId;
+
+    /**
+     * 变更后的Todo快照，删除和批量操作时为null
+     */
+    @ToString.Exclude
+    private final TodoResponse todo;
+
+    /**
+     * 批量新建（导入、生成重复实例）时生成的Todo ID，其他变更为空列表
+     */
+    @ToString.Exclude
+    private final List<Long> createdIds;
+
+    public static TodoChangedEvent of(ChangeType type, TodoResponse todo) {
+        return new TodoChangedEvent(type, todo.getId(), todo, List.of());
+    }
+
+    public static TodoChangedEvent of(ChangeType type, Long todoId) {
+        return new TodoChangedEvent(type, todoId, null, List.of());
+    }
+
+    public static TodoChangedEvent bulk(ChangeType type) {
+        return new TodoChangedEvent(type, null, null, List.of());
+    }
+
+    public static TodoChangedEvent bulk(ChangeType type, List<Long> createdIds) {
+        return new TodoChangedEvent(type, null, null, List.copyOf(createdIds));
+    }
+}
@@ -5,9 +5,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.UnsatisfiedServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -25,10 +27,40 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(TodoNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ApiResponse<Void> handleTodoNotFoundException(TodoNotFoundException ex) {
-        log.warn("Todo not found: {}", ex.getMessage());
+        log.debug("Todo not found: {}", ex.getMessage());
         return ApiResponse.notFound(ex.getMessage());
     }
     
+    /**
+     * 处理导入任务未找到异常
+     */
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ApiResponse<Void> handleImportJobNotFoundException(ImportJobNotFoundException ex) {
+        log.warn("Import job not found: {}", ex.getMessage());
+        return ApiResponse.notFound(ex.getMessage());
+    }
+    
+    /**
+     * 处理重复规则未找到异常
+     */
+    @ExceptionHandler(RecurrenceNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ApiResponse<Void> handleRecurrenceNotFoundException(RecurrenceNotFoundException ex) {
+        log.warn("Recurrence not found: {}", ex.getMessage());
+        return ApiResponse.notFound(ex.getMessage());
+    }
+    
+    /**
+     * 处理排序键冲突异常
+     */
+    @ExceptionHandler(TodoPositionConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiResponse<Void> handleTodoPositionConflictException(TodoPositionConflictException ex) {
+        log.warn("Todo position conflict: {}", ex.getMessage());
+        return ApiResponse.error(HttpStatus.CONFLICT.value(), ex.getMessage());
+    }
+    
     /**
      * 处理参数验证异常
      */
@@ -60,6 +92,27 @@ public class GlobalExceptionHandler {
         return ApiResponse.validationError(ex.getMessage());
     }
     
+    /**
+     * 处理请求参数类型转换失败，例如时间格式不正确
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiResponse<Void> handleTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        log.warn("Invalid request parameter {}: {}", ex.getName(), ex.getValue());
+        return ApiResponse.validationError("Invalid value for parameter " + ex.getName() + ": " + ex.getValue());
+    }
+    
+    /**
+     * 处理查询参数组合不受支持（没有匹配的请求映射），例如同时传入ids和tags
+     */
+    @ExceptionHandler(UnsatisfiedServletRequestParameterException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiResponse<Void> handleUnsatisfiedParameterException(UnsatisfiedServletRequestParameterException ex) {
+        log.warn("Unsupported query parameters: {}", ex.getActualParams().keySet());
+        return ApiResponse.validationError("Unsupported combination of query parameters: "
+                + String.join(", ", ex.getActualParams().keySet()));
+    }
+    
     /**
      * 处理其他运行时异常
      */
@@ -0,0 +1,11 @@
+package com.todoapp.exception;
+
+/**
+ * 幂等键存储已满异常：所有键都在执行中，无法淘汰
+ */
+public class IdempotencyStoreFullException extends RuntimeException {
+
+    public IdempotencyStoreFullException(int maxEntries) {
+        super("Idempotency store is full with " + maxEntries + " in-progress requests");
+    }
+}
@@ -0,0 +1,11 @@
+package com.todoapp.exception;
+
+/**
+ * 导入任务未找到异常
+ */
+public class ImportJobNotFoundException extends RuntimeException {
+
+    public ImportJobNotFoundException(String jobId) {
+        super("Import job not found with id: " + jobId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.todoapp.exception;
+
+/**
+ * 重复规则未找到异常
+ */
+public class RecurrenceNotFoundException extends RuntimeException {
+
+    public RecurrenceNotFoundException(Long id) {
+        super("Recurrence not found with id: " + id);
+    }
+}
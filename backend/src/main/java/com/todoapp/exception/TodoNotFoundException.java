@@ -2,14 +2,15 @@ package com.todoapp.exception;
 
 /**
  * Todo未找到异常
+ * 属于正常的业务结果，不记录堆栈：构造时不调用fillInStackTrace，不存在ID的高频请求不再为遍历调用栈付出代价
  */
 public class TodoNotFoundException extends RuntimeException {
     
     public TodoNotFoundException(Long id) {
-        super("Todo not found with id: " + id);
+        this("Todo not found with id: " + id);
     }
     
     public TodoNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,12 @@
+package com.todoapp.exception;
+
+/**
+ * 排序键冲突异常
+ * 相邻Todo的键缺失或顺序冲突（批量导入后尚未补齐、并发插入到同一位置），重排完成后重试即可
+ */
+public class TodoPositionConflictException extends RuntimeException {
+
+    public TodoPositionConflictException(String message) {
+        super(message);
+    }
+}
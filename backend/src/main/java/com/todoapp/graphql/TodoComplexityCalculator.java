@@ -0,0 +1,33 @@
+package com.todoapp.graphql;
+
+import com.todoapp.config.GraphQlProperties;
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.FieldComplexityEnvironment;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 查询复杂度计算
+ * 每个字段计1，完整描述按description-complexity计；列表字段的子字段复杂度乘以预计行数：
+ * todosByIds取ID个数，无界的todos取list-size-estimate
+ */
+@RequiredArgsConstructor
+public class TodoComplexityCalculator implements FieldComplexityCalculator {
+
+    private final GraphQlProperties properties;
+
+    @Override
+    public int calculate(FieldComplexityEnvironment environment, int childComplexity) {
+        return switch (environment.getField().getName()) {
+            case "todos" -> 1 + properties.getListSizeEstimate() * childComplexity;
+            case "todosByIds" -> {
+                Object ids = environment.getArguments().get("ids");
+                int size = ids instanceof List<?> list ? list.size() : 1;
+                yield 1 + size * childComplexity;
+            }
+            case "description" -> properties.getDescriptionComplexity();
+            default -> 1 + childComplexity;
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package com.todoapp.graphql;
+
+import com.todoapp.config.LookupProperties;
+import com.todoapp.dto.TodoFieldSet;
+import com.todoapp.dto.TodoLookupResponse;
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.service.TodoService;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.DataLoaderRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Todo GraphQL数据获取器
+ * 字段选择下推到TodoService已有的列投影，按ID的读取通过每个请求独立的DataLoader批量加载并缓存
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TodoDataFetchers {
+
+    /**
+     * 按ID加载Todo的DataLoader名称
+     */
+    public static final String TODO_LOADER = "todoById";
+
+    /**
+     * 统计信息字段的占位来源，各计数字段由自己的获取器按需查询
+     */
+    private static final Object STATS = new Object();
+
+    private final TodoService todoService;
+    private final LookupProperties lookupProperties;
+
+    /**
+     * 创建本次请求的DataLoader注册表，缓存只在单个请求内有效
+     */
+    public DataLoaderRegistry newRegistry() {
+        DataLoaderOptions options = DataLoaderOptions.newOptions()
+                .setMaxBatchSize(lookupProperties.getMaxIds());
+        DataLoader<Long, TodoResponse> todoLoader = DataLoaderFactory.newMappedDataLoader(
+                ids -> CompletableFuture.completedFuture(loadTodos(ids)), options);
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register(TODO_LOADER, todoLoader);
+        return registry;
+    }
+
+    /**
+     * Query.todos：只选择摘要字段时不读取描述列，选择description时一次JOIN读取完整描述
+     */
+    public DataFetcher<List<TodoResponse>> todos() {
+        return env -> {
+            Boolean completed = env.getArgument("completed");
+            boolean includeArchived = Boolean.TRUE.equals(env.getArgument("includeArchived"));
+            TodoFieldSet fields = fieldSet(env.getSelectionSet());
+            log.debug("GraphQL todos - completed: {}, fields: {}, includeArchived: {}", completed, fields, includeArchived);
+            return todoService.getAllTodos(completed, fields, includeArchived);
+        };
+    }
+
+    /**
+     * Query.todo：交给DataLoader，同一请求中的多次调用合并为一次IN查询
+     */
+    public DataFetcher<CompletableFuture<TodoResponse>> todo() {
+        return env -> env.<Long, TodoResponse>getDataLoader(TODO_LOADER)
+                .load(Long.valueOf(env.<String>getArgument("id")));
+    }
+
+    /**
+     * Query.todosByIds：与todo共享同一个DataLoader及其缓存
+     */
+    public DataFetcher<CompletableFuture<List<TodoResponse>>> todosByIds() {
+        return env -> {
+            List<Long> ids = env.<List<String>>getArgument("ids").stream()
+                    .map(Long::valueOf)
+                    .toList();
+            return env.<Long, TodoResponse>getDataLoader(TODO_LOADER).loadMany(ids);
+        };
+    }
+
+    /**
+     * Query.stats：不在这里查询，计数延迟到所选字段
+     */
+    public DataFetcher<Object> stats() {
+        return env -> STATS;
+    }
+
+    /**
+     * TodoStats的计数字段，completed为null表示总数
+     */
+    public DataFetcher<Long> count(Boolean completed) {
+        return env -> todoService.countTodos(completed);
+    }
+
+    private Map<Long, TodoResponse> loadTodos(Set<Long> ids) {
+        log.debug("GraphQL batch loading {} todos", ids.size());
+        TodoLookupResponse response = todoService.lookupTodos(new ArrayList<>(ids), false);
+        return response.getTodos().stream()
+                .collect(Collectors.toMap(TodoResponse::getId, Function.identity()));
+    }
+
+    private static TodoFieldSet fieldSet(DataFetchingFieldSelectionSet selection) {
+        if (selection.contains("description")) {
+            return TodoFieldSet.FULL;
+        }
+        if (selection.contains("descriptionPreview") || selection.contains("descriptionTruncated")) {
+            return TodoFieldSet.PREVIEW;
+        }
+        return TodoFieldSet.SUMMARY;
+    }
+}
@@ -0,0 +1,49 @@
+package com.todoapp.history;
+
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.service.TodoHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * 变更历史写入
+ * 在Todo变更的事务提交前追加todo_events，历史与数据变更同时提交或回滚。
+ * 批量操作（导入、归档、批量删除、重复实例生成）不带Todo ID，不逐个记录
+ */
+@Component
+@RequiredArgsConstructor
+public class TodoHistoryWriter {
+
+    /**
+     * 操作者请求头，由网关或调用方填写；本服务不做认证，只原样记录
+     */
+    public static final String ACTOR_HEADER = "X-Actor-Id";
+
+    private static final int MAX_ACTOR_LENGTH = 64;
+
+    private final TodoHistoryService todoHistoryService;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.getTodoId() == null) {
+            return;
+        }
+        todoHistoryService.record(event, currentActor());
+    }
+
+    private static String currentActor() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        String actor = attributes.getRequest().getHeader(ACTOR_HEADER);
+        if (actor == null || actor.isBlank()) {
+            return null;
+        }
+        actor = actor.strip();
+        return actor.length() > MAX_ACTOR_LENGTH ? actor.substring(0, MAX_ACTOR_LENGTH) : actor;
+    }
+}
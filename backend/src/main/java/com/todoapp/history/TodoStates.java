@@ -0,0 +1,103 @@
+package com.todoapp.history;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.todoapp.dto.TodoResponse;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 变更历史中的Todo状态
+ * 状态是只含用户可见字段的JSON对象，字段值与API响应中的格式相同；事件只保存与上一版本不同的字段，
+ * 按版本顺序把事件合并到快照上即可得到任意版本的状态。排序键等内部字段不记录
+ */
+public final class TodoStates {
+
+    /**
+     * 记录的字段
+     */
+    public static final List<String> FIELDS = List.of("title", "description", "completed", "dueAt", "tags");
+
+    /**
+     * Todo被删除后状态中出现的标记字段
+     */
+    public static final String DELETED = "deleted";
+
+    private TodoStates() {
+    }
+
+    /**
+     * 空状态，第一个事件之前的状态
+     */
+    public static ObjectNode empty() {
+        return JsonNodeFactory.instance.objectNode();
+    }
+
+    /**
+     * 从变更后的Todo取出状态
+     * @param todo 事件中的Todo快照
+     * @param previous 上一版本的状态；快照没有加载标签（tags为null）时沿用其中的标签
+     */
+    public static ObjectNode capture(ObjectMapper objectMapper, TodoResponse todo, ObjectNode previous) {
+        JsonNode source = objectMapper.valueToTree(todo);
+        ObjectNode state = empty();
+        for (String field : FIELDS) {
+            JsonNode value = source.get(field);
+            if (value == null && "tags".equals(field)) {
+                value = previous.get(field);
+            }
+            if (value != null && !value.isNull()) {
+                state.set(field, value);
+            }
+        }
+        return state;
+    }
+
+    /**
+     * 标记为已删除的状态
+     */
+    public static ObjectNode deleted(ObjectNode previous) {
+        ObjectNode state = previous.deepCopy();
+        state.put(DELETED, true);
+        return state;
+    }
+
+    /**
+     * 两个状态的差异
+     * @return 值不同的字段及其新值，新状态中没有的字段为null
+     */
+    public static ObjectNode diff(ObjectNode before, ObjectNode after) {
+        Set<String> fields = new LinkedHashSet<>();
+        before.fieldNames().forEachRemaining(fields::add);
+        after.fieldNames().forEachRemaining(fields::add);
+        ObjectNode changes = empty();
+        for (String field : fields) {
+            JsonNode value = after.get(field);
+            if (!before.path(field).equals(after.path(field))) {
+                changes.set(field, value != null ? value : NullNode.getInstance());
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * 把事件中的变更合并到状态上
+     */
+    public static void apply(ObjectNode state, JsonNode changes) {
+        for (Iterator<String> fields = changes.fieldNames(); fields.hasNext(); ) {
+            String field = fields.next();
+            JsonNode value = changes.get(field);
+            if (value.isNull()) {
+                state.remove(field);
+            } else {
+                state.set(field, value);
+            }
+        }
+    }
+}
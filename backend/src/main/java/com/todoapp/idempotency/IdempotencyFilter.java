@@ -0,0 +1,251 @@
+package com.todoapp.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.config.IdempotencyProperties;
+import com.todoapp.dto.ApiResponse;
+import com.todoapp.exception.IdempotencyStoreFullException;
+import com.todoapp.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * 幂等键过滤器
+ * 带Idempotency-Key请求头的写请求只执行一次：首个请求执行并保存响应，之后相同键的请求直接重放保存的响应，
+ * 并发的重复请求等待首个请求完成。键按租户、方法和路径隔离；相同键携带不同请求体时返回422
+ */
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final List<Route> routes;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.routes = properties.getRoutes().stream().map(Route::parse).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return routes.stream().noneMatch(route -> route.matches(request.getMethod(), path, pathMatcher));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String key = sha256(TenantContext.current() + "\n" + request.getMethod() + "\n"
+                + request.getRequestURI() + "\n" + idempotencyKey);
+        String fingerprint = sha256(request.getMethod() + "\n" + request.getRequestURI() + "\n"
+                + new String(cachedRequest.body, StandardCharsets.UTF_8));
+
+        try {
+            while (true) {
+                Optional<IdempotencyRecord> existing = store.claim(key, fingerprint);
+                if (existing.isEmpty()) {
+                    execute(key, cachedRequest, response, filterChain);
+                    return;
+                }
+                if (!existing.get().fingerprint().equals(fingerprint)) {
+                    meterRegistry.counter("todo.idempotency.requests", "outcome", "mismatch").increment();
+                    writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                            IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+                    return;
+                }
+
+                Optional<IdempotencyRecord> record = existing.get().isCompleted()
+                        ? existing
+                        : store.await(key, properties.getWaitTimeout());
+                if (record.isEmpty()) {
+                    // 首个请求失败并释放了键，重新竞争执行权
+                    continue;
+                }
+                if (!record.get().isCompleted()) {
+                    meterRegistry.counter("todo.idempotency.requests", "outcome", "in_progress").increment();
+                    writeError(response, HttpStatus.CONFLICT,
+                            "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still in progress");
+                    return;
+                }
+                replay(record.get().response(), response);
+                return;
+            }
+        } catch (IdempotencyStoreFullException ex) {
+            log.warn(ex.getMessage());
+            meterRegistry.counter("todo.idempotency.requests", "outcome", "rejected").increment();
+            writeError(response, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for idempotent request", ex);
+        }
+    }
+
+    /**
+     * 首个请求：执行并保存响应；5xx或异常时释放键，允许重试
+     */
+    private void execute(String key, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        meterRegistry.counter("todo.idempotency.requests", "outcome", "executed").increment();
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            if (responseWrapper.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                store.complete(key, new IdempotentResponse(responseWrapper.getStatus(),
+                        responseWrapper.getContentType(), responseWrapper.getContentAsByteArray()));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                store.release(key);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotentResponse stored, HttpServletResponse response) throws IOException {
+        log.debug("Replaying idempotent response with status {}", stored.status());
+        meterRegistry.counter("todo.idempotency.requests", "outcome", "replayed").increment();
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(status.value(), message));
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * 路由配置，例如"PUT /api/v1/todos/{id}"
+     */
+    private record Route(String method, String pattern) {
+
+        static Route parse(String value) {
+            String[] parts = value.trim().split("\\s+", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid idempotency route: " + value + ", expected 'METHOD /path'");
+            }
+            return new Route(parts[0].toUpperCase(Locale.ROOT), parts[1]);
+        }
+
+        boolean matches(String requestMethod, String path, AntPathMatcher matcher) {
+            return method.equals(requestMethod) && matcher.match(pattern, path);
+        }
+    }
+
+    /**
+     * 预先读取请求体（计算指纹），再提供给后续的过滤器和控制器
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Async reads are not supported");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? java.nio.charset.Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.todoapp.idempotency;
+
+/**
+ * 幂等键的当前记录
+ * @param fingerprint 首次请求的指纹（方法、路径和请求体的SHA-256），用于识别键被不同请求复用
+ * @param response 首次执行的响应，执行中为null
+ */
+public record IdempotencyRecord(String fingerprint, IdempotentResponse response) {
+
+    public boolean isCompleted() {
+        return response != null;
+    }
+}
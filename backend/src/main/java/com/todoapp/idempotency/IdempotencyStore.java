@@ -0,0 +1,36 @@
+package com.todoapp.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 幂等键存储
+ * 每个键只有一个请求获得执行权，其余请求读取或等待它保存的响应
+ */
+public interface IdempotencyStore {
+
+    /**
+     * 尝试占用键
+     * @param key 限定了租户和路由的键
+     * @param fingerprint 当前请求的指纹
+     * @return 占用成功时为空；键已存在（执行中或已完成）时返回其记录
+     * @throws com.todoapp.exception.IdempotencyStoreFullException 存储已满且无法淘汰时
+     */
+    Optional<IdempotencyRecord> claim(String key, String fingerprint);
+
+    /**
+     * 等待执行中的键完成
+     * @return 最新记录，超时仍未完成时response为null；键已被释放、过期或执行者的租约已过期时为空
+     */
+    Optional<IdempotencyRecord> await(String key, Duration timeout) throws InterruptedException;
+
+    /**
+     * 保存首次执行的响应
+     */
+    void complete(String key, IdempotentResponse response);
+
+    /**
+     * 执行失败时释放键，允许客户端用相同的键重试
+     */
+    void release(String key);
+}
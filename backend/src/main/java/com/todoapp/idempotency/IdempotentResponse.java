@@ -0,0 +1,10 @@
+package com.todoapp.idempotency;
+
+/**
+ * 首次执行保存下来的响应，重放时原样返回
+ * @param status HTTP状态码
+ * @param contentType 响应的Content-Type，可能为null
+ * @param body 序列化后的响应体
+ */
+public record IdempotentResponse(int status, String contentType, byte[] body) {
+}
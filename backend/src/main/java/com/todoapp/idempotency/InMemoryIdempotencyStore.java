@@ -0,0 +1,137 @@
+package com.todoapp.idempotency;
+
+import com.todoapp.exception.IdempotencyStoreFullException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 单节点内存幂等键存储
+ * 按插入顺序保存，超过ttl的键从最早的开始淘汰，超过max-entries时只淘汰已完成的键，
+ * 执行中的键不被淘汰，全部执行中时拒绝新键；相同键的并发请求等待首个请求的CompletableFuture，不轮询
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public InMemoryIdempotencyStore(Duration ttl, int maxEntries) {
+        this(ttl, maxEntries, Clock.systemUTC());
+    }
+
+    InMemoryIdempotencyStore(Duration ttl, int maxEntries, Clock clock) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, String fingerprint) {
+        synchronized (entries) {
+            long now = clock.millis();
+            evict(now);
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                return Optional.of(existing.record());
+            }
+            if (entries.size() >= maxEntries) {
+                throw new IdempotencyStoreFullException(maxEntries);
+            }
+            entries.put(key, new Entry(fingerprint, now + ttl.toMillis()));
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> await(String key, Duration timeout) throws InterruptedException {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            return Optional.empty();
+        }
+        try {
+            IdempotentResponse response = entry.result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return response != null ? Optional.of(new IdempotencyRecord(entry.fingerprint, response)) : Optional.empty();
+        } catch (TimeoutException ex) {
+            return Optional.of(entry.record());
+        } catch (ExecutionException ex) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            entry.result.complete(response);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.remove(key);
+        }
+        if (entry != null) {
+            // 唤醒等待者，由它们重新占用键
+            entry.result.complete(null);
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 所有键的ttl相同，插入顺序即过期顺序：过期的键都在头部；
+     * 未过期但超出容量时跳过执行中的键，淘汰最早完成的键
+     */
+    private void evict(long now) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            boolean expired = eldest.expiresAt <= now;
+            if (!expired && entries.size() < maxEntries) {
+                return;
+            }
+            if (expired || eldest.result.isDone()) {
+                iterator.remove();
+                eldest.result.complete(null);
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final String fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<IdempotentResponse> result = new CompletableFuture<>();
+
+        Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        IdempotencyRecord record() {
+            return new IdempotencyRecord(fingerprint, result.getNow(null));
+        }
+    }
+}
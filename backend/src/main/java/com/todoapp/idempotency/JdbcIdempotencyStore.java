@@ -0,0 +1,147 @@
+package com.todoapp.idempotency;
+
+import com.todoapp.datasource.ShardFanOutExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 基于idempotency_keys表的幂等键存储，供多节点共享
+ * 主键冲突决定执行权；其他节点上的重复请求轮询该行直到响应写入。
+ * 执行中的键带有lease-timeout的租约，首个请求所在节点崩溃后，租约过期即由相同键的请求接管，不必等到ttl过期。
+ * 启用分片时按当前租户路由，键本身已包含租户
+ */
+@Slf4j
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private static final RowMapper<StoredRow> ROW_MAPPER = (rs, rowNum) -> {
+        int status = rs.getInt("status");
+        IdempotentResponse response = rs.wasNull()
+                ? null
+                : new IdempotentResponse(status, rs.getString("content_type"), rs.getBytes("body"));
+        Timestamp leaseExpiresAt = rs.getTimestamp("lease_expires_at");
+        return new StoredRow(new IdempotencyRecord(rs.getString("fingerprint"), response),
+                rs.getTimestamp("expires_at").toLocalDateTime(),
+                leaseExpiresAt != null ? leaseExpiresAt.toLocalDateTime() : null);
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardFanOutExecutor shardExecutor;
+    private final Duration ttl;
+    private final Duration leaseTimeout;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, ShardFanOutExecutor shardExecutor, Duration ttl,
+                                Duration leaseTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardExecutor = shardExecutor;
+        this.ttl = ttl;
+        this.leaseTimeout = leaseTimeout;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, String fingerprint) {
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                jdbcTemplate.update("INSERT INTO idempotency_keys "
+                                + "(idempotency_key, fingerprint, created_at, expires_at, lease_expires_at) VALUES (?, ?, ?, ?, ?)",
+                        key, fingerprint, Timestamp.valueOf(now), Timestamp.valueOf(now.plus(ttl)),
+                        Timestamp.valueOf(now.plus(leaseTimeout)));
+                return Optional.empty();
+            } catch (DuplicateKeyException ex) {
+                Optional<StoredRow> existing = find(key);
+                if (existing.isEmpty()) {
+                    continue;
+                }
+                if (existing.get().expiresAt().isBefore(now)) {
+                    jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND expires_at < ?",
+                            key, Timestamp.valueOf(now));
+                    continue;
+                }
+                if (existing.get().isAbandoned(now)) {
+                    if (takeOver(key, fingerprint, now)) {
+                        log.info("Took over idempotency key whose lease expired at {}", existing.get().leaseExpiresAt());
+                        return Optional.empty();
+                    }
+                    continue;
+                }
+                return Optional.of(existing.get().record());
+            }
+        }
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> await(String key, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            Optional<StoredRow> row = find(key);
+            if (row.isPresent() && row.get().isAbandoned(LocalDateTime.now())) {
+                // 执行者已不再续约，由调用方重新竞争执行权
+                return Optional.empty();
+            }
+            if (row.isEmpty() || row.get().record().isCompleted() || System.nanoTime() > deadline) {
+                return row.map(StoredRow::record);
+            }
+            Thread.sleep(POLL_INTERVAL_MS);
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET status = ?, content_type = ?, body = ? WHERE idempotency_key = ?",
+                response.status(), response.contentType(), response.body(), key);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ?", key);
+    }
+
+    /**
+     * 清理所有分片上过期的键
+     */
+    @Scheduled(fixedDelayString = "${todo.idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int purged = shardExecutor.execute(jdbc -> jdbc.update("DELETE FROM idempotency_keys WHERE expires_at < ?", now))
+                .stream().mapToInt(Integer::intValue).sum();
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    /**
+     * 只有仍未完成且租约已过期的行可以被接管，并发接管时只有一个请求更新成功
+     */
+    private boolean takeOver(String key, String fingerprint, LocalDateTime now) {
+        return jdbcTemplate.update("UPDATE idempotency_keys SET fingerprint = ?, lease_expires_at = ? "
+                        + "WHERE idempotency_key = ? AND status IS NULL AND (lease_expires_at IS NULL OR lease_expires_at < ?)",
+                fingerprint, Timestamp.valueOf(now.plus(leaseTimeout)), key, Timestamp.valueOf(now)) > 0;
+    }
+
+    private Optional<StoredRow> find(String key) {
+        List<StoredRow> rows = jdbcTemplate.query("SELECT fingerprint, status, content_type, body, expires_at, "
+                + "lease_expires_at FROM idempotency_keys WHERE idempotency_key = ?", ROW_MAPPER, key);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * @param leaseExpiresAt 执行中的租约到期时间，升级前写入的行为null
+     */
+    private record StoredRow(IdempotencyRecord record, LocalDateTime expiresAt, LocalDateTime leaseExpiresAt) {
+
+        boolean isAbandoned(LocalDateTime now) {
+            return !record.isCompleted() && (leaseExpiresAt == null || leaseExpiresAt.isBefore(now));
+        }
+    }
+}
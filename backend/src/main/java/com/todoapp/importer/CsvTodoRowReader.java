@@ -0,0 +1,170 @@
+package com.todoapp.importer;
+
+import com.todoapp.dto.TodoCreateRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV流式解析器
+ * 按RFC 4180处理引号、转义引号和引号内换行，第一行必须是表头；
+ * 除title外的列均可省略，tags列内的多个标签以分号分隔
+ */
+public class CsvTodoRowReader implements TodoRowReader {
+
+    private final BufferedReader in;
+    private final StringBuilder raw = new StringBuilder();
+    private final int titleIndex;
+    private final int descriptionIndex;
+    private final int completedIndex;
+    private final int tagsIndex;
+    private final int dueAtIndex;
+    private long line = 1;
+    private String recordError;
+
+    public CsvTodoRowReader(Reader reader) throws IOException {
+        this.in = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 64 * 1024);
+
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new IllegalArgumentException("CSV header must contain a title column");
+        }
+        this.titleIndex = columns.get("title");
+        this.descriptionIndex = columns.getOrDefault("description", -1);
+        this.completedIndex = columns.getOrDefault("completed", -1);
+        this.tagsIndex = columns.getOrDefault("tags", -1);
+        this.dueAtIndex = columns.getOrDefault("due_at", columns.getOrDefault("dueat", -1));
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        while (true) {
+            long startLine = line;
+            List<String> fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+            String text = raw.toString();
+            if (recordError != null) {
+                return ImportRow.malformed(startLine, text, recordError);
+            }
+            // 跳过空行
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue;
+            }
+
+            String description = column(fields, descriptionIndex);
+            try {
+                TodoCreateRequest request = new TodoCreateRequest(
+                        column(fields, titleIndex),
+                        description == null || description.isEmpty() ? null : description,
+                        TodoRowReader.parseTags(column(fields, tagsIndex)),
+                        TodoRowReader.parseDueAt(column(fields, dueAtIndex)));
+                return ImportRow.parsed(startLine, request,
+                        TodoRowReader.parseCompleted(column(fields, completedIndex)), text);
+            } catch (IllegalArgumentException ex) {
+                return ImportRow.malformed(startLine, text, ex.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private static String column(List<String> fields, int index) {
+        return index >= 0 && index < fields.size() ? fields.get(index) : null;
+    }
+
+    /**
+     * 读取一条记录（可能跨多个物理行）
+     * @return 字段列表，文件结束时返回null
+     */
+    private List<String> readRecord() throws IOException {
+        raw.setLength(0);
+        recordError = null;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+
+        int c;
+        while ((c = in.read()) != -1) {
+            any = true;
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    in.mark(1);
+                    int next = in.read();
+                    if (next == '"') {
+                        field.append('"');
+                        raw.append("\"\"");
+                        continue;
+                    }
+                    quoted = false;
+                    raw.append('"');
+                    if (next != -1) {
+                        in.reset();
+                    }
+                    continue;
+                }
+                if (ch == '\n') {
+                    line++;
+                }
+                field.append(ch);
+                raw.append(ch);
+                continue;
+            }
+            switch (ch) {
+                case '"' -> {
+                    if (field.isEmpty()) {
+                        quoted = true;
+                    } else {
+                        field.append(ch);
+                    }
+                    raw.append(ch);
+                }
+                case ',' -> {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    raw.append(ch);
+                }
+                case '\r' -> {
+                    // 引号外的\r属于CRLF换行，忽略
+                }
+                case '\n' -> {
+                    line++;
+                    fields.add(field.toString());
+                    return fields;
+                }
+                default -> {
+                    field.append(ch);
+                    raw.append(ch);
+                }
+            }
+        }
+
+        if (!any) {
+            return null;
+        }
+        if (quoted) {
+            recordError = "CSV格式错误: 引号未闭合";
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,257 @@
+package com.todoapp.importer;
+
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.entity.Todo;
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.event.TodoChangedEvent.ChangeType;
+import com.todoapp.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 导入批次写入
+ * 每个批次在一个事务中用JDBC批量插入描述、Todo、标签关联和检查点，检查点唯一约束保证批次只提交一次；
+ * 批次中用到的新标签在事务之前单独创建，并行的批次使用同一标签时不会在事务中互相等待
+ */
+@Component
+@Slf4j
+public class ImportChunkWriter {
+
+    private static final String INSERT_DESCRIPTION = "INSERT INTO todo_descriptions (body) VALUES (?)";
+
+    private static final String INSERT_TODO =
+            "INSERT INTO todos (tenant_id, title, description_id, description_preview, description_length, "
+            + "completed, due_at, remind_at, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_TODO_TAG = "INSERT INTO todo_tags (todo_id, tag_id) VALUES (?, ?)";
+
+    private static final String INSERT_TAG = "INSERT INTO tags (tenant_id, name) VALUES (?, ?)";
+
+    /**
+     * 按名称查询标签时每条IN语句的最大参数个数
+     */
+    private static final int TAG_LOOKUP_CHUNK = 500;
+
+    private static final String INSERT_CHECKPOINT =
+            "INSERT INTO import_checkpoints (job_id, chunk_index, imported_count, rejected_count, committed_at) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ImportChunkWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 在当前租户下提交一个批次
+     * @param jobId 导入任务ID
+     * @param chunkIndex 批次序号
+     * @param rows 校验通过的行
+     * @param rejectedCount 该批次被拒绝的行数
+     * @return 是否提交成功，批次已由其他运行提交时返回false
+     */
+    public boolean write(String jobId, int chunkIndex, List<ImportRow> rows, int rejectedCount) {
+        Map<String, Long> tagIds = resolveTags(rows);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                jdbcTemplate.update(INSERT_CHECKPOINT, jobId, chunkIndex, rows.size(), rejectedCount, now);
+                if (!rows.isEmpty()) {
+                    long[] todoIds = jdbcTemplate.execute((ConnectionCallback<long[]>) con -> {
+                        long[] ids = insertTodos(con, rows, now);
+                        insertTags(con, ids, rows, tagIds);
+                        return ids;
+                    });
+                    eventPublisher.publishEvent(TodoChangedEvent.bulk(ChangeType.IMPORTED,
+                            Arrays.stream(todoIds).boxed().toList()));
+                }
+            });
+            return true;
+        } catch (DuplicateKeyException ex) {
+            log.debug("Import {} chunk {} already committed", jobId, chunkIndex);
+            return false;
+        }
+    }
+
+    /**
+     * 批量插入Todo并按行返回生成的ID
+     */
+    private long[] insertTodos(Connection con, List<ImportRow> rows, Timestamp now) throws SQLException {
+        Long[] descriptionIds = insertDescriptions(con, rows);
+        String tenant = TenantContext.current();
+
+        try (PreparedStatement ps = con.prepareStatement(INSERT_TODO, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < rows.size(); i++) {
+                ImportRow row = rows.get(i);
+                String description = row.request().getDescription();
+                ps.setString(1, tenant);
+                ps.setString(2, row.request().getTitle());
+                if (descriptionIds[i] != null) {
+                    ps.setLong(3, descriptionIds[i]);
+                    ps.setString(4, Todo.preview(description));
+                    ps.setInt(5, description.length());
+                } else {
+                    ps.setNull(3, Types.BIGINT);
+                    ps.setNull(4, Types.VARCHAR);
+                    ps.setNull(5, Types.INTEGER);
+                }
+                ps.setBoolean(6, row.completed());
+                LocalDateTime dueAt = row.request().getDueAt();
+                ps.setTimestamp(7, dueAt != null ? Timestamp.valueOf(dueAt) : null);
+                // 与Todo.resetReminder一致：已完成的Todo不再提醒
+                ps.setTimestamp(8, dueAt != null && !row.completed() ? Timestamp.valueOf(dueAt) : null);
+                ps.setTimestamp(9, now);
+                ps.setTimestamp(10, now);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            return generatedKeys(ps, rows.size());
+        }
+    }
+
+    private static long[] generatedKeys(PreparedStatement ps, int count) throws SQLException {
+        long[] ids = new long[count];
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            for (int i = 0; i < count; i++) {
+                if (!keys.next()) {
+                    throw new SQLException("Missing generated key for imported todo");
+                }
+                ids[i] = keys.getLong(1);
+            }
+        }
+        return ids;
+    }
+
+    private void insertTags(Connection con, long[] todoIds, List<ImportRow> rows, Map<String, Long> tagIds)
+            throws SQLException {
+        if (tagIds.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = con.prepareStatement(INSERT_TODO_TAG)) {
+            for (int i = 0; i < rows.size(); i++) {
+                List<String> tags = rows.get(i).request().getTags();
+                if (tags == null) {
+                    continue;
+                }
+                for (String tag : tags) {
+                    ps.setLong(1, todoIds[i]);
+                    ps.setLong(2, tagIds.get(tag));
+                    ps.addBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * 查出批次用到的标签ID，不存在的标签逐个创建并立即提交；
+     * 其他批次同时创建了同名标签时唯一约束冲突，重新查询即可
+     * @return 标签名到ID的映射，批次中没有标签时为空
+     */
+    private Map<String, Long> resolveTags(List<ImportRow> rows) {
+        Set<String> names = new LinkedHashSet<>();
+        for (ImportRow row : rows) {
+            if (row.request().getTags() != null) {
+                names.addAll(row.request().getTags());
+            }
+        }
+        if (names.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        String tenant = TenantContext.current();
+        Map<String, Long> ids = findTags(tenant, names);
+        if (ids.size() == names.size()) {
+            return ids;
+        }
+        List<String> missing = names.stream().filter(name -> !ids.containsKey(name)).toList();
+        for (String name : missing) {
+            try {
+                jdbcTemplate.update(INSERT_TAG, tenant, name);
+            } catch (DuplicateKeyException ex) {
+                log.debug("Tag {} created concurrently in tenant {}", name, tenant);
+            }
+        }
+        ids.putAll(findTags(tenant, missing));
+        return ids;
+    }
+
+    private Map<String, Long> findTags(String tenant, Collection<String> tags) {
+        List<String> names = List.copyOf(tags);
+        Map<String, Long> ids = new HashMap<>(names.size() * 2);
+        RowCallbackHandler collect = rs -> ids.put(rs.getString("name"), rs.getLong("id"));
+        for (int from = 0; from < names.size(); from += TAG_LOOKUP_CHUNK) {
+            List<String> chunk = names.subList(from, Math.min(names.size(), from + TAG_LOOKUP_CHUNK));
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(tenant);
+            args.addAll(chunk);
+            jdbcTemplate.query("SELECT id, name FROM tags WHERE tenant_id = ? AND name IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")", collect, args.toArray());
+        }
+        return ids;
+    }
+
+    /**
+     * 批量插入描述并按行返回生成的ID，无描述的行为null
+     */
+    private Long[] insertDescriptions(Connection con, List<ImportRow> rows) throws SQLException {
+        Long[] ids = new Long[rows.size()];
+        try (PreparedStatement ps = con.prepareStatement(INSERT_DESCRIPTION, Statement.RETURN_GENERATED_KEYS)) {
+            int count = 0;
+            for (ImportRow row : rows) {
+                TodoCreateRequest request = row.request();
+                if (request.getDescription() != null) {
+                    ps.setString(1, request.getDescription());
+                    ps.addBatch();
+                    count++;
+                }
+            }
+            if (count == 0) {
+                return ids;
+            }
+            ps.executeBatch();
+
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                for (int i = 0; i < rows.size(); i++) {
+                    if (rows.get(i).request().getDescription() == null) {
+                        continue;
+                    }
+                    if (!keys.next()) {
+                        throw new SQLException("Missing generated key for imported description");
+                    }
+                    ids[i] = keys.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+}
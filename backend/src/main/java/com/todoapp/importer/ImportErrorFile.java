@@ -0,0 +1,56 @@
+package com.todoapp.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 被拒绝行的错误文件（NDJSON，追加写入）
+ * 每行包含原始行号、错误信息和原始文本，可修正后重新导入
+ */
+public class ImportErrorFile implements Closeable {
+
+    private final BufferedWriter writer;
+    private final ObjectMapper objectMapper;
+
+    public ImportErrorFile(Path path, ObjectMapper objectMapper) throws IOException {
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 写入一个批次的被拒绝行，批次提交后才调用，避免续传时重复记录
+     */
+    public synchronized void write(List<Rejection> rejections) throws IOException {
+        for (Rejection rejection : rejections) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("line", rejection.row().lineNumber());
+            line.put("errors", rejection.errors());
+            line.put("raw", rejection.row().raw());
+            writer.write(objectMapper.writeValueAsString(line));
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * 被拒绝的行及原因
+     */
+    public record Rejection(ImportRow row, List<String> errors) {
+    }
+}
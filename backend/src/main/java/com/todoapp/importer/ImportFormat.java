@@ -0,0 +1,66 @@
+package com.todoapp.importer;
+
+import java.util.Locale;
+
+/**
+ * 导入文件格式
+ */
+public enum ImportFormat {
+
+    /**
+     * 带表头的CSV，列名为title、description、completed
+     */
+    CSV("csv"),
+
+    /**
+     * 每行一个JSON对象
+     */
+    NDJSON("ndjson");
+
+    private final String extension;
+
+    ImportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * 根据format参数或Content-Type判断格式，format参数优先
+     * @throws IllegalArgumentException 无法判断格式时
+     */
+    public static ImportFormat resolve(String format, String contentType) {
+        if (format != null && !format.isBlank()) {
+            return from(format);
+        }
+        if (contentType != null) {
+            String type = contentType.toLowerCase(Locale.ROOT);
+            if (type.contains("csv")) {
+                return CSV;
+            }
+            if (type.contains("ndjson") || type.contains("json")) {
+                return NDJSON;
+            }
+        }
+        throw new IllegalArgumentException("Cannot determine import format, use format=csv or format=ndjson");
+    }
+
+    /**
+     * 解析格式名称或文件扩展名
+     * @throws IllegalArgumentException 格式不支持时
+     */
+    public static ImportFormat from(String value) {
+        String name = value.trim().toLowerCase(Locale.ROOT);
+        if (name.equals("jsonl") || name.equals("json")) {
+            return NDJSON;
+        }
+        for (ImportFormat format : values()) {
+            if (format.extension.equals(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + value + ", expected csv or ndjson");
+    }
+}
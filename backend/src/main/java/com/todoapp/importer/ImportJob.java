@@ -0,0 +1,99 @@
+package com.todoapp.importer;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 一次导入任务的运行状态，计数器可被多个写入线程并发更新
+ */
+@Getter
+public class ImportJob {
+
+    /**
+     * 任务状态
+     */
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        /**
+         * 服务重启后尚未继续的任务
+         */
+        INTERRUPTED
+    }
+
+    private final String id;
+    private final ImportFormat format;
+    private final String tenant;
+    private final int chunkSize;
+    private final Path file;
+    private final Path errorFile;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startedAtNanos = System.nanoTime();
+
+    private final LongAdder rowsRead = new LongAdder();
+    private final LongAdder imported = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder resumedRows = new LongAdder();
+    private final AtomicLong lastProgressLogNanos = new AtomicLong(System.nanoTime());
+
+    private volatile Status status = Status.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile String message;
+
+    public ImportJob(String id, ImportFormat format, String tenant, int chunkSize, Path file, Path errorFile) {
+        this.id = id;
+        this.format = format;
+        this.tenant = tenant;
+        this.chunkSize = chunkSize;
+        this.file = file;
+        this.errorFile = errorFile;
+    }
+
+    /**
+     * 本次运行的写入速率（行/秒），不含从检查点跳过的行
+     */
+    public long getRowsPerSecond() {
+        long processed = imported.sum() + rejected.sum() - resumedRows.sum();
+        long elapsedNanos = System.nanoTime() - startedAtNanos;
+        return elapsedNanos > 0 ? Math.max(0, processed) * 1_000_000_000L / elapsedNanos : 0;
+    }
+
+    public boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    /**
+     * 记录第一个失败原因，后续批次不再提交
+     */
+    public synchronized void fail(String reason) {
+        if (status == Status.RUNNING) {
+            status = Status.FAILED;
+            message = reason;
+        }
+    }
+
+    public synchronized void complete() {
+        if (status == Status.RUNNING) {
+            status = Status.COMPLETED;
+        }
+        finishedAt = LocalDateTime.now();
+    }
+
+    public void markInterrupted() {
+        status = Status.INTERRUPTED;
+    }
+
+    /**
+     * 距上次进度日志超过间隔时返回true，多线程下只有一个线程会拿到
+     */
+    boolean shouldLogProgress(long intervalMs) {
+        long last = lastProgressLogNanos.get();
+        long now = System.nanoTime();
+        return now - last >= intervalMs * 1_000_000L && lastProgressLogNanos.compareAndSet(last, now);
+    }
+}
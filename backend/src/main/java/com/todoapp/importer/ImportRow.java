@@ -0,0 +1,29 @@
+package com.todoapp.importer;
+
+import com.todoapp.dto.TodoCreateRequest;
+
+import java.util.List;
+
+/**
+ * 导入文件中解析出的一行
+ * @param lineNumber 记录起始行号（从1开始，含表头）
+ * @param request 解析出的创建请求，解析失败时为null
+ * @param completed 是否已完成
+ * @param raw 原始文本，用于写入错误文件
+ * @param errors 解析阶段的错误，为空表示解析成功
+ */
+public record ImportRow(long lineNumber, TodoCreateRequest request, boolean completed, String raw,
+                        List<String> errors) {
+
+    public static ImportRow parsed(long lineNumber, TodoCreateRequest request, boolean completed, String raw) {
+        return new ImportRow(lineNumber, request, completed, raw, List.of());
+    }
+
+    public static ImportRow malformed(long lineNumber, String raw, String error) {
+        return new ImportRow(lineNumber, null, false, raw, List.of(error));
+    }
+
+    public boolean isMalformed() {
+        return !errors.isEmpty();
+    }
+}
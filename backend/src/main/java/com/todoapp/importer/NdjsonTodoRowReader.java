@@ -0,0 +1,78 @@
+package com.todoapp.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TodoCreateRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NDJSON流式解析器
+ * 每行一个JSON对象，字段为title、description、completed、tags（字符串数组）和dueAt
+ */
+public class NdjsonTodoRowReader implements TodoRowReader {
+
+    private final BufferedReader in;
+    private final ObjectMapper objectMapper;
+    private long line;
+
+    public NdjsonTodoRowReader(Reader reader, ObjectMapper objectMapper) {
+        this.in = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 64 * 1024);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String text;
+        while ((text = in.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                JsonNode node = objectMapper.readTree(text);
+                if (!node.isObject()) {
+                    return ImportRow.malformed(line, text, "JSON格式错误: 每行必须是一个对象");
+                }
+                TodoCreateRequest request = new TodoCreateRequest(text(node, "title"), text(node, "description"),
+                        tags(node.get("tags")), TodoRowReader.parseDueAt(text(node, "dueAt")));
+                JsonNode completed = node.get("completed");
+                boolean done = completed != null && !completed.isNull()
+                        && (completed.isBoolean() ? completed.booleanValue() : TodoRowReader.parseCompleted(completed.asText()));
+                return ImportRow.parsed(line, request, done, text);
+            } catch (JsonProcessingException ex) {
+                return ImportRow.malformed(line, text, "JSON格式错误: " + ex.getOriginalMessage());
+            } catch (IllegalArgumentException ex) {
+                return ImportRow.malformed(line, text, ex.getMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private static List<String> tags(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (!value.isArray()) {
+            throw new IllegalArgumentException("tags: 必须是字符串数组");
+        }
+        List<String> names = new ArrayList<>(value.size());
+        value.forEach(tag -> names.add(tag.isNull() ? null : tag.asText()));
+        return TodoRowReader.normalizeTags(names);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -0,0 +1,47 @@
+package com.todoapp.importer;
+
+import com.todoapp.config.ImportProperties;
+import com.todoapp.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 命令行导入
+ * 设置todo.import.file后，启动时同步导入该文件并以退出码报告结果（0=成功，1=失败）
+ */
+@Component
+@ConditionalOnProperty(prefix = "todo.import", name = "file")
+@RequiredArgsConstructor
+@Slf4j
+public class TodoImportRunner implements ApplicationRunner {
+
+    private final ImportProperties properties;
+    private final TodoImportService todoImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path file = Paths.get(properties.getFile());
+        String name = file.getFileName().toString();
+        ImportFormat format = ImportFormat.from(properties.getFormat() != null
+                ? properties.getFormat()
+                : name.substring(name.lastIndexOf('.') + 1));
+        String tenant = properties.getTenant() != null ? properties.getTenant() : TenantContext.DEFAULT_TENANT;
+
+        ImportJob job = todoImportService.importFile(file, format, properties.getJobId(), tenant);
+        log.info("Import job {} finished with status {}, errors written to {}",
+                job.getId(), job.getStatus(), job.getErrorFile());
+
+        int exitCode = job.getStatus() == ImportJob.Status.COMPLETED ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+}
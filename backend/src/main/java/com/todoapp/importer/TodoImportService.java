@@ -0,0 +1,412 @@
+package com.todoapp.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.config.ImportProperties;
+import com.todoapp.dto.ImportJobResponse;
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.exception.ImportJobNotFoundException;
+import com.todoapp.importer.ImportErrorFile.Rejection;
+import com.todoapp.tenant.TenantContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Pattern;
+
+/**
+ * 批量导入服务
+ * 流式解析CSV/NDJSON，按固定行数切分批次，由多个线程并行校验并在独立事务中批量写入；
+ * 每个批次提交时记录检查点，中断后可按任务ID从检查点继续
+ */
+@Service
+@Lazy
+@Slf4j
+public class TodoImportService implements DisposableBean {
+
+    private static final Pattern JOB_ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+
+    private final ImportProperties properties;
+    private final ImportChunkWriter chunkWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService coordinators =
+            Executors.newCachedThreadPool(Thread.ofPlatform().name("todo-import-", 0).factory());
+
+    public TodoImportService(ImportProperties properties, ImportChunkWriter chunkWriter, JdbcTemplate jdbcTemplate,
+                             Validator validator, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.chunkWriter = chunkWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 保存上传内容并在后台导入到当前租户
+     * @param body 上传的文件内容
+     * @param format 文件格式
+     * @return 任务进度
+     */
+    public ImportJobResponse submit(InputStream body, ImportFormat format) throws IOException {
+        String jobId = UUID.randomUUID().toString();
+        Path file = directory().resolve(jobId + "." + format.getExtension());
+        Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+
+        ImportJob job = newJob(jobId, format, TenantContext.current(), properties.getChunkSize(), file);
+        writeMetadata(job);
+        coordinators.submit(() -> run(job));
+        return ImportJobResponse.from(job);
+    }
+
+    /**
+     * 同步导入本地文件，供命令行使用
+     * @param file 本地文件，导入完成后保留
+     * @param format 文件格式
+     * @param jobId 任务ID，为空时生成新任务；已有检查点时从检查点继续
+     * @param tenant 目标租户
+     * @return 执行完毕的任务
+     */
+    public ImportJob importFile(Path file, ImportFormat format, String jobId, String tenant) throws IOException {
+        String id = jobId != null && !jobId.isBlank() ? validJobId(jobId) : UUID.randomUUID().toString();
+        ImportJob job;
+        if (Files.exists(metadataFile(id))) {
+            job = jobFromMetadata(id, readMetadata(id));
+        } else {
+            job = newJob(id, format, tenant, properties.getChunkSize(), file.toAbsolutePath());
+            writeMetadata(job);
+        }
+        run(job);
+        return job;
+    }
+
+    /**
+     * 从检查点继续一个失败或中断的任务
+     * @throws IllegalArgumentException 任务仍在运行或已完成时
+     */
+    public ImportJobResponse resume(String jobId) throws IOException {
+        ImportJob current = jobs.get(validJobId(jobId));
+        if (current != null && current.getStatus() != ImportJob.Status.FAILED) {
+            throw new IllegalArgumentException("Import job " + jobId + " is " + current.getStatus().name().toLowerCase()
+                    + ", only failed or interrupted jobs can be resumed");
+        }
+        Properties metadata = readMetadata(jobId);
+        if (ImportJob.Status.COMPLETED.name().equals(metadata.getProperty("status"))) {
+            throw new IllegalArgumentException("Import job " + jobId + " is completed, only failed or interrupted jobs can be resumed");
+        }
+        ImportJob job = jobFromMetadata(jobId, metadata);
+        coordinators.submit(() -> run(job));
+        return ImportJobResponse.from(job);
+    }
+
+    /**
+     * 获取任务进度，服务重启后的任务显示为INTERRUPTED
+     */
+    public ImportJobResponse getStatus(String jobId) throws IOException {
+        ImportJob job = jobs.get(validJobId(jobId));
+        if (job != null) {
+            return ImportJobResponse.from(job);
+        }
+        Properties metadata = readMetadata(jobId);
+        ImportJob previous = jobFromMetadata(jobId, metadata);
+        jobs.remove(jobId, previous);
+        TenantContext.set(previous.getTenant());
+        try {
+            loadCheckpoints(previous);
+        } finally {
+            TenantContext.clear();
+        }
+        if (ImportJob.Status.COMPLETED.name().equals(metadata.getProperty("status"))) {
+            previous.complete();
+        } else {
+            previous.markInterrupted();
+        }
+        return ImportJobResponse.from(previous);
+    }
+
+    /**
+     * 获取任务的错误文件
+     */
+    public Path getErrorFile(String jobId) {
+        Path errorFile = errorFile(validJobId(jobId));
+        if (!Files.exists(metadataFile(jobId))) {
+            throw new ImportJobNotFoundException(jobId);
+        }
+        return errorFile;
+    }
+
+    @Override
+    public void destroy() {
+        coordinators.shutdownNow();
+    }
+
+    /**
+     * 执行导入：读取线程解析并切分批次，写入线程池并行提交，在途批次数受信号量限制以控制内存
+     */
+    private void run(ImportJob job) {
+        TenantContext.set(job.getTenant());
+        int parallelism = Math.max(1, properties.getParallelism());
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("todo-import-" + job.getId().substring(0, 8) + "-", 0).factory());
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        List<Future<?>> pending = new ArrayList<>();
+
+        try (ImportErrorFile errors = new ImportErrorFile(job.getErrorFile(), objectMapper)) {
+            Set<Integer> committed = loadCheckpoints(job);
+            log.info("Import {} started: file={}, format={}, tenant={}, committed chunks={}",
+                    job.getId(), job.getFile(), job.getFormat(), job.getTenant(), committed.size());
+
+            try (TodoRowReader reader = openReader(job)) {
+                List<ImportRow> chunk = new ArrayList<>(job.getChunkSize());
+                int chunkIndex = 0;
+                ImportRow row;
+                while (job.isRunning() && (row = reader.next()) != null) {
+                    job.getRowsRead().increment();
+                    chunk.add(row);
+                    if (chunk.size() == job.getChunkSize()) {
+                        dispatch(job, chunkIndex++, chunk, committed, errors, workers, inFlight, pending);
+                        chunk = new ArrayList<>(job.getChunkSize());
+                    }
+                }
+                if (!chunk.isEmpty() && job.isRunning()) {
+                    dispatch(job, chunkIndex, chunk, committed, errors, workers, inFlight, pending);
+                }
+            } catch (IOException | RuntimeException ex) {
+                log.error("Import {} failed while reading {}", job.getId(), job.getFile(), ex);
+                job.fail("Read failed: " + ex.getMessage());
+            } finally {
+                awaitAll(job, pending);
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.error("Import {} failed", job.getId(), ex);
+            job.fail(ex.getMessage());
+        } finally {
+            workers.shutdownNow();
+            TenantContext.clear();
+        }
+
+        job.complete();
+        if (job.getStatus() == ImportJob.Status.COMPLETED) {
+            deleteUploadedFile(job);
+            try {
+                writeMetadata(job);
+            } catch (IOException ex) {
+                log.warn("Failed to record completion of import {}", job.getId(), ex);
+            }
+        }
+        log.info("Import {} {}: {} rows read, {} imported, {} rejected, {} rows/s",
+                job.getId(), job.getStatus().name().toLowerCase(), job.getRowsRead().sum(),
+                job.getImported().sum(), job.getRejected().sum(), job.getRowsPerSecond());
+    }
+
+    private void dispatch(ImportJob job, int chunkIndex, List<ImportRow> chunk, Set<Integer> committed,
+                          ImportErrorFile errors, ExecutorService workers, Semaphore inFlight,
+                          List<Future<?>> pending) {
+        if (committed.contains(chunkIndex)) {
+            return;
+        }
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            job.fail("Interrupted");
+            return;
+        }
+        pending.add(workers.submit(() -> {
+            TenantContext.set(job.getTenant());
+            try {
+                writeChunk(job, chunkIndex, chunk, errors);
+            } catch (IOException | RuntimeException ex) {
+                log.error("Import {} chunk {} failed", job.getId(), chunkIndex, ex);
+                job.fail("Chunk " + chunkIndex + " failed: " + ex.getMessage());
+            } finally {
+                TenantContext.clear();
+                inFlight.release();
+            }
+        }));
+    }
+
+    /**
+     * 校验一个批次并提交，被拒绝的行在提交后写入错误文件
+     */
+    private void writeChunk(ImportJob job, int chunkIndex, List<ImportRow> chunk, ImportErrorFile errors)
+            throws IOException {
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        List<Rejection> rejections = new ArrayList<>();
+        for (ImportRow row : chunk) {
+            List<String> rowErrors = row.isMalformed() ? row.errors() : validate(row.request());
+            if (rowErrors.isEmpty()) {
+                valid.add(row);
+            } else {
+                rejections.add(new Rejection(row, rowErrors));
+            }
+        }
+
+        if (!job.isRunning() || !chunkWriter.write(job.getId(), chunkIndex, valid, rejections.size())) {
+            return;
+        }
+        job.getImported().add(valid.size());
+        job.getRejected().add(rejections.size());
+        if (!rejections.isEmpty()) {
+            errors.write(rejections);
+        }
+
+        if (job.shouldLogProgress(properties.getProgressIntervalMs())) {
+            log.info("Import {} progress: {} rows read, {} imported, {} rejected, {} rows/s",
+                    job.getId(), job.getRowsRead().sum(), job.getImported().sum(),
+                    job.getRejected().sum(), job.getRowsPerSecond());
+        }
+    }
+
+    private List<String> validate(TodoCreateRequest request) {
+        Set<ConstraintViolation<TodoCreateRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return List.of();
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    private void awaitAll(ImportJob job, List<Future<?>> pending) {
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                job.fail("Interrupted");
+                return;
+            } catch (ExecutionException ex) {
+                job.fail(ex.getCause().getMessage());
+            }
+        }
+    }
+
+    /**
+     * 读取已提交的批次，并把其中的计数计入任务进度
+     */
+    private Set<Integer> loadCheckpoints(ImportJob job) {
+        Set<Integer> committed = new HashSet<>();
+        jdbcTemplate.query(
+                "SELECT chunk_index, imported_count, rejected_count FROM import_checkpoints WHERE job_id = ?",
+                rs -> {
+                    committed.add(rs.getInt("chunk_index"));
+                    job.getImported().add(rs.getInt("imported_count"));
+                    job.getRejected().add(rs.getInt("rejected_count"));
+                    job.getResumedRows().add(rs.getInt("imported_count") + rs.getInt("rejected_count"));
+                },
+                job.getId());
+        return committed;
+    }
+
+    private TodoRowReader openReader(ImportJob job) throws IOException {
+        Reader reader = Files.newBufferedReader(job.getFile(), StandardCharsets.UTF_8);
+        return switch (job.getFormat()) {
+            case CSV -> new CsvTodoRowReader(reader);
+            case NDJSON -> new NdjsonTodoRowReader(reader, objectMapper);
+        };
+    }
+
+    private ImportJob newJob(String jobId, ImportFormat format, String tenant, int chunkSize, Path file) {
+        ImportJob job = new ImportJob(jobId, format, tenant, Math.max(1, chunkSize), file, errorFile(jobId));
+        jobs.put(jobId, job);
+        return job;
+    }
+
+    private Properties readMetadata(String jobId) throws IOException {
+        Path metadata = metadataFile(validJobId(jobId));
+        if (!Files.exists(metadata)) {
+            throw new ImportJobNotFoundException(jobId);
+        }
+        Properties values = new Properties();
+        try (Reader reader = Files.newBufferedReader(metadata, StandardCharsets.UTF_8)) {
+            values.load(reader);
+        }
+        return values;
+    }
+
+    /**
+     * 从元数据恢复任务，批次大小沿用首次运行的值以保证批次边界一致
+     */
+    private ImportJob jobFromMetadata(String jobId, Properties values) {
+        return newJob(jobId,
+                ImportFormat.from(values.getProperty("format")),
+                values.getProperty("tenant"),
+                Integer.parseInt(values.getProperty("chunkSize")),
+                Paths.get(values.getProperty("file")));
+    }
+
+    private void writeMetadata(ImportJob job) throws IOException {
+        Properties values = new Properties();
+        values.setProperty("file", job.getFile().toString());
+        values.setProperty("format", job.getFormat().getExtension());
+        values.setProperty("tenant", job.getTenant());
+        values.setProperty("chunkSize", String.valueOf(job.getChunkSize()));
+        values.setProperty("status", job.getStatus().name());
+        try (var writer = Files.newBufferedWriter(metadataFile(job.getId()), StandardCharsets.UTF_8)) {
+            values.store(writer, "todo import job");
+        }
+    }
+
+    private void deleteUploadedFile(ImportJob job) {
+        try {
+            if (job.getFile().startsWith(directory())) {
+                Files.deleteIfExists(job.getFile());
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to delete uploaded file {}", job.getFile(), ex);
+        }
+    }
+
+    private Path directory() {
+        Path directory = Paths.get(properties.getDirectory()).toAbsolutePath();
+        try {
+            return Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private Path metadataFile(String jobId) {
+        return directory().resolve(jobId + ".properties");
+    }
+
+    private Path errorFile(String jobId) {
+        return directory().resolve(jobId + "-errors.ndjson");
+    }
+
+    private static String validJobId(String jobId) {
+        if (jobId == null || !JOB_ID.matcher(jobId).matches()) {
+            throw new ImportJobNotFoundException(String.valueOf(jobId));
+        }
+        return jobId;
+    }
+}
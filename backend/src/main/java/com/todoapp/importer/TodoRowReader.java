@@ -0,0 +1,82 @@
+package com.todoapp.importer;
+
+import com.todoapp.service.TodoTagService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 流式读取导入文件，每次只解析一行记录
+ */
+public interface TodoRowReader extends Closeable {
+
+    /**
+     * 截止时间格式，与接口中的时间格式一致
+     */
+    DateTimeFormatter DUE_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 读取下一行记录
+     * @return 解析结果，文件结束时返回null
+     */
+    ImportRow next() throws IOException;
+
+    /**
+     * 解析completed列，空值视为未完成
+     * @throws IllegalArgumentException 值不合法时
+     */
+    static boolean parseCompleted(String value) {
+        if (value == null || value.isBlank()) {
+            return false;
+        }
+        return switch (value.trim().toLowerCase()) {
+            case "true", "1", "yes", "y" -> true;
+            case "false", "0", "no", "n" -> false;
+            default -> throw new IllegalArgumentException("completed: 无法识别的值 " + value);
+        };
+    }
+
+    /**
+     * 解析截止时间，空值表示没有截止时间
+     * @throws IllegalArgumentException 格式不合法时
+     */
+    static LocalDateTime parseDueAt(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value.trim(), DUE_AT_FORMAT);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("dueAt: 格式应为yyyy-MM-dd HH:mm:ss " + value);
+        }
+    }
+
+    /**
+     * 解析分号分隔的标签列，空值表示没有标签
+     * @throws IllegalArgumentException 标签名不合法时
+     */
+    static List<String> parseTags(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return normalizeTags(Arrays.asList(value.split(";")));
+    }
+
+    /**
+     * 规范化标签名，规则与接口创建Todo时相同
+     * @throws IllegalArgumentException 标签名不合法时
+     */
+    static List<String> normalizeTags(Collection<String> names) {
+        try {
+            return TodoTagService.normalize(names);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("tags: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.todoapp.migration;
+
+import com.todoapp.config.OnlineMigrationProperties;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 后台在线迁移执行器
+ * 应用就绪后在每个分片上执行db/online下的版本化脚本：MySQL使用ALGORITHM=INPLACE, LOCK=NONE建索引，
+ * 并限制元数据锁等待时间，拿不到锁时放弃并稍后重试，避免DDL排在长事务之后阻塞所有请求
+ */
+@Slf4j
+public class OnlineMigrationRunner implements DisposableBean {
+
+    static final String ONLINE_DDL_PLACEHOLDER = "online_ddl";
+
+    private static final String MYSQL_ONLINE_DDL = " ALGORITHM=INPLACE LOCK=NONE";
+
+    public enum Status { PENDING, RUNNING, COMPLETED, FAILED }
+
+    private final ShardFanOutExecutor shardExecutor;
+    private final OnlineMigrationProperties properties;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "online-migration");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Status status = Status.PENDING;
+
+    public OnlineMigrationRunner(ShardFanOutExecutor shardExecutor, OnlineMigrationProperties properties) {
+        this.shardExecutor = shardExecutor;
+        this.properties = properties;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * 应用就绪（已开始接收请求）后再执行迁移
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isAsync()) {
+            executor.submit(this::migrateAll);
+        } else {
+            migrateAll();
+        }
+    }
+
+    /**
+     * 在所有分片上执行待执行的在线迁移
+     * @return 执行的脚本总数
+     */
+    public int migrateAll() {
+        status = Status.RUNNING;
+        try {
+            List<Integer> perShard = shardExecutor.execute(this::migrateShard);
+            int executed = perShard.stream().mapToInt(Integer::intValue).sum();
+            status = Status.COMPLETED;
+            log.info("Online migrations completed, {} scripts executed across {} shards",
+                    executed, shardExecutor.getShardCount());
+            return executed;
+        } catch (RuntimeException ex) {
+            status = Status.FAILED;
+            log.error("Online migrations failed", ex);
+            return 0;
+        }
+    }
+
+    private int migrateShard(int shard, JdbcTemplate jdbc) {
+        Flyway flyway = configure(jdbc).load();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                int executed = flyway.migrate().migrationsExecuted;
+                if (executed > 0) {
+                    log.info("Executed {} online migrations on shard {}", executed, shard);
+                }
+                return executed;
+            } catch (FlywayException ex) {
+                if (attempt >= properties.getMaxAttempts()) {
+                    throw ex;
+                }
+                log.warn("Online migration on shard {} failed (attempt {}/{}), retrying in {}: {}",
+                        shard, attempt, properties.getMaxAttempts(), properties.getRetryDelay(), ex.getMessage());
+                // MySQL的DDL不参与事务，失败的脚本会留在历史表中，需要先清除才能重试
+                flyway.repair();
+                if (!pause()) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private FluentConfiguration configure(JdbcTemplate jdbc) {
+        String product = jdbc.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        boolean mysql = "MySQL".equalsIgnoreCase(product) || "MariaDB".equalsIgnoreCase(product);
+
+        FluentConfiguration configuration = Flyway.configure()
+                .dataSource(Objects.requireNonNull(jdbc.getDataSource()))
+                .table(properties.getTable())
+                .locations(properties.getLocations().toArray(String[]::new))
+                // 已有表结构的库从版本0开始记录，所有在线脚本都会执行
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                // 在线脚本1（复合索引）已归还为启动迁移V2，执行过它的库历史表中仍有该记录
+                .ignoreMigrationPatterns("*:missing")
+                .placeholders(Map.of(ONLINE_DDL_PLACEHOLDER, mysql ? MYSQL_ONLINE_DDL : ""));
+        if (mysql) {
+            configuration.initSql("SET SESSION lock_wait_timeout = " + properties.getLockWaitTimeoutSeconds());
+        }
+        return configuration;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getRetryDelay().toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
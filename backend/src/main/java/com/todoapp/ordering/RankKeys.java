@@ -0,0 +1,158 @@
+package com.todoapp.ordering;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 手动排序键
+ * 键是0-9a-z组成的三十六进制小数（"i"即0.5），按字典序比较即按数值比较，任意两个键之间总能生成新键，
+ * 移动一个Todo只需改写它自己的键。键不以'0'结尾，只含小写字母和数字，在大小写不敏感的排序规则下顺序不变
+ */
+public final class RankKeys {
+
+    static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    private static final int BASE = DIGITS.length();
+
+    /**
+     * 插到首尾时按定宽步进：在前STEP_WIDTH位上加减STEP，连续插入几十万次键长也不变
+     */
+    private static final int STEP_WIDTH = 6;
+
+    private static final long STEP = BASE * BASE;
+
+    private RankKeys() {
+    }
+
+    /**
+     * 生成介于两个键之间的键
+     * @param lower 前一个键，null表示插到最前
+     * @param upper 后一个键，null表示插到最后
+     * @return 满足lower < key < upper的键
+     * @throws IllegalArgumentException 键不合法或lower不小于upper时
+     */
+    public static String between(String lower, String upper) {
+        if (lower != null) {
+            validate(lower);
+        }
+        if (upper != null) {
+            validate(upper);
+        }
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("Rank key " + lower + " must sort before " + upper);
+        }
+        long space = pow(STEP_WIDTH);
+        if (lower != null && upper == null) {
+            long next = prefixValue(lower) + STEP;
+            if (next < space) {
+                return format(next, STEP_WIDTH);
+            }
+        } else if (lower == null && upper != null) {
+            long previous = prefixValue(upper) - STEP;
+            if (previous > 0) {
+                return format(previous, STEP_WIDTH);
+            }
+        }
+        return midpoint(lower != null ? lower : "", upper);
+    }
+
+    /**
+     * 为重排生成count个均匀分布的键，占用键空间的中间一半，两端留给之后的插入
+     * @param count 键的数量
+     * @return 升序排列的键
+     */
+    public static List<String> spaced(int count) {
+        int width = STEP_WIDTH;
+        while (pow(width) / 2 / (count + 1L) < STEP) {
+            width++;
+        }
+        long space = pow(width);
+        long start = space / 4;
+        long gap = space / 2 / (count + 1L);
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            keys.add(format(start + gap * i, width));
+        }
+        return keys;
+    }
+
+    /**
+     * 取两个小数的中点，位数只在相邻数字之间没有空隙时增加
+     * @param lower 下界，空串表示0
+     * @param upper 上界，null表示1
+     */
+    private static String midpoint(String lower, String upper) {
+        if (upper != null) {
+            int common = 0;
+            while (common < upper.length() && digitAt(lower, common) == upper.charAt(common)) {
+                common++;
+            }
+            if (common > 0) {
+                return upper.substring(0, common) + midpoint(tail(lower, common), upper.substring(common));
+            }
+        }
+        int digitLower = lower.isEmpty() ? 0 : DIGITS.indexOf(lower.charAt(0));
+        int digitUpper = upper != null ? DIGITS.indexOf(upper.charAt(0)) : BASE;
+        if (digitUpper - digitLower > 1) {
+            return String.valueOf(DIGITS.charAt((digitLower + digitUpper + 1) / 2));
+        }
+        if (upper != null && upper.length() > 1) {
+            return upper.substring(0, 1);
+        }
+        return DIGITS.charAt(digitLower) + midpoint(tail(lower, 1), null);
+    }
+
+    private static char digitAt(String key, int index) {
+        return index < key.length() ? key.charAt(index) : DIGITS.charAt(0);
+    }
+
+    private static String tail(String key, int from) {
+        return from < key.length() ? key.substring(from) : "";
+    }
+
+    /**
+     * 键前STEP_WIDTH位的数值，不足的位补0
+     */
+    private static long prefixValue(String key) {
+        long value = 0;
+        for (int i = 0; i < STEP_WIDTH; i++) {
+            value = value * BASE + DIGITS.indexOf(digitAt(key, i));
+        }
+        return value;
+    }
+
+    /**
+     * 把数值格式化为width位的键并去掉末尾的0
+     */
+    private static String format(long value, int width) {
+        char[] digits = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            digits[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        int end = width;
+        while (end > 1 && digits[end - 1] == '0') {
+            end--;
+        }
+        return new String(digits, 0, end);
+    }
+
+    private static long pow(int width) {
+        long value = 1;
+        for (int i = 0; i < width; i++) {
+            value *= BASE;
+        }
+        return value;
+    }
+
+    private static void validate(String key) {
+        if (key.isEmpty() || key.charAt(key.length() - 1) == '0') {
+            throw new IllegalArgumentException("Invalid rank key: " + key);
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (DIGITS.indexOf(key.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Invalid rank key: " + key);
+            }
+        }
+    }
+}
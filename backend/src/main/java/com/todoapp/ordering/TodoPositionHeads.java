@@ -0,0 +1,59 @@
+package com.todoapp.ordering;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 新建Todo排到最前时的排序键分配
+ * 并发的新建都读取到同一个最前的键时会得到相同的键；分配前在todo_position_heads中该租户的行上加锁排队，
+ * 并记录本次分配的键。加锁读取总是读到最新提交的值，可重复读隔离下事务快照看不到刚提交的新建时以它为准，
+ * 列表为空（没有可比较的键）时同样排队。只锁这一行，不锁todos中的行，不会与持有Todo行锁的写操作形成死锁
+ */
+@Component
+public class TodoPositionHeads {
+
+    private static final String LOCK_HEAD = "SELECT position FROM todo_position_heads WHERE tenant_id = ? FOR UPDATE";
+
+    private static final String INSERT_HEAD = "INSERT INTO todo_position_heads (tenant_id) VALUES (?)";
+
+    private static final String UPDATE_HEAD = "UPDATE todo_position_heads SET position = ? WHERE tenant_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TodoPositionHeads(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 在当前事务中锁定租户的最前位置，直到事务结束
+     * @param tenant 租户
+     * @param currentFirst 按事务快照读到的最前的键，可能为null
+     * @return 新键应排在其前面的键：记录的键与currentFirst中较小的一个，都没有时为null
+     */
+    public String lock(String tenant, String currentFirst) {
+        List<String> heads = jdbcTemplate.queryForList(LOCK_HEAD, String.class, tenant);
+        if (heads.isEmpty()) {
+            try {
+                jdbcTemplate.update(INSERT_HEAD, tenant);
+            } catch (DuplicateKeyException ex) {
+                // 并发的新建先插入了该行，等待其事务结束后加锁
+            }
+            heads = jdbcTemplate.queryForList(LOCK_HEAD, String.class, tenant);
+        }
+        String recorded = heads.get(0);
+        if (recorded == null) {
+            return currentFirst;
+        }
+        return currentFirst != null && currentFirst.compareTo(recorded) < 0 ? currentFirst : recorded;
+    }
+
+    /**
+     * 记录本次分配的最前的键，须在lock之后的同一事务中调用
+     */
+    public void record(String tenant, String position) {
+        jdbcTemplate.update(UPDATE_HEAD, position, tenant);
+    }
+}
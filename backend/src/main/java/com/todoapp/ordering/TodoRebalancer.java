@@ -0,0 +1,161 @@
+package com.todoapp.ordering;
+
+import com.todoapp.config.OrderingProperties;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.event.TodoChangedEvent.ChangeType;
+import com.todoapp.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 排序键后台重排
+ * 移动和新建只改写一行，键在同一位置反复插入后会变长；写入方发现键过长或顺序冲突时标记租户，
+ * 由本任务在一个事务中锁定该租户的Todo并按当前顺序重新分配均匀分布的短键。
+ * 迁移前的数据和批量导入的行没有键，启动时和导入后补齐到列表末尾（按创建时间倒序）
+ */
+@Component
+@Slf4j
+public class TodoRebalancer {
+
+    private static final String SELECT_TENANT =
+            "SELECT id, position FROM todos WHERE tenant_id = ? "
+            + "ORDER BY CASE WHEN position IS NULL THEN 1 ELSE 0 END, position, created_at DESC, id DESC FOR UPDATE";
+
+    private static final String UPDATE_POSITION = "UPDATE todos SET position = ? WHERE id = ?";
+
+    private static final RowMapper<Row> ROW_MAPPER =
+            (rs, rowNum) -> new Row(rs.getLong("id"), rs.getString("position"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardFanOutExecutor shardExecutor;
+    private final OrderingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> pendingTenants = ConcurrentHashMap.newKeySet();
+
+    public TodoRebalancer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                          ShardFanOutExecutor shardExecutor, OrderingProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardExecutor = shardExecutor;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 标记租户，在下次后台任务中重排
+     */
+    public void requestRebalance(String tenant) {
+        pendingTenants.add(tenant);
+    }
+
+    /**
+     * 启动时找出所有分片上存在无键Todo的租户并补齐
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        shardExecutor.execute(jdbc -> jdbc.queryForList(
+                        "SELECT DISTINCT tenant_id FROM todos WHERE position IS NULL", String.class))
+                .forEach(pendingTenants::addAll);
+        rebalancePending();
+    }
+
+    /**
+     * 事务提交后再登记，避免重排先于提交执行而看不到新插入的无键Todo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.getType() == ChangeType.IMPORTED || event.getType() == ChangeType.MATERIALIZED) {
+            requestRebalance(TenantContext.current());
+        }
+    }
+
+    /**
+     * 重排所有被标记的租户，失败的租户留到下次重试
+     */
+    @Scheduled(fixedDelayString = "${todo.ordering.rebalance-interval-ms:10000}")
+    public void rebalancePending() {
+        for (String tenant : List.copyOf(pendingTenants)) {
+            pendingTenants.remove(tenant);
+            try {
+                rebalance(tenant);
+            } catch (RuntimeException ex) {
+                log.warn("Rebalancing positions of tenant {} failed, will retry: {}", tenant, ex.getMessage());
+                pendingTenants.add(tenant);
+            }
+        }
+    }
+
+    /**
+     * 重排一个租户的排序键
+     * 已有的键都不过长且严格递增时只给无键的行补键，否则按当前顺序重新分配全部的键
+     * @return 改写的行数
+     */
+    public int rebalance(String tenant) {
+        TenantContext.set(tenant);
+        try {
+            Integer updated = transactionTemplate.execute(status -> {
+                List<Row> rows = jdbcTemplate.query(SELECT_TENANT, ROW_MAPPER, tenant);
+                List<String> keys = assignKeys(rows);
+                List<Object[]> changes = new ArrayList<>();
+                for (int i = 0; i < rows.size(); i++) {
+                    if (!keys.get(i).equals(rows.get(i).position())) {
+                        changes.add(new Object[]{keys.get(i), rows.get(i).id()});
+                    }
+                }
+                if (!changes.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_POSITION, changes);
+                }
+                return changes.size();
+            });
+            int count = updated != null ? updated : 0;
+            if (count > 0) {
+                meterRegistry.counter("todo.ordering.rebalanced").increment(count);
+                log.info("Rebalanced {} positions of tenant {}", count, tenant);
+            }
+            return count;
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private List<String> assignKeys(List<Row> rows) {
+        List<String> keys = new ArrayList<>(rows.size());
+        String previous = null;
+        for (Row row : rows) {
+            String key = row.position();
+            if (key == null) {
+                key = RankKeys.between(previous, null);
+            } else if (previous != null && key.compareTo(previous) <= 0) {
+                return RankKeys.spaced(rows.size());
+            }
+            if (key.length() > properties.getMaxKeyLength()) {
+                return RankKeys.spaced(rows.size());
+            }
+            keys.add(key);
+            previous = key;
+        }
+        return keys;
+    }
+
+    private record Row(long id, String position) {
+    }
+}
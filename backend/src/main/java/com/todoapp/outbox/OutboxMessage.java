@@ -0,0 +1,16 @@
+package com.todoapp.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * 投递给下游系统的事件
+ * @param id 事件ID，同一分片内单调递增，可用于下游去重
+ * @param todoId 受影响的Todo ID，批量操作时为null
+ * @param tenant 所属租户
+ * @param eventType 事件类型，对应TodoChangedEvent.ChangeType
+ * @param payload 事件内容（JSON）
+ * @param createdAt 事件产生时间
+ */
+public record OutboxMessage(long id, Long todoId, String tenant, String eventType,
+                            String payload, LocalDateTime createdAt) {
+}
@@ -0,0 +1,227 @@
+package com.todoapp.outbox;
+
+import com.todoapp.config.OutboxProperties;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 发件箱投递任务
+ * 每个分片同一时间只由持有outbox_leases租约的实例投递（每批投递前续约），多实例部署时事件不会被重复投递，
+ * 同一Todo的事件保持ID顺序。按事件ID顺序批量投递，全部投递目标成功后才标记为已发布（至少一次）；
+ * 某批失败时逐个重试该批事件，成功的标记为已发布，失败的事件记录尝试次数并按指数退避等待，
+ * 后续事件不会越过它；达到max-attempts次后该事件进入死信（dead_lettered_at），不再阻塞后续事件
+ */
+@Slf4j
+public class OutboxRelay implements DisposableBean {
+
+    static final String LEASE_NAME = "todo-outbox";
+
+    private static final long PURGE_INTERVAL_MS = 60_000;
+
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    private static final RowMapper<Pending> PENDING_ROW_MAPPER = (rs, rowNum) -> {
+        Object todoId = rs.getObject("todo_id");
+        return new Pending(
+                new OutboxMessage(
+                        rs.getLong("id"),
+                        todoId != null ? ((Number) todoId).longValue() : null,
+                        rs.getString("tenant"),
+                        rs.getString("event_type"),
+                        rs.getString("payload"),
+                        rs.getTimestamp("created_at").toLocalDateTime()),
+                rs.getInt("attempts"),
+                rs.getTimestamp("last_attempt_at"));
+    };
+
+    private final String owner = UUID.randomUUID().toString();
+    private final ShardFanOutExecutor shardExecutor;
+    private final List<OutboxSink> sinks;
+    private final OutboxProperties properties;
+    private final MeterRegistry meterRegistry;
+    private volatile long lastPurge = System.currentTimeMillis();
+
+    public OutboxRelay(ShardFanOutExecutor shardExecutor, List<OutboxSink> availableSinks,
+                       OutboxProperties properties, MeterRegistry meterRegistry) {
+        this.shardExecutor = shardExecutor;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.sinks = properties.getSinks().stream()
+                .map(name -> availableSinks.stream()
+                        .filter(sink -> sink.getName().equals(name))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("Unknown outbox sink: " + name)))
+                .toList();
+        if (properties.getMaxAttempts() < 1) {
+            throw new IllegalStateException("todo.outbox.max-attempts must be at least 1");
+        }
+    }
+
+    /**
+     * 投递所有分片上的待发布事件
+     */
+    @Scheduled(fixedDelayString = "${todo.outbox.relay-interval-ms:200}")
+    public void relay() {
+        List<Integer> published = shardExecutor.execute(this::relayShard);
+        int total = published.stream().mapToInt(Integer::intValue).sum();
+        if (total > 0) {
+            log.debug("Relayed {} outbox events", total);
+        }
+
+        if (System.currentTimeMillis() - lastPurge > PURGE_INTERVAL_MS) {
+            lastPurge = System.currentTimeMillis();
+            purge();
+        }
+    }
+
+    /**
+     * 停机时释放租约，其他实例在下次轮询时即可接管
+     */
+    @Override
+    public void destroy() {
+        try {
+            shardExecutor.execute(jdbc -> jdbc.update("DELETE FROM outbox_leases WHERE name = ? AND owner = ?",
+                    LEASE_NAME, owner));
+        } catch (DataAccessException ex) {
+            log.warn("Failed to release outbox leases: {}", ex.getMessage());
+        }
+    }
+
+    int relayShard(JdbcTemplate jdbc) {
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbc);
+        int published = 0;
+        while (acquireLease(jdbc)) {
+            List<Pending> batch = jdbc.query(
+                    "SELECT id, todo_id, tenant, event_type, payload, created_at, attempts, last_attempt_at "
+                            + "FROM outbox_events WHERE published_at IS NULL AND dead_lettered_at IS NULL "
+                            + "ORDER BY id LIMIT ?",
+                    PENDING_ROW_MAPPER, properties.getBatchSize());
+            if (batch.isEmpty() || isBackingOff(batch.get(0))) {
+                return published;
+            }
+
+            try {
+                publish(batch.stream().map(Pending::message).toList());
+            } catch (Exception ex) {
+                log.warn("Failed to relay {} outbox events starting at id {}, retrying one by one: {}",
+                        batch.size(), batch.get(0).message().id(), ex.getMessage());
+                meterRegistry.counter("todo.outbox.failures").increment();
+                return published + relayOneByOne(named, batch);
+            }
+
+            markPublished(named, batch.stream().map(pending -> pending.message().id()).toList());
+            published += batch.size();
+
+            if (batch.size() < properties.getBatchSize()) {
+                return published;
+            }
+        }
+        return published;
+    }
+
+    /**
+     * 逐个投递失败的批次，找出失败的事件：未达到最大尝试次数时停在该事件上等待重试，达到后进入死信并继续
+     */
+    private int relayOneByOne(NamedParameterJdbcTemplate named, List<Pending> batch) {
+        int published = 0;
+        for (Pending pending : batch) {
+            if (isBackingOff(pending)) {
+                return published;
+            }
+            OutboxMessage message = pending.message();
+            try {
+                publish(List.of(message));
+            } catch (Exception ex) {
+                int attempts = pending.attempts() + 1;
+                boolean dead = attempts >= properties.getMaxAttempts();
+                Timestamp now = new Timestamp(System.currentTimeMillis());
+                named.getJdbcTemplate().update("UPDATE outbox_events SET attempts = ?, last_attempt_at = ?, "
+                                + "last_error = ?, dead_lettered_at = ? WHERE id = ?",
+                        attempts, now, truncate(String.valueOf(ex.getMessage())), dead ? now : null, message.id());
+                if (!dead) {
+                    log.warn("Outbox event {} failed (attempt {} of {}): {}",
+                            message.id(), attempts, properties.getMaxAttempts(), ex.getMessage());
+                    return published;
+                }
+                log.error("Outbox event {} moved to dead letter after {} attempts: {}",
+                        message.id(), attempts, ex.getMessage());
+                meterRegistry.counter("todo.outbox.dead_lettered").increment();
+                continue;
+            }
+            markPublished(named, List.of(message.id()));
+            published++;
+        }
+        return published;
+    }
+
+    private void publish(List<OutboxMessage> messages) throws Exception {
+        for (OutboxSink sink : sinks) {
+            sink.publish(messages);
+        }
+    }
+
+    private void markPublished(NamedParameterJdbcTemplate named, List<Long> ids) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("publishedAt", new Timestamp(System.currentTimeMillis()));
+        named.update("UPDATE outbox_events SET published_at = :publishedAt WHERE id IN (:ids)", params);
+        meterRegistry.counter("todo.outbox.published").increment(ids.size());
+    }
+
+    /**
+     * 失败过的事件在退避时间内不重试，退避从retry-backoff-ms开始每次翻倍，不超过max-retry-backoff-ms
+     */
+    private boolean isBackingOff(Pending pending) {
+        if (pending.attempts() == 0 || pending.lastAttemptAt() == null) {
+            return false;
+        }
+        int shift = Math.min(pending.attempts() - 1, 30);
+        long backoff = Math.min(properties.getRetryBackoffMs() << shift, properties.getMaxRetryBackoffMs());
+        return System.currentTimeMillis() < pending.lastAttemptAt().getTime() + backoff;
+    }
+
+    /**
+     * 续约或在租约过期后抢占，首次运行时插入租约行
+     */
+    private boolean acquireLease(JdbcTemplate jdbc) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Timestamp expiresAt = new Timestamp(now.getTime() + properties.getLeaseMs());
+        int renewed = jdbc.update("UPDATE outbox_leases SET owner = ?, expires_at = ? "
+                + "WHERE name = ? AND (owner = ? OR expires_at < ?)", owner, expiresAt, LEASE_NAME, owner, now);
+        if (renewed > 0) {
+            return true;
+        }
+        try {
+            jdbc.update("INSERT INTO outbox_leases (name, owner, expires_at) VALUES (?, ?, ?)",
+                    LEASE_NAME, owner, expiresAt);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private void purge() {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - properties.getRetentionMs());
+        shardExecutor.execute(jdbc -> jdbc.update(
+                "DELETE FROM outbox_events WHERE published_at IS NOT NULL AND published_at < ?", cutoff));
+    }
+
+    private record Pending(OutboxMessage message, int attempts, Timestamp lastAttemptAt) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.todoapp.outbox;
+
+import java.util.List;
+
+/**
+ * 发件箱投递目标
+ * 投递为至少一次语义，实现方应能处理重复事件（可按OutboxMessage.id去重）
+ */
+public interface OutboxSink {
+
+    /**
+     * 投递目标名称，对应todo.outbox.sinks中的配置值
+     */
+    String getName();
+
+    /**
+     * 批量投递，抛出异常表示整批失败，稍后会重试
+     * @param batch 按事件ID升序排列的事件
+     */
+    void publish(List<OutboxMessage> batch) throws Exception;
+}
@@ -0,0 +1,40 @@
+package com.todoapp.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.entity.OutboxEvent;
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.repository.OutboxEventRepository;
+import com.todoapp.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 发件箱写入
+ * 在Todo变更的事务提交前插入outbox_events，保证事件与数据变更同时提交或回滚
+ */
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) throws JsonProcessingException {
+        Object payload = event.getTodo() != null
+                ? event.getTodo()
+                : event.getTodoId() != null ? Map.of("id", event.getTodoId()) : Map.of();
+
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setTodoId(event.getTodoId());
+        outboxEvent.setTenant(TenantContext.current());
+        outboxEvent.setEventType(event.getType().name());
+        outboxEvent.setPayload(objectMapper.writeValueAsString(payload));
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+        outboxEventRepository.save(outboxEvent);
+    }
+}
@@ -0,0 +1,250 @@
+package com.todoapp.recurrence;
+
+import com.todoapp.config.RecurrenceProperties;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import com.todoapp.entity.Todo;
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.event.TodoChangedEvent.ChangeType;
+import com.todoapp.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 重复规则实例的后台生成
+ * 规则只保存一次，本任务按(next_at, id)索引分批领取下一次出现落在滚动窗口内的规则（FOR UPDATE，多实例不会重复生成），
+ * 用JDBC批量插入窗口内的实例并推进next_at，窗口之外的出现不占todos的行。
+ * 列表查询只读todos，不在请求时展开规则；新实例没有排序键，由TodoRebalancer补齐
+ */
+@Component
+@Slf4j
+public class RecurrenceMaterializer {
+
+    private static final String SELECT_DUE =
+            "SELECT id, tenant_id, title, description, rule, starts_at, ends_at, next_at FROM todo_recurrences "
+            + "WHERE next_at < ? ORDER BY next_at, id LIMIT ? FOR UPDATE";
+
+    private static final String INSERT_DESCRIPTION = "INSERT INTO todo_descriptions (body) VALUES (?)";
+
+    private static final String INSERT_TODO =
+            "INSERT INTO todos (tenant_id, title, description_id, description_preview, description_length, completed, "
+            + "due_at, remind_at, recurrence_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, FALSE, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_NEXT = "UPDATE todo_recurrences SET next_at = ?, updated_at = ? WHERE id = ?";
+
+    private static final RowMapper<DueRule> DUE_RULE_MAPPER = (rs, rowNum) -> {
+        Timestamp endsAt = rs.getTimestamp("ends_at");
+        return new DueRule(
+                rs.getLong("id"),
+                rs.getString("tenant_id"),
+                rs.getString("title"),
+                rs.getString("description"),
+                rs.getString("rule"),
+                rs.getTimestamp("starts_at").toLocalDateTime(),
+                endsAt != null ? endsAt.toLocalDateTime() : null,
+                rs.getTimestamp("next_at").toLocalDateTime());
+    };
+
+    private final ShardFanOutExecutor shardExecutor;
+    private final RecurrenceProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    public RecurrenceMaterializer(ShardFanOutExecutor shardExecutor, RecurrenceProperties properties,
+                                  ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.shardExecutor = shardExecutor;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 在所有分片上生成截止时间落在滚动窗口内的实例
+     * @return 生成的实例数
+     */
+    @Scheduled(fixedDelayString = "${todo.recurrence.interval-ms:60000}")
+    public int materializeDue() {
+        LocalDateTime horizon = LocalDateTime.now().plus(properties.getHorizon());
+        int created = shardExecutor.execute(jdbc -> materializeShard(jdbc, horizon))
+                .stream().mapToInt(Integer::intValue).sum();
+        if (created > 0) {
+            log.info("Materialized {} recurring todo occurrences up to {}", created, horizon);
+        }
+        return created;
+    }
+
+    private int materializeShard(JdbcTemplate jdbc, LocalDateTime horizon) {
+        TransactionTemplate transaction = new TransactionTemplate(
+                new DataSourceTransactionManager(Objects.requireNonNull(jdbc.getDataSource())));
+        int created = 0;
+        while (true) {
+            Batch batch = Objects.requireNonNull(transaction.execute(status -> materializeBatch(jdbc, horizon)));
+            created += batch.occurrences();
+            meterRegistry.counter("todo.recurrence.materialized").increment(batch.occurrences());
+            batch.createdIds().forEach(this::publish);
+            // 领满一批或有规则达到单规则上限时，窗口内可能还有未生成的出现，继续下一个事务
+            if (batch.rules() < properties.getBatchSize() && !batch.capped()) {
+                return created;
+            }
+        }
+    }
+
+    /**
+     * 领取一批规则，插入窗口内的实例并推进next_at
+     */
+    private Batch materializeBatch(JdbcTemplate jdbc, LocalDateTime horizon) {
+        List<DueRule> rules = jdbc.query(SELECT_DUE, DUE_RULE_MAPPER, Timestamp.valueOf(horizon),
+                properties.getBatchSize());
+        if (rules.isEmpty()) {
+            return new Batch(0, 0, false, Map.of());
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Occurrence> occurrences = new ArrayList<>();
+        List<Object[]> advances = new ArrayList<>(rules.size());
+        boolean capped = false;
+        for (DueRule rule : rules) {
+            RecurrenceRule recurrence = RecurrenceRule.parse(rule.rule());
+            LocalDateTime next = rule.nextAt();
+            int count = 0;
+            while (next != null && next.isBefore(horizon) && count < properties.getMaxOccurrencesPerRule()) {
+                occurrences.add(new Occurrence(rule, next));
+                next = recurrence.next(rule.startsAt(), next, rule.endsAt());
+                count++;
+            }
+            capped |= count == properties.getMaxOccurrencesPerRule() && next != null && next.isBefore(horizon);
+            advances.add(new Object[]{next != null ? Timestamp.valueOf(next) : null, now, rule.id()});
+        }
+        long[] todoIds = jdbc.execute((ConnectionCallback<long[]>) con -> insertOccurrences(con, occurrences, now));
+        jdbc.batchUpdate(UPDATE_NEXT, advances);
+
+        Map<String, List<Long>> createdIds = new LinkedHashMap<>();
+        for (int i = 0; i < occurrences.size(); i++) {
+            createdIds.computeIfAbsent(occurrences.get(i).rule().tenantId(), tenant -> new ArrayList<>())
+                    .add(todoIds[i]);
+        }
+        return new Batch(rules.size(), occurrences.size(), capped, createdIds);
+    }
+
+    /**
+     * 批量插入实例并按实例返回生成的ID
+     */
+    private long[] insertOccurrences(Connection con, List<Occurrence> occurrences, Timestamp now)
+            throws SQLException {
+        long[] ids = new long[occurrences.size()];
+        if (occurrences.isEmpty()) {
+            return ids;
+        }
+        Long[] descriptionIds = insertDescriptions(con, occurrences);
+        try (PreparedStatement ps = con.prepareStatement(INSERT_TODO, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < occurrences.size(); i++) {
+                DueRule rule = occurrences.get(i).rule();
+                Timestamp dueAt = Timestamp.valueOf(occurrences.get(i).dueAt());
+                ps.setString(1, rule.tenantId());
+                ps.setString(2, rule.title());
+                if (descriptionIds[i] != null) {
+                    ps.setLong(3, descriptionIds[i]);
+                    ps.setString(4, Todo.preview(rule.description()));
+                    ps.setInt(5, rule.description().length());
+                } else {
+                    ps.setNull(3, Types.BIGINT);
+                    ps.setNull(4, Types.VARCHAR);
+                    ps.setNull(5, Types.INTEGER);
+                }
+                ps.setTimestamp(6, dueAt);
+                ps.setTimestamp(7, dueAt);
+                ps.setLong(8, rule.id());
+                ps.setTimestamp(9, now);
+                ps.setTimestamp(10, now);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                for (int i = 0; i < ids.length; i++) {
+                    if (!keys.next()) {
+                        throw new SQLException("Missing generated key for occurrence");
+                    }
+                    ids[i] = keys.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 每个实例有自己的描述行，批量插入并按实例返回生成的ID，无描述的为null
+     */
+    private Long[] insertDescriptions(Connection con, List<Occurrence> occurrences) throws SQLException {
+        Long[] ids = new Long[occurrences.size()];
+        try (PreparedStatement ps = con.prepareStatement(INSERT_DESCRIPTION, Statement.RETURN_GENERATED_KEYS)) {
+            int count = 0;
+            for (Occurrence occurrence : occurrences) {
+                if (occurrence.rule().description() != null) {
+                    ps.setString(1, occurrence.rule().description());
+                    ps.addBatch();
+                    count++;
+                }
+            }
+            if (count == 0) {
+                return ids;
+            }
+            ps.executeBatch();
+
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                for (int i = 0; i < occurrences.size(); i++) {
+                    if (occurrences.get(i).rule().description() == null) {
+                        continue;
+                    }
+                    if (!keys.next()) {
+                        throw new SQLException("Missing generated key for occurrence description");
+                    }
+                    ids[i] = keys.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 按租户发布批量事件：TodoIdFilter加入新实例的ID，TodoRebalancer给新实例补排序键
+     */
+    private void publish(String tenant, List<Long> createdIds) {
+        TenantContext.set(tenant);
+        try {
+            eventPublisher.publishEvent(TodoChangedEvent.bulk(ChangeType.MATERIALIZED, createdIds));
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private record DueRule(long id, String tenantId, String title, String description, String rule,
+                           LocalDateTime startsAt, LocalDateTime endsAt, LocalDateTime nextAt) {
+    }
+
+    private record Occurrence(DueRule rule, LocalDateTime dueAt) {
+    }
+
+    private record Batch(int rules, int occurrences, boolean capped, Map<String, List<Long>> createdIds) {
+    }
+}
@@ -0,0 +1,182 @@
+package com.todoapp.recurrence;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 重复规则
+ * 采用iCalendar RRULE的子集：FREQ=DAILY|WEEKLY|MONTHLY，可选INTERVAL=n和BYDAY=MO,TU,...（BYDAY只用于DAILY和WEEKLY）。
+ * 例如"每个工作日"是FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR。每次出现的时刻取开始时间的时分秒，
+ * 间隔从开始时间所在的日、周（周一起算）或月计算；按月重复时日期沿用开始日，月份没有该日时取当月最后一天
+ */
+public final class RecurrenceRule {
+
+    /**
+     * 重复频率
+     */
+    public enum Frequency {
+        DAILY,
+        WEEKLY,
+        MONTHLY
+    }
+
+    private static final int MAX_INTERVAL = 999;
+
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY, "TH", DayOfWeek.THURSDAY,
+            "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Set<DayOfWeek> days;
+
+    private RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> days) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.days = days;
+    }
+
+    /**
+     * 解析规则，键名和取值不区分大小写
+     * @throws IllegalArgumentException 规则不合法时
+     */
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Recurrence rule is required");
+        }
+        Map<String, String> parts = new HashMap<>();
+        for (String part : rule.trim().toUpperCase(Locale.ROOT).split(";")) {
+            String[] pair = part.split("=", 2);
+            if (pair.length != 2 || parts.put(pair[0].trim(), pair[1].trim()) != null) {
+                throw new IllegalArgumentException("Invalid recurrence rule: " + rule);
+            }
+        }
+        Frequency frequency;
+        try {
+            frequency = Frequency.valueOf(String.valueOf(parts.remove("FREQ")));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Recurrence rule needs FREQ=DAILY, WEEKLY or MONTHLY: " + rule);
+        }
+        int interval = 1;
+        String intervalValue = parts.remove("INTERVAL");
+        if (intervalValue != null) {
+            try {
+                interval = Integer.parseInt(intervalValue);
+            } catch (NumberFormatException ex) {
+                interval = 0;
+            }
+            if (interval < 1 || interval > MAX_INTERVAL) {
+                throw new IllegalArgumentException("Recurrence INTERVAL must be between 1 and " + MAX_INTERVAL);
+            }
+        }
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        String byDay = parts.remove("BYDAY");
+        if (byDay != null) {
+            for (String day : byDay.split(",")) {
+                DayOfWeek dayOfWeek = DAYS.get(day.trim());
+                if (dayOfWeek == null) {
+                    throw new IllegalArgumentException("Invalid recurrence BYDAY value: " + day);
+                }
+                days.add(dayOfWeek);
+            }
+            if (frequency == Frequency.MONTHLY) {
+                throw new IllegalArgumentException("BYDAY is not supported with FREQ=MONTHLY");
+            }
+            if (frequency == Frequency.DAILY && interval > 1) {
+                throw new IllegalArgumentException("BYDAY with FREQ=DAILY requires INTERVAL=1");
+            }
+        }
+        if (!parts.isEmpty()) {
+            throw new IllegalArgumentException("Unsupported recurrence rule parts: " + parts.keySet());
+        }
+        return new RecurrenceRule(frequency, interval, days);
+    }
+
+    /**
+     * 第一次出现：开始时间本身满足规则时就是开始时间
+     * @param start 开始时间
+     */
+    public LocalDateTime first(LocalDateTime start) {
+        return matches(start, start) ? start : next(start, start);
+    }
+
+    /**
+     * 下一次出现
+     * @param start 开始时间，决定时刻和间隔的起点
+     * @param previous 上一次出现的时间
+     * @return 严格晚于previous的下一次出现
+     */
+    public LocalDateTime next(LocalDateTime start, LocalDateTime previous) {
+        return switch (frequency) {
+            case DAILY -> {
+                LocalDateTime next = previous.plusDays(interval);
+                while (!matches(start, next)) {
+                    next = next.plusDays(1);
+                }
+                yield next;
+            }
+            case WEEKLY -> nextWeekly(start, previous);
+            case MONTHLY -> {
+                long months = ChronoUnit.MONTHS.between(YearMonth.from(start), YearMonth.from(previous));
+                yield start.plusMonths(months + interval);
+            }
+        };
+    }
+
+    /**
+     * 结束时间之前的下一次出现
+     * @param until 结束时间，null表示不结束
+     * @return 下一次出现，超过结束时间时返回null
+     */
+    public LocalDateTime next(LocalDateTime start, LocalDateTime previous, LocalDateTime until) {
+        LocalDateTime next = next(start, previous);
+        return until != null && next.isAfter(until) ? null : next;
+    }
+
+    /**
+     * 同一周内还有后续的星期就取之，否则跳到interval周之后的第一个星期
+     */
+    private LocalDateTime nextWeekly(LocalDateTime start, LocalDateTime previous) {
+        Set<DayOfWeek> weekDays = days.isEmpty() ? EnumSet.of(start.getDayOfWeek()) : days;
+        LocalDateTime time = previous.with(start.toLocalTime());
+        for (DayOfWeek day : weekDays) {
+            if (day.compareTo(previous.getDayOfWeek()) > 0) {
+                return time.plusDays(day.getValue() - previous.getDayOfWeek().getValue());
+            }
+        }
+        LocalDateTime monday = time.minusDays(previous.getDayOfWeek().getValue() - 1L).plusWeeks(interval);
+        return monday.plusDays(weekDays.iterator().next().getValue() - 1L);
+    }
+
+    private boolean matches(LocalDateTime start, LocalDateTime time) {
+        if (frequency == Frequency.WEEKLY && days.isEmpty()) {
+            return time.getDayOfWeek() == start.getDayOfWeek();
+        }
+        return days.isEmpty() || days.contains(time.getDayOfWeek());
+    }
+
+    /**
+     * 规范化的规则文本，保存到todo_recurrences.rule
+     */
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+        if (interval > 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (!days.isEmpty()) {
+            rule.append(";BYDAY=").append(days.stream()
+                    .map(day -> day.name().substring(0, 2))
+                    .collect(Collectors.joining(",")));
+        }
+        return rule.toString();
+    }
+}
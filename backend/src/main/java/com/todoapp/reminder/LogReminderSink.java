@@ -0,0 +1,25 @@
+package com.todoapp.reminder;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * 日志投递目标，把每条提醒写入应用日志
+ */
+@Slf4j
+public class LogReminderSink implements ReminderSink {
+
+    @Override
+    public String getName() {
+        return "log";
+    }
+
+    @Override
+    public void deliver(List<Reminder> batch) {
+        for (Reminder reminder : batch) {
+            log.info("Todo {} of tenant {} is due at {}: {}",
+                    reminder.todoId(), reminder.tenant(), reminder.dueAt(), reminder.title());
+        }
+    }
+}
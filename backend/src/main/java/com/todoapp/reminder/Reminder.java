@@ -0,0 +1,14 @@
+package com.todoapp.reminder;
+
+import java.time.LocalDateTime;
+
+/**
+ * 到期提醒
+ * @param todoId 到期的Todo ID
+ * @param tenant 所属租户
+ * @param title Todo标题
+ * @param dueAt 截止时间
+ * @param firedAt 提醒触发时间
+ */
+public record Reminder(long todoId, String tenant, String title, LocalDateTime dueAt, LocalDateTime firedAt) {
+}
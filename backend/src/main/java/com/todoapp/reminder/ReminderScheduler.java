@@ -0,0 +1,299 @@
+package com.todoapp.reminder;
+
+import com.todoapp.config.ReminderProperties;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import com.todoapp.datasource.ShardRouter;
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 到期提醒调度
+ * 每个分片由持有reminder_leases租约的实例负责：按load-interval-ms续约，并通过idx_todos_remind_at索引
+ * 只把lookahead-ms内到期的提醒加载进分层时间轮，数据库中更远的截止时间不占内存。时间轮每格推进一次，
+ * 到期的提醒在数据库中确认仍待触发后投递给所有投递目标，全部成功后才清空remind_at，失败的在下次加载时重试。
+ * 重启或接管租约时重新加载窗口，停机期间错过的提醒立即触发；本实例的修改在事务提交后直接更新时间轮，
+ * 其他实例的修改在下次加载时生效
+ */
+@Slf4j
+public class ReminderScheduler implements DisposableBean {
+
+    static final String LEASE_NAME = "todo-reminders";
+
+    static final String LOAD_SQL = "SELECT id, remind_at FROM todos WHERE remind_at < ? "
+            + "AND (remind_at > ? OR (remind_at = ? AND id > ?)) ORDER BY remind_at, id LIMIT ?";
+
+    private static final String DUE_SQL = "SELECT id, tenant_id, title, due_at FROM todos "
+            + "WHERE id IN (:ids) AND remind_at <= :now ORDER BY remind_at, id";
+
+    private static final String FIRED_SQL = "UPDATE todos SET remind_at = NULL WHERE id IN (:ids) AND remind_at <= :now";
+
+    private static final RowMapper<Upcoming> UPCOMING_ROW_MAPPER =
+            (rs, rowNum) -> new Upcoming(rs.getLong("id"), rs.getTimestamp("remind_at"));
+
+    private final String owner = UUID.randomUUID().toString();
+    private final ShardFanOutExecutor shardExecutor;
+    private final ShardRouter shardRouter;
+    private final List<ReminderSink> sinks;
+    private final ReminderProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final TimingWheel<Key> wheel;
+
+    /**
+     * 各分片的租约是否由本实例持有，以及已加载到的时间，由wheel的锁保护
+     */
+    private final boolean[] held;
+    private final long[] loadedUntil;
+
+    public ReminderScheduler(ShardFanOutExecutor shardExecutor, List<ReminderSink> availableSinks,
+                             ReminderProperties properties, MeterRegistry meterRegistry) {
+        this.shardExecutor = shardExecutor;
+        this.shardRouter = new ShardRouter(shardExecutor.getShardCount());
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.sinks = properties.getSinks().stream()
+                .map(name -> availableSinks.stream()
+                        .filter(sink -> sink.getName().equals(name))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("Unknown reminder sink: " + name)))
+                .toList();
+        this.wheel = new TimingWheel<>(properties.getTickMs(), properties.getWheelSize(), properties.getLevels(),
+                System.currentTimeMillis());
+        if (properties.getLoadIntervalMs() >= properties.getLookaheadMs()
+                || properties.getLoadIntervalMs() >= properties.getLeaseMs()) {
+            throw new IllegalStateException("todo.reminders.load-interval-ms must be less than lookahead-ms and lease-ms");
+        }
+        if (properties.getLookaheadMs() + properties.getLoadIntervalMs() > wheel.getSpanMs()) {
+            throw new IllegalStateException("todo.reminders.lookahead-ms exceeds the timing wheel span of "
+                    + wheel.getSpanMs() + "ms, increase wheel-size or levels");
+        }
+        this.held = new boolean[shardExecutor.getShardCount()];
+        this.loadedUntil = new long[shardExecutor.getShardCount()];
+        meterRegistry.gauge("todo.reminders.scheduled", this, ReminderScheduler::getScheduledCount);
+    }
+
+    /**
+     * 时间轮中待触发的提醒数
+     */
+    public int getScheduledCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    /**
+     * 在每个分片上续约或抢占租约，并加载持有分片的下一个时间窗口
+     */
+    @Scheduled(fixedDelayString = "${todo.reminders.load-interval-ms:30000}")
+    public void load() {
+        int loaded = shardExecutor.execute(this::loadShard).stream().mapToInt(Integer::intValue).sum();
+        if (loaded > 0) {
+            log.debug("Loaded {} upcoming reminders", loaded);
+        }
+    }
+
+    /**
+     * 推进时间轮并触发到期的提醒
+     */
+    @Scheduled(fixedDelayString = "${todo.reminders.tick-ms:1000}")
+    public void tick() {
+        List<TimingWheel.Timeout<Key>> expired;
+        synchronized (wheel) {
+            expired = wheel.advanceTo(System.currentTimeMillis());
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<Long>> idsByShard = new HashMap<>();
+        for (TimingWheel.Timeout<Key> timeout : expired) {
+            idsByShard.computeIfAbsent(timeout.key().shard(), shard -> new ArrayList<>()).add(timeout.key().todoId());
+        }
+        int fired = shardExecutor.execute((shard, jdbc) -> fire(jdbc, idsByShard.getOrDefault(shard, List.of())))
+                .stream().mapToInt(Integer::intValue).sum();
+        if (fired > 0) {
+            log.debug("Fired {} reminders", fired);
+        }
+    }
+
+    /**
+     * 事务提交后按变更后的截止时间更新时间轮，只处理本实例持有且已加载窗口内的提醒
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.getTodoId() == null) {
+            return;
+        }
+        int shard = shardRouter.shardFor(TenantContext.current());
+        Key key = new Key(shard, event.getTodoId());
+        TodoResponse todo = event.getTodo();
+        synchronized (wheel) {
+            if (!held[shard]) {
+                return;
+            }
+            if (todo == null || todo.getDueAt() == null || Boolean.TRUE.equals(todo.getCompleted())) {
+                wheel.cancel(key);
+                return;
+            }
+            long deadline = toMillis(todo.getDueAt());
+            if (deadline < loadedUntil[shard]) {
+                wheel.schedule(key, deadline);
+            } else {
+                wheel.cancel(key);
+            }
+        }
+    }
+
+    /**
+     * 停机时释放租约，其他实例在下次加载时即可接管
+     */
+    @Override
+    public void destroy() {
+        try {
+            shardExecutor.execute(jdbc -> jdbc.update("DELETE FROM reminder_leases WHERE name = ? AND owner = ?",
+                    LEASE_NAME, owner));
+        } catch (DataAccessException ex) {
+            log.warn("Failed to release reminder leases: {}", ex.getMessage());
+        }
+    }
+
+    int loadShard(int shard, JdbcTemplate jdbc) {
+        if (!acquireLease(jdbc)) {
+            synchronized (wheel) {
+                if (held[shard]) {
+                    log.info("Reminder lease on shard {} was taken over by another instance", shard);
+                    wheel.cancelIf(key -> key.shard() == shard);
+                    held[shard] = false;
+                    loadedUntil[shard] = 0;
+                }
+            }
+            return 0;
+        }
+        synchronized (wheel) {
+            if (!held[shard]) {
+                log.info("Acquired reminder lease on shard {}", shard);
+                held[shard] = true;
+            }
+        }
+
+        long until = System.currentTimeMillis() + properties.getLookaheadMs();
+        Timestamp untilTimestamp = new Timestamp(until);
+        Timestamp lastRemindAt = new Timestamp(0);
+        long lastId = 0;
+        int loaded = 0;
+        while (true) {
+            List<Upcoming> batch = jdbc.query(LOAD_SQL, UPCOMING_ROW_MAPPER,
+                    untilTimestamp, lastRemindAt, lastRemindAt, lastId, properties.getBatchSize());
+            synchronized (wheel) {
+                for (Upcoming upcoming : batch) {
+                    wheel.schedule(new Key(shard, upcoming.id()), toMillis(upcoming.remindAt().toLocalDateTime()));
+                }
+            }
+            loaded += batch.size();
+            if (batch.size() < properties.getBatchSize()) {
+                break;
+            }
+            Upcoming last = batch.get(batch.size() - 1);
+            lastRemindAt = last.remindAt();
+            lastId = last.id();
+        }
+        synchronized (wheel) {
+            loadedUntil[shard] = until;
+        }
+        return loaded;
+    }
+
+    /**
+     * 续约或在租约过期后抢占，首次运行时插入租约行
+     */
+    private boolean acquireLease(JdbcTemplate jdbc) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Timestamp expiresAt = new Timestamp(now.getTime() + properties.getLeaseMs());
+        int renewed = jdbc.update("UPDATE reminder_leases SET owner = ?, expires_at = ? "
+                + "WHERE name = ? AND (owner = ? OR expires_at < ?)", owner, expiresAt, LEASE_NAME, owner, now);
+        if (renewed > 0) {
+            return true;
+        }
+        try {
+            jdbc.update("INSERT INTO reminder_leases (name, owner, expires_at) VALUES (?, ?, ?)",
+                    LEASE_NAME, owner, expiresAt);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * 确认提醒仍待触发（截止时间可能已被修改或Todo已完成）后投递，全部目标成功后清空remind_at
+     */
+    private int fire(JdbcTemplate jdbc, List<Long> ids) {
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbc);
+        int fired = 0;
+        for (int from = 0; from < ids.size(); from += properties.getBatchSize()) {
+            LocalDateTime now = LocalDateTime.now();
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("ids", ids.subList(from, Math.min(ids.size(), from + properties.getBatchSize())))
+                    .addValue("now", Timestamp.valueOf(now));
+            List<Reminder> reminders = named.query(DUE_SQL, params, (rs, rowNum) -> new Reminder(
+                    rs.getLong("id"),
+                    rs.getString("tenant_id"),
+                    rs.getString("title"),
+                    rs.getTimestamp("due_at").toLocalDateTime(),
+                    now));
+            if (reminders.isEmpty()) {
+                continue;
+            }
+            try {
+                for (ReminderSink sink : sinks) {
+                    sink.deliver(reminders);
+                }
+            } catch (Exception ex) {
+                log.warn("Failed to deliver {} reminders, retrying on next load: {}", reminders.size(), ex.getMessage());
+                meterRegistry.counter("todo.reminders.failures").increment();
+                continue;
+            }
+            params.addValue("ids", reminders.stream().map(Reminder::todoId).toList());
+            named.update(FIRED_SQL, params);
+            meterRegistry.counter("todo.reminders.fired").increment(reminders.size());
+            fired += reminders.size();
+        }
+        return fired;
+    }
+
+    /**
+     * 转为毫秒时向上取整，保证触发时remind_at <= now成立
+     */
+    private static long toMillis(LocalDateTime time) {
+        Instant instant = time.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.toEpochMilli() + (instant.getNano() % 1_000_000 > 0 ? 1 : 0);
+    }
+
+    private record Upcoming(long id, Timestamp remindAt) {
+    }
+
+    /**
+     * 时间轮中的键：不同分片的Todo ID可能相同
+     */
+    private record Key(int shard, long todoId) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.todoapp.reminder;
+
+import java.util.List;
+
+/**
+ * 提醒投递目标
+ * 全部投递目标成功后提醒才被标记为已触发，某个目标失败时整批稍后重试，实现方应能处理重复的提醒
+ */
+public interface ReminderSink {
+
+    /**
+     * 投递目标名称，对应todo.reminders.sinks中的配置值
+     */
+    String getName();
+
+    /**
+     * 批量投递，抛出异常表示整批失败
+     * @param batch 按截止时间排列的提醒
+     */
+    void deliver(List<Reminder> batch) throws Exception;
+}
@@ -0,0 +1,75 @@
+package com.todoapp.reminder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * SSE投递目标
+ * 把提醒推送给同一租户下已连接的客户端；没有连接的客户端不会补发，断开的连接在发送失败时移除
+ */
+@Slf4j
+public class SseReminderSink implements ReminderSink {
+
+    private final long timeoutMs;
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public SseReminderSink(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public String getName() {
+        return "sse";
+    }
+
+    /**
+     * 订阅租户的提醒
+     * @param tenant 租户
+     * @return 保持打开直到超时或客户端断开的事件流
+     */
+    public SseEmitter subscribe(String tenant) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        List<SseEmitter> subscribers = emitters.computeIfAbsent(tenant, key -> new CopyOnWriteArrayList<>());
+        subscribers.add(emitter);
+        Runnable remove = () -> subscribers.remove(emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(ex -> remove.run());
+        return emitter;
+    }
+
+    /**
+     * 当前连接的客户端数
+     */
+    public int getSubscriberCount() {
+        return emitters.values().stream().mapToInt(List::size).sum();
+    }
+
+    @Override
+    public void deliver(List<Reminder> batch) {
+        for (Reminder reminder : batch) {
+            List<SseEmitter> subscribers = emitters.get(reminder.tenant());
+            if (subscribers == null) {
+                continue;
+            }
+            for (SseEmitter emitter : subscribers) {
+                try {
+                    emitter.send(SseEmitter.event()
+                            .name("reminder")
+                            .id(String.valueOf(reminder.todoId()))
+                            .data(reminder, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException ex) {
+                    log.debug("Dropping reminder subscriber of tenant {}: {}", reminder.tenant(), ex.getMessage());
+                    subscribers.remove(emitter);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.todoapp.reminder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 分层时间轮
+ * 第i层每格跨度为tickMs * wheelSize^i，到期时间落在哪一层由它与当前时间的距离决定；
+ * 上层的格子转到当前时才把其中的任务下放到下层，每个任务的调度、取消和触发都是O(1)（下放次数不超过层数）。
+ * 取消只做标记，格子转到时跳过；同一个键重复调度会替换之前的任务。非线程安全，由调用方加锁
+ * @param <K> 任务键
+ */
+public final class TimingWheel<K> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long[] ticksPerSlot;
+    private final List<List<Entry<K>>> slots;
+    private final Map<K, Entry<K>> index = new HashMap<>();
+    private final List<Entry<K>> overdue = new ArrayList<>();
+    private final long spanTicks;
+    private long currentTick;
+
+    /**
+     * @param tickMs 最底层每格的毫秒数，即触发精度
+     * @param wheelSize 每层的格数
+     * @param levels 层数，可调度的最远距离约为tickMs * wheelSize^levels
+     * @param startMs 起始时间
+     */
+    public TimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel: tick=" + tickMs + "ms, size=" + wheelSize
+                    + ", levels=" + levels);
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.ticksPerSlot = new long[levels];
+        long ticks = 1;
+        for (int level = 0; level < levels; level++) {
+            ticksPerSlot[level] = ticks;
+            ticks = Math.multiplyExact(ticks, wheelSize);
+        }
+        // 最高层当前格之外还剩wheelSize - 1格，再扣除到期时间和当前时间取整到格的误差
+        this.spanTicks = ticksPerSlot[levels - 1] * (wheelSize - 1) - 2;
+        this.slots = new ArrayList<>(levels * wheelSize);
+        for (int i = 0; i < levels * wheelSize; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.currentTick = Math.floorDiv(startMs, tickMs);
+    }
+
+    /**
+     * 从当前时间起保证可以调度的最远距离（毫秒）
+     */
+    public long getSpanMs() {
+        return spanTicks * tickMs;
+    }
+
+    /**
+     * 调度任务，键已存在时替换原任务；已过期的任务在下一次advanceTo时返回
+     * @param key 任务键
+     * @param deadlineMs 到期时间
+     * @return 超出时间轮跨度时返回false，任务未被调度
+     */
+    public boolean schedule(K key, long deadlineMs) {
+        Entry<K> existing = index.get(key);
+        if (existing != null && existing.deadlineMs == deadlineMs) {
+            return true;
+        }
+        Entry<K> entry = new Entry<>(key, deadlineMs, Math.floorDiv(deadlineMs + tickMs - 1, tickMs));
+        if (!place(entry)) {
+            return false;
+        }
+        if (existing != null) {
+            existing.cancelled = true;
+        }
+        index.put(key, entry);
+        return true;
+    }
+
+    /**
+     * 取消任务
+     * @return 任务存在时返回true
+     */
+    public boolean cancel(K key) {
+        Entry<K> entry = index.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.cancelled = true;
+        return true;
+    }
+
+    /**
+     * 取消所有键满足条件的任务
+     */
+    public void cancelIf(Predicate<K> filter) {
+        Iterator<Entry<K>> iterator = index.values().iterator();
+        while (iterator.hasNext()) {
+            Entry<K> entry = iterator.next();
+            if (filter.test(entry.key)) {
+                entry.cancelled = true;
+                iterator.remove();
+            }
+        }
+    }
+
+    public boolean contains(K key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * 已调度且未触发的任务数
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * 把时间轮推进到nowMs，返回期间到期的任务
+     * @param nowMs 当前时间
+     * @return 按到期的格子顺序排列的任务
+     */
+    public List<Timeout<K>> advanceTo(long nowMs) {
+        List<Timeout<K>> expired = new ArrayList<>();
+        for (Entry<K> entry : overdue) {
+            expire(entry, expired);
+        }
+        overdue.clear();
+        long target = Math.floorDiv(nowMs, tickMs);
+        while (currentTick < target) {
+            if (index.isEmpty()) {
+                // 没有任务时直接跳到目标时间，只清除残留的已取消任务
+                slots.forEach(List::clear);
+                currentTick = target;
+                break;
+            }
+            currentTick++;
+            for (int level = ticksPerSlot.length - 1; level > 0; level--) {
+                if (currentTick % ticksPerSlot[level] == 0) {
+                    cascade(level, expired);
+                }
+            }
+            List<Entry<K>> slot = slot(0, currentTick);
+            for (Entry<K> entry : slot) {
+                expire(entry, expired);
+            }
+            slot.clear();
+        }
+        return expired;
+    }
+
+    /**
+     * 放入能容纳到期时间的最低一层，已到期的放入overdue
+     */
+    private boolean place(Entry<K> entry) {
+        if (entry.deadlineTick <= currentTick) {
+            overdue.add(entry);
+            return true;
+        }
+        for (int level = 0; level < ticksPerSlot.length; level++) {
+            long deadlineSlot = entry.deadlineTick / ticksPerSlot[level];
+            if (deadlineSlot - currentTick / ticksPerSlot[level] < wheelSize) {
+                slot(level, entry.deadlineTick).add(entry);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 上层的格子转到当前时，其中的任务都落在下一层的跨度内，重新放置
+     */
+    private void cascade(int level, List<Timeout<K>> expired) {
+        List<Entry<K>> slot = slot(level, currentTick);
+        List<Entry<K>> entries = new ArrayList<>(slot);
+        slot.clear();
+        for (Entry<K> entry : entries) {
+            if (entry.cancelled) {
+                continue;
+            }
+            if (entry.deadlineTick <= currentTick) {
+                expire(entry, expired);
+            } else {
+                place(entry);
+            }
+        }
+    }
+
+    private void expire(Entry<K> entry, List<Timeout<K>> expired) {
+        if (!entry.cancelled && index.remove(entry.key, entry)) {
+            expired.add(new Timeout<>(entry.key, entry.deadlineMs));
+        }
+    }
+
+    private List<Entry<K>> slot(int level, long tick) {
+        return slots.get(level * wheelSize + (int) ((tick / ticksPerSlot[level]) % wheelSize));
+    }
+
+    /**
+     * 到期的任务
+     */
+    public record Timeout<K>(K key, long deadlineMs) {
+    }
+
+    private static final class Entry<K> {
+
+        private final K key;
+        private final long deadlineMs;
+        private final long deadlineTick;
+        private boolean cancelled;
+
+        Entry(K key, long deadlineMs, long deadlineTick) {
+            this.key = key;
+            this.deadlineMs = deadlineMs;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.ArchivedTodo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 已归档Todo数据访问接口
+ */
+@Repository
+public interface ArchivedTodoRepository extends JpaRepository<ArchivedTodo, Long> {
+
+    /**
+     * 查找所有已归档Todo，按创建时间倒序排列
+     * @return 已归档Todo列表
+     */
+    List<ArchivedTodo> findAllByOrderByCreatedAtDesc();
+
+    /**
+     * 查询所有已归档Todo的投影列表，按创建时间倒序排列
+     * @param type 投影类型，只查询投影声明的列
+     * @return 投影列表
+     */
+    <T> List<T> findAllByOrderByCreatedAtDesc(Class<T> type);
+}
@@ -0,0 +1,12 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.CacheInvalidation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 缓存失效消息数据访问接口
+ */
+@Repository
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+}
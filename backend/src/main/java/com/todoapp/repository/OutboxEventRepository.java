@@ -0,0 +1,12 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 发件箱事件数据访问接口
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+}
@@ -0,0 +1,14 @@
+package com.todoapp.repository;
+
+/**
+ * 标签分面计数投影
+ * 按标签聚合的Todo总数与已完成数
+ */
+public interface TagFacetView {
+
+    String getTag();
+
+    Long getTotal();
+
+    Long getCompleted();
+}
@@ -0,0 +1,32 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 标签数据访问接口
+ */
+@Repository
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    /**
+     * 按名称查询当前租户的标签
+     * @param names 规范化后的标签名
+     * @return 已存在的标签
+     */
+    List<Tag> findByNameIn(Collection<String> names);
+
+    /**
+     * 一次分组查询统计每个标签下的Todo总数和已完成数
+     * @return 按Todo数量降序、标签名升序排列的分面计数，没有Todo的标签不返回
+     */
+    @Query("SELECT g.name AS tag, COUNT(t) AS total, SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END) AS completed "
+            + "FROM Tag g JOIN TodoTag tt ON tt.id.tagId = g.id JOIN Todo t ON t.id = tt.id.todoId "
+            + "GROUP BY g.name ORDER BY COUNT(t) DESC, g.name")
+    List<TagFacetView> findFacets();
+}
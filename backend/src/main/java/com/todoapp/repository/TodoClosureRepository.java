@@ -0,0 +1,168 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.TodoClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 子任务闭包表数据访问接口
+ * 写操作都是按子树整体执行的批量语句，语句条数与子树大小无关。
+ * 原生语句不经过租户过滤，调用方需先通过TodoRepository确认涉及的Todo属于当前租户；
+ * MySQL不允许DELETE的子查询直接读取目标表，这里统一包一层派生表
+ */
+@Repository
+public interface TodoClosureRepository extends JpaRepository<TodoClosure, TodoClosure.Key> {
+
+    /**
+     * 查询直接子任务的完成进度
+     * @param ids 父任务ID
+     * @return 有子任务的父任务的进度，没有子任务的ID不返回
+     */
+    @Query("SELECT c.id.ancestorId AS id, COUNT(t) AS total, "
+            + "SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END) AS completed "
+            + "FROM TodoClosure c JOIN Todo t ON t.id = c.id.descendantId "
+            + "WHERE c.id.ancestorId IN :ids AND c.depth = 1 GROUP BY c.id.ancestorId")
+    List<TodoProgressView> findChildProgress(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 查询所有后代的ID
+     * @param id 子树根
+     * @return 后代ID，没有子任务时为空
+     */
+    @Query("SELECT c.id.descendantId FROM TodoClosure c WHERE c.id.ancestorId = :id")
+    List<Long> findDescendantIds(@Param("id") Long id);
+
+    /**
+     * 查询Todo所在的层数
+     * @param id Todo ID
+     * @return 祖先的数量，顶层Todo为0
+     */
+    @Query("SELECT COALESCE(MAX(c.depth), 0) FROM TodoClosure c WHERE c.id.descendantId = :id")
+    int findLevel(@Param("id") Long id);
+
+    /**
+     * 查询子树的高度
+     * @param id 子树根
+     * @return 最深的后代相对根的层数，没有子任务时为0
+     */
+    @Query("SELECT COALESCE(MAX(c.depth), 0) FROM TodoClosure c WHERE c.id.ancestorId = :id")
+    int findHeight(@Param("id") Long id);
+
+    /**
+     * 判断一个Todo是否在另一个Todo的子树中
+     * @param ancestorId 祖先
+     * @param descendantId 后代
+     * @return 是后代时为true
+     */
+    boolean existsByIdAncestorIdAndIdDescendantId(Long ancestorId, Long descendantId);
+
+    /**
+     * 把以id为根的子树挂到parentId下
+     * 新路径是(父任务及其祖先) × (根及其后代)的笛卡尔积，层数相加；
+     * 两侧都不保存自身行，因此拆成四个分支。新建的子任务没有后代，只命中后两个分支
+     * @param id 子树根
+     * @param parentId 新的父任务
+     * @return 插入的路径数
+     */
+    @Modifying
+    @Query(value = "INSERT INTO todo_closure (ancestor_id, descendant_id, depth) "
+            + "SELECT a.ancestor_id, s.descendant_id, a.depth + s.depth + 1 FROM todo_closure a "
+            + "JOIN todo_closure s ON s.ancestor_id = :id WHERE a.descendant_id = :parentId "
+            + "UNION ALL SELECT a.ancestor_id, x.id, a.depth + 1 FROM todo_closure a "
+            + "JOIN todos x ON x.id = :id WHERE a.descendant_id = :parentId "
+            + "UNION ALL SELECT p.id, s.descendant_id, s.depth + 1 FROM todos p "
+            + "JOIN todo_closure s ON s.ancestor_id = :id WHERE p.id = :parentId "
+            + "UNION ALL SELECT p.id, x.id, 1 FROM todos p JOIN todos x ON x.id = :id WHERE p.id = :parentId",
+            nativeQuery = true)
+    int attachSubtree(@Param("id") Long id, @Param("parentId") Long parentId);
+
+    /**
+     * 把以id为根的子树从原来的祖先上摘下，子树内部的路径保持不变
+     * @param id 子树根
+     * @return 删除的路径数
+     */
+    @Modifying
+    @Query(value = "DELETE FROM todo_closure "
+            + "WHERE ancestor_id IN (SELECT a FROM (SELECT ancestor_id AS a FROM todo_closure WHERE descendant_id = :id) anc) "
+            + "AND (descendant_id = :id OR descendant_id IN "
+            + "(SELECT d FROM (SELECT descendant_id AS d FROM todo_closure WHERE ancestor_id = :id) sub))",
+            nativeQuery = true)
+    int detachSubtree(@Param("id") Long id);
+
+    /**
+     * 查询子树中所有后代关联的描述ID，删除子树前用于清理todo_descriptions表
+     * @param id 子树根
+     * @return 描述ID列表
+     */
+    @Query(value = "SELECT t.description_id FROM todos t JOIN todo_closure c ON c.descendant_id = t.id "
+            + "WHERE c.ancestor_id = :id AND t.description_id IS NOT NULL", nativeQuery = true)
+    List<Long> findDescendantDescriptionIds(@Param("id") Long id);
+
+    /**
+     * 删除子树中的所有后代（不含根）
+     * @param id 子树根
+     * @return 删除的Todo数量
+     */
+    @Modifying
+    @Query(value = "DELETE FROM todos WHERE id IN "
+            + "(SELECT d FROM (SELECT descendant_id AS d FROM todo_closure WHERE ancestor_id = :id) sub)",
+            nativeQuery = true)
+    int deleteDescendants(@Param("id") Long id);
+
+    /**
+     * 删除子树涉及的所有路径：指向根和指向后代的路径
+     * @param id 子树根
+     * @return 删除的路径数
+     */
+    @Modifying
+    @Query(value = "DELETE FROM todo_closure WHERE descendant_id = :id OR descendant_id IN "
+            + "(SELECT d FROM (SELECT descendant_id AS d FROM todo_closure WHERE ancestor_id = :id) sub)",
+            nativeQuery = true)
+    int deleteSubtreeLinks(@Param("id") Long id);
+
+    /**
+     * 查询当前租户已完成Todo的后代所关联的描述ID
+     * @param tenantId 租户
+     * @return 描述ID列表
+     */
+    @Query(value = "SELECT t.description_id FROM todos t WHERE t.description_id IS NOT NULL AND t.id IN "
+            + "(SELECT c.descendant_id FROM todo_closure c JOIN todos a ON a.id = c.ancestor_id "
+            + "WHERE a.tenant_id = :tenantId AND a.completed = TRUE)", nativeQuery = true)
+    List<Long> findCompletedDescendantDescriptionIds(@Param("tenantId") String tenantId);
+
+    /**
+     * 查询当前租户已完成Todo的所有后代ID
+     * @param tenantId 租户
+     * @return 后代ID列表
+     */
+    @Query(value = "SELECT c.descendant_id FROM todo_closure c JOIN todos a ON a.id = c.ancestor_id "
+            + "WHERE a.tenant_id = :tenantId AND a.completed = TRUE", nativeQuery = true)
+    List<Long> findCompletedDescendantIds(@Param("tenantId") String tenantId);
+
+    /**
+     * 删除当前租户已完成Todo的所有后代，已完成的Todo本身由调用方删除
+     * @param tenantId 租户
+     * @return 删除的Todo数量
+     */
+    @Modifying
+    @Query(value = "DELETE FROM todos WHERE id IN (SELECT d FROM (SELECT c.descendant_id AS d FROM todo_closure c "
+            + "JOIN todos a ON a.id = c.ancestor_id WHERE a.tenant_id = :tenantId AND a.completed = TRUE) sub)",
+            nativeQuery = true)
+    int deleteCompletedDescendants(@Param("tenantId") String tenantId);
+
+    /**
+     * 删除指向一组已删除Todo的路径，在批量删除Todo之后按批执行
+     * 祖先被删除时它的后代也一并被删除，因此只需按后代删除
+     * @param ids 已删除的Todo ID
+     * @return 删除的路径数
+     */
+    @Modifying
+    @Query("DELETE FROM TodoClosure c WHERE c.id.descendantId IN :ids")
+    int deleteLinksTo(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,12 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.TodoDescription;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Todo完整描述数据访问接口
+ */
+@Repository
+public interface TodoDescriptionRepository extends JpaRepository<TodoDescription, Long> {
+}
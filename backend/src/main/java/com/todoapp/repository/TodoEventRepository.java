@@ -0,0 +1,51 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.TodoEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Todo变更事件数据访问接口
+ * 只插入和读取，不提供修改；所有查询都以todo_id开头，沿主键或(todo_id, created_at, version)索引读取
+ */
+@Repository
+public interface TodoEventRepository extends JpaRepository<TodoEvent, TodoEvent.Key> {
+
+    /**
+     * 读取一段连续版本的事件，用于从快照开始回放
+     * @param todoId Todo ID
+     * @param after 起始版本（不含）
+     * @param upTo 结束版本（含）
+     * @return 按版本升序的事件
+     */
+    @Query("SELECT e FROM TodoEvent e WHERE e.id.todoId = :todoId AND e.id.version > :after "
+            + "AND e.id.version <= :upTo ORDER BY e.id.version")
+    List<TodoEvent> findRange(@Param("todoId") Long todoId, @Param("after") int after, @Param("upTo") int upTo);
+
+    /**
+     * 按版本键集分页读取事件
+     * @param todoId Todo ID
+     * @param after 上一页最后一个版本，第一页传0
+     * @param page 页大小
+     * @return 按版本升序的事件
+     */
+    @Query("SELECT e FROM TodoEvent e WHERE e.id.todoId = :todoId AND e.id.version > :after ORDER BY e.id.version")
+    List<TodoEvent> findPage(@Param("todoId") Long todoId, @Param("after") int after, Pageable page);
+
+    /**
+     * 查询某个时间点之前的版本，取第一条即该时间点的版本
+     * @param todoId Todo ID
+     * @param at 时间点（含）
+     * @param page 取第一条时传PageRequest.of(0, 1)
+     * @return 按时间和版本倒序的版本号
+     */
+    @Query("SELECT e.id.version FROM TodoEvent e WHERE e.id.todoId = :todoId AND e.createdAt <= :at "
+            + "ORDER BY e.createdAt DESC, e.id.version DESC")
+    List<Integer> findVersionsAt(@Param("todoId") Long todoId, @Param("at") LocalDateTime at, Pageable page);
+}
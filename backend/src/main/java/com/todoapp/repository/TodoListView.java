@@ -0,0 +1,10 @@
+package com.todoapp.repository;
+
+/**
+ * Todo列表完整投影
+ * 在预览列之外关联todo_descriptions表读取完整description
+ */
+public interface TodoListView extends TodoPreviewView {
+
+    String getDescription();
+}
@@ -0,0 +1,10 @@
+package com.todoapp.repository;
+
+/**
+ * Todo排序分页投影
+ * 在预览列之外包含排序键，用作下一页的游标
+ */
+public interface TodoPositionView extends TodoPreviewView {
+
+    String getPosition();
+}
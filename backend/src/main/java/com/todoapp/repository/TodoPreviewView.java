@@ -0,0 +1,12 @@
+package com.todoapp.repository;
+
+/**
+ * Todo列表预览投影
+ * 在摘要列之外包含定长的描述预览，不读取todo_descriptions表
+ */
+public interface TodoPreviewView extends TodoSummaryView {
+
+    String getDescriptionPreview();
+
+    Integer getDescriptionLength();
+}
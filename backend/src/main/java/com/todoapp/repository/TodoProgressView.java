@@ -0,0 +1,14 @@
+package com.todoapp.repository;
+
+/**
+ * 子任务完成进度投影
+ * 按父任务聚合的直接子任务总数与已完成数
+ */
+public interface TodoProgressView {
+
+    Long getId();
+
+    Long getTotal();
+
+    Long getCompleted();
+}
@@ -0,0 +1,34 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.TodoRecurrence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 重复规则数据访问接口
+ */
+@Repository
+public interface TodoRecurrenceRepository extends JpaRepository<TodoRecurrence, Long> {
+
+    /**
+     * 查询当前租户的所有重复规则，按创建时间倒序排列
+     * @return 重复规则列表
+     */
+    List<TodoRecurrence> findAllByOrderByCreatedAtDesc();
+
+    /**
+     * 加锁读取规则，与后台生成任务的FOR UPDATE互斥，同一次出现只会生成一次
+     * @param id 规则ID
+     * @return 规则
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM TodoRecurrence r WHERE r.id = :id")
+    Optional<TodoRecurrence> findForUpdate(@Param("id") Long id);
+}
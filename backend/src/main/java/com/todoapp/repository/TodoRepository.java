@@ -1,12 +1,14 @@
 package com.todoapp.repository;
 
 import com.todoapp.entity.Todo;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -29,12 +31,197 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
      */
     List<Todo> findByCompletedOrderByCreatedAtDesc(Boolean completed);
     
+    /**
+     * 根据完成状态查询投影列表，按创建时间倒序排列
+     * @param completed 完成状态
+     * @param type 投影类型，只查询投影声明的列
+     * @return 投影列表
+     */
+    <T> List<T> findByCompletedOrderByCreatedAtDesc(Boolean completed, Class<T> type);
+    
     /**
      * 查找所有Todo，按创建时间倒序排列
      * @return Todo列表
      */
     List<Todo> findAllByOrderByCreatedAtDesc();
     
+    /**
+     * 查询所有Todo的投影列表，按创建时间倒序排列
+     * @param type 投影类型，只查询投影声明的列
+     * @return 投影列表
+     */
+    <T> List<T> findAllByOrderByCreatedAtDesc(Class<T> type);
+    
+    /**
+     * 查询所有Todo的完整投影（关联完整描述），按创建时间倒序排列
+     * @return 完整投影列表
+     */
+    @Query("SELECT t.id AS id, t.title AS title, d.body AS description, "
+            + "t.descriptionPreview AS descriptionPreview, t.descriptionLength AS descriptionLength, "
+            + "t.completed AS completed, t.createdAt AS createdAt, t.updatedAt AS updatedAt, t.tenantId AS tenantId, "
+            + "t.dueAt AS dueAt, t.recurrenceId AS recurrenceId "
+            + "FROM Todo t LEFT JOIN t.descriptionBody d ORDER BY t.createdAt DESC")
+    List<TodoListView> findAllWithDescriptionOrderByCreatedAtDesc();
+    
+    /**
+     * 根据完成状态查询完整投影（关联完整描述），按创建时间倒序排列
+     * @param completed 完成状态
+     * @return 完整投影列表
+     */
+    @Query("SELECT t.id AS id, t.title AS title, d.body AS description, "
+            + "t.descriptionPreview AS descriptionPreview, t.descriptionLength AS descriptionLength, "
+            + "t.completed AS completed, t.createdAt AS createdAt, t.updatedAt AS updatedAt, t.tenantId AS tenantId, "
+            + "t.dueAt AS dueAt, t.recurrenceId AS recurrenceId "
+            + "FROM Todo t LEFT JOIN t.descriptionBody d WHERE t.completed = :completed ORDER BY t.createdAt DESC")
+    List<TodoListView> findWithDescriptionByCompletedOrderByCreatedAtDesc(@Param("completed") Boolean completed);
+    
+    /**
+     * 按ID批量查询完整投影（关联完整描述），一条IN查询代替逐个findById及描述的懒加载
+     * @param ids ID列表，IN参数个数由hibernate.query.in_clause_parameter_padding补齐到2的幂
+     * @return 完整投影列表，顺序不保证
+     */
+    @Query("SELECT t.id AS id, t.title AS title, d.body AS description, "
+            + "t.descriptionPreview AS descriptionPreview, t.descriptionLength AS descriptionLength, "
+            + "t.completed AS completed, t.createdAt AS createdAt, t.updatedAt AS updatedAt, t.tenantId AS tenantId, "
+            + "t.dueAt AS dueAt, t.recurrenceId AS recurrenceId "
+            + "FROM Todo t LEFT JOIN t.descriptionBody d WHERE t.id IN :ids")
+    List<TodoListView> findWithDescriptionByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 按排序键分页，从游标(position, id)之后开始，沿idx_todos_tenant_position索引顺序读取
+     * @param position 上一页最后一行的排序键，第一页传空串
+     * @param id 上一页最后一行的ID，第一页传0
+     * @param pageable 只使用其中的每页数量
+     * @return 排序投影列表，没有排序键的行不包含在内
+     */
+    @Query("SELECT t.id AS id, t.title AS title, "
+            + "t.descriptionPreview AS descriptionPreview, t.descriptionLength AS descriptionLength, "
+            + "t.completed AS completed, t.createdAt AS createdAt, t.updatedAt AS updatedAt, t.tenantId AS tenantId, "
+            + "t.dueAt AS dueAt, t.recurrenceId AS recurrenceId, "
+            + "t.position AS position FROM Todo t "
+            + "WHERE t.position >= :position AND (t.position > :position OR t.id > :id) ORDER BY t.position, t.id")
+    List<TodoPositionView> findPositionPage(@Param("position") String position, @Param("id") Long id,
+                                            Pageable pageable);
+    
+    /**
+     * 按完成状态过滤的排序键分页
+     * @param completed 完成状态
+     * @param position 上一页最后一行的排序键，第一页传空串
+     * @param id 上一页最后一行的ID，第一页传0
+     * @param pageable 只使用其中的每页数量
+     * @return 排序投影列表
+     */
+    @Query("SELECT t.id AS id, t.title AS title, "
+            + "t.descriptionPreview AS descriptionPreview, t.descriptionLength AS descriptionLength, "
+            + "t.completed AS completed, t.createdAt AS createdAt, t.updatedAt AS updatedAt, t.tenantId AS tenantId, "
+            + "t.dueAt AS dueAt, t.recurrenceId AS recurrenceId, "
+            + "t.position AS position FROM Todo t WHERE t.completed = :completed "
+            + "AND t.position >= :position AND (t.position > :position OR t.id > :id) ORDER BY t.position, t.id")
+    List<TodoPositionView> findPositionPageByCompleted(@Param("completed") Boolean completed,
+                                                       @Param("position") String position, @Param("id") Long id,
+                                                       Pageable pageable);
+    
+    /**
+     * 按顺序查询排序键，取第一个即列表最前的键
+     * @param pageable 只使用其中的数量
+     * @return 排序键列表
+     */
+    @Query("SELECT t.position FROM Todo t WHERE t.position IS NOT NULL ORDER BY t.position, t.id")
+    List<String> findPositions(Pageable pageable);
+    
+    /**
+     * 查询排在指定键之后的排序键
+     * @param position 排序键
+     * @param excludedId 不参与比较的Todo（正在移动的Todo）
+     * @param pageable 只使用其中的数量
+     * @return 升序的排序键列表
+     */
+    @Query("SELECT t.position FROM Todo t WHERE t.position > :position AND t.id <> :excludedId "
+            + "ORDER BY t.position, t.id")
+    List<String> findPositionsAfter(@Param("position") String position, @Param("excludedId") Long excludedId,
+                                    Pageable pageable);
+    
+    /**
+     * 查询排在指定键之前的排序键
+     * @param position 排序键
+     * @param excludedId 不参与比较的Todo（正在移动的Todo）
+     * @param pageable 只使用其中的数量
+     * @return 降序的排序键列表
+     */
+    @Query("SELECT t.position FROM Todo t WHERE t.position < :position AND t.id <> :excludedId "
+            + "ORDER BY t.position DESC, t.id DESC")
+    List<String> findPositionsBefore(@Param("position") String position, @Param("excludedId") Long excludedId,
+                                     Pageable pageable);
+    
+    /**
+     * 查询带有任一指定标签的Todo
+     * @param tagIds 标签ID
+     * @param completed 过滤条件，null表示全部
+     * @return 按创建时间倒序的预览投影
+     */
+    @Query("SELECT t.id AS id, t.title AS title, "
+            + "t.descriptionPreview AS descriptionPreview, t.descriptionLength AS descriptionLength, "
+            + "t.completed AS completed, t.createdAt AS createdAt, t.updatedAt AS updatedAt, t.tenantId AS tenantId, "
+            + "t.dueAt AS dueAt, t.recurrenceId AS recurrenceId "
+            + "FROM Todo t WHERE t.id IN (SELECT tt.id.todoId FROM TodoTag tt WHERE tt.id.tagId IN :tagIds) "
+            + "AND (:completed IS NULL OR t.completed = :completed) ORDER BY t.createdAt DESC")
+    List<TodoPreviewView> findTaggedWithAny(@Param("tagIds") Collection<Long> tagIds,
+                                            @Param("completed") Boolean completed);
+    
+    /**
+     * 查询带有全部指定标签的Todo
+     * 关联表按(tag_id, todo_id)索引读取后按Todo分组，命中的标签数等于tagCount即带有全部标签
+     * @param tagIds 标签ID，不能重复
+     * @param tagCount 标签ID的数量
+     * @param completed 过滤条件，null表示全部
+     * @return 按创建时间倒序的预览投影
+     */
+    @Query("SELECT t.id AS id, t.title AS title, "
+            + "t.descriptionPreview AS descriptionPreview, t.descriptionLength AS descriptionLength, "
+            + "t.completed AS completed, t.createdAt AS createdAt, t.updatedAt AS updatedAt, t.tenantId AS tenantId, "
+            + "t.dueAt AS dueAt, t.recurrenceId AS recurrenceId "
+            + "FROM Todo t WHERE t.id IN (SELECT tt.id.todoId FROM TodoTag tt WHERE tt.id.tagId IN :tagIds "
+            + "GROUP BY tt.id.todoId HAVING COUNT(tt.id.tagId) = :tagCount) "
+            + "AND (:completed IS NULL OR t.completed = :completed) ORDER BY t.createdAt DESC")
+    List<TodoPreviewView> findTaggedWithAll(@Param("tagIds") Collection<Long> tagIds, @Param("tagCount") long tagCount,
+                                            @Param("completed") Boolean completed);
+    
+    /**
+     * 一次查询读取整棵子树：根节点与所有后代，每行带相对根的层数和父任务ID
+     * 两个分支分别沿todos主键和todo_closure主键前缀读取，父任务通过(descendant_id, depth)索引关联
+     * @param id 子树根
+     * @return 子树节点投影，根的层数为0；根不存在时为空
+     */
+    @Query("SELECT new com.todoapp.repository.TodoTreeView(t.id, t.title, t.descriptionPreview, t.descriptionLength, "
+            + "t.completed, t.createdAt, t.updatedAt, t.tenantId, t.dueAt, t.recurrenceId, t.position, 0, p.id.ancestorId) FROM Todo t "
+            + "LEFT JOIN TodoClosure p ON p.id.descendantId = t.id AND p.depth = 1 WHERE t.id = :id "
+            + "UNION ALL SELECT new com.todoapp.repository.TodoTreeView(t.id, t.title, t.descriptionPreview, "
+            + "t.descriptionLength, t.completed, t.createdAt, t.updatedAt, t.tenantId, t.dueAt, t.recurrenceId, t.position, c.depth, "
+            + "p.id.ancestorId) FROM TodoClosure c JOIN Todo t ON t.id = c.id.descendantId "
+            + "JOIN TodoClosure p ON p.id.descendantId = t.id AND p.depth = 1 WHERE c.id.ancestorId = :id")
+    List<TodoTreeView> findSubtree(@Param("id") Long id);
+    
+    /**
+     * 查询已完成Todo关联的描述ID，批量删除前用于清理todo_descriptions表
+     * @return 描述ID列表
+     */
+    @Query("SELECT t.descriptionBody.id FROM Todo t WHERE t.completed = true AND t.descriptionBody IS NOT NULL")
+    List<Long> findDescriptionIdsByCompletedTrue();
+    
+    /**
+     * 查询已完成Todo的ID，批量删除前用于按ID清理关联表
+     * @return Todo ID列表
+     */
+    @Query("SELECT t.id FROM Todo t WHERE t.completed = true")
+    List<Long> findIdsByCompletedTrue();
+    
+    /**
+     * 查询当前租户所有Todo的ID，全部删除前用于按ID清理关联表
+     * @return Todo ID列表
+     */
+    @Query("SELECT t.id FROM Todo t")
+    List<Long> findAllIds();
+    
     /**
      * 批量删除已完成的Todo
      * @return 删除的记录数
@@ -43,6 +230,22 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     @Query("DELETE FROM Todo t WHERE t.completed = true")
     int deleteByCompletedTrue();
     
+    /**
+     * 重复规则是否还有未完成的实例
+     * @param recurrenceId 规则ID
+     * @return 存在未完成实例时返回true
+     */
+    boolean existsByRecurrenceIdAndCompletedFalse(Long recurrenceId);
+    
+    /**
+     * 解除Todo与重复规则的关联，已生成的实例保留为普通Todo
+     * @param recurrenceId 规则ID
+     * @return 更新的记录数
+     */
+    @Modifying
+    @Query("UPDATE Todo t SET t.recurrenceId = NULL WHERE t.recurrenceId = :recurrenceId")
+    int detachRecurrence(@Param("recurrenceId") Long recurrenceId);
+    
     /**
      * 统计已完成的Todo数量
      * @return 数量
@@ -0,0 +1,29 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.TodoEvent;
+import com.todoapp.entity.TodoSnapshot;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Todo状态快照数据访问接口
+ */
+@Repository
+public interface TodoSnapshotRepository extends JpaRepository<TodoSnapshot, TodoEvent.Key> {
+
+    /**
+     * 查询不晚于指定版本的快照，取第一条即回放的起点
+     * @param todoId Todo ID
+     * @param version 目标版本（含）
+     * @param page 取第一条时传PageRequest.of(0, 1)
+     * @return 按版本倒序的快照
+     */
+    @Query("SELECT s FROM TodoSnapshot s WHERE s.id.todoId = :todoId AND s.id.version <= :version "
+            + "ORDER BY s.id.version DESC")
+    List<TodoSnapshot> findLatest(@Param("todoId") Long todoId, @Param("version") int version, Pageable page);
+}
@@ -0,0 +1,26 @@
+package com.todoapp.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Todo列表摘要投影
+ * 只查询列表展示所需的列，不包含description，结果不进入持久化上下文
+ */
+public interface TodoSummaryView {
+
+    Long getId();
+
+    String getTitle();
+
+    Boolean getCompleted();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    String getTenantId();
+
+    LocalDateTime getDueAt();
+
+    Long getRecurrenceId();
+}
@@ -0,0 +1,57 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.TodoTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Todo标签关联数据访问接口
+ * 原生语句不经过租户过滤，调用方需先通过TodoRepository确认涉及的Todo属于当前租户
+ */
+@Repository
+public interface TodoTagRepository extends JpaRepository<TodoTag, TodoTag.Key> {
+
+    /**
+     * 批量读取一组Todo的标签名，一次查询代替逐个Todo加载
+     * @param todoIds Todo ID
+     * @return 按Todo ID和标签名排序的标签
+     */
+    @Query("SELECT tt.id.todoId AS todoId, g.name AS name FROM TodoTag tt JOIN Tag g ON g.id = tt.id.tagId "
+            + "WHERE tt.id.todoId IN :todoIds ORDER BY tt.id.todoId, g.name")
+    List<TodoTagView> findTagNames(@Param("todoIds") Collection<Long> todoIds);
+
+    /**
+     * 删除一个Todo的所有标签
+     * @param todoId Todo ID
+     * @return 删除的关联数
+     */
+    @Modifying
+    @Query("DELETE FROM TodoTag tt WHERE tt.id.todoId = :todoId")
+    int deleteByTodoId(@Param("todoId") Long todoId);
+
+    /**
+     * 删除以id为根的子树中所有Todo的标签，需在删除闭包表路径之前执行
+     * @param id 子树根
+     * @return 删除的关联数
+     */
+    @Modifying
+    @Query(value = "DELETE FROM todo_tags WHERE todo_id = :id OR todo_id IN "
+            + "(SELECT d FROM (SELECT descendant_id AS d FROM todo_closure WHERE ancestor_id = :id) sub)",
+            nativeQuery = true)
+    int deleteSubtreeTags(@Param("id") Long id);
+
+    /**
+     * 删除一组Todo的所有标签，在批量删除Todo之后按批执行
+     * @param todoIds 已删除的Todo ID
+     * @return 删除的关联数
+     */
+    @Modifying
+    @Query("DELETE FROM TodoTag tt WHERE tt.id.todoId IN :todoIds")
+    int deleteByTodoIdIn(@Param("todoIds") Collection<Long> todoIds);
+}
@@ -0,0 +1,12 @@
+package com.todoapp.repository;
+
+/**
+ * Todo标签投影
+ * 一行是一个Todo的一个标签名
+ */
+public interface TodoTagView {
+
+    Long getTodoId();
+
+    String getName();
+}
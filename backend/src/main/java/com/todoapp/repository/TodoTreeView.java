@@ -0,0 +1,30 @@
+package com.todoapp.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 子树节点投影
+ * 在排序投影之外包含相对子树根的层数和父任务ID，一次查询即可在内存中拼出整棵树。
+ * 子树可能有数千行，由查询中的构造器表达式直接实例化，不为每行创建投影代理
+ */
+@Getter
+@AllArgsConstructor
+public class TodoTreeView implements TodoPositionView {
+
+    private final Long id;
+    private final String title;
+    private final String descriptionPreview;
+    private final Integer descriptionLength;
+    private final Boolean completed;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final String tenantId;
+    private final LocalDateTime dueAt;
+    private final Long recurrenceId;
+    private final String position;
+    private final Integer depth;
+    private final Long parentId;
+}
@@ -0,0 +1,211 @@
+package com.todoapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.todoapp.cache.CacheInvalidationListener;
+import com.todoapp.cache.InvalidationMessage;
+import com.todoapp.config.CoalescingProperties;
+import com.todoapp.datasource.ReadYourWritesContext;
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 读请求合并器（single-flight）
+ * 相同key的并发读请求共享同一次数据库调用，结果序列化后共享，每个等待方反序列化出自己的副本，
+ * 一个调用方修改返回值不会影响其他调用方
+ */
+@Component
+@Slf4j
+public class RequestCoalescer implements CacheInvalidationListener {
+
+    private final CoalescingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * 只用于共享结果的内部序列化，日期按ISO格式写出，往返无精度损失
+     */
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .addModule(new ParameterNamesModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    public RequestCoalescer(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 执行读操作，相同key的并发调用只会触发一次loader
+     * @param key 请求标识，格式为"操作:参数"，实际合并范围还会限定在当前租户内
+     * @param type 结果类型，用于从共享的序列化结果还原副本
+     * @param loader 实际的数据加载逻辑
+     * @return 加载结果，每个调用方各自持有一份
+     */
+    public <T> T execute(String key, Class<T> type, Supplier<T> loader) {
+        return execute(key, objectMapper.constructType(type), loader);
+    }
+
+    /**
+     * 执行读操作，用于泛型结果（如List）
+     * @see #execute(String, Class, Supplier)
+     */
+    public <T> T execute(String key, TypeReference<T> type, Supplier<T> loader) {
+        return execute(key, objectMapper.getTypeFactory().constructType(type), loader);
+    }
+
+    private <T> T execute(String key, JavaType type, Supplier<T> loader) {
+        // 读己之写会话需要读主库，不能复用其他会话可能来自副本的结果
+        if (!properties.isEnabled() || ReadYourWritesContext.isPrimaryRequired()) {
+            return loader.get();
+        }
+
+        String scopedKey = key + "@" + TenantContext.current();
+        while (true) {
+            Flight existing = flights.get(scopedKey);
+            if (existing != null) {
+                if (!existing.isExpired(properties.getWindowMs())) {
+                    counter("todo.coalescing.saved", scopedKey).increment();
+                    return read(existing.await(), type);
+                }
+                flights.remove(scopedKey, existing);
+                continue;
+            }
+
+            Flight flight = new Flight();
+            if (flights.putIfAbsent(scopedKey, flight) != null) {
+                continue;
+            }
+            return lead(scopedKey, flight, loader);
+        }
+    }
+
+    /**
+     * 清空所有已完成的合并结果
+     */
+    public void invalidateAll() {
+        flights.clear();
+    }
+
+    /**
+     * 写操作提交后清空合并窗口内的结果，避免读到旧数据
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        log.debug("Invalidating coalesced reads after {}", event);
+        invalidateAll();
+    }
+
+    /**
+     * 其他节点写入后清空合并窗口内的结果
+     */
+    @Override
+    public void onRemoteInvalidation(InvalidationMessage message) {
+        invalidateAll();
+    }
+
+    /**
+     * 执行loader并发布序列化结果，发起方直接返回loader的结果，其他调用方拿到的都是副本
+     */
+    private <T> T lead(String key, Flight flight, Supplier<T> loader) {
+        counter("todo.coalescing.db.calls", key).increment();
+        try {
+            T result = loader.get();
+            flight.complete(write(result));
+            return result;
+        } catch (RuntimeException ex) {
+            flight.fail(ex);
+            flights.remove(key, flight);
+            throw ex;
+        } finally {
+            if (properties.getWindowMs() <= 0) {
+                flights.remove(key, flight);
+            }
+        }
+    }
+
+    private byte[] write(Object result) {
+        try {
+            return objectMapper.writeValueAsBytes(result);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize coalesced result", ex);
+        }
+    }
+
+    private <T> T read(byte[] result, JavaType type) {
+        try {
+            return objectMapper.readValue(result, type);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to deserialize coalesced result as " + type, ex);
+        }
+    }
+
+    private Counter counter(String name, String key) {
+        int separator = key.indexOf(':');
+        String operation = separator > 0 ? key.substring(0, separator) : key;
+        return meterRegistry.counter(name, "operation", operation);
+    }
+
+    /**
+     * 一次进行中（或窗口内已完成）的数据库调用
+     */
+    private static final class Flight {
+
+        private final CompletableFuture<byte[]> future = new CompletableFuture<>();
+        private volatile long completedAtNanos;
+
+        void complete(byte[] result) {
+            completedAtNanos = System.nanoTime();
+            future.complete(result);
+        }
+
+        void fail(RuntimeException ex) {
+            completedAtNanos = System.nanoTime();
+            future.completeExceptionally(ex);
+        }
+
+        boolean isExpired(long windowMs) {
+            if (!future.isDone()) {
+                return false;
+            }
+            return System.nanoTime() - completedAtNanos > windowMs * 1_000_000L;
+        }
+
+        byte[] await() {
+            try {
+                return future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for coalesced read", ex);
+            } catch (ExecutionException | CompletionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+}
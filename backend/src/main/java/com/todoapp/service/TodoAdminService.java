@@ -0,0 +1,167 @@
+package com.todoapp.service;
+
+import com.todoapp.datasource.ShardFanOutExecutor;
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.event.TodoChangedEvent.ChangeType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 跨租户（跨分片）管理操作
+ * 在所有分片上并行执行并合并结果，不受当前租户限制
+ */
+@Service
+@Lazy
+@RequiredArgsConstructor
+@Slf4j
+public class TodoAdminService {
+
+    private static final String SELECT_ALL =
+            "SELECT id, title, description_preview, description_length, completed, created_at, updated_at, tenant_id, "
+            + "due_at, recurrence_id FROM todos ORDER BY created_at DESC, id DESC";
+
+    /**
+     * 已完成Todo的所有后代，删除已完成的Todo时子任务一并删除
+     */
+    private static final String COMPLETED_DESCENDANTS =
+            "SELECT c.descendant_id AS d FROM todo_closure c JOIN todos a ON a.id = c.ancestor_id WHERE a.completed = TRUE";
+
+    private static final RowMapper<TodoResponse> TODO_ROW_MAPPER = (rs, rowNum) -> {
+        String preview = rs.getString("description_preview");
+        int length = rs.getInt("description_length");
+        Timestamp dueAt = rs.getTimestamp("due_at");
+        Object recurrenceId = rs.getObject("recurrence_id");
+        return new TodoResponse(
+                rs.getLong("id"),
+                rs.getString("title"),
+                null,
+                preview,
+                preview != null ? length > preview.length() : null,
+                rs.getBoolean("completed"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getTimestamp("updated_at").toLocalDateTime(),
+                rs.getString("tenant_id"),
+                null,
+                null,
+                null,
+                null,
+                dueAt != null ? dueAt.toLocalDateTime() : null,
+                recurrenceId != null ? ((Number) recurrenceId).longValue() : null);
+    };
+
+    private static final Comparator<TodoResponse> NEWEST_FIRST =
+            Comparator.comparing(TodoResponse::getCreatedAt).reversed()
+                    .thenComparing(TodoResponse::getId, Comparator.reverseOrder());
+
+    private final ShardFanOutExecutor shardExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 获取所有租户的待办事项，按创建时间倒序
+     * @return 合并后的Todo列表
+     */
+    public List<TodoResponse> getAllTodos() {
+        log.debug("Getting todos across {} shards", shardExecutor.getShardCount());
+
+        List<List<TodoResponse>> perShard = shardExecutor.execute(jdbc -> jdbc.query(SELECT_ALL, TODO_ROW_MAPPER));
+        return mergeSorted(perShard);
+    }
+
+    /**
+     * 获取所有租户的统计信息
+     * @return 汇总后的统计数据
+     */
+    public TodoService.TodoStatsResponse getStats() {
+        log.debug("Getting todo statistics across {} shards", shardExecutor.getShardCount());
+
+        List<long[]> perShard = shardExecutor.execute(jdbc -> jdbc.queryForObject(
+                "SELECT COUNT(*), COALESCE(SUM(CASE WHEN completed THEN 1 ELSE 0 END), 0) FROM todos",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}));
+
+        long total = 0;
+        long completed = 0;
+        for (long[] counts : perShard) {
+            total += counts[0];
+            completed += counts[1];
+        }
+        return new TodoService.TodoStatsResponse(total, completed, total - completed);
+    }
+
+    /**
+     * 删除所有租户已完成的待办事项及其子任务
+     * 各分片独立提交，不保证跨分片原子性
+     * @return 删除的数量
+     */
+    public int deleteCompletedTodos() {
+        log.debug("Deleting completed todos across {} shards", shardExecutor.getShardCount());
+
+        List<Integer> perShard = shardExecutor.execute(jdbc -> {
+            List<Long> descriptionIds = jdbc.queryForList(
+                    "SELECT description_id FROM todos WHERE description_id IS NOT NULL "
+                    + "AND (completed = TRUE OR id IN (" + COMPLETED_DESCENDANTS + "))", Long.class);
+            List<Long> todoIds = jdbc.queryForList(
+                    "SELECT id FROM todos WHERE completed = TRUE OR id IN (" + COMPLETED_DESCENDANTS + ")", Long.class);
+            int deleted = jdbc.update("DELETE FROM todos WHERE id IN (SELECT d FROM (" + COMPLETED_DESCENDANTS + ") sub)");
+            deleted += jdbc.update("DELETE FROM todos WHERE completed = TRUE");
+            // 按删除的ID清理路径和标签，祖先被删除时后代也被删除，路径只需按后代删除
+            jdbc.batchUpdate("DELETE FROM todo_closure WHERE descendant_id = ?", todoIds, 500,
+                    (ps, todoId) -> ps.setLong(1, todoId));
+            jdbc.batchUpdate("DELETE FROM todo_tags WHERE todo_id = ?", todoIds, 500,
+                    (ps, todoId) -> ps.setLong(1, todoId));
+            if (!descriptionIds.isEmpty()) {
+                jdbc.batchUpdate("DELETE FROM todo_descriptions WHERE id = ?", descriptionIds, 500,
+                        (ps, descriptionId) -> ps.setLong(1, descriptionId));
+            }
+            return deleted;
+        });
+        int deletedCount = perShard.stream().mapToInt(Integer::intValue).sum();
+
+        log.info("Deleted {} completed todos across all shards", deletedCount);
+        eventPublisher.publishEvent(TodoChangedEvent.bulk(ChangeType.DELETED_COMPLETED));
+        return deletedCount;
+    }
+
+    /**
+     * 多路归并各分片已排序的结果
+     */
+    private static List<TodoResponse> mergeSorted(List<List<TodoResponse>> perShard) {
+        if (perShard.size() == 1) {
+            return perShard.get(0);
+        }
+
+        record Head(TodoResponse todo, Iterator<TodoResponse> rest) {
+        }
+
+        PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(Head::todo, NEWEST_FIRST));
+        int total = 0;
+        for (List<TodoResponse> shard : perShard) {
+            total += shard.size();
+            Iterator<TodoResponse> iterator = shard.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Head(iterator.next(), iterator));
+            }
+        }
+
+        List<TodoResponse> merged = new ArrayList<>(total);
+        while (!heads.isEmpty()) {
+            Head head = heads.poll();
+            merged.add(head.todo());
+            if (head.rest().hasNext()) {
+                heads.add(new Head(head.rest().next(), head.rest()));
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,209 @@
+package com.todoapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.todoapp.config.HistoryProperties;
+import com.todoapp.dto.TodoHistoryEntry;
+import com.todoapp.dto.TodoHistoryResponse;
+import com.todoapp.dto.TodoHistoryStateResponse;
+import com.todoapp.entity.TodoEvent;
+import com.todoapp.entity.TodoSnapshot;
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.event.TodoChangedEvent.ChangeType;
+import com.todoapp.exception.TodoNotFoundException;
+import com.todoapp.history.TodoStates;
+import com.todoapp.repository.TodoEventRepository;
+import com.todoapp.repository.TodoSnapshotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Todo变更历史服务
+ * 每次变更在同一事务中追加一个事件，只保存变化的字段；每隔snapshot-interval个版本另存一份完整状态。
+ * 任意版本的状态从不晚于它的最近快照回放，最多读取一个快照和snapshot-interval - 1个事件，与Todo被修改过多少次无关；
+ * 记录新事件时用同样的方式得到上一版本的状态并计算差异
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class TodoHistoryService {
+
+    private static final Pageable FIRST = PageRequest.of(0, 1);
+
+    private final TodoEventRepository todoEventRepository;
+    private final TodoSnapshotRepository todoSnapshotRepository;
+    private final HistoryProperties historyProperties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 追加一个变更事件，需在变更所在的事务中调用
+     * @param event 单个Todo的变更事件
+     * @param actor 操作者，可为null
+     * @return 新事件的版本
+     */
+    public int record(TodoChangedEvent event, String actor) {
+        Long todoId = event.getTodoId();
+        Replay previous = replay(todoId, Integer.MAX_VALUE);
+        ObjectNode state;
+        if (event.getType() == ChangeType.DELETED) {
+            state = TodoStates.deleted(previous.state());
+        } else if (event.getTodo() != null) {
+            state = TodoStates.capture(objectMapper, event.getTodo(), previous.state());
+        } else {
+            state = previous.state();
+        }
+        String changes = TodoStates.diff(previous.state(), state).toString();
+        int version = previous.version() + 1;
+        LocalDateTime now = LocalDateTime.now();
+
+        TodoEvent todoEvent = new TodoEvent();
+        todoEvent.setId(new TodoEvent.Key(todoId, version));
+        todoEvent.setEventType(event.getType().name());
+        todoEvent.setActor(actor);
+        todoEvent.setChanges(changes);
+        todoEvent.setCreatedAt(now);
+        todoEventRepository.save(todoEvent);
+        meterRegistry.summary("todo.history.event.bytes").record(changes.length());
+
+        if (version % historyProperties.getSnapshotInterval() == 0) {
+            TodoSnapshot snapshot = new TodoSnapshot();
+            snapshot.setId(new TodoEvent.Key(todoId, version));
+            snapshot.setState(state.toString());
+            snapshot.setCreatedAt(now);
+            todoSnapshotRepository.save(snapshot);
+            meterRegistry.summary("todo.history.snapshot.bytes").record(snapshot.getState().length());
+        }
+        log.debug("Recorded {} of todo {} as version {}", event.getType(), todoId, version);
+        return version;
+    }
+
+    /**
+     * 按版本分页读取变更历史，每个变化的字段附带旧值和新值
+     * @param todoId Todo ID，已删除和已归档的Todo仍可查询
+     * @param afterVersion 上一页的nextVersion，null表示从头开始
+     * @param limit 每页事件数，null时使用默认值
+     * @throws TodoNotFoundException 当Todo没有任何历史时
+     * @throws IllegalArgumentException 分页参数不合法时
+     */
+    @Transactional(readOnly = true)
+    public TodoHistoryResponse getHistory(Long todoId, Integer afterVersion, Integer limit) {
+        int after = afterVersion != null ? afterVersion : 0;
+        int size = limit != null ? limit : historyProperties.getDefaultLimit();
+        if (after < 0) {
+            throw new IllegalArgumentException("afterVersion must not be negative");
+        }
+        if (size < 1 || size > historyProperties.getMaxLimit()) {
+            throw new IllegalArgumentException("limit must be between 1 and " + historyProperties.getMaxLimit());
+        }
+
+        List<TodoEvent> events = todoEventRepository.findPage(todoId, after, PageRequest.of(0, size + 1));
+        if (events.isEmpty() && after == 0) {
+            throw new TodoNotFoundException(todoId);
+        }
+        // 旧值来自上一个版本的状态，翻页时从快照重建本页之前的状态
+        ObjectNode state = after > 0 ? replay(todoId, after).state() : TodoStates.empty();
+        List<TodoHistoryEntry> entries = new ArrayList<>(Math.min(size, events.size()));
+        for (TodoEvent event : events.subList(0, Math.min(size, events.size()))) {
+            ObjectNode changes = parse(event.getChanges());
+            ObjectNode described = objectMapper.createObjectNode();
+            for (Iterator<Map.Entry<String, JsonNode>> fields = changes.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                ObjectNode change = described.putObject(field.getKey());
+                change.set("from", state.has(field.getKey()) ? state.get(field.getKey()) : NullNode.getInstance());
+                change.set("to", field.getValue());
+            }
+            TodoStates.apply(state, changes);
+            entries.add(new TodoHistoryEntry(event.getId().getVersion(), event.getEventType(), event.getActor(),
+                    event.getCreatedAt(), described));
+        }
+        Integer nextVersion = events.size() > size ? entries.get(size - 1).getVersion() : null;
+        return new TodoHistoryResponse(todoId, entries, nextVersion);
+    }
+
+    /**
+     * 重建某个版本或时间点的状态，都不传时返回最新状态
+     * @param todoId Todo ID
+     * @param version 版本
+     * @param at 时间点，取该时间点及之前的最后一个版本
+     * @throws TodoNotFoundException 当Todo在该时间点之前没有历史时
+     * @throws IllegalArgumentException 同时指定版本和时间点或版本不合法时
+     */
+    @Transactional(readOnly = true)
+    public TodoHistoryStateResponse getState(Long todoId, Integer version, LocalDateTime at) {
+        if (version != null && at != null) {
+            throw new IllegalArgumentException("Specify either version or at, not both");
+        }
+        if (version != null && version < 1) {
+            throw new IllegalArgumentException("version must be positive");
+        }
+        int target = version != null ? version : Integer.MAX_VALUE;
+        if (at != null) {
+            target = todoEventRepository.findVersionsAt(todoId, at, FIRST).stream().findFirst()
+                    .orElseThrow(() -> new TodoNotFoundException(todoId));
+        }
+
+        Replay replay = replay(todoId, target);
+        if (replay.version() == 0) {
+            throw new TodoNotFoundException(todoId);
+        }
+        meterRegistry.summary("todo.history.replayed.events").record(replay.replayedEvents());
+        ObjectNode state = replay.state();
+        boolean deleted = state.path(TodoStates.DELETED).asBoolean(false);
+        state.remove(TodoStates.DELETED);
+        return new TodoHistoryStateResponse(todoId, replay.version(), replay.changedAt(), deleted, state,
+                replay.snapshotVersion(), replay.replayedEvents());
+    }
+
+    /**
+     * 从不晚于目标版本的最近快照开始回放事件
+     */
+    private Replay replay(Long todoId, int version) {
+        TodoSnapshot snapshot = todoSnapshotRepository.findLatest(todoId, version, FIRST).stream().findFirst().orElse(null);
+        ObjectNode state = snapshot != null ? parse(snapshot.getState()) : TodoStates.empty();
+        Integer snapshotVersion = snapshot != null ? snapshot.getId().getVersion() : null;
+        int current = snapshotVersion != null ? snapshotVersion : 0;
+        LocalDateTime changedAt = snapshot != null ? snapshot.getCreatedAt() : null;
+
+        List<TodoEvent> events = todoEventRepository.findRange(todoId, current, version);
+        for (TodoEvent event : events) {
+            TodoStates.apply(state, parse(event.getChanges()));
+            current = event.getId().getVersion();
+            changedAt = event.getCreatedAt();
+        }
+        return new Replay(state, current, changedAt, snapshotVersion, events.size());
+    }
+
+    private ObjectNode parse(String json) {
+        try {
+            return (ObjectNode) objectMapper.readTree(json);
+        } catch (JsonProcessingException | ClassCastException ex) {
+            throw new IllegalStateException("Invalid todo history record: " + json, ex);
+        }
+    }
+
+    /**
+     * 回放结果
+     * @param version 回放到的版本，没有任何历史时为0
+     * @param snapshotVersion 起点快照的版本，从头回放时为null
+     * @param replayedEvents 回放的事件数
+     */
+    private record Replay(ObjectNode state, int version, LocalDateTime changedAt, Integer snapshotVersion,
+                          int replayedEvents) {
+    }
+}
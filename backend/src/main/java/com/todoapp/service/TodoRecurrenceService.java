@@ -0,0 +1,110 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.RecurrenceCreateRequest;
+import com.todoapp.dto.RecurrenceResponse;
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.entity.TodoRecurrence;
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.event.TodoChangedEvent.ChangeType;
+import com.todoapp.exception.RecurrenceNotFoundException;
+import com.todoapp.recurrence.RecurrenceRule;
+import com.todoapp.repository.TodoRecurrenceRepository;
+import com.todoapp.repository.TodoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 重复规则业务逻辑服务
+ * 创建规则时同步生成第一个实例，其余实例由RecurrenceMaterializer在滚动窗口内分批生成；
+ * 某规则的实例全部完成时，在同一事务中提前生成下一个，不必等后台任务
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class TodoRecurrenceService {
+
+    private final TodoRecurrenceRepository todoRecurrenceRepository;
+    private final TodoRepository todoRepository;
+    private final TodoService todoService;
+
+    /**
+     * 创建重复规则并生成第一个实例
+     * @throws IllegalArgumentException 规则不合法或结束时间早于第一次出现时
+     */
+    public RecurrenceResponse createRecurrence(RecurrenceCreateRequest request) {
+        RecurrenceRule rule = RecurrenceRule.parse(request.getRule());
+        LocalDateTime first = rule.first(request.getStartsAt());
+        if (request.getEndsAt() != null && first.isAfter(request.getEndsAt())) {
+            throw new IllegalArgumentException("Recurrence ends before its first occurrence");
+        }
+
+        TodoRecurrence recurrence = new TodoRecurrence();
+        recurrence.setTitle(request.getTitle());
+        recurrence.setDescription(request.getDescription());
+        recurrence.setRule(rule.toString());
+        recurrence.setStartsAt(request.getStartsAt());
+        recurrence.setEndsAt(request.getEndsAt());
+        recurrence.setNextAt(first);
+        TodoRecurrence saved = todoRecurrenceRepository.save(recurrence);
+        materializeNext(saved, rule);
+
+        log.info("Recurrence created with id: {}, rule: {}, first occurrence: {}", saved.getId(), saved.getRule(), first);
+        return RecurrenceResponse.fromEntity(saved);
+    }
+
+    /**
+     * 获取所有重复规则
+     */
+    @Transactional(readOnly = true)
+    public List<RecurrenceResponse> getRecurrences() {
+        return todoRecurrenceRepository.findAllByOrderByCreatedAtDesc().stream()
+                .map(RecurrenceResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 删除重复规则，已生成的实例保留为普通Todo
+     * @throws RecurrenceNotFoundException 当规则不存在时
+     */
+    public void deleteRecurrence(Long id) {
+        if (!todoRecurrenceRepository.existsById(id)) {
+            throw new RecurrenceNotFoundException(id);
+        }
+        int detached = todoRepository.detachRecurrence(id);
+        todoRecurrenceRepository.deleteById(id);
+        log.info("Recurrence deleted with id: {}, detached occurrences: {}", id, detached);
+    }
+
+    /**
+     * 实例被完成且该规则没有其他未完成实例时，立即生成下一个实例
+     * 锁住规则行，与后台任务的FOR UPDATE互斥，不会重复生成同一次出现
+     */
+    @EventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.getType() != ChangeType.TOGGLED && event.getType() != ChangeType.UPDATED) {
+            return;
+        }
+        TodoResponse todo = event.getTodo();
+        if (todo == null || todo.getRecurrenceId() == null || !Boolean.TRUE.equals(todo.getCompleted())) {
+            return;
+        }
+        todoRecurrenceRepository.findForUpdate(todo.getRecurrenceId())
+                .filter(recurrence -> recurrence.getNextAt() != null)
+                .filter(recurrence -> !todoRepository.existsByRecurrenceIdAndCompletedFalse(recurrence.getId()))
+                .ifPresent(recurrence -> materializeNext(recurrence, RecurrenceRule.parse(recurrence.getRule())));
+    }
+
+    private void materializeNext(TodoRecurrence recurrence, RecurrenceRule rule) {
+        LocalDateTime dueAt = recurrence.getNextAt();
+        todoService.createOccurrence(recurrence, dueAt);
+        recurrence.setNextAt(rule.next(recurrence.getStartsAt(), dueAt, recurrence.getEndsAt()));
+    }
+}
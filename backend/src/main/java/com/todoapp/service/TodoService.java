@@ -1,18 +1,50 @@
 package com.todoapp.service;
 
+import com.todoapp.cache.TodoIdFilter;
+import com.todoapp.config.LookupProperties;
+import com.todoapp.config.OrderingProperties;
 import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.dto.TodoFieldSet;
+import com.todoapp.dto.TodoLookupResponse;
+import com.todoapp.dto.TodoMoveRequest;
+import com.todoapp.dto.TodoPageResponse;
+import com.todoapp.dto.TodoProgress;
 import com.todoapp.dto.TodoResponse;
 import com.todoapp.dto.TodoUpdateRequest;
 import com.todoapp.entity.Todo;
+import com.todoapp.entity.TodoRecurrence;
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.event.TodoChangedEvent.ChangeType;
 import com.todoapp.exception.TodoNotFoundException;
+import com.todoapp.exception.TodoPositionConflictException;
+import com.todoapp.ordering.RankKeys;
+import com.todoapp.ordering.TodoPositionHeads;
+import com.todoapp.ordering.TodoRebalancer;
+import com.todoapp.repository.ArchivedTodoRepository;
+import com.todoapp.repository.TodoClosureRepository;
+import com.todoapp.repository.TodoDescriptionRepository;
+import com.todoapp.repository.TodoPositionView;
+import com.todoapp.repository.TodoPreviewView;
 import com.todoapp.repository.TodoRepository;
+import com.todoapp.repository.TodoSummaryView;
+import com.todoapp.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -24,27 +56,96 @@ import java.util.stream.Collectors;
 @Transactional
 public class TodoService {
     
+    private static final Pageable FIRST = PageRequest.of(0, 1);
+    
     private final TodoRepository todoRepository;
+    private final TodoDescriptionRepository todoDescriptionRepository;
+    private final ArchivedTodoRepository archivedTodoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LookupProperties lookupProperties;
+    private final TodoIdFilter todoIdFilter;
+    private final OrderingProperties orderingProperties;
+    private final TodoRebalancer todoRebalancer;
+    private final TodoPositionHeads todoPositionHeads;
+    private final TodoClosureRepository todoClosureRepository;
+    private final TodoTagService todoTagService;
     
     /**
-     * 获取所有待办事项
+     * 获取所有待办事项，描述只返回定长预览
      * @param completed 过滤条件，null表示获取全部
      * @return Todo列表
      */
     @Transactional(readOnly = true)
     public List<TodoResponse> getAllTodos(Boolean completed) {
-        log.debug("Getting all todos with completed filter: {}", completed);
+        return getAllTodos(completed, TodoFieldSet.PREVIEW);
+    }
+    
+    /**
+     * 获取所有待办事项的指定字段
+     * 使用投影查询，只读取所需的列且不加载实体
+     * @param completed 过滤条件，null表示获取全部
+     * @param fields 返回的字段集合，FULL才会关联读取完整description
+     * @return Todo列表
+     */
+    @Transactional(readOnly = true)
+    public List<TodoResponse> getAllTodos(Boolean completed, TodoFieldSet fields) {
+        log.debug("Getting all todos with completed filter: {}, fields: {}", completed, fields);
         
-        List<Todo> todos;
-        if (completed == null) {
-            todos = todoRepository.findAllByOrderByCreatedAtDesc();
+        Class<? extends TodoSummaryView> view = fields == TodoFieldSet.SUMMARY
+                ? TodoSummaryView.class
+                : TodoPreviewView.class;
+        
+        List<? extends TodoSummaryView> todos;
+        if (fields == TodoFieldSet.FULL) {
+            todos = completed == null
+                    ? todoRepository.findAllWithDescriptionOrderByCreatedAtDesc()
+                    : todoRepository.findWithDescriptionByCompletedOrderByCreatedAtDesc(completed);
+        } else if (completed == null) {
+            todos = todoRepository.findAllByOrderByCreatedAtDesc(view);
         } else {
-            todos = todoRepository.findByCompletedOrderByCreatedAtDesc(completed);
+            todos = todoRepository.findByCompletedOrderByCreatedAtDesc(completed, view);
         }
         
-        return todos.stream()
-                .map(TodoResponse::fromEntity)
+        List<TodoResponse> responses = todos.stream()
+                .map(TodoResponse::fromView)
                 .collect(Collectors.toList());
+        todoTagService.attachTags(responses);
+        return responses;
+    }
+    
+    /**
+     * 获取待办事项，可同时读取归档表
+     * 已归档的Todo都是已完成的，completed=false时不会查询归档表
+     * @param completed 过滤条件，null表示获取全部
+     * @param fields 返回的字段集合
+     * @param includeArchived 是否包含已归档的Todo
+     * @return 按创建时间倒序合并后的Todo列表
+     */
+    @Transactional(readOnly = true)
+    public List<TodoResponse> getAllTodos(Boolean completed, TodoFieldSet fields, boolean includeArchived) {
+        List<TodoResponse> todos = getAllTodos(completed, fields);
+        if (!includeArchived || Boolean.FALSE.equals(completed)) {
+            return todos;
+        }
+        
+        List<TodoResponse> archived;
+        if (fields == TodoFieldSet.FULL) {
+            archived = archivedTodoRepository.findAllByOrderByCreatedAtDesc().stream()
+                    .map(TodoResponse::fromArchived)
+                    .collect(Collectors.toList());
+        } else {
+            Class<? extends TodoSummaryView> view = fields == TodoFieldSet.SUMMARY
+                    ? TodoSummaryView.class
+                    : TodoPreviewView.class;
+            archived = archivedTodoRepository.findAllByOrderByCreatedAtDesc(view).stream()
+                    .map(archivedView -> {
+                        TodoResponse todo = TodoResponse.fromView(archivedView);
+                        todo.setArchived(true);
+                        return todo;
+                    })
+                    .collect(Collectors.toList());
+        }
+        return mergeNewestFirst(todos, archived);
     }
     
     /**
@@ -60,7 +161,112 @@ public class TodoService {
         Todo todo = todoRepository.findById(id)
                 .orElseThrow(() -> new TodoNotFoundException(id));
         
-        return TodoResponse.fromEntity(todo);
+        return withTags(TodoResponse.fromEntity(todo));
+    }
+    
+    /**
+     * 根据ID获取待办事项，热数据中不存在时查询归档表
+     * @param id 待办事项ID
+     * @param includeArchived 是否查询归档表
+     * @return Todo详情
+     * @throws TodoNotFoundException 当Todo不存在时
+     */
+    @Transactional(readOnly = true)
+    public TodoResponse getTodoById(Long id, boolean includeArchived) {
+        if (!includeArchived) {
+            return getTodoById(id);
+        }
+        log.debug("Getting todo by id: {} including archive", id);
+        
+        return withTags(todoRepository.findById(id)
+                .map(TodoResponse::fromEntity)
+                .or(() -> archivedTodoRepository.findById(id).map(TodoResponse::fromArchived))
+                .orElseThrow(() -> new TodoNotFoundException(id)));
+    }
+    
+    /**
+     * 按ID批量获取待办事项
+     * 去重后按lookup.chunk-size分批执行IN查询，每批一次往返且不懒加载描述
+     * @param ids 请求的ID，可重复
+     * @param includeArchived 热数据中不存在的ID是否继续查询归档表
+     * @return 按请求顺序排列的Todo及不存在的ID
+     * @throws IllegalArgumentException 去重后的ID数量超过lookup.max-ids时
+     */
+    @Transactional(readOnly = true)
+    public TodoLookupResponse lookupTodos(List<Long> ids, boolean includeArchived) {
+        List<Long> requestedIds = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new))
+                .stream()
+                .toList();
+        if (requestedIds.size() > lookupProperties.getMaxIds()) {
+            throw new IllegalArgumentException("At most " + lookupProperties.getMaxIds() + " ids can be looked up at once");
+        }
+        log.debug("Looking up {} todos, includeArchived: {}", requestedIds.size(), includeArchived);
+        
+        Map<Long, TodoResponse> found = new HashMap<>();
+        // 归档的ID不在过滤器中，查询归档时不能跳过
+        List<Long> candidates = includeArchived
+                ? requestedIds
+                : requestedIds.stream().filter(todoIdFilter::mightContain).toList();
+        for (List<Long> chunk : chunks(candidates)) {
+            todoRepository.findWithDescriptionByIdIn(chunk)
+                    .forEach(view -> found.put(view.getId(), TodoResponse.fromView(view)));
+        }
+        if (includeArchived && found.size() < requestedIds.size()) {
+            List<Long> missing = requestedIds.stream().filter(id -> !found.containsKey(id)).toList();
+            for (List<Long> chunk : chunks(missing)) {
+                archivedTodoRepository.findAllById(chunk)
+                        .forEach(archived -> found.put(archived.getId(), TodoResponse.fromArchived(archived)));
+            }
+        }
+        todoTagService.attachTags(List.copyOf(found.values()));
+        return TodoLookupResponse.of(requestedIds, found);
+    }
+    
+    /**
+     * 按手动排序分页获取待办事项（键集分页）
+     * 从游标之后沿排序索引读取limit+1行，多出的一行只用于判断是否有下一页；
+     * 本页各Todo的子任务进度由一次聚合查询补齐
+     * @param completed 过滤条件，null表示获取全部
+     * @param limit 每页数量，null时使用默认值
+     * @param cursor 上一页返回的nextCursor，null表示第一页
+     * @return 本页的Todo及下一页游标
+     * @throws IllegalArgumentException 每页数量超出范围或游标不合法时
+     */
+    @Transactional(readOnly = true)
+    public TodoPageResponse getTodoPage(Boolean completed, Integer limit, String cursor) {
+        int pageSize = limit != null ? limit : orderingProperties.getDefaultPageSize();
+        if (pageSize < 1 || pageSize > orderingProperties.getMaxPageSize()) {
+            throw new IllegalArgumentException("limit must be between 1 and " + orderingProperties.getMaxPageSize());
+        }
+        TodoPageResponse.Cursor after = cursor != null
+                ? TodoPageResponse.decodeCursor(cursor)
+                : new TodoPageResponse.Cursor("", 0L);
+        log.debug("Getting todo page after {} with completed filter: {}, limit: {}", after, completed, pageSize);
+        
+        Pageable page = PageRequest.of(0, pageSize + 1);
+        List<TodoPositionView> rows = completed == null
+                ? todoRepository.findPositionPage(after.position(), after.id(), page)
+                : todoRepository.findPositionPageByCompleted(completed, after.position(), after.id(), page);
+        
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            TodoPositionView last = rows.get(pageSize - 1);
+            nextCursor = TodoPageResponse.encodeCursor(last.getPosition(), last.getId());
+        }
+        List<TodoResponse> todos = rows.stream()
+                .map(TodoResponse::fromView)
+                .collect(Collectors.toList());
+        todoTagService.attachTags(todos);
+        if (!todos.isEmpty()) {
+            Map<Long, TodoResponse> byId = todos.stream()
+                    .collect(Collectors.toMap(TodoResponse::getId, todo -> todo));
+            todoClosureRepository.findChildProgress(byId.keySet()).forEach(progress -> byId.get(progress.getId())
+                    .setSubtasks(TodoProgress.of(progress.getTotal(), progress.getCompleted())));
+        }
+        return new TodoPageResponse(todos, nextCursor);
     }
     
     /**
@@ -72,12 +278,41 @@ public class TodoService {
         log.debug("Creating new todo with title: {}", request.getTitle());
         
         Todo todo = new Todo(request.getTitle(), request.getDescription());
+        todo.setDueAt(request.getDueAt());
+        // 新建的Todo排在最前，与默认的创建时间倒序一致
+        assignFirstPosition(todo);
         Todo savedTodo = todoRepository.save(todo);
         
         log.info("Todo created successfully with id: {}", savedTodo.getId());
-        return TodoResponse.fromEntity(savedTodo);
+        TodoResponse response = TodoResponse.fromEntity(savedTodo);
+        response.setTags(request.getTags() != null
+                ? todoTagService.replaceTags(savedTodo.getId(), request.getTags())
+                : new ArrayList<>());
+        eventPublisher.publishEvent(TodoChangedEvent.of(ChangeType.CREATED, response));
+        return response;
     }
-    
+
+    /**
+     * 按重复规则创建一个实例，截止时间即本次出现的时间
+     * @param recurrence 重复规则
+     * @param dueAt 本次出现的时间
+     * @return 创建的Todo
+     */
+    public TodoResponse createOccurrence(TodoRecurrence recurrence, LocalDateTime dueAt) {
+        Todo todo = new Todo(recurrence.getTitle(), recurrence.getDescription());
+        todo.setDueAt(dueAt);
+        todo.setRecurrenceId(recurrence.getId());
+        assignFirstPosition(todo);
+        Todo savedTodo = todoRepository.save(todo);
+
+        log.info("Todo occurrence created with id: {}, recurrence: {}, due at: {}",
+                savedTodo.getId(), recurrence.getId(), dueAt);
+        TodoResponse response = TodoResponse.fromEntity(savedTodo);
+        response.setTags(new ArrayList<>());
+        eventPublisher.publishEvent(TodoChangedEvent.of(ChangeType.CREATED, response));
+        return response;
+    }
+
     /**
      * 更新待办事项
      * @param id 待办事项ID
@@ -101,6 +336,9 @@ public class TodoService {
         if (request.getCompleted() != null) {
             todo.setCompleted(request.getCompleted());
         }
+        if (request.getDueAt() != null) {
+            todo.setDueAt(request.getDueAt());
+        }
 
         // 强制更新时间，避免字段未变化时Hibernate不触发脏检查
         todo.setUpdatedAt(LocalDateTime.now());
@@ -112,7 +350,14 @@ public class TodoService {
         // 重新加载以拿到数据库生成的最新时间戳
         Todo reloaded = todoRepository.findById(updatedTodo.getId())
                 .orElse(updatedTodo);
-        return TodoResponse.fromEntity(reloaded);
+        TodoResponse response = TodoResponse.fromEntity(reloaded);
+        if (request.getTags() != null) {
+            response.setTags(todoTagService.replaceTags(id, request.getTags()));
+        } else {
+            withTags(response);
+        }
+        eventPublisher.publishEvent(TodoChangedEvent.of(ChangeType.UPDATED, response));
+        return response;
     }
     
     /**
@@ -137,11 +382,56 @@ public class TodoService {
         // 重新加载以拿到数据库生成的最新时间戳
         Todo reloaded = todoRepository.findById(updatedTodo.getId())
                 .orElse(updatedTodo);
-        return TodoResponse.fromEntity(reloaded);
+        TodoResponse response = withTags(TodoResponse.fromEntity(reloaded));
+        eventPublisher.publishEvent(TodoChangedEvent.of(ChangeType.TOGGLED, response));
+        return response;
     }
     
     /**
-     * 删除待办事项
+     * 移动待办事项到两个相邻的Todo之间
+     * 只改写被移动Todo的排序键，其他行不受影响；键过长时交给TodoRebalancer在后台重排
+     * @param id 待办事项ID
+     * @param request 移动后的相邻Todo
+     * @return 移动后的Todo
+     * @throws TodoNotFoundException 当Todo或相邻的Todo不存在时
+     * @throws IllegalArgumentException 未指定相邻Todo或相邻Todo是自身时
+     * @throws TodoPositionConflictException 相邻Todo的键缺失或顺序冲突时
+     */
+    public TodoResponse moveTodo(Long id, TodoMoveRequest request) {
+        log.debug("Moving todo {} after {} and before {}", id, request.getAfterId(), request.getBeforeId());
+        
+        if (request.getAfterId() == null && request.getBeforeId() == null) {
+            throw new IllegalArgumentException("afterId or beforeId is required");
+        }
+        if (id.equals(request.getAfterId()) || id.equals(request.getBeforeId())) {
+            throw new IllegalArgumentException("A todo cannot be moved relative to itself");
+        }
+        Todo todo = todoRepository.findById(id)
+                .orElseThrow(() -> new TodoNotFoundException(id));
+        
+        String lower = request.getAfterId() != null ? neighbourPosition(request.getAfterId()) : null;
+        String upper = request.getBeforeId() != null ? neighbourPosition(request.getBeforeId()) : null;
+        if (upper == null && lower != null) {
+            upper = todoRepository.findPositionsAfter(lower, id, FIRST).stream().findFirst().orElse(null);
+        } else if (lower == null && upper != null) {
+            lower = todoRepository.findPositionsBefore(upper, id, FIRST).stream().findFirst().orElse(null);
+        }
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            todoRebalancer.requestRebalance(TenantContext.current());
+            throw new TodoPositionConflictException("Todo positions are being rebalanced, please retry");
+        }
+        assignPosition(todo, lower, upper);
+        
+        Todo movedTodo = todoRepository.saveAndFlush(todo);
+        log.info("Todo moved successfully with id: {}, position: {}", movedTodo.getId(), movedTodo.getPosition());
+        TodoResponse response = withTags(TodoResponse.fromEntity(movedTodo));
+        eventPublisher.publishEvent(TodoChangedEvent.of(ChangeType.MOVED, response));
+        return response;
+    }
+    
+    /**
+     * 删除待办事项及其所有子任务
+     * 子任务按子树整体批量删除，语句条数与子树大小无关
      * @param id 待办事项ID
      * @throws TodoNotFoundException 当Todo不存在时
      */
@@ -152,19 +442,45 @@ public class TodoService {
             throw new TodoNotFoundException(id);
         }
         
+        List<Long> descendantIds = todoClosureRepository.findDescendantIds(id);
+        if (!descendantIds.isEmpty()) {
+            // 批量删除不会级联，先记下描述ID，删除Todo后再清理todo_descriptions
+            List<Long> descriptionIds = todoClosureRepository.findDescendantDescriptionIds(id);
+            todoClosureRepository.deleteDescendants(id);
+            if (!descriptionIds.isEmpty()) {
+                todoDescriptionRepository.deleteAllByIdInBatch(descriptionIds);
+            }
+        }
+        todoTagService.removeSubtreeTags(id);
+        todoClosureRepository.deleteSubtreeLinks(id);
         todoRepository.deleteById(id);
-        log.info("Todo deleted successfully with id: {}", id);
+        log.info("Todo deleted successfully with id: {}, subtasks: {}", id, descendantIds.size());
+        descendantIds.forEach(descendantId ->
+                eventPublisher.publishEvent(TodoChangedEvent.of(ChangeType.DELETED, descendantId)));
+        eventPublisher.publishEvent(TodoChangedEvent.of(ChangeType.DELETED, id));
     }
     
     /**
-     * 批量删除已完成的待办事项
+     * 批量删除已完成的待办事项及其子任务
      * @return 删除的数量
      */
     public int deleteCompletedTodos() {
         log.debug("Deleting all completed todos");
         
-        int deletedCount = todoRepository.deleteByCompletedTrue();
+        // 批量删除不会级联，先记下描述ID和Todo ID，删除Todo后再按ID清理todo_descriptions和关联表
+        String tenantId = TenantContext.current();
+        List<Long> descriptionIds = new ArrayList<>(todoRepository.findDescriptionIdsByCompletedTrue());
+        descriptionIds.addAll(todoClosureRepository.findCompletedDescendantDescriptionIds(tenantId));
+        Set<Long> deletedIds = new LinkedHashSet<>(todoRepository.findIdsByCompletedTrue());
+        deletedIds.addAll(todoClosureRepository.findCompletedDescendantIds(tenantId));
+        int deletedCount = todoClosureRepository.deleteCompletedDescendants(tenantId)
+                + todoRepository.deleteByCompletedTrue();
+        removeLinks(List.copyOf(deletedIds));
+        if (!descriptionIds.isEmpty()) {
+            todoDescriptionRepository.deleteAllByIdInBatch(descriptionIds);
+        }
         log.info("Deleted {} completed todos", deletedCount);
+        eventPublisher.publishEvent(TodoChangedEvent.bulk(ChangeType.DELETED_COMPLETED));
         
         return deletedCount;
     }
@@ -176,10 +492,13 @@ public class TodoService {
     public int deleteAllTodos() {
         log.debug("Deleting all todos");
         
-        long totalCount = todoRepository.count();
+        List<Long> ids = todoRepository.findAllIds();
+        long totalCount = ids.size();
         todoRepository.deleteAll();
+        removeLinks(ids);
         
         log.info("Deleted all {} todos", totalCount);
+        eventPublisher.publishEvent(TodoChangedEvent.bulk(ChangeType.DELETED_ALL));
         return (int) totalCount;
     }
     
@@ -198,6 +517,90 @@ public class TodoService {
         return new TodoStatsResponse(totalCount, completedCount, pendingCount);
     }
     
+    /**
+     * 统计待办事项数量
+     * @param completed 过滤条件，null表示全部
+     */
+    @Transactional(readOnly = true)
+    public long countTodos(Boolean completed) {
+        return completed == null ? todoRepository.count() : todoRepository.countByCompleted(completed);
+    }
+    
+    /**
+     * 读取相邻Todo的排序键，键缺失（尚未补齐）时请求重排
+     */
+    private String neighbourPosition(Long neighbourId) {
+        String position = todoRepository.findById(neighbourId)
+                .orElseThrow(() -> new TodoNotFoundException(neighbourId))
+                .getPosition();
+        if (position == null) {
+            todoRebalancer.requestRebalance(TenantContext.current());
+            throw new TodoPositionConflictException("Todo positions are being assigned, please retry");
+        }
+        return position;
+    }
+    
+    private TodoResponse withTags(TodoResponse response) {
+        todoTagService.attachTags(List.of(response));
+        return response;
+    }
+    
+    /**
+     * 排到最前：在租户的最前位置上排队，并发的新建依次得到更靠前的键
+     */
+    private void assignFirstPosition(Todo todo) {
+        String tenant = TenantContext.current();
+        String first = todoRepository.findPositions(FIRST).stream().findFirst().orElse(null);
+        assignPosition(todo, null, todoPositionHeads.lock(tenant, first));
+        todoPositionHeads.record(tenant, todo.getPosition());
+    }
+
+    private void assignPosition(Todo todo, String lower, String upper) {
+        String position = RankKeys.between(lower, upper);
+        if (position.length() > orderingProperties.getMaxKeyLength()) {
+            todoRebalancer.requestRebalance(TenantContext.current());
+        }
+        todo.setPosition(position);
+    }
+    
+    /**
+     * 按批删除指向已删除Todo的闭包表路径和标签关联，只触及这些ID的索引范围
+     */
+    private void removeLinks(List<Long> deletedIds) {
+        for (List<Long> chunk : chunks(deletedIds)) {
+            todoClosureRepository.deleteLinksTo(chunk);
+            todoTagService.removeTags(chunk);
+        }
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        int chunkSize = Math.max(1, lookupProperties.getChunkSize());
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + chunkSize)));
+        }
+        return chunks;
+    }
+    
+    /**
+     * 合并两个按创建时间倒序排列的列表
+     */
+    private static List<TodoResponse> mergeNewestFirst(List<TodoResponse> hot, List<TodoResponse> archived) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        Comparator<TodoResponse> newestFirst = Comparator.comparing(TodoResponse::getCreatedAt).reversed();
+        List<TodoResponse> merged = new ArrayList<>(hot.size() + archived.size());
+        int i = 0;
+        int j = 0;
+        while (i < hot.size() && j < archived.size()) {
+            merged.add(newestFirst.compare(hot.get(i), archived.get(j)) <= 0 ? hot.get(i++) : archived.get(j++));
+        }
+        merged.addAll(hot.subList(i, hot.size()));
+        merged.addAll(archived.subList(j, archived.size()));
+        return merged;
+    }
+    
     /**
      * 统计信息响应类
      */
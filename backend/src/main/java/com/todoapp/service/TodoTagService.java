@@ -0,0 +1,196 @@
+package com.todoapp.service;
+
+import com.todoapp.config.LookupProperties;
+import com.todoapp.dto.TagFacet;
+import com.todoapp.dto.TagMatch;
+import com.todoapp.dto.TodoFieldSet;
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.entity.Tag;
+import com.todoapp.entity.TodoTag;
+import com.todoapp.repository.TagRepository;
+import com.todoapp.repository.TodoListView;
+import com.todoapp.repository.TodoPreviewView;
+import com.todoapp.repository.TodoRepository;
+import com.todoapp.repository.TodoTagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Todo标签业务逻辑服务
+ * 标签保存在tags表并通过todo_tags关联表与Todo多对多关联；
+ * 列表响应中的标签按lookup.chunk-size分批一次读取，不逐个Todo查询
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class TodoTagService {
+
+    private final TagRepository tagRepository;
+    private final TodoTagRepository todoTagRepository;
+    private final TodoRepository todoRepository;
+    private final LookupProperties lookupProperties;
+
+    /**
+     * 规范化标签名：去除首尾空白、转为小写并去重
+     * @param names 原始标签名
+     * @return 保持原有顺序的规范化标签名
+     * @throws IllegalArgumentException 标签名为空或过长时
+     */
+    public static List<String> normalize(Collection<String> names) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String name : names) {
+            String tag = name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+            if (tag.isEmpty() || tag.length() > Tag.NAME_LENGTH) {
+                throw new IllegalArgumentException("Tags must be 1-" + Tag.NAME_LENGTH + " characters");
+            }
+            normalized.add(tag);
+        }
+        return List.copyOf(normalized);
+    }
+
+    /**
+     * 替换Todo的全部标签，不存在的标签自动创建
+     * @param todoId Todo ID，调用方需确认其存在
+     * @param names 标签名，空集合表示清空
+     * @return 按名称排序的规范化标签名
+     */
+    public List<String> replaceTags(Long todoId, Collection<String> names) {
+        List<String> tags = normalize(names);
+        todoTagRepository.deleteByTodoId(todoId);
+        if (tags.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, Tag> existing = tagRepository.findByNameIn(tags).stream()
+                .collect(Collectors.toMap(Tag::getName, tag -> tag));
+        List<Tag> created = tags.stream()
+                .filter(name -> !existing.containsKey(name))
+                .map(Tag::new)
+                .toList();
+        tagRepository.saveAll(created).forEach(tag -> existing.put(tag.getName(), tag));
+        todoTagRepository.saveAll(tags.stream()
+                .map(name -> new TodoTag(new TodoTag.Key(todoId, existing.get(name).getId())))
+                .toList());
+        log.debug("Todo {} tagged with {}", todoId, tags);
+        return tags.stream().sorted().collect(Collectors.toList());
+    }
+
+    /**
+     * 为响应补齐标签，每批ID一次查询
+     * @param todos 待补齐的响应，已归档的Todo保持为null
+     */
+    @Transactional(readOnly = true)
+    public void attachTags(List<TodoResponse> todos) {
+        Map<Long, TodoResponse> byId = new HashMap<>(todos.size() * 2);
+        for (TodoResponse todo : todos) {
+            if (!Boolean.TRUE.equals(todo.getArchived())) {
+                todo.setTags(new ArrayList<>());
+                byId.put(todo.getId(), todo);
+            }
+        }
+        List<Long> ids = List.copyOf(byId.keySet());
+        int chunkSize = Math.max(1, lookupProperties.getChunkSize());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            todoTagRepository.findTagNames(ids.subList(from, Math.min(ids.size(), from + chunkSize)))
+                    .forEach(row -> byId.get(row.getTodoId()).getTags().add(row.getName()));
+        }
+    }
+
+    /**
+     * 按标签过滤待办事项
+     * @param names 标签名
+     * @param match ALL=带有全部标签，ANY=带有任一标签
+     * @param completed 过滤条件，null表示全部
+     * @param fields 返回字段，FULL时按lookup.chunk-size分批补齐完整描述
+     * @return 按创建时间倒序的Todo列表，包含标签
+     * @throws IllegalArgumentException 未指定标签或标签名不合法时
+     */
+    @Transactional(readOnly = true)
+    public List<TodoResponse> findTagged(Collection<String> names, TagMatch match, Boolean completed,
+                                         TodoFieldSet fields) {
+        List<String> tags = normalize(names);
+        if (tags.isEmpty()) {
+            throw new IllegalArgumentException("At least one tag is required");
+        }
+        log.debug("Finding todos tagged with {} of {}, completed: {}", match, tags, completed);
+
+        List<Long> tagIds = tagRepository.findByNameIn(tags).stream().map(Tag::getId).toList();
+        if (tagIds.isEmpty() || match == TagMatch.ALL && tagIds.size() < tags.size()) {
+            return new ArrayList<>();
+        }
+        List<TodoPreviewView> views = match == TagMatch.ALL
+                ? todoRepository.findTaggedWithAll(tagIds, tagIds.size(), completed)
+                : todoRepository.findTaggedWithAny(tagIds, completed);
+        List<TodoResponse> todos = switch (fields) {
+            case FULL -> withDescriptions(views);
+            case PREVIEW -> views.stream().map(TodoResponse::fromView).collect(Collectors.toList());
+            case SUMMARY -> views.stream().map(view -> {
+                TodoResponse todo = TodoResponse.fromView(view);
+                todo.setDescriptionPreview(null);
+                todo.setDescriptionTruncated(null);
+                return todo;
+            }).collect(Collectors.toList());
+        };
+        attachTags(todos);
+        return todos;
+    }
+
+    /**
+     * 按过滤结果的顺序分批读取完整描述
+     */
+    private List<TodoResponse> withDescriptions(List<TodoPreviewView> views) {
+        List<Long> ids = views.stream().map(TodoPreviewView::getId).toList();
+        Map<Long, TodoListView> byId = new HashMap<>(ids.size() * 2);
+        int chunkSize = Math.max(1, lookupProperties.getChunkSize());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            todoRepository.findWithDescriptionByIdIn(ids.subList(from, Math.min(ids.size(), from + chunkSize)))
+                    .forEach(view -> byId.put(view.getId(), view));
+        }
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(TodoResponse::fromView)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 统计每个标签下的Todo数量，一次分组查询
+     * @return 按Todo数量降序的分面计数
+     */
+    @Transactional(readOnly = true)
+    public List<TagFacet> getFacets() {
+        return tagRepository.findFacets().stream()
+                .map(facet -> TagFacet.of(facet.getTag(), facet.getTotal(), facet.getCompleted()))
+                .toList();
+    }
+
+    /**
+     * 删除以id为根的子树中所有Todo的标签关联，需在删除闭包表路径之前调用
+     * @param id 子树根
+     */
+    public void removeSubtreeTags(Long id) {
+        todoTagRepository.deleteSubtreeTags(id);
+    }
+
+    /**
+     * 删除一批已删除Todo的标签关联，在批量删除之后调用
+     * @param todoIds 已删除的Todo ID
+     */
+    public void removeTags(Collection<Long> todoIds) {
+        todoTagRepository.deleteByTodoIdIn(todoIds);
+    }
+}
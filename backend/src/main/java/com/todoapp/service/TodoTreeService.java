@@ -0,0 +1,167 @@
+package com.todoapp.service;
+
+import com.todoapp.config.SubtaskProperties;
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.dto.TodoProgress;
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.dto.TodoTreeNode;
+import com.todoapp.entity.Todo;
+import com.todoapp.event.TodoChangedEvent;
+import com.todoapp.event.TodoChangedEvent.ChangeType;
+import com.todoapp.exception.TodoNotFoundException;
+import com.todoapp.repository.TodoClosureRepository;
+import com.todoapp.repository.TodoRepository;
+import com.todoapp.repository.TodoTreeView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 子任务业务逻辑服务
+ * 父子关系保存在todo_closure闭包表中：读取整棵子树是一次按祖先的范围查询，
+ * 移动和删除子树是与子树大小无关的固定条数的批量语句
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class TodoTreeService {
+
+    private static final Comparator<TodoTreeNode> BY_POSITION = Comparator
+            .comparing((TodoTreeNode node) -> node.getTodo().getPosition(),
+                    Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(node -> node.getTodo().getId());
+
+    private final TodoService todoService;
+    private final TodoRepository todoRepository;
+    private final TodoClosureRepository todoClosureRepository;
+    private final SubtaskProperties subtaskProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 在指定的Todo下创建子任务
+     * @param parentId 父任务ID
+     * @param request 创建请求
+     * @return 创建的子任务
+     * @throws TodoNotFoundException 当父任务不存在时
+     * @throws IllegalArgumentException 超过最大层数时
+     */
+    public TodoResponse createSubtask(Long parentId, TodoCreateRequest request) {
+        log.debug("Creating subtask under todo {} with title: {}", parentId, request.getTitle());
+
+        if (!todoRepository.existsById(parentId)) {
+            throw new TodoNotFoundException(parentId);
+        }
+        requireDepth(todoClosureRepository.findLevel(parentId) + 1);
+
+        TodoResponse created = todoService.createTodo(request);
+        todoClosureRepository.attachSubtree(created.getId(), parentId);
+        log.info("Subtask created successfully with id: {}, parent: {}", created.getId(), parentId);
+        return created;
+    }
+
+    /**
+     * 读取以指定Todo为根的整棵子树及各节点的完成进度
+     * 节点只执行一次查询读取，树结构和进度在内存中自底向上汇总
+     * @param id 子树根
+     * @return 根节点，子节点按手动排序
+     * @throws TodoNotFoundException 当Todo不存在时
+     */
+    @Transactional(readOnly = true)
+    public TodoTreeNode getSubtree(Long id) {
+        log.debug("Getting subtree of todo {}", id);
+
+        List<TodoTreeView> rows = todoRepository.findSubtree(id);
+        if (rows.isEmpty()) {
+            throw new TodoNotFoundException(id);
+        }
+
+        List<TodoTreeView> deepestFirst = new ArrayList<>(rows);
+        deepestFirst.sort(Comparator.comparingInt(TodoTreeView::getDepth).reversed());
+        Map<Long, TodoTreeNode> nodes = new HashMap<>(rows.size() * 2);
+        for (TodoTreeView row : deepestFirst) {
+            nodes.put(row.getId(), new TodoTreeNode(TodoResponse.fromView(row), row.getDepth(),
+                    TodoProgress.of(0, 0), new ArrayList<>()));
+        }
+        TodoTreeNode root = null;
+        for (TodoTreeView row : deepestFirst) {
+            TodoTreeNode node = nodes.get(row.getId());
+            // 后代都排在祖先之前，处理到某个节点时它的子节点已经汇总完毕
+            node.getChildren().sort(BY_POSITION);
+            summarize(node);
+            if (row.getDepth() == 0) {
+                root = node;
+            } else {
+                nodes.get(row.getParentId()).getChildren().add(node);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * 修改Todo的父任务，整棵子树随之移动
+     * @param id 待办事项ID
+     * @param parentId 新的父任务，null表示移为顶层Todo
+     * @return 移动后的Todo
+     * @throws TodoNotFoundException 当Todo或父任务不存在时
+     * @throws IllegalArgumentException 父任务是自身或自身的后代，或移动后超过最大层数时
+     */
+    public TodoResponse changeParent(Long id, Long parentId) {
+        log.debug("Moving todo {} under parent {}", id, parentId);
+
+        Todo todo = todoRepository.findById(id)
+                .orElseThrow(() -> new TodoNotFoundException(id));
+        if (parentId != null) {
+            if (parentId.equals(id) || todoClosureRepository.existsByIdAncestorIdAndIdDescendantId(id, parentId)) {
+                throw new IllegalArgumentException("A todo cannot be moved under itself or its subtasks");
+            }
+            if (!todoRepository.existsById(parentId)) {
+                throw new TodoNotFoundException(parentId);
+            }
+            requireDepth(todoClosureRepository.findLevel(parentId) + 1 + todoClosureRepository.findHeight(id));
+        }
+
+        int detached = todoClosureRepository.detachSubtree(id);
+        int attached = parentId != null ? todoClosureRepository.attachSubtree(id, parentId) : 0;
+        log.info("Todo {} moved under parent {}, {} paths removed, {} paths added", id, parentId, detached, attached);
+
+        TodoResponse response = TodoResponse.fromEntity(todo);
+        eventPublisher.publishEvent(TodoChangedEvent.of(ChangeType.MOVED, response));
+        return response;
+    }
+
+    private void requireDepth(int depth) {
+        if (depth > subtaskProperties.getMaxDepth()) {
+            throw new IllegalArgumentException("Subtasks cannot be nested deeper than " + subtaskProperties.getMaxDepth() + " levels");
+        }
+    }
+
+    /**
+     * 根据已汇总的子节点计算直接子任务进度和整棵子树的进度
+     */
+    private static void summarize(TodoTreeNode node) {
+        List<TodoTreeNode> children = node.getChildren();
+        if (children.isEmpty()) {
+            return;
+        }
+        long completedChildren = 0;
+        long total = 0;
+        long completed = 0;
+        for (TodoTreeNode child : children) {
+            boolean done = Boolean.TRUE.equals(child.getTodo().getCompleted());
+            completedChildren += done ? 1 : 0;
+            total += 1 + child.getDescendants().getTotal();
+            completed += (done ? 1 : 0) + child.getDescendants().getCompleted();
+        }
+        node.getTodo().setSubtasks(TodoProgress.of(children.size(), completedChildren));
+        node.setDescendants(TodoProgress.of(total, completed));
+    }
+}
@@ -0,0 +1,33 @@
+package com.todoapp.startup;
+
+import com.todoapp.config.StartupProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 训练运行结束监听器
+ * todo.startup.exit-on-ready=true时，应用就绪后关闭上下文并退出JVM，
+ * 配合-XX:ArchiveClassesAtExit把启动过程中加载的类写入AppCDS归档
+ */
+@Component
+@Slf4j
+public class ExitOnReadyListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final StartupProperties properties;
+
+    public ExitOnReadyListener(StartupProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!properties.isExitOnReady()) {
+            return;
+        }
+        log.info("Application ready after {} ms, exiting training run", event.getTimeTaken().toMillis());
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,140 @@
+package com.todoapp.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.config.StartupProperties;
+import com.todoapp.dto.ApiResponse;
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.dto.TodoFieldSet;
+import com.todoapp.dto.TodoProgress;
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.service.TodoService;
+import com.todoapp.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 就绪前预热
+ * ApplicationRunner在ApplicationReadyEvent之前执行，期间就绪探针（/actuator/health/readiness）仍返回REFUSING_TRAFFIC；
+ * 反复调用TodoService查询和TodoResponse的Jackson序列化，并通过本机HTTP请求走一遍完整的MVC链路，
+ * 让类加载和JIT编译发生在接入流量之前。只执行读操作和会被参数校验拒绝的写请求，不修改数据
+ */
+@Component
+@ConditionalOnProperty(prefix = "todo.startup.warm-up", name = "enabled", havingValue = "true")
+@Slf4j
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final List<String> HTTP_PATHS = List.of(
+            "/api/v1/todos", "/api/v1/todos?completed=false&fields=summary", "/api/v1/todos/stats");
+
+    /**
+     * 标题为空，会在参数校验阶段返回400，不会写入数据
+     */
+    private static final String INVALID_CREATE_BODY = "{\"title\":\"\",\"description\":\"warm-up\"}";
+
+    private final TodoService todoService;
+    private final ObjectMapper objectMapper;
+    private final StartupProperties properties;
+    private final Environment environment;
+
+    private volatile int completedIterations;
+
+    public WarmUpRunner(TodoService todoService, ObjectMapper objectMapper,
+                        StartupProperties properties, Environment environment) {
+        this.todoService = todoService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.environment = environment;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        StartupProperties.WarmUp warmUp = properties.getWarmUp();
+        long start = System.nanoTime();
+        long deadline = start + warmUp.getMaxDuration().toNanos();
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        HttpClient client = warmUp.isHttp() && port != null
+                ? HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build()
+                : null;
+        TodoResponse sample = sampleResponse();
+
+        int iteration = 0;
+        try {
+            for (; iteration < warmUp.getIterations() && System.nanoTime() < deadline; iteration++) {
+                warmServiceAndJson(sample);
+                if (client != null && !warmHttp(client, port)) {
+                    client = null;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            // 预热失败不影响启动，只是首批请求会慢一些
+            log.warn("Warm-up aborted after {} iterations: {}", iteration, ex.getMessage());
+        }
+        completedIterations = iteration;
+        log.info("Warm-up finished: {} iterations in {} ms", iteration, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 已完成的预热轮数
+     */
+    public int getCompletedIterations() {
+        return completedIterations;
+    }
+
+    private void warmServiceAndJson(TodoResponse sample) throws IOException {
+        List<TodoResponse> todos = todoService.getAllTodos(null, TodoFieldSet.PREVIEW, false);
+        todoService.getAllTodos(false, TodoFieldSet.SUMMARY, false);
+        todoService.getStats();
+        if (!todos.isEmpty()) {
+            todoService.getTodoById(todos.get(0).getId());
+        }
+
+        // 示例对象覆盖所有可选字段，真实数据为空时也能预热完整的序列化器
+        objectMapper.writeValueAsBytes(ApiResponse.success(todos));
+        objectMapper.writeValueAsBytes(ApiResponse.success(sample));
+        objectMapper.readValue(INVALID_CREATE_BODY, TodoCreateRequest.class);
+    }
+
+    /**
+     * @return HTTP预热是否可用，连接失败（例如server.address绑定了其他地址）时返回false
+     */
+    private boolean warmHttp(HttpClient client, int port) throws InterruptedException {
+        String baseUrl = "http://localhost:" + port;
+        try {
+            for (String path : HTTP_PATHS) {
+                client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                        HttpResponse.BodyHandlers.discarding());
+            }
+            client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/todos"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(INVALID_CREATE_BODY))
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return true;
+        } catch (IOException ex) {
+            log.warn("HTTP warm-up disabled, cannot reach {}: {}", baseUrl, ex.getMessage());
+            return false;
+        }
+    }
+
+    private static TodoResponse sampleResponse() {
+        LocalDateTime now = LocalDateTime.now();
+        return new TodoResponse(0L, "warm-up", "warm-up description", "warm-up", true,
+                false, now, now, TenantContext.DEFAULT_TENANT, false, "i", TodoProgress.of(2, 1),
+                List.of("warm-up"), now, 1L);
+    }
+}
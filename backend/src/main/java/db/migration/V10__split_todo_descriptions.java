@@ -0,0 +1,131 @@
+package db.migration;
+
+import com.todoapp.entity.Todo;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 把旧版本留在todos.description中的描述拆分到todo_descriptions
+ * 描述拆分前的数据库由V1补上description_id等列，旧行的description_id为空，
+ * 接口中看不到这些描述。本迁移为每行插入描述并回填description_id、预览和长度，按id分批提交，
+ * 没有description列（新建的数据库）时什么也不做。description列保留，确认后可手动删除
+ */
+@Slf4j
+public class V10__split_todo_descriptions extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String SELECT_PENDING = "SELECT id, description FROM todos "
+            + "WHERE id > ? AND description IS NOT NULL AND description_id IS NULL ORDER BY id LIMIT " + BATCH_SIZE;
+
+    private static final String INSERT_DESCRIPTION = "INSERT INTO todo_descriptions (body) VALUES (?)";
+
+    private static final String UPDATE_TODO = "UPDATE todos SET description_id = ?, description_preview = ?, "
+            + "description_length = ? WHERE id = ? AND description_id IS NULL";
+
+    /**
+     * 按批提交，大表上不形成一个长事务；中断后重新执行会从未回填的行继续
+     */
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection con = context.getConnection();
+        if (!hasLegacyDescriptionColumn(con)) {
+            return;
+        }
+        boolean autoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        try {
+            long lastId = 0;
+            int migrated = 0;
+            while (true) {
+                List<Row> rows = selectPending(con, lastId);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                migrateBatch(con, rows);
+                con.commit();
+                migrated += rows.size();
+                lastId = rows.get(rows.size() - 1).id();
+            }
+            log.info("Moved {} legacy todo descriptions into todo_descriptions", migrated);
+        } catch (SQLException ex) {
+            con.rollback();
+            throw ex;
+        } finally {
+            con.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static boolean hasLegacyDescriptionColumn(Connection con) throws SQLException {
+        DatabaseMetaData metaData = con.getMetaData();
+        for (String[] names : new String[][]{{"todos", "description"}, {"TODOS", "DESCRIPTION"}}) {
+            try (ResultSet columns = metaData.getColumns(con.getCatalog(), null, names[0], names[1])) {
+                if (columns.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static List<Row> selectPending(Connection con, long lastId) throws SQLException {
+        List<Row> rows = new ArrayList<>(BATCH_SIZE);
+        try (PreparedStatement ps = con.prepareStatement(SELECT_PENDING)) {
+            ps.setLong(1, lastId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new Row(rs.getLong("id"), rs.getString("description")));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static void migrateBatch(Connection con, List<Row> rows) throws SQLException {
+        long[] descriptionIds = new long[rows.size()];
+        try (PreparedStatement ps = con.prepareStatement(INSERT_DESCRIPTION, Statement.RETURN_GENERATED_KEYS)) {
+            for (Row row : rows) {
+                ps.setString(1, row.description());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                for (int i = 0; i < rows.size(); i++) {
+                    if (!keys.next()) {
+                        throw new SQLException("Missing generated key for description of todo " + rows.get(i).id());
+                    }
+                    descriptionIds[i] = keys.getLong(1);
+                }
+            }
+        }
+        try (PreparedStatement ps = con.prepareStatement(UPDATE_TODO)) {
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                ps.setLong(1, descriptionIds[i]);
+                ps.setString(2, Todo.preview(row.description()));
+                ps.setInt(3, row.description().length());
+                ps.setLong(4, row.id());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private record Row(long id, String description) {
+    }
+}
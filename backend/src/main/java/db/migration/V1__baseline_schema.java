@@ -0,0 +1,152 @@
+package db.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 基线表结构，兼容MySQL和H2
+ * 引入版本化迁移前的数据库（只有ddl-auto生成的todos表，没有tenant_id和描述拆分的列）通过baseline-on-migrate
+ * 标记为版本0，仍会执行本迁移：已存在的表不重建，缺少的列和索引补齐，其余表新建。
+ * MySQL不支持ADD COLUMN IF NOT EXISTS和CREATE INDEX IF NOT EXISTS，列和索引是否存在按元数据判断
+ */
+@Slf4j
+public class V1__baseline_schema extends BaseJavaMigration {
+
+    private static final List<String> TABLES = List.of(
+            """
+            CREATE TABLE IF NOT EXISTS todo_descriptions (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                body TEXT NOT NULL
+            )""",
+            """
+            CREATE TABLE IF NOT EXISTS todos (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                tenant_id VARCHAR(64) DEFAULT 'default' NOT NULL,
+                title VARCHAR(255) NOT NULL,
+                description_id BIGINT,
+                description_preview VARCHAR(120),
+                description_length INT,
+                completed BOOLEAN DEFAULT FALSE NOT NULL,
+                created_at TIMESTAMP NOT NULL,
+                updated_at TIMESTAMP NOT NULL
+            )""",
+            """
+            CREATE TABLE IF NOT EXISTS archived_todos (
+                id BIGINT PRIMARY KEY,
+                tenant_id VARCHAR(64) NOT NULL,
+                title VARCHAR(255) NOT NULL,
+                description_preview VARCHAR(120),
+                description_length INT,
+                description_gzip BLOB,
+                completed BOOLEAN DEFAULT TRUE NOT NULL,
+                created_at TIMESTAMP NOT NULL,
+                updated_at TIMESTAMP NOT NULL,
+                archived_at TIMESTAMP NOT NULL
+            )""",
+            """
+            CREATE TABLE IF NOT EXISTS cache_invalidations (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                node_id VARCHAR(64) NOT NULL,
+                change_type VARCHAR(32) NOT NULL,
+                todo_id BIGINT,
+                tenant VARCHAR(64) NOT NULL,
+                created_at TIMESTAMP NOT NULL
+            )""",
+            """
+            CREATE TABLE IF NOT EXISTS outbox_events (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                todo_id BIGINT,
+                tenant VARCHAR(64) NOT NULL,
+                event_type VARCHAR(32) NOT NULL,
+                payload TEXT,
+                created_at TIMESTAMP NOT NULL,
+                published_at TIMESTAMP NULL,
+                attempts INT DEFAULT 0 NOT NULL
+            )""",
+            """
+            CREATE TABLE IF NOT EXISTS import_checkpoints (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                job_id VARCHAR(64) NOT NULL,
+                chunk_index INT NOT NULL,
+                imported_count INT NOT NULL,
+                rejected_count INT NOT NULL,
+                committed_at TIMESTAMP NOT NULL,
+                CONSTRAINT uk_import_checkpoints_job_chunk UNIQUE (job_id, chunk_index)
+            )""");
+
+    /**
+     * 旧版todos表缺少的列名和定义；已有行的tenant_id取默认租户
+     */
+    private static final List<String[]> TODO_COLUMNS = List.of(
+            new String[]{"tenant_id", "VARCHAR(64) DEFAULT 'default' NOT NULL"},
+            new String[]{"description_id", "BIGINT"},
+            new String[]{"description_preview", "VARCHAR(120)"},
+            new String[]{"description_length", "INT"});
+
+    /**
+     * 索引名、表名、列；旧版todos表上的单列索引已经存在，由V2删除
+     */
+    private static final List<String[]> INDEXES = List.of(
+            new String[]{"idx_todos_completed", "todos", "completed"},
+            new String[]{"idx_todos_created_at", "todos", "created_at"},
+            new String[]{"idx_todos_title", "todos", "title"},
+            new String[]{"idx_todos_tenant_created_at", "todos", "tenant_id, created_at"},
+            new String[]{"idx_archived_todos_tenant_created_at", "archived_todos", "tenant_id, created_at"},
+            new String[]{"idx_cache_invalidations_created_at", "cache_invalidations", "created_at"},
+            new String[]{"idx_outbox_events_published_at", "outbox_events", "published_at, id"});
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection con = context.getConnection();
+        try (Statement statement = con.createStatement()) {
+            for (String table : TABLES) {
+                statement.execute(table);
+            }
+            for (String[] column : TODO_COLUMNS) {
+                if (!hasColumn(con, "todos", column[0])) {
+                    log.info("Adding missing column todos.{} to legacy schema", column[0]);
+                    statement.execute("ALTER TABLE todos ADD COLUMN " + column[0] + " " + column[1]);
+                }
+            }
+            for (String[] index : INDEXES) {
+                if (!hasIndex(con, index[1], index[0])) {
+                    statement.execute("CREATE INDEX " + index[0] + " ON " + index[1] + " (" + index[2] + ")");
+                }
+            }
+        }
+    }
+
+    private static boolean hasColumn(Connection con, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = con.getMetaData();
+        for (String[] names : new String[][]{{table, column}, {table.toUpperCase(), column.toUpperCase()}}) {
+            try (ResultSet columns = metaData.getColumns(con.getCatalog(), null, names[0], names[1])) {
+                if (columns.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasIndex(Connection con, String table, String index) throws SQLException {
+        DatabaseMetaData metaData = con.getMetaData();
+        for (String name : new String[]{table, table.toUpperCase()}) {
+            try (ResultSet indexes = metaData.getIndexInfo(con.getCatalog(), null, name, false, false)) {
+                while (indexes.next()) {
+                    if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
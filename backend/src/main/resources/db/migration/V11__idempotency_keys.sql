@@ -0,0 +1,15 @@
+-- 幂等键：多节点部署（todo.idempotency.store=jdbc）时保存首个请求的响应
+-- status为空表示首个请求仍在执行
+-- 兼容MySQL和H2
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(64) PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    status INT NULL,
+    content_type VARCHAR(100),
+    body BLOB,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
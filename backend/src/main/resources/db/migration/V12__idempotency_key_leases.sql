@@ -0,0 +1,4 @@
+-- 幂等键执行租约：首个请求所在节点崩溃时status一直为空，租约过期后由相同键的后续请求接管，而不是等到expires_at
+-- 兼容MySQL和H2
+
+ALTER TABLE idempotency_keys ADD COLUMN lease_expires_at TIMESTAMP NULL;
@@ -0,0 +1,8 @@
+-- 新建Todo的排序键分配：每个租户一行，记录最近一次排到最前的键
+-- 并发的新建在该行上加锁排队，列表为空或事务快照看不到刚提交的新建时也不会得到相同的键
+-- 兼容MySQL和H2
+
+CREATE TABLE IF NOT EXISTS todo_position_heads (
+    tenant_id VARCHAR(64) PRIMARY KEY,
+    position VARCHAR(64)
+);
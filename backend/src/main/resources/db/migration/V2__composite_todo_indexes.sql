@@ -0,0 +1,13 @@
+-- 按实际查询形态重建todos索引
+-- 所有查询都带租户条件（@TenantId），列表按completed过滤、按created_at倒序
+-- title的前缀通配LIKE无法使用索引，completed、created_at的单列索引也被租户条件架空
+
+-- 列表/统计/批量删除：tenant_id = ? AND completed = ? ORDER BY created_at DESC，索引内完成排序和计数
+CREATE INDEX idx_todos_tenant_completed_created_at ON todos (tenant_id, completed, created_at, id);
+
+-- 归档任务跨租户扫描：completed = TRUE AND updated_at < ?
+CREATE INDEX idx_todos_completed_updated_at ON todos (completed, updated_at, id);
+
+DROP INDEX idx_todos_completed ON todos;
+DROP INDEX idx_todos_created_at ON todos;
+DROP INDEX idx_todos_title ON todos;
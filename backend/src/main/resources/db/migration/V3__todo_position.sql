@@ -0,0 +1,5 @@
+-- 手动排序键：0-9a-z组成的三十六进制小数，按字典序即列表顺序
+-- 已有数据的键为空，由应用启动时的TodoRebalancer按创建时间倒序补齐；索引在db/online中在线创建
+-- 兼容MySQL和H2
+
+ALTER TABLE todos ADD COLUMN position VARCHAR(64);
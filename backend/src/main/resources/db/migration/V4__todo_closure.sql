@@ -0,0 +1,12 @@
+-- 子任务闭包表：每对祖先/后代一行，depth为两者之间的层数，不保存自身行
+-- 主键前缀(ancestor_id)读取整棵子树，(descendant_id, depth)查找祖先和直接父任务
+-- 兼容MySQL和H2
+
+CREATE TABLE IF NOT EXISTS todo_closure (
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX idx_todo_closure_descendant_depth ON todo_closure (descendant_id, depth);
@@ -0,0 +1,18 @@
+-- 标签表与Todo-标签关联表
+-- (tenant_id, name)唯一约束用于按名称查找标签；关联表主键按Todo读取标签，(tag_id, todo_id)按标签过滤Todo
+-- 兼容MySQL和H2
+
+CREATE TABLE IF NOT EXISTS tags (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL DEFAULT 'default',
+    name VARCHAR(50) NOT NULL,
+    CONSTRAINT uk_tags_tenant_name UNIQUE (tenant_id, name)
+);
+
+CREATE TABLE IF NOT EXISTS todo_tags (
+    todo_id BIGINT NOT NULL,
+    tag_id BIGINT NOT NULL,
+    PRIMARY KEY (todo_id, tag_id)
+);
+
+CREATE INDEX idx_todo_tags_tag_todo ON todo_tags (tag_id, todo_id);
@@ -0,0 +1,13 @@
+-- 截止时间与提醒：remind_at为待触发的提醒时间，已完成或提醒已触发时为null；索引在db/online中在线创建
+-- reminder_leases为提醒调度的租约，每个分片一行，持有者负责加载并触发该分片的提醒
+-- 兼容MySQL和H2
+
+ALTER TABLE todos ADD COLUMN due_at TIMESTAMP NULL;
+ALTER TABLE todos ADD COLUMN remind_at TIMESTAMP NULL;
+ALTER TABLE archived_todos ADD COLUMN due_at TIMESTAMP NULL;
+
+CREATE TABLE IF NOT EXISTS reminder_leases (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(64) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
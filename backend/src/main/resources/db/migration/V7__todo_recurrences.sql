@@ -0,0 +1,22 @@
+-- 重复规则：规则只保存一次，Todo实例（occurrence）由后台任务按滚动窗口分批生成
+-- next_at为下一次尚未生成的时间，规则结束后为null；(next_at, id)索引供后台任务按时间顺序领取到期的规则
+-- todos.recurrence_id指向生成它的规则，索引在db/online中在线创建
+-- 兼容MySQL和H2
+
+CREATE TABLE IF NOT EXISTS todo_recurrences (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL DEFAULT 'default',
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    rule VARCHAR(255) NOT NULL,
+    starts_at TIMESTAMP NOT NULL,
+    ends_at TIMESTAMP NULL,
+    next_at TIMESTAMP NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_todo_recurrences_next_at ON todo_recurrences (next_at, id);
+
+ALTER TABLE todos ADD COLUMN recurrence_id BIGINT NULL;
+ALTER TABLE archived_todos ADD COLUMN recurrence_id BIGINT NULL;
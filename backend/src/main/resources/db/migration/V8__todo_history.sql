@@ -0,0 +1,26 @@
+-- Todo变更历史：todo_events只追加，每个Todo的事件按version从1连续编号，changes只保存本次变化的字段的新值
+-- todo_snapshots每隔todo.history.snapshot-interval个版本保存一次完整状态，按时间点重建时从不晚于目标版本的最近快照开始回放
+-- (todo_id, created_at, version)索引用于把时间点换算为版本；Todo被删除或归档后历史仍然保留
+-- 兼容MySQL和H2
+
+CREATE TABLE IF NOT EXISTS todo_events (
+    todo_id BIGINT NOT NULL,
+    version INT NOT NULL,
+    tenant_id VARCHAR(64) NOT NULL DEFAULT 'default',
+    event_type VARCHAR(32) NOT NULL,
+    actor VARCHAR(64),
+    changes TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (todo_id, version)
+);
+
+CREATE INDEX idx_todo_events_todo_created ON todo_events (todo_id, created_at, version);
+
+CREATE TABLE IF NOT EXISTS todo_snapshots (
+    todo_id BIGINT NOT NULL,
+    version INT NOT NULL,
+    tenant_id VARCHAR(64) NOT NULL DEFAULT 'default',
+    state TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (todo_id, version)
+);
@@ -0,0 +1,13 @@
+-- 发件箱投递租约与死信：每个分片同一时间只由持有outbox_leases租约的实例投递，多实例不会重复投递，同一Todo的事件保持有序
+-- 单独重试仍失败的事件记录attempts、last_attempt_at和last_error，达到最大尝试次数后标记dead_lettered_at，不再阻塞后续事件
+-- 兼容MySQL和H2
+
+ALTER TABLE outbox_events ADD COLUMN last_attempt_at TIMESTAMP NULL;
+ALTER TABLE outbox_events ADD COLUMN last_error VARCHAR(512) NULL;
+ALTER TABLE outbox_events ADD COLUMN dead_lettered_at TIMESTAMP NULL;
+
+CREATE TABLE IF NOT EXISTS outbox_leases (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(64) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
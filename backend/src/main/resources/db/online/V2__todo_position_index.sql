@@ -0,0 +1,4 @@
+-- 手动排序与按排序键分页：tenant_id = ? AND position > ? ORDER BY position, id
+-- ${online_ddl}在MySQL上展开为ALGORITHM=INPLACE LOCK=NONE，其他数据库为空
+
+CREATE INDEX idx_todos_tenant_position ON todos (tenant_id, position, id)${online_ddl};
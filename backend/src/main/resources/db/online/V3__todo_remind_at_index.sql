@@ -0,0 +1,4 @@
+-- 提醒调度加载时间窗口：remind_at < ? ORDER BY remind_at, id，只有待触发的行有非空值
+-- ${online_ddl}在MySQL上展开为ALGORITHM=INPLACE LOCK=NONE，其他数据库为空
+
+CREATE INDEX idx_todos_remind_at ON todos (remind_at, id)${online_ddl};
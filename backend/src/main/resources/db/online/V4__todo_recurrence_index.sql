@@ -0,0 +1,4 @@
+-- 重复规则的实例：完成一次后按recurrence_id = ? AND completed = FALSE判断是否还有未完成的实例，删除规则时按recurrence_id解除关联
+-- ${online_ddl}在MySQL上展开为ALGORITHM=INPLACE LOCK=NONE，其他数据库为空
+
+CREATE INDEX idx_todos_recurrence ON todos (recurrence_id, completed)${online_ddl};
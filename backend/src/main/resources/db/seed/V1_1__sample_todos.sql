@@ -0,0 +1,19 @@
+-- 初始化示例数据
+-- 只在todos表为空时写入（已有数据的库标记基线后也会执行本脚本，但不会插入任何数据）
+-- 生产环境可从spring.flyway.locations中去掉classpath:db/seed
+-- 兼容H2和MySQL；完整描述存放在todo_descriptions表，todos表只保存预览和长度
+
+INSERT INTO todo_descriptions (body)
+SELECT seed.body
+FROM (SELECT '完成Spring Boot基础教程' AS body
+      UNION ALL SELECT '编写技术架构文档'
+      UNION ALL SELECT '审查待办事项应用代码') seed
+WHERE NOT EXISTS (SELECT 1 FROM todos);
+
+INSERT INTO todos (title, description_id, description_preview, description_length, completed, created_at, updated_at)
+SELECT seed.title, (SELECT MAX(d.id) FROM todo_descriptions d WHERE d.body = seed.body),
+       seed.body, seed.body_length, seed.completed, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM (SELECT '学习Spring Boot' AS title, '完成Spring Boot基础教程' AS body, 17 AS body_length, FALSE AS completed
+      UNION ALL SELECT '完成项目文档', '编写技术架构文档', 8, FALSE
+      UNION ALL SELECT '代码审查', '审查待办事项应用代码', 10, TRUE) seed
+WHERE NOT EXISTS (SELECT 1 FROM todos);
@@ -0,0 +1,128 @@
+package com.todoapp.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TodoCreateRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 已完成Todo归档集成测试
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive;DB_CLOSE_DELAY=-1",
+        "todo.archive.enabled=true",
+        "todo.archive.cron=-",
+        "todo.archive.older-than=7d",
+        "todo.archive.batch-size=2",
+        "todo.archive.pause-between-batches-ms=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoArchiverIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TodoArchiver todoArchiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM archived_todos");
+        jdbcTemplate.update("DELETE FROM todos");
+        jdbcTemplate.update("DELETE FROM todo_descriptions");
+    }
+
+    @Test
+    void shouldMoveOldCompletedTodosToArchiveInBatches() throws Exception {
+        // Given - 5个旧的已完成Todo，1个最近完成，1个未完成
+        String longDescription = "归档描述".repeat(200);
+        for (int i = 0; i < 5; i++) {
+            long id = create("Old done " + i, i == 0 ? longDescription : null);
+            complete(id, LocalDateTime.now().minusDays(30));
+        }
+        complete(create("Recently done", null), LocalDateTime.now());
+        create("Pending", null);
+
+        // When
+        int archived = todoArchiver.archiveCompleted();
+
+        // Then
+        assertEquals(5, archived);
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos", Integer.class));
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM archived_todos", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo_descriptions", Integer.class));
+        byte[] compressed = jdbcTemplate.queryForObject(
+                "SELECT description_gzip FROM archived_todos WHERE title = 'Old done 0'", byte[].class);
+        assertTrue(compressed.length < longDescription.getBytes().length / 10);
+        assertEquals(0, todoArchiver.archiveCompleted());
+    }
+
+    @Test
+    void shouldReadBothTiersWhenIncludeArchived() throws Exception {
+        // Given
+        String description = "Kept forever ".repeat(20);
+        long archivedId = create("Archived", description);
+        complete(archivedId, LocalDateTime.now().minusDays(30));
+        create("Active", null);
+        todoArchiver.archiveCompleted();
+
+        // When & Then - 默认只读热数据
+        mockMvc.perform(get("/api/v1/todos"))
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].title").value("Active"));
+        mockMvc.perform(get("/api/v1/todos/{id}", archivedId))
+                .andExpect(status().isNotFound());
+
+        // When & Then - includeArchived合并两层数据
+        mockMvc.perform(get("/api/v1/todos").param("includeArchived", "true"))
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].title").value("Active"))
+                .andExpect(jsonPath("$.data[0].archived").doesNotExist())
+                .andExpect(jsonPath("$.data[1].title").value("Archived"))
+                .andExpect(jsonPath("$.data[1].archived").value(true))
+                .andExpect(jsonPath("$.data[1].descriptionTruncated").value(true));
+        mockMvc.perform(get("/api/v1/todos").param("includeArchived", "true").param("completed", "false"))
+                .andExpect(jsonPath("$.data", hasSize(1)));
+        mockMvc.perform(get("/api/v1/todos/{id}", archivedId).param("includeArchived", "true"))
+                .andExpect(jsonPath("$.data.description").value(description))
+                .andExpect(jsonPath("$.data.archived").value(true));
+        mockMvc.perform(get("/api/v1/todos").param("includeArchived", "true").param("fields", "full"))
+                .andExpect(jsonPath("$.data[1].description").value(description));
+    }
+
+    private long create(String title, String description) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoCreateRequest(title, description))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data").path("id").asLong();
+    }
+
+    private void complete(long id, LocalDateTime completedAt) {
+        jdbcTemplate.update("UPDATE todos SET completed = TRUE, updated_at = ? WHERE id = ?",
+                Timestamp.valueOf(completedAt), id);
+    }
+}
@@ -0,0 +1,51 @@
+package com.todoapp.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BloomFilter测试
+ */
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 100_000;
+
+    @Test
+    void shouldNeverReportAddedIdsAsAbsent() {
+        // Given
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+
+        // When
+        for (long id = 1; id <= INSERTIONS; id++) {
+            filter.add(id);
+        }
+
+        // Then
+        for (long id = 1; id <= INSERTIONS; id++) {
+            assertTrue(filter.mightContain(id), "added id " + id);
+        }
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearTarget() {
+        // Given
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        for (long id = 1; id <= INSERTIONS; id++) {
+            filter.add(id);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (long id = INSERTIONS + 1; id <= INSERTIONS * 2L; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        double rate = (double) falsePositives / INSERTIONS;
+        assertTrue(rate < 0.02, "false positive rate " + rate);
+        assertEquals(7, filter.getHashCount());
+    }
+}
@@ -0,0 +1,69 @@
+package com.todoapp.cache;
+
+import com.todoapp.TodoBackendApplication;
+import com.todoapp.controller.TodoController;
+import com.todoapp.dto.TodoCreateRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 集群缓存失效集成测试
+ * 在同一JVM中启动两个共享H2数据库的节点，验证一个节点的写入会清除另一个节点的本地缓存
+ */
+class ClusterCacheInvalidationIntegrationTest {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void shouldInvalidateOtherNodeCacheAfterWrite() throws Exception {
+        // Given
+        TodoController controllerA = nodeA.getBean(TodoController.class);
+        TodoController controllerB = nodeB.getBean(TodoController.class);
+        long before = controllerB.getStats().getData().getTotal();
+
+        // When
+        controllerA.createTodo(new TodoCreateRequest("Written on node A", null));
+        long writtenAt = System.nanoTime();
+
+        // Then
+        long total = before;
+        while (total == before && System.nanoTime() - writtenAt < 5_000_000_000L) {
+            Thread.sleep(10);
+            total = controllerB.getStats().getData().getTotal();
+        }
+        long elapsedMs = (System.nanoTime() - writtenAt) / 1_000_000;
+        assertEquals(before + 1, total);
+        assertTrue(elapsedMs < 2000, "invalidation took " + elapsedMs + "ms");
+        assertNotEquals(nodeA.getBean(CacheInvalidationBus.class).getNodeId(),
+                nodeB.getBean(CacheInvalidationBus.class).getNodeId());
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(TodoBackendApplication.class)
+                .profiles("test")
+                .run("--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:mem:cluster;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--todo.coalescing.window-ms=600000",
+                        "--todo.cache.invalidation.enabled=true",
+                        "--todo.cache.invalidation.poll-interval-ms=20");
+    }
+}
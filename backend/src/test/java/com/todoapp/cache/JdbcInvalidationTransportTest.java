@@ -0,0 +1,154 @@
+package com.todoapp.cache;
+
+import com.todoapp.config.CacheInvalidationProperties;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JdbcInvalidationTransport测试
+ * 用未提交的事务模拟提交晚于后续id的消息
+ */
+class JdbcInvalidationTransportTest {
+
+    private static final String INSERT =
+            "INSERT INTO cache_invalidations (node_id, change_type, todo_id, tenant, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbc;
+    private ShardFanOutExecutor shardExecutor;
+    private CacheInvalidationProperties properties;
+    private JdbcInvalidationTransport transport;
+    private final List<InvalidationMessage> received = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:invalidation_transport;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE cache_invalidations (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "node_id VARCHAR(64) NOT NULL, change_type VARCHAR(32) NOT NULL, todo_id BIGINT, "
+                + "tenant VARCHAR(64) NOT NULL, created_at TIMESTAMP NOT NULL)");
+        properties = new CacheInvalidationProperties();
+        properties.setPollIntervalMs(3_600_000);
+        properties.setBatchSize(10);
+        shardExecutor = new ShardFanOutExecutor(List.of(dataSource));
+        transport = new JdbcInvalidationTransport(null, shardExecutor, properties);
+        transport.start(received::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.stop();
+        shardExecutor.destroy();
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void shouldDeliverMessageWhoseTransactionCommitsLate() throws Exception {
+        // Given - id较小的消息在一个长事务中，id较大的消息已提交且写入时间早已过去
+        try (Connection slow = dataSource.getConnection()) {
+            slow.setAutoCommit(false);
+            insert(slow, 1L);
+            insert(2L, System.currentTimeMillis() - 60_000);
+            transport.poll(received::add);
+            assertEquals(List.of(2L), todoIds());
+
+            // When
+            slow.commit();
+        }
+        transport.poll(received::add);
+
+        // Then
+        assertEquals(List.of(2L, 1L), todoIds());
+        transport.poll(received::add);
+        assertEquals(2, received.size());
+    }
+
+    @Test
+    void shouldDrainBurstLargerThanBatchInOnePoll() {
+        // Given
+        for (long i = 1; i <= 35; i++) {
+            insert(i, System.currentTimeMillis());
+        }
+
+        // When
+        transport.poll(received::add);
+
+        // Then
+        assertEquals(35, received.size());
+        assertEquals(35L, todoIds().get(34));
+    }
+
+    @Test
+    void shouldGiveUpRolledBackIdsOnlyAfterGapWindow() throws Exception {
+        // Given
+        properties.setGapWindow(20);
+        try (Connection rolledBack = dataSource.getConnection()) {
+            rolledBack.setAutoCommit(false);
+            insert(rolledBack, 0L);
+            rolledBack.rollback();
+        }
+        insert(1L, System.currentTimeMillis());
+        transport.poll(received::add);
+
+        // When & Then - 空洞一直被重新查询，不影响后续消息
+        for (long i = 2; i <= 40; i++) {
+            insert(i, System.currentTimeMillis());
+            transport.poll(received::add);
+        }
+        assertEquals(40, received.size());
+        assertFalse(todoIds().contains(0L));
+    }
+
+    @Test
+    void shouldGiveUpIdsWaitingLongerThanGapTimeout() throws Exception {
+        // Given - 写入量很小，空洞之后分配的id远不到gap-window
+        properties.setGapTimeoutMs(50);
+        try (Connection slow = dataSource.getConnection()) {
+            slow.setAutoCommit(false);
+            insert(slow, 1L);
+            insert(2L, System.currentTimeMillis());
+            transport.poll(received::add);
+
+            // When - 超时后放弃空洞，之后才提交的消息不再投递
+            Thread.sleep(100);
+            transport.poll(received::add);
+            slow.commit();
+        }
+        transport.poll(received::add);
+
+        // Then
+        assertEquals(List.of(2L), todoIds());
+    }
+
+    private void insert(long todoId, long createdAtMillis) {
+        jdbc.update(INSERT, "node-a", "UPDATED", todoId, "default", new Timestamp(createdAtMillis));
+    }
+
+    private static void insert(Connection connection, long todoId) throws Exception {
+        try (PreparedStatement ps = connection.prepareStatement(INSERT)) {
+            ps.setString(1, "node-a");
+            ps.setString(2, "UPDATED");
+            ps.setLong(3, todoId);
+            ps.setString(4, "default");
+            ps.setTimestamp(5, new Timestamp(System.currentTimeMillis()));
+            ps.executeUpdate();
+        }
+    }
+
+    private List<Long> todoIds() {
+        return received.stream().map(InvalidationMessage::todoId).toList();
+    }
+}
@@ -0,0 +1,159 @@
+package com.todoapp.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.dto.TodoUpdateRequest;
+import com.todoapp.event.TodoChangedEvent.ChangeType;
+import com.todoapp.importer.ImportChunkWriter;
+import com.todoapp.importer.ImportRow;
+import com.todoapp.service.TodoService;
+import com.todoapp.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 不存在ID快速判定集成测试
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:negativelookup;DB_CLOSE_DELAY=-1",
+        "todo.negative-lookup.enabled=true",
+        "todo.negative-lookup.expected-ids=1000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoIdFilterIntegrationTest {
+
+    private static final long ABSENT_ID = 987_654_321L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TodoIdFilter todoIdFilter;
+
+    @Autowired
+    private ImportChunkWriter chunkWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SpyBean
+    private TodoService todoService;
+
+    @BeforeEach
+    void setUp() {
+        todoIdFilter.rebuild();
+        clearInvocations(todoService);
+    }
+
+    @Test
+    void shouldAnswerAbsentIdsWithoutCallingTheService() throws Exception {
+        // Given
+        double before = shortCircuits();
+        String update = objectMapper.writeValueAsString(new TodoUpdateRequest("Renamed", null, null));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/todos/{id}", ABSENT_ID))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Todo not found with id: " + ABSENT_ID));
+        mockMvc.perform(put("/api/v1/todos/{id}", ABSENT_ID).contentType(MediaType.APPLICATION_JSON).content(update))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(patch("/api/v1/todos/{id}/toggle", ABSENT_ID)).andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/v1/todos/{id}", ABSENT_ID)).andExpect(status().isNotFound());
+
+        assertEquals(before + 4, shortCircuits());
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    void shouldFindTodosCreatedAfterTheLastRebuild() throws Exception {
+        // Given
+        long id = create("Created after rebuild");
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/todos/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.title").value("Created after rebuild"));
+        mockMvc.perform(get("/api/v1/todos").param("ids", id + "," + ABSENT_ID))
+                .andExpect(jsonPath("$.data.todos[0].id").value(id))
+                .andExpect(jsonPath("$.data.missingIds[0]").value(ABSENT_ID));
+    }
+
+    @Test
+    void shouldAddImportedIdsWithoutWaitingForRebuild() throws Exception {
+        // Given
+        chunkWriter.write("negative-lookup", 0,
+                List.of(ImportRow.parsed(1, new TodoCreateRequest("Imported", null), false, null)), 0);
+        long importedId = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM todos WHERE title = 'Imported'", Long.class);
+
+        // When & Then - 导入的ID随事件加入过滤器，不存在的ID仍直接判定
+        assertTrue(todoIdFilter.mightContain(importedId));
+        assertFalse(todoIdFilter.mightContain(ABSENT_ID));
+        mockMvc.perform(get("/api/v1/todos/{id}", importedId)).andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldStopShortCircuitingAfterRemoteImportUntilRebuilt() {
+        // Given - 其他节点的导入消息不携带ID
+        todoIdFilter.onRemoteInvalidation(
+                new InvalidationMessage("other-node", ChangeType.IMPORTED, null, TenantContext.DEFAULT_TENANT));
+
+        // When & Then - 重建前不做判定
+        assertTrue(todoIdFilter.mightContain(ABSENT_ID));
+
+        // When & Then - 重建后恢复判定
+        todoIdFilter.rebuild();
+        assertFalse(todoIdFilter.mightContain(ABSENT_ID));
+    }
+
+    @Test
+    void shouldForgetDeletedIdsOnRebuild() throws Exception {
+        // Given
+        long id = create("Deleted soon");
+        mockMvc.perform(delete("/api/v1/todos/{id}", id)).andExpect(status().isOk());
+
+        // When - 上次重建后新建的ID会再合并进一次重建，第二次重建才按扫描结果清除
+        todoIdFilter.rebuild();
+        todoIdFilter.rebuild();
+
+        // Then
+        assertFalse(todoIdFilter.mightContain(id));
+        mockMvc.perform(get("/api/v1/todos/{id}", id)).andExpect(status().isNotFound());
+    }
+
+    private long create(String title) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoCreateRequest(title, null))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data").path("id").asLong();
+    }
+
+    private double shortCircuits() {
+        return meterRegistry.counter("todo.negative-lookup.short-circuits").count();
+    }
+}
@@ -0,0 +1,51 @@
+package com.todoapp.config;
+
+import com.todoapp.dto.ApiResponse;
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.entity.Todo;
+import com.todoapp.repository.TodoPreviewView;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBindingProcessor;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.projection.TargetAware;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 原生镜像运行时提示测试
+ */
+class NativeHintsConfigTest {
+
+    @Test
+    void shouldRegisterEntitiesProjectionsAndMigrations() {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+
+        // When
+        new NativeHintsConfig.TodoRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Todo.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies()
+                .forInterfaces(TodoPreviewView.class, TargetAware.class, SpringProxy.class, DecoratingProxy.class)
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/V2__composite_todo_indexes.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/online/V2__todo_position_index.sql").test(hints));
+    }
+
+    @Test
+    void shouldRegisterDtosForJsonBinding() {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+
+        // When
+        new RegisterReflectionForBindingProcessor().registerReflectionHints(hints.reflection(), NativeHintsConfig.class);
+
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ApiResponse.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(TodoResponse.class, "getDescriptionPreview").test(hints));
+    }
+}
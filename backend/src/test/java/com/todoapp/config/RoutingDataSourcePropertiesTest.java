@@ -0,0 +1,27 @@
+package com.todoapp.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RoutingDataSourceProperties测试
+ */
+class RoutingDataSourcePropertiesTest {
+
+    @Test
+    void shouldKeepPasswordOutOfToString() {
+        // Given
+        RoutingDataSourceProperties.Replica replica = new RoutingDataSourceProperties.Replica();
+        replica.setName("replica-1");
+        replica.setUrl("jdbc:mysql://replica-1:3306/todoapp");
+        replica.setPassword("s3cret");
+
+        // When
+        String text = replica.toString();
+
+        // Then
+        assertTrue(text.contains("replica-1:3306"));
+        assertFalse(text.contains("s3cret"));
+    }
+}
@@ -2,6 +2,7 @@ package com.todoapp.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.dto.TodoLookupRequest;
 import com.todoapp.dto.TodoUpdateRequest;
 import com.todoapp.entity.Todo;
 import com.todoapp.repository.TodoRepository;
@@ -16,6 +17,10 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -264,4 +269,98 @@ class TodoControllerIntegrationTest {
                 .andExpect(jsonPath("$.code").value(400))
                 .andExpect(jsonPath("$.message").value("Validation failed"));
     }
+    
+    @Test
+    @Order(12)
+    void shouldGetTodoSummariesWithoutDescription() throws Exception {
+        // Given
+        todoRepository.save(new Todo("Todo 1", "Description 1"));
+        
+        // When & Then
+        mockMvc.perform(get("/api/v1/todos").param("fields", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].title").value("Todo 1"))
+                .andExpect(jsonPath("$.data[0].description").doesNotExist());
+        
+        mockMvc.perform(get("/api/v1/todos").param("fields", "everything"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @Order(13)
+    void shouldListDescriptionPreviewAndFetchFullBodyOnDemand() throws Exception {
+        // Given
+        String longDescription = "长".repeat(Todo.DESCRIPTION_PREVIEW_LENGTH * 20);
+        Todo saved = todoRepository.save(new Todo("Long Todo", longDescription));
+        
+        // When & Then - 列表只返回定长预览
+        mockMvc.perform(get("/api/v1/todos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].description").doesNotExist())
+                .andExpect(jsonPath("$.data[0].descriptionPreview").value("长".repeat(Todo.DESCRIPTION_PREVIEW_LENGTH)))
+                .andExpect(jsonPath("$.data[0].descriptionTruncated").value(true));
+        
+        // When & Then - 详情和fields=full返回完整描述
+        mockMvc.perform(get("/api/v1/todos/{id}", saved.getId()))
+                .andExpect(jsonPath("$.data.description").value(longDescription));
+        mockMvc.perform(get("/api/v1/todos").param("fields", "full"))
+                .andExpect(jsonPath("$.data[0].description").value(longDescription))
+                .andExpect(jsonPath("$.data[0].descriptionPreview").doesNotExist());
+    }
+    
+    @Test
+    @Order(14)
+    void shouldLookupTodosByIdsInRequestOrder() throws Exception {
+        // Given
+        Todo first = todoRepository.save(new Todo("First", "Description 1"));
+        Todo second = todoRepository.save(new Todo("Second", "Description 2"));
+        long missingId = second.getId() + 1000;
+        
+        // When & Then - GET ?ids=
+        mockMvc.perform(get("/api/v1/todos")
+                .param("ids", second.getId() + "," + missingId + "," + first.getId() + "," + second.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.todos", hasSize(2)))
+                .andExpect(jsonPath("$.data.todos[0].title").value("Second"))
+                .andExpect(jsonPath("$.data.todos[0].description").value("Description 2"))
+                .andExpect(jsonPath("$.data.todos[1].title").value("First"))
+                .andExpect(jsonPath("$.data.missingIds", contains((int) missingId)));
+        
+        // When & Then - POST /lookup
+        TodoLookupRequest request = new TodoLookupRequest(List.of(first.getId(), second.getId()), false);
+        mockMvc.perform(post("/api/v1/todos/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.todos[*].title", contains("First", "Second")))
+                .andExpect(jsonPath("$.data.missingIds", hasSize(0)));
+    }
+    
+    @Test
+    @Order(15)
+    void shouldRejectInvalidLookupRequests() throws Exception {
+        // When & Then - 空ID列表
+        mockMvc.perform(post("/api/v1/todos/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+        
+        // When & Then - 超过max-ids
+        String tooMany = LongStream.rangeClosed(1, 1001)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+        mockMvc.perform(get("/api/v1/todos").param("ids", tooMany))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @Order(16)
+    void shouldNotExposeAdminApiByDefault() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/admin/todos"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/v1/admin/todos/completed"))
+                .andExpect(status().isNotFound());
+    }
 }
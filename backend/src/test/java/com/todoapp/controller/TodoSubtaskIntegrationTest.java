@@ -0,0 +1,193 @@
+package com.todoapp.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.dto.TodoParentRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 子任务集成测试
+ * 表结构由版本化迁移脚本创建，闭包表的原生语句在MySQL兼容模式下执行
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:subtasks;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "todo.subtasks.max-depth=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoSubtaskIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc.perform(delete("/api/v1/todos/all")).andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldLoadSubtreeWithCompletionRollUp() throws Exception {
+        // Given - root -> (a -> (a1, a2), b)，a2和b已完成
+        long root = create("root");
+        long a = createSubtask(root, "a");
+        long b = createSubtask(root, "b");
+        long a1 = createSubtask(a, "a1");
+        long a2 = createSubtask(a, "a2");
+        toggle(a2);
+        toggle(b);
+
+        // When
+        JsonNode tree = data(mockMvc.perform(get("/api/v1/todos/{id}/subtree", root))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        // Then - 子任务按手动排序，新建的在前
+        assertEquals(root, tree.path("todo").path("id").asLong());
+        assertEquals(2, tree.path("todo").path("subtasks").path("total").asLong());
+        assertEquals(1, tree.path("todo").path("subtasks").path("completed").asLong());
+        assertEquals(4, tree.path("descendants").path("total").asLong());
+        assertEquals(2, tree.path("descendants").path("completed").asLong());
+        assertEquals(List.of(b, a), childIds(tree));
+        JsonNode nodeA = tree.path("children").get(1);
+        assertEquals(1, nodeA.path("depth").asInt());
+        assertEquals(List.of(a2, a1), childIds(nodeA));
+        assertEquals(2, nodeA.path("children").get(0).path("depth").asInt());
+        assertTrue(nodeA.path("children").get(0).path("todo").path("subtasks").isMissingNode());
+
+        mockMvc.perform(get("/api/v1/todos").param("sort", "position").param("completed", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.todos[?(@.id == %d)].subtasks.total", root).value(2))
+                .andExpect(jsonPath("$.data.todos[?(@.id == %d)].subtasks.completed", root).value(1));
+        mockMvc.perform(get("/api/v1/todos/{id}/subtree", 999_999L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldMoveWholeSubtreeAndRejectCycles() throws Exception {
+        // Given - root -> (a -> a1, b)
+        long root = create("root");
+        long a = createSubtask(root, "a");
+        long b = createSubtask(root, "b");
+        long a1 = createSubtask(a, "a1");
+
+        // When - 把a连同a1移到b下
+        changeParent(a, b).andExpect(status().isOk());
+
+        // Then
+        assertEquals(3, depth(root, a1));
+        assertEquals(2, depth(b, a1));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todo_closure WHERE ancestor_id = ? AND depth = 1 AND descendant_id = ?",
+                Integer.class, root, a));
+        changeParent(b, a1).andExpect(status().isBadRequest());
+        changeParent(a, a).andExpect(status().isBadRequest());
+        // 超过最大层数：root(0) -> b -> a -> a1(3)之下不能再有子任务
+        mockMvc.perform(post("/api/v1/todos/{id}/subtasks", a1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoCreateRequest("too deep", null))))
+                .andExpect(status().isBadRequest());
+
+        // When - 移为顶层
+        changeParent(a, null).andExpect(status().isOk());
+
+        // Then
+        assertEquals(List.of(1), jdbcTemplate.queryForList(
+                "SELECT depth FROM todo_closure WHERE descendant_id = ?", Integer.class, a1));
+        assertEquals(List.of(b), childIds(data(mockMvc.perform(get("/api/v1/todos/{id}/subtree", root))
+                .andReturn().getResponse().getContentAsString())));
+    }
+
+    @Test
+    void shouldDeleteSubtreeAndSubtasksOfCompletedTodos() throws Exception {
+        // Given
+        long root = create("root");
+        long a = createSubtask(root, "a");
+        createSubtask(a, "a1");
+        long done = create("done");
+        createSubtask(done, "pending child");
+        toggle(done);
+        long keep = create("keep");
+
+        // When
+        mockMvc.perform(delete("/api/v1/todos/{id}", root)).andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/todos/completed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.deletedCount").value(2));
+
+        // Then - 只剩keep，闭包表和描述表中没有遗留
+        assertEquals(List.of(keep), jdbcTemplate.queryForList("SELECT id FROM todos", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo_closure", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo_descriptions", Integer.class));
+    }
+
+    private List<Long> childIds(JsonNode node) {
+        List<Long> ids = new ArrayList<>();
+        node.path("children").forEach(child -> ids.add(child.path("todo").path("id").asLong()));
+        return ids;
+    }
+
+    private int depth(long ancestorId, long descendantId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT depth FROM todo_closure WHERE ancestor_id = ? AND descendant_id = ?",
+                Integer.class, ancestorId, descendantId);
+    }
+
+    private ResultActions changeParent(long id, Long parentId) throws Exception {
+        return mockMvc.perform(patch("/api/v1/todos/{id}/parent", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoParentRequest(parentId))));
+    }
+
+    private void toggle(long id) throws Exception {
+        mockMvc.perform(patch("/api/v1/todos/{id}/toggle", id)).andExpect(status().isOk());
+    }
+
+    private long create(String title) throws Exception {
+        return id(mockMvc.perform(post("/api/v1/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoCreateRequest(title, title + " description"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private long createSubtask(long parentId, String title) throws Exception {
+        return id(mockMvc.perform(post("/api/v1/todos/{id}/subtasks", parentId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoCreateRequest(title, title + " description"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private long id(String body) throws Exception {
+        return data(body).path("id").asLong();
+    }
+
+    private JsonNode data(String body) throws Exception {
+        return objectMapper.readTree(body).path("data");
+    }
+}
@@ -0,0 +1,200 @@
+package com.todoapp.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.dto.TodoUpdateRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 标签集成测试
+ * 表结构由版本化迁移脚本创建，关联表的原生语句在MySQL兼容模式下执行
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tags;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoTagIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc.perform(delete("/api/v1/todos/all")).andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldFilterByAllOrAnyTagsAndCountFacets() throws Exception {
+        // Given - 标签名去除空白、转小写并去重
+        long report = create("report", List.of(" Work ", "urgent", "work"));
+        long groceries = create("groceries", List.of("home"));
+        long deploy = create("deploy", List.of("work"));
+        create("untagged", null);
+        mockMvc.perform(patch("/api/v1/todos/{id}/toggle", deploy)).andExpect(status().isOk());
+
+        // When / Then
+        assertEquals(List.of(report), tagged("work,urgent", "all", null));
+        assertEquals(List.of(deploy, report), tagged("work,urgent", "any", null));
+        assertEquals(List.of(groceries, report), tagged("home,urgent", null, null));
+        assertEquals(List.of(report), tagged("work", "any", false));
+        assertEquals(List.of(), tagged("work,missing", "all", null));
+        mockMvc.perform(get("/api/v1/todos").param("tags", "work").param("match", "some"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/todos/tags"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].tag", contains("work", "home", "urgent")))
+                .andExpect(jsonPath("$.data[0].total").value(2))
+                .andExpect(jsonPath("$.data[0].completed").value(1))
+                .andExpect(jsonPath("$.data[0].pending").value(1));
+    }
+
+    @Test
+    void shouldReturnTagsInListsAndReplaceOnUpdate() throws Exception {
+        // Given
+        long id = create("report", List.of("work", "urgent"));
+        long other = create("other", null);
+
+        // Then - 列表中的标签按名称排序，没有标签时为空数组
+        mockMvc.perform(get("/api/v1/todos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[?(@.id == %d)].tags[*]", id).value(contains("urgent", "work")))
+                .andExpect(jsonPath("$.data[?(@.id == %d)].tags.length()", other).value(0));
+
+        // When - 不传tags时保留原标签
+        update(id, new TodoUpdateRequest("renamed", null, null));
+
+        // Then
+        mockMvc.perform(get("/api/v1/todos/{id}", id))
+                .andExpect(jsonPath("$.data.tags", contains("urgent", "work")));
+
+        // When
+        update(id, new TodoUpdateRequest(null, null, null, List.of("Home"), null));
+
+        // Then
+        mockMvc.perform(get("/api/v1/todos/{id}", id))
+                .andExpect(jsonPath("$.data.tags", contains("home")));
+        assertEquals(List.of(), tagged("work", "any", null));
+    }
+
+    @Test
+    void shouldRemoveTagLinksOfDeletedTodos() throws Exception {
+        // Given
+        long root = create("root", List.of("work"));
+        mockMvc.perform(post("/api/v1/todos/{id}/subtasks", root)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoCreateRequest("child", null, List.of("work"), null))))
+                .andExpect(status().isCreated());
+        long done = create("done", List.of("home"));
+        mockMvc.perform(patch("/api/v1/todos/{id}/toggle", done)).andExpect(status().isOk());
+        create("keep", List.of("home"));
+
+        // When
+        mockMvc.perform(delete("/api/v1/todos/{id}", root)).andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/todos/completed")).andExpect(status().isOk());
+
+        // Then
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo_tags", Integer.class));
+        mockMvc.perform(get("/api/v1/todos/tags"))
+                .andExpect(jsonPath("$.data[*].tag", contains("home")))
+                .andExpect(jsonPath("$.data[0].total").value(1));
+    }
+
+    @Test
+    void shouldRejectTagsCombinedWithOtherQueries() throws Exception {
+        // Given
+        long id = create("tagged", List.of("work"));
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/todos").param("ids", String.valueOf(id)).param("tags", "work"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400));
+        mockMvc.perform(get("/api/v1/todos").param("sort", "position").param("tags", "work"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/todos").param("ids", String.valueOf(id)).param("sort", "position"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/todos").param("tags", "work").param("includeArchived", "true"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldApplyFieldsToTaggedTodos() throws Exception {
+        // Given
+        String description = "描述".repeat(100);
+        mockMvc.perform(post("/api/v1/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new TodoCreateRequest("described", description, List.of("work"), null))))
+                .andExpect(status().isCreated());
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/todos").param("tags", "work").param("fields", "full"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].description").value(description))
+                .andExpect(jsonPath("$.data[0].tags", contains("work")));
+        mockMvc.perform(get("/api/v1/todos").param("tags", "work").param("fields", "summary"))
+                .andExpect(jsonPath("$.data[0].description").doesNotExist())
+                .andExpect(jsonPath("$.data[0].descriptionPreview").doesNotExist());
+        mockMvc.perform(get("/api/v1/todos").param("tags", "work"))
+                .andExpect(jsonPath("$.data[0].descriptionPreview").exists())
+                .andExpect(jsonPath("$.data[0].descriptionTruncated").value(true));
+    }
+
+    private List<Long> tagged(String tags, String match, Boolean completed) throws Exception {
+        var request = get("/api/v1/todos").param("tags", tags);
+        if (match != null) {
+            request.param("match", match);
+        }
+        if (completed != null) {
+            request.param("completed", completed.toString());
+        }
+        JsonNode data = objectMapper.readTree(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).path("data");
+        List<Long> ids = new ArrayList<>();
+        data.forEach(todo -> ids.add(todo.path("id").asLong()));
+        return ids;
+    }
+
+    private void update(long id, TodoUpdateRequest request) throws Exception {
+        mockMvc.perform(put("/api/v1/todos/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+    }
+
+    private long create(String title, List<String> tags) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoCreateRequest(title, null, tags, null))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data").path("id").asLong();
+    }
+}
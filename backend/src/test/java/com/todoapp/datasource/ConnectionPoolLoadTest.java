@@ -0,0 +1,176 @@
+package com.todoapp.datasource;
+
+import com.todoapp.config.ConnectionPoolProperties;
+import com.todoapp.dto.TodoFieldSet;
+import com.todoapp.entity.Todo;
+import com.todoapp.repository.TodoRepository;
+import com.todoapp.service.TodoService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 连接池调优与自适应大小负载测试
+ * 每次调用在事务内持有连接5ms，模拟远程数据库的往返耗时；连接池从2个连接起步
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:poolload;DB_CLOSE_DELAY=-1",
+        "todo.datasource.pool.maximum-pool-size=2",
+        "todo.datasource.pool.minimum-idle=2",
+        "todo.datasource.pool.adaptive.enabled=true",
+        "todo.datasource.pool.adaptive.min-size=2",
+        "todo.datasource.pool.adaptive.max-size=12",
+        "todo.datasource.pool.adaptive.scale-up-step=4",
+        "todo.datasource.pool.adaptive.scale-down-after-intervals=1",
+        "todo.datasource.pool.adaptive.interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class ConnectionPoolLoadTest {
+
+    private static final int CLIENTS = 16;
+    private static final long ROUND_TRIP_MS = 5;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Autowired
+    private AdaptivePoolSizer sizer;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+        for (int i = 0; i < 20; i++) {
+            todoRepository.save(new Todo("Load todo " + i, null));
+        }
+    }
+
+    @Test
+    void shouldGrowPoolUnderContentionAndRaiseThroughput() throws Exception {
+        // Given
+        dataSource.getHikariConfigMXBean().setMaximumPoolSize(2);
+        dataSource.getHikariPoolMXBean().softEvictConnections();
+        double baseline = runLoad(1500, false);
+
+        // When
+        runLoad(1500, true);
+        double adapted = runLoad(1500, false);
+
+        // Then
+        int poolSize = dataSource.getHikariConfigMXBean().getMaximumPoolSize();
+        assertTrue(poolSize > 2, "pool should grow under contention, size=" + poolSize);
+        assertTrue(adapted > baseline * 1.5,
+                String.format("throughput should rise: %.0f ops/s -> %.0f ops/s", baseline, adapted));
+        assertNotNull(meterRegistry.find("hikaricp.connections.acquire").tag("pool", "dataSource").timer());
+        assertTrue(meterRegistry.counter("todo.datasource.pool.resizes", "pool", "dataSource", "direction", "up")
+                .count() > 0);
+    }
+
+    @Test
+    void shouldShrinkIdlePoolBackToMinimum() {
+        // Given
+        dataSource.getHikariConfigMXBean().setMaximumPoolSize(8);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            sizer.adjust();
+        }
+
+        // Then
+        assertEquals(2, dataSource.getHikariConfigMXBean().getMaximumPoolSize());
+    }
+
+    @Test
+    void shouldApplyDriverCachingOnlyToMySqlPools() {
+        // Given
+        ConnectionPoolTuner tuner = new ConnectionPoolTuner(new ConnectionPoolProperties(),
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        HikariDataSource mysql = new HikariDataSource();
+        mysql.setJdbcUrl("jdbc:mysql://localhost:3306/todoapp");
+        mysql.addDataSourceProperty("prepStmtCacheSize", "500");
+        HikariDataSource h2 = new HikariDataSource();
+        h2.setJdbcUrl("jdbc:h2:mem:tuner");
+
+        // When
+        tuner.tune(mysql, "mysql");
+        tuner.tune(h2, "h2");
+
+        // Then
+        assertEquals("true", mysql.getDataSourceProperties().getProperty("cachePrepStmts"));
+        assertEquals("true", mysql.getDataSourceProperties().getProperty("useServerPrepStmts"));
+        assertEquals("true", mysql.getDataSourceProperties().getProperty("rewriteBatchedStatements"));
+        assertEquals("500", mysql.getDataSourceProperties().getProperty("prepStmtCacheSize"));
+        assertTrue(h2.getDataSourceProperties().isEmpty());
+        assertEquals(2, tuner.getPools().size());
+    }
+
+    /**
+     * 以CLIENTS个线程持续调用TodoService，返回每秒完成的调用数
+     * @param adjusting 负载期间是否每200ms触发一次自适应调节
+     */
+    private double runLoad(long durationMs, boolean adjusting) throws InterruptedException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong completed = new AtomicLong();
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.add(Thread.ofPlatform().start(() -> {
+                while (running.get()) {
+                    readOnly.executeWithoutResult(status -> {
+                        todoService.getAllTodos(false, TodoFieldSet.SUMMARY, false);
+                        sleep(ROUND_TRIP_MS);
+                    });
+                    completed.incrementAndGet();
+                }
+            }));
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + durationMs * 1_000_000;
+        while (System.nanoTime() < deadline) {
+            sleep(200);
+            if (adjusting) {
+                sizer.adjust();
+            }
+        }
+        running.set(false);
+        for (Thread client : clients) {
+            client.join();
+        }
+        return completed.get() * 1e9 / (System.nanoTime() - start);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
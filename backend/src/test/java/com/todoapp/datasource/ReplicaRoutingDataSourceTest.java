@@ -0,0 +1,126 @@
+package com.todoapp.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReplicaRoutingDataSource测试
+ * 使用两个内嵌H2实例分别模拟主库和副本
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final long MAX_LAG_MS = 1000;
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReplicaNode replica;
+    private ReplicaHealthChecker healthChecker;
+    private JdbcTemplate routedJdbc;
+    private TransactionTemplate readOnlyTx;
+    private TransactionTemplate writeTx;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("routing_primary");
+        DataSource replicaDataSource = h2("routing_replica");
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replicaDataSource);
+        primaryJdbc.execute("CREATE TABLE node (name VARCHAR(32))");
+        primaryJdbc.update("INSERT INTO node VALUES ('primary')");
+        replicaJdbc.execute("CREATE TABLE node (name VARCHAR(32))");
+        replicaJdbc.update("INSERT INTO node VALUES ('replica')");
+        replicaJdbc.execute("CREATE TABLE replication_lag (lag_ms BIGINT)");
+        replicaJdbc.update("INSERT INTO replication_lag VALUES (0)");
+
+        replica = new ReplicaNode("replica-0", replicaDataSource, "SELECT lag_ms FROM replication_lag");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primary, List.of(replica), MAX_LAG_MS, new SimpleMeterRegistry());
+        healthChecker = new ReplicaHealthChecker(routing);
+
+        DataSource lazy = new LazyConnectionDataSourceProxy(routing);
+        routedJdbc = new JdbcTemplate(lazy);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(lazy);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        writeTx = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWritesContext.clear();
+        primaryJdbc.execute("DROP ALL OBJECTS");
+        replicaJdbc.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        assertEquals("replica", readOnlyTx.execute(status -> currentNode()));
+    }
+
+    @Test
+    void shouldRouteWriteTransactionsToPrimary() {
+        assertEquals("primary", writeTx.execute(status -> currentNode()));
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaLagExceedsLimit() {
+        // Given
+        replicaJdbc.update("UPDATE replication_lag SET lag_ms = ?", MAX_LAG_MS * 10);
+
+        // When
+        healthChecker.checkReplicas();
+
+        // Then
+        assertTrue(replica.isHealthy());
+        assertEquals(MAX_LAG_MS * 10, replica.getLagMs());
+        assertEquals("primary", readOnlyTx.execute(status -> currentNode()));
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaIsUnhealthyAndRecover() {
+        // Given
+        replicaJdbc.execute("DROP TABLE replication_lag");
+
+        // When
+        healthChecker.checkReplicas();
+
+        // Then
+        assertFalse(replica.isHealthy());
+        assertEquals("primary", readOnlyTx.execute(status -> currentNode()));
+
+        // 副本恢复后重新接收读流量
+        replicaJdbc.execute("CREATE TABLE replication_lag (lag_ms BIGINT)");
+        replicaJdbc.update("INSERT INTO replication_lag VALUES (10)");
+        healthChecker.checkReplicas();
+        assertEquals("replica", readOnlyTx.execute(status -> currentNode()));
+    }
+
+    @Test
+    void shouldReadFromPrimaryForStickySession() {
+        // Given
+        ReadYourWritesContext.requirePrimary();
+
+        // When & Then
+        assertEquals("primary", readOnlyTx.execute(status -> currentNode()));
+    }
+
+    private String currentNode() {
+        return routedJdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,208 @@
+package com.todoapp.datasource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.admin.AdminAccessFilter;
+import com.todoapp.tenant.TenantFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 分片集成测试
+ * 使用三个内嵌H2数据库作为分片
+ */
+@SpringBootTest(properties = {
+        "todo.sharding.enabled=true",
+        "todo.sharding.shards[0].url=jdbc:h2:mem:shard0;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "todo.sharding.shards[0].username=sa",
+        "todo.sharding.shards[1].url=jdbc:h2:mem:shard1;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "todo.sharding.shards[1].username=sa",
+        "todo.sharding.shards[2].url=jdbc:h2:mem:shard2;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "todo.sharding.shards[2].username=sa",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "todo.admin.enabled=true",
+        "todo.admin.token=" + ShardingIntegrationTest.ADMIN_TOKEN
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ShardingIntegrationTest {
+
+    static final String ADMIN_TOKEN = "test-admin-token";
+
+    private static final List<String> TENANTS = List.of("alpha", "bravo", "charlie", "delta", "echo", "foxtrot");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    private List<JdbcTemplate> shards;
+
+    @BeforeEach
+    void setUp() {
+        shards = new ArrayList<>();
+        for (DataSource shard : shardRoutingDataSource.getShards()) {
+            JdbcTemplate jdbc = new JdbcTemplate(shard);
+            jdbc.update("DELETE FROM todos");
+            shards.add(jdbc);
+        }
+    }
+
+    @Test
+    void shouldStoreEachTenantOnItsOwnShard() throws Exception {
+        // Given
+        ShardRouter router = shardRoutingDataSource.getRouter();
+        Set<Integer> usedShards = new HashSet<>();
+
+        // When
+        for (String tenant : TENANTS) {
+            create(tenant, tenant + " todo");
+            usedShards.add(router.shardFor(tenant));
+        }
+
+        // Then
+        assertTrue(usedShards.size() > 1, "test tenants should spread across shards");
+        for (String tenant : TENANTS) {
+            int shard = router.shardFor(tenant);
+            for (int i = 0; i < shards.size(); i++) {
+                Integer count = shards.get(i).queryForObject(
+                        "SELECT COUNT(*) FROM todos WHERE tenant_id = ?", Integer.class, tenant);
+                assertEquals(i == shard ? 1 : 0, count, "tenant " + tenant + " on shard " + i);
+            }
+        }
+    }
+
+    @Test
+    void shouldIsolateTenantsOnSameShard() throws Exception {
+        // Given
+        String[] sameShard = tenantsOnSameShard();
+        long foreignId = create(sameShard[0], "foreign todo");
+        create(sameShard[1], "own todo");
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/todos").header(TenantFilter.TENANT_HEADER, sameShard[1]))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].title").value("own todo"));
+        mockMvc.perform(get("/api/v1/todos/stats").header(TenantFilter.TENANT_HEADER, sameShard[1]))
+                .andExpect(jsonPath("$.data.total").value(1));
+        mockMvc.perform(get("/api/v1/todos/{id}", foreignId).header(TenantFilter.TENANT_HEADER, sameShard[1]))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldFanOutAdminOperationsAcrossShards() throws Exception {
+        // Given
+        for (String tenant : TENANTS) {
+            create(tenant, tenant + " pending");
+            long doneId = create(tenant, tenant + " done");
+            mockMvc.perform(patch("/api/v1/todos/{id}/toggle", doneId).header(TenantFilter.TENANT_HEADER, tenant))
+                    .andExpect(status().isOk());
+        }
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/admin/todos/stats").header(AdminAccessFilter.ADMIN_TOKEN_HEADER, ADMIN_TOKEN))
+                .andExpect(jsonPath("$.data.total").value(TENANTS.size() * 2))
+                .andExpect(jsonPath("$.data.completed").value(TENANTS.size()))
+                .andExpect(jsonPath("$.data.pending").value(TENANTS.size()));
+        mockMvc.perform(get("/api/v1/admin/todos").header(AdminAccessFilter.ADMIN_TOKEN_HEADER, ADMIN_TOKEN))
+                .andExpect(jsonPath("$.data", hasSize(TENANTS.size() * 2)))
+                .andExpect(jsonPath("$.data[0].title").value("foxtrot done"));
+        mockMvc.perform(delete("/api/v1/admin/todos/completed").header(AdminAccessFilter.ADMIN_TOKEN_HEADER, ADMIN_TOKEN))
+                .andExpect(jsonPath("$.data.deletedCount").value(TENANTS.size()));
+        mockMvc.perform(get("/api/v1/admin/todos").header(AdminAccessFilter.ADMIN_TOKEN_HEADER, ADMIN_TOKEN))
+                .andExpect(jsonPath("$.data", hasSize(TENANTS.size())))
+                .andExpect(jsonPath("$.data[*].completed", everyItem(is(false))));
+    }
+
+    @Test
+    void shouldAllocateTodoIdsFromEachShardsOwnRange() throws Exception {
+        // Given
+        ShardRouter router = shardRoutingDataSource.getRouter();
+        Set<Long> ids = new HashSet<>();
+
+        // When
+        for (String tenant : TENANTS) {
+            for (int i = 0; i < 3; i++) {
+                ids.add(create(tenant, tenant + " todo " + i));
+            }
+        }
+
+        // Then
+        assertEquals(TENANTS.size() * 3, ids.size());
+        for (String tenant : TENANTS) {
+            int shard = router.shardFor(tenant);
+            List<Long> shardIds = shards.get(shard).queryForList(
+                    "SELECT id FROM todos WHERE tenant_id = ?", Long.class, tenant);
+            for (long id : shardIds) {
+                assertEquals(shard, id >> ShardRouter.ID_RANGE_BITS, "todo " + id + " of " + tenant);
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectAdminRequestsWithoutTokenOrFromBrowsers() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/admin/todos"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(delete("/api/v1/admin/todos/completed").header(AdminAccessFilter.ADMIN_TOKEN_HEADER, "wrong"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/admin/todos/stats")
+                        .header(AdminAccessFilter.ADMIN_TOKEN_HEADER, ADMIN_TOKEN)
+                        .header("Origin", "http://localhost:3000"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(options("/api/v1/admin/todos/completed")
+                        .header("Origin", "http://localhost:3000")
+                        .header("Access-Control-Request-Method", "DELETE"))
+                .andExpect(status().isForbidden());
+    }
+
+    private long create(String tenant, String title) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/todos")
+                        .header(TenantFilter.TENANT_HEADER, tenant)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoCreateRequest(title, null))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.tenantId").value(tenant))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        return json.path("data").path("id").asLong();
+    }
+
+    private String[] tenantsOnSameShard() {
+        ShardRouter router = shardRoutingDataSource.getRouter();
+        for (int i = 0; ; i++) {
+            String first = "tenant-" + i;
+            for (int j = i + 1; j < i + 20; j++) {
+                String second = "tenant-" + j;
+                if (router.shardFor(first) == router.shardFor(second)) {
+                    return new String[]{first, second};
+                }
+            }
+        }
+    }
+}
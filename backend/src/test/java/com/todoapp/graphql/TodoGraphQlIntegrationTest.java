@@ -0,0 +1,128 @@
+package com.todoapp.graphql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.GraphQlRequest;
+import com.todoapp.dto.TodoFieldSet;
+import com.todoapp.entity.Todo;
+import com.todoapp.repository.TodoRepository;
+import com.todoapp.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * GraphQL接口集成测试
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:graphql;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoGraphQlIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @SpyBean
+    private TodoService todoService;
+
+    private Todo first;
+    private Todo second;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+        first = todoRepository.save(new Todo("First", "First description"));
+        second = todoRepository.save(new Todo("Second", "Second description"));
+        clearInvocations(todoService);
+    }
+
+    @Test
+    void shouldFetchTodosAndStatsInOneRequestWithoutReadingDescriptions() throws Exception {
+        // When & Then
+        graphql("{ todos { id title completed } stats { total pending } }")
+                .andExpect(jsonPath("$.errors").doesNotExist())
+                .andExpect(jsonPath("$.data.todos", hasSize(2)))
+                .andExpect(jsonPath("$.data.todos[0].title").value("Second"))
+                .andExpect(jsonPath("$.data.todos[0].description").doesNotExist())
+                .andExpect(jsonPath("$.data.stats.total").value(2))
+                .andExpect(jsonPath("$.data.stats.pending").value(2))
+                .andExpect(jsonPath("$.data.stats.completed").doesNotExist());
+
+        verify(todoService).getAllTodos(null, TodoFieldSet.SUMMARY, false);
+        verify(todoService).countTodos(null);
+        verify(todoService).countTodos(false);
+        verify(todoService, never()).countTodos(true);
+    }
+
+    @Test
+    void shouldReadFullDescriptionOnlyWhenSelected() throws Exception {
+        // When & Then
+        graphql("{ todos(completed: false) { title description } }")
+                .andExpect(jsonPath("$.data.todos[*].description",
+                        containsInAnyOrder("First description", "Second description")));
+
+        verify(todoService).getAllTodos(false, TodoFieldSet.FULL, false);
+    }
+
+    @Test
+    void shouldBatchAndCacheLookupsWithinOneRequest() throws Exception {
+        // Given
+        String query = "{ a: todo(id: " + first.getId() + ") { title } "
+                + "b: todo(id: " + second.getId() + ") { title } "
+                + "c: todo(id: " + first.getId() + ") { id } "
+                + "missing: todo(id: 999999) { id } "
+                + "byIds: todosByIds(ids: [" + second.getId() + ", 999999]) { title } }";
+
+        // When & Then
+        graphql(query)
+                .andExpect(jsonPath("$.errors").doesNotExist())
+                .andExpect(jsonPath("$.data.a.title").value("First"))
+                .andExpect(jsonPath("$.data.b.title").value("Second"))
+                .andExpect(jsonPath("$.data.c.id").value(String.valueOf(first.getId())))
+                .andExpect(jsonPath("$.data.missing").value(nullValue()))
+                .andExpect(jsonPath("$.data.byIds[0].title").value("Second"))
+                .andExpect(jsonPath("$.data.byIds[1]").value(nullValue()));
+
+        verify(todoService, times(1)).lookupTodos(argThat(ids -> ids.size() == 3), eq(false));
+    }
+
+    @Test
+    void shouldRejectQueriesOverComplexityOrDepthLimit() throws Exception {
+        // Given
+        String fields = "id title description descriptionPreview completed createdAt updatedAt";
+
+        // When & Then
+        graphql("{ a: todos { " + fields + " } b: todos { " + fields + " } }")
+                .andExpect(jsonPath("$.errors[0].message", containsString("complexity")))
+                .andExpect(jsonPath("$.data").doesNotExist());
+        graphql("{ __schema { types { fields { type { ofType { name } } } } } }")
+                .andExpect(jsonPath("$.errors[0].message", containsString("depth")));
+
+        verify(todoService, never()).getAllTodos(any(), any(), anyBoolean());
+    }
+
+    private ResultActions graphql(String query) throws Exception {
+        return mockMvc.perform(post("/api/v1/graphql")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GraphQlRequest(query))))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,194 @@
+package com.todoapp.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.dto.TodoUpdateRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 变更历史集成测试
+ * 表结构由迁移脚本创建，每5个版本保存一次快照
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:history;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "todo.migration.online.enabled=true",
+        "todo.migration.online.async=false",
+        "todo.history.snapshot-interval=5"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoHistoryIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc.perform(delete("/api/v1/todos/all")).andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldRecordWhoChangedWhatAndWhen() throws Exception {
+        // Given
+        long id = create("alice", new TodoCreateRequest("Draft", "first version"));
+
+        // When
+        update("bob", id, new TodoUpdateRequest("Final", null, null));
+        mockMvc.perform(patch("/api/v1/todos/{id}/toggle", id).header(TodoHistoryWriter.ACTOR_HEADER, "carol"))
+                .andExpect(status().isOk());
+
+        // Then - 每个事件只包含变化的字段
+        mockMvc.perform(get("/api/v1/todos/{id}/history", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.events.length()").value(3))
+                .andExpect(jsonPath("$.data.events[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.data.events[0].actor").value("alice"))
+                .andExpect(jsonPath("$.data.events[0].changes.title.from").value(nullValue()))
+                .andExpect(jsonPath("$.data.events[0].changes.title.to").value("Draft"))
+                .andExpect(jsonPath("$.data.events[1].type").value("UPDATED"))
+                .andExpect(jsonPath("$.data.events[1].actor").value("bob"))
+                .andExpect(jsonPath("$.data.events[1].changes.length()").value(1))
+                .andExpect(jsonPath("$.data.events[1].changes.title.from").value("Draft"))
+                .andExpect(jsonPath("$.data.events[1].changes.title.to").value("Final"))
+                .andExpect(jsonPath("$.data.events[2].actor").value("carol"))
+                .andExpect(jsonPath("$.data.events[2].changes.completed.from").value(false))
+                .andExpect(jsonPath("$.data.events[2].changes.completed.to").value(true))
+                .andExpect(jsonPath("$.data.events[2].changedAt").isNotEmpty())
+                .andExpect(jsonPath("$.data.nextVersion").doesNotExist());
+    }
+
+    @Test
+    void shouldRebuildAnyVersionFromNearestSnapshot() throws Exception {
+        // Given - 版本1为创建，版本2到13为12次修改
+        long id = create(null, new TodoCreateRequest("edit 0", null));
+        for (int i = 1; i <= 12; i++) {
+            update(null, id, new TodoUpdateRequest("edit " + i, null, null));
+        }
+
+        // When / Then - 快照在版本5和10，回放的事件数不超过4
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todo_snapshots WHERE todo_id = ?", Integer.class, id));
+        mockMvc.perform(get("/api/v1/todos/{id}/history/state", id))
+                .andExpect(jsonPath("$.data.version").value(13))
+                .andExpect(jsonPath("$.data.state.title").value("edit 12"))
+                .andExpect(jsonPath("$.data.snapshotVersion").value(10))
+                .andExpect(jsonPath("$.data.replayedEvents").value(3));
+        mockMvc.perform(get("/api/v1/todos/{id}/history/state", id).param("version", "7"))
+                .andExpect(jsonPath("$.data.version").value(7))
+                .andExpect(jsonPath("$.data.state.title").value("edit 6"))
+                .andExpect(jsonPath("$.data.state.completed").value(false))
+                .andExpect(jsonPath("$.data.snapshotVersion").value(5))
+                .andExpect(jsonPath("$.data.replayedEvents").value(2));
+        mockMvc.perform(get("/api/v1/todos/{id}/history/state", id).param("version", "3"))
+                .andExpect(jsonPath("$.data.state.title").value("edit 2"))
+                .andExpect(jsonPath("$.data.snapshotVersion").doesNotExist())
+                .andExpect(jsonPath("$.data.replayedEvents").value(3));
+    }
+
+    @Test
+    void shouldResolvePointInTimeToVersion() throws Exception {
+        // Given - 把三个版本的时间改为相隔一小时
+        long id = create(null, new TodoCreateRequest("morning", null));
+        update(null, id, new TodoUpdateRequest("noon", null, null));
+        update(null, id, new TodoUpdateRequest("evening", null, null));
+        LocalDateTime base = LocalDateTime.of(2024, 5, 1, 9, 0);
+        jdbcTemplate.update("UPDATE todo_events SET created_at = TIMESTAMPADD(HOUR, version - 1, CAST(? AS TIMESTAMP)) WHERE todo_id = ?",
+                Timestamp.valueOf(base), id);
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/todos/{id}/history/state", id).param("at", "2024-05-01 10:30:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.version").value(2))
+                .andExpect(jsonPath("$.data.changedAt").value("2024-05-01 10:00:00"))
+                .andExpect(jsonPath("$.data.state.title").value("noon"));
+        mockMvc.perform(get("/api/v1/todos/{id}/history/state", id).param("at", "2024-05-01 08:59:59"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldKeepHistoryAfterDeleteAndPageThroughIt() throws Exception {
+        // Given
+        long id = create(null, new TodoCreateRequest("temp", "to be removed"));
+        update(null, id, new TodoUpdateRequest("temp 2", null, null));
+        update(null, id, new TodoUpdateRequest("temp 3", null, null));
+        mockMvc.perform(delete("/api/v1/todos/{id}", id).header(TodoHistoryWriter.ACTOR_HEADER, "dave"))
+                .andExpect(status().isOk());
+
+        // When / Then - 第二页的旧值来自重建的上一版本
+        mockMvc.perform(get("/api/v1/todos/{id}/history", id).param("limit", "2"))
+                .andExpect(jsonPath("$.data.events.length()").value(2))
+                .andExpect(jsonPath("$.data.nextVersion").value(2));
+        mockMvc.perform(get("/api/v1/todos/{id}/history", id).param("afterVersion", "2").param("limit", "2"))
+                .andExpect(jsonPath("$.data.events[0].version").value(3))
+                .andExpect(jsonPath("$.data.events[0].changes.title.from").value("temp 2"))
+                .andExpect(jsonPath("$.data.events[1].type").value("DELETED"))
+                .andExpect(jsonPath("$.data.events[1].actor").value("dave"))
+                .andExpect(jsonPath("$.data.events[1].changes.deleted.to").value(true))
+                .andExpect(jsonPath("$.data.nextVersion").doesNotExist());
+        mockMvc.perform(get("/api/v1/todos/{id}/history/state", id))
+                .andExpect(jsonPath("$.data.deleted").value(true))
+                .andExpect(jsonPath("$.data.state.title").value("temp 3"))
+                .andExpect(jsonPath("$.data.state.description").value("to be removed"));
+    }
+
+    @Test
+    void shouldRejectInvalidRequests() throws Exception {
+        // Given
+        long id = create(null, new TodoCreateRequest("todo", null));
+
+        // When / Then
+        mockMvc.perform(get("/api/v1/todos/{id}/history", 999_999)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/todos/{id}/history", id).param("limit", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/todos/{id}/history/state", id).param("version", "1").param("at", "2024-01-01 00:00:00"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/todos/{id}/history/state", id).param("at", "yesterday"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long create(String actor, TodoCreateRequest request) throws Exception {
+        var builder = post("/api/v1/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request));
+        if (actor != null) {
+            builder.header(TodoHistoryWriter.ACTOR_HEADER, actor);
+        }
+        String body = mockMvc.perform(builder)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data").path("id").asLong();
+    }
+
+    private void update(String actor, long id, TodoUpdateRequest request) throws Exception {
+        var builder = put("/api/v1/todos/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request));
+        if (actor != null) {
+            builder.header(TodoHistoryWriter.ACTOR_HEADER, actor);
+        }
+        mockMvc.perform(builder).andExpect(status().isOk());
+    }
+}
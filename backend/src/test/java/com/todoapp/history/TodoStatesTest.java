@@ -0,0 +1,96 @@
+package com.todoapp.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.todoapp.config.JacksonConfig;
+import com.todoapp.dto.TodoResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TodoStates测试
+ */
+class TodoStatesTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    @Test
+    void shouldCaptureVisibleFieldsOnly() {
+        // Given
+        TodoResponse todo = todo("Write report", "Quarterly numbers", true, List.of("work"));
+        todo.setDueAt(LocalDateTime.of(2024, 3, 1, 17, 0));
+
+        // When
+        ObjectNode state = TodoStates.capture(objectMapper, todo, TodoStates.empty());
+
+        // Then - 排序键、时间戳等内部字段不记录
+        assertEquals("{\"title\":\"Write report\",\"description\":\"Quarterly numbers\",\"completed\":true,"
+                + "\"dueAt\":\"2024-03-01 17:00:00\",\"tags\":[\"work\"]}", state.toString());
+    }
+
+    @Test
+    void shouldKeepPreviousTagsWhenSnapshotHasNoTags() {
+        // Given
+        ObjectNode previous = TodoStates.capture(objectMapper, todo("a", null, false, List.of("home")), TodoStates.empty());
+
+        // When
+        ObjectNode state = TodoStates.capture(objectMapper, todo("a", null, false, null), previous);
+
+        // Then
+        assertEquals(previous, state);
+        assertEquals(0, TodoStates.diff(previous, state).size());
+    }
+
+    @Test
+    void shouldDiffOnlyChangedAndRemovedFields() {
+        // Given
+        ObjectNode before = TodoStates.capture(objectMapper, todo("old", "text", false, List.of()), TodoStates.empty());
+        ObjectNode after = TodoStates.capture(objectMapper, todo("new", null, false, List.of()), before);
+
+        // When
+        ObjectNode changes = TodoStates.diff(before, after);
+
+        // Then
+        assertEquals("{\"title\":\"new\",\"description\":null}", changes.toString());
+    }
+
+    @Test
+    void shouldRebuildStateByApplyingChangesInOrder() {
+        // Given
+        List<ObjectNode> versions = List.of(
+                TodoStates.capture(objectMapper, todo("v1", "d", false, List.of()), TodoStates.empty()),
+                TodoStates.capture(objectMapper, todo("v2", "d", false, List.of("x")), TodoStates.empty()),
+                TodoStates.capture(objectMapper, todo("v2", null, true, List.of("x")), TodoStates.empty()));
+
+        // When
+        ObjectNode state = TodoStates.empty();
+        ObjectNode previous = TodoStates.empty();
+        for (ObjectNode version : versions) {
+            TodoStates.apply(state, TodoStates.diff(previous, version));
+            previous = version;
+        }
+        ObjectNode deleted = TodoStates.deleted(state);
+
+        // Then
+        assertEquals(versions.get(2), state);
+        assertEquals("{\"deleted\":true}", TodoStates.diff(state, deleted).toString());
+        assertFalse(state.has(TodoStates.DELETED));
+    }
+
+    private static TodoResponse todo(String title, String description, boolean completed, List<String> tags) {
+        TodoResponse todo = new TodoResponse();
+        todo.setId(1L);
+        todo.setTitle(title);
+        todo.setDescription(description);
+        todo.setCompleted(completed);
+        todo.setPosition("i");
+        todo.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        todo.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 0, 0));
+        todo.setTags(tags);
+        return todo;
+    }
+}
@@ -0,0 +1,150 @@
+package com.todoapp.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 幂等键集成测试
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:idempotency;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SpyBean
+    private TodoService todoService;
+
+    @BeforeEach
+    void setUp() {
+        clearInvocations(todoService);
+    }
+
+    @Test
+    void shouldReplayResponseWithoutCallingTheServiceAgain() throws Exception {
+        // Given
+        String body = createBody("Replayed todo");
+        MockHttpServletResponse first = create("replay-key", body);
+
+        // When
+        MockHttpServletResponse retry = create("replay-key", body);
+
+        // Then
+        assertEquals(201, first.getStatus());
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(201, retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        verify(todoService, times(1)).createTodo(any());
+    }
+
+    @Test
+    void shouldExecuteConcurrentDuplicatesOnce() throws Exception {
+        // Given - 放慢首个请求，让重复请求在执行期间到达
+        doAnswer(invocation -> {
+            Thread.sleep(300);
+            return invocation.callRealMethod();
+        }).when(todoService).createTodo(any());
+        String body = createBody("Concurrent todo");
+
+        // When
+        List<Future<MockHttpServletResponse>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> create("concurrent-key", body)));
+            }
+        }
+
+        // Then
+        Set<Long> ids = futures.stream().map(future -> {
+            try {
+                MockHttpServletResponse response = future.get();
+                assertEquals(201, response.getStatus());
+                return objectMapper.readTree(response.getContentAsString()).path("data").path("id").asLong();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }).collect(Collectors.toSet());
+        assertEquals(1, ids.size());
+        verify(todoService, times(1)).createTodo(any());
+    }
+
+    @Test
+    void shouldRejectReusedKeyWithDifferentBody() throws Exception {
+        // Given
+        create("mismatch-key", createBody("Original"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/todos")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "mismatch-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createBody("Changed")))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.code").value(422));
+        verify(todoService, times(1)).createTodo(any());
+    }
+
+    @Test
+    void shouldNotRetainFailedOrUnkeyedRequests() throws Exception {
+        // Given
+        String body = createBody("Unkeyed todo");
+
+        // When - 不带请求头的请求每次都执行
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/todos").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+        }
+        doThrow(new IllegalStateException("boom")).doCallRealMethod().when(todoService).createTodo(any());
+        MockHttpServletResponse failed = create("retry-after-failure", body);
+        MockHttpServletResponse retried = create("retry-after-failure", body);
+
+        // Then - 5xx响应不保存，重试时重新执行
+        assertEquals(500, failed.getStatus());
+        assertEquals(201, retried.getStatus());
+        assertNull(retried.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        verify(todoService, times(4)).createTodo(any());
+    }
+
+    private MockHttpServletResponse create(String key, String body) throws Exception {
+        return mockMvc.perform(post("/api/v1/todos")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn().getResponse();
+    }
+
+    private String createBody(String title) throws Exception {
+        return objectMapper.writeValueAsString(new TodoCreateRequest(title, null));
+    }
+}
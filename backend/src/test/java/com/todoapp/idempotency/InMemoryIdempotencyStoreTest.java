@@ -0,0 +1,155 @@
+package com.todoapp.idempotency;
+
+import com.todoapp.exception.IdempotencyStoreFullException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InMemoryIdempotencyStore测试
+ */
+class InMemoryIdempotencyStoreTest {
+
+    private static final IdempotentResponse CREATED =
+            new IdempotentResponse(201, "application/json", "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void shouldReturnCompletedRecordToDuplicates() {
+        // Given
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 10, clock);
+        assertTrue(store.claim("k", "fp").isEmpty());
+
+        // When
+        store.complete("k", CREATED);
+        Optional<IdempotencyRecord> duplicate = store.claim("k", "fp");
+
+        // Then
+        assertTrue(duplicate.isPresent());
+        assertTrue(duplicate.get().isCompleted());
+        assertEquals(201, duplicate.get().response().status());
+    }
+
+    @Test
+    void shouldEvictExpiredAndOldestKeys() {
+        // Given
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 2, clock);
+        store.claim("a", "fp");
+        store.complete("a", CREATED);
+        store.claim("b", "fp");
+        store.complete("b", CREATED);
+
+        // When - 超过容量时淘汰最早的键
+        store.claim("c", "fp");
+
+        // Then
+        assertEquals(2, store.size());
+        assertTrue(store.claim("a", "fp").isEmpty(), "oldest key should have been evicted");
+
+        // When - 超过ttl后全部过期
+        clock.advance(Duration.ofMinutes(2));
+        assertTrue(store.claim("d", "fp").isEmpty());
+
+        // Then
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void shouldKeepInProgressKeysWhenFull() {
+        // Given
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 2, clock);
+        store.claim("a", "fp");
+        store.claim("b", "fp");
+        store.complete("b", CREATED);
+
+        // When - 最早的键仍在执行，淘汰之后已完成的键
+        assertTrue(store.claim("c", "fp").isEmpty());
+
+        // Then
+        assertFalse(store.claim("a", "fp").orElseThrow().isCompleted());
+        assertFalse(store.claim("c", "fp").orElseThrow().isCompleted());
+        assertEquals(2, store.size());
+
+        // When & Then - 全部执行中时拒绝新键，包括刚被淘汰的键
+        assertThrows(IdempotencyStoreFullException.class, () -> store.claim("b", "fp"));
+
+        // When & Then - 完成后可以再次淘汰
+        store.complete("a", CREATED);
+        assertTrue(store.claim("d", "fp").isEmpty());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void shouldWakeWaitersWhenTheFirstRequestCompletes() throws Exception {
+        // Given
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 10, clock);
+        store.claim("k", "fp");
+        CompletableFuture<Optional<IdempotencyRecord>> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return store.await("k", Duration.ofSeconds(5));
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        // When
+        store.complete("k", CREATED);
+
+        // Then
+        Optional<IdempotencyRecord> record = waiter.get(5, TimeUnit.SECONDS);
+        assertTrue(record.isPresent());
+        assertArrayEquals(CREATED.body(), record.get().response().body());
+    }
+
+    @Test
+    void shouldLetWaitersRetryAfterRelease() throws Exception {
+        // Given
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 10, clock);
+        store.claim("k", "fp");
+
+        // When
+        Optional<IdempotencyRecord> timedOut = store.await("k", Duration.ofMillis(20));
+        store.release("k");
+
+        // Then
+        assertTrue(timedOut.isPresent());
+        assertFalse(timedOut.get().isCompleted());
+        assertTrue(store.await("k", Duration.ofMillis(20)).isEmpty());
+        assertTrue(store.claim("k", "fp").isEmpty());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
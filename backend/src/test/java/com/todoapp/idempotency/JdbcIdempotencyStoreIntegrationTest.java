@@ -0,0 +1,137 @@
+package com.todoapp.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.RecurrenceCreateRequest;
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.service.TodoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 基于idempotency_keys表的幂等键集成测试
+ * 表结构由版本化迁移脚本创建
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotencyjdbc;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "todo.idempotency.store=jdbc"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JdbcIdempotencyStoreIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcIdempotencyStore store;
+
+    @SpyBean
+    private TodoService todoService;
+
+    @Test
+    void shouldReplayStoredResponseAndPurgeExpiredKeys() throws Exception {
+        // Given
+        String body = objectMapper.writeValueAsString(new TodoCreateRequest("Stored in table", null));
+        String first = mockMvc.perform(post("/api/v1/todos")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "jdbc-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/todos")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "jdbc-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(content().json(first));
+        verify(todoService, times(1)).createTodo(any());
+
+        // When & Then - 过期的键被清理
+        jdbcTemplate.update("UPDATE idempotency_keys SET expires_at = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)));
+        store.purgeExpired();
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_keys", Integer.class));
+    }
+
+    @Test
+    void shouldTakeOverKeyWhoseLeaseExpired() throws Exception {
+        // Given - 首个请求所在节点崩溃，键停留在执行中
+        assertTrue(store.claim("crashed", "fp").isEmpty());
+        assertFalse(store.claim("crashed", "fp").orElseThrow().isCompleted());
+
+        // When - 租约过期
+        jdbcTemplate.update("UPDATE idempotency_keys SET lease_expires_at = ? WHERE idempotency_key = 'crashed'",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)));
+
+        // Then - 等待者重新竞争，只有一个请求接管成功
+        assertTrue(store.await("crashed", Duration.ofSeconds(1)).isEmpty());
+        assertTrue(store.claim("crashed", "fp").isEmpty());
+        assertFalse(store.claim("crashed", "fp").orElseThrow().isCompleted());
+        assertTrue(jdbcTemplate.queryForObject("SELECT lease_expires_at FROM idempotency_keys "
+                + "WHERE idempotency_key = 'crashed'", Timestamp.class).after(Timestamp.valueOf(LocalDateTime.now())));
+    }
+
+    @Test
+    void shouldReplayMovesAndRecurrences() throws Exception {
+        // Given
+        long id = create("Moved once");
+        long anchor = create("Anchor");
+        String recurrence = objectMapper.writeValueAsString(new RecurrenceCreateRequest(
+                "Weekly review", null, "FREQ=WEEKLY", LocalDateTime.now().plusHours(1), null));
+
+        // When & Then
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(patch("/api/v1/todos/{id}/move", id)
+                            .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "move-key")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"afterId\":" + anchor + "}"))
+                    .andExpect(status().isOk())
+                    .andExpect(attempt == 0 ? header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER)
+                            : header().string(IdempotencyFilter.REPLAYED_HEADER, "true"));
+            mockMvc.perform(post("/api/v1/todos/recurrences")
+                            .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "recurrence-key")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(recurrence))
+                    .andExpect(status().isCreated());
+        }
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todo_recurrences WHERE title = 'Weekly review'", Integer.class));
+    }
+
+    private long create(String title) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoCreateRequest(title, null))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data").path("id").asLong();
+    }
+}
@@ -0,0 +1,90 @@
+package com.todoapp.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CsvTodoRowReader单元测试
+ */
+class CsvTodoRowReaderTest {
+
+    @Test
+    void shouldParseQuotedFieldsAndEmbeddedNewlines() throws Exception {
+        // Given
+        String csv = "completed,title,description\r\n"
+                + "true,\"Buy milk, eggs\",\"Say \"\"hi\"\"\nto the shop\"\r\n"
+                + "\r\n"
+                + "no,Plain,\n";
+
+        // When
+        List<ImportRow> rows = readAll(csv);
+
+        // Then
+        assertEquals(2, rows.size());
+        assertEquals("Buy milk, eggs", rows.get(0).request().getTitle());
+        assertEquals("Say \"hi\"\nto the shop", rows.get(0).request().getDescription());
+        assertTrue(rows.get(0).completed());
+        assertEquals(2, rows.get(0).lineNumber());
+        assertEquals("Plain", rows.get(1).request().getTitle());
+        assertNull(rows.get(1).request().getDescription());
+        assertFalse(rows.get(1).completed());
+        assertEquals(5, rows.get(1).lineNumber());
+    }
+
+    @Test
+    void shouldReportMalformedRows() throws Exception {
+        // Given
+        String csv = "title,completed\nok,maybe\n\"unterminated,false\n";
+
+        // When
+        List<ImportRow> rows = readAll(csv);
+
+        // Then
+        assertEquals(2, rows.size());
+        assertTrue(rows.get(0).isMalformed());
+        assertTrue(rows.get(0).errors().get(0).startsWith("completed"));
+        assertTrue(rows.get(1).isMalformed());
+    }
+
+    @Test
+    void shouldParseTagsAndDueAt() throws Exception {
+        // Given
+        String csv = "title,tags,due_at\n"
+                + "Tagged,\" Work;urgent;work \",2026-11-01 09:30:00\n"
+                + "Untagged,,\n"
+                + "Bad date,,tomorrow\n";
+
+        // When
+        List<ImportRow> rows = readAll(csv);
+
+        // Then
+        assertEquals(List.of("work", "urgent"), rows.get(0).request().getTags());
+        assertEquals(LocalDateTime.of(2026, 11, 1, 9, 30), rows.get(0).request().getDueAt());
+        assertNull(rows.get(1).request().getTags());
+        assertNull(rows.get(1).request().getDueAt());
+        assertTrue(rows.get(2).isMalformed());
+        assertTrue(rows.get(2).errors().get(0).startsWith("dueAt"));
+    }
+
+    @Test
+    void shouldRequireTitleColumn() {
+        assertThrows(IllegalArgumentException.class, () -> new CsvTodoRowReader(new StringReader("name\nx\n")));
+    }
+
+    private static List<ImportRow> readAll(String csv) throws Exception {
+        List<ImportRow> rows = new ArrayList<>();
+        try (CsvTodoRowReader reader = new CsvTodoRowReader(new StringReader(csv))) {
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
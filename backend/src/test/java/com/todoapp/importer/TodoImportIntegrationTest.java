@@ -0,0 +1,186 @@
+package com.todoapp.importer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.tenant.TenantContext;
+import com.todoapp.tenant.TenantFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 批量导入集成测试
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import;DB_CLOSE_DELAY=-1",
+        "todo.import.directory=${java.io.tmpdir}/todo-import-test",
+        "todo.import.chunk-size=500",
+        "todo.import.parallelism=4"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoImportIntegrationTest {
+
+    private static final int ROWS = 20_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TodoImportService todoImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM todo_tags");
+        jdbcTemplate.update("DELETE FROM tags");
+        jdbcTemplate.update("DELETE FROM todos");
+        jdbcTemplate.update("DELETE FROM todo_descriptions");
+        jdbcTemplate.update("DELETE FROM import_checkpoints");
+    }
+
+    @Test
+    void shouldImportCsvInParallelChunksAndRejectInvalidRows() throws Exception {
+        // Given - 每100行中有一行标题为空
+        Path file = Files.createTempFile("todos", ".csv");
+        StringBuilder csv = new StringBuilder("title,description,completed,tags,due_at\n");
+        for (int i = 0; i < ROWS; i++) {
+            String title = i % 100 == 0 ? "" : "Imported " + i;
+            csv.append(title).append(",\"Note ").append(i).append("\",").append(i % 2 == 0)
+                    .append(",batch;group-").append(i % 10)
+                    .append(String.format(",2026-12-%02d 08:00:00\n", i % 28 + 1));
+        }
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+
+        // When
+        ImportJob job = todoImportService.importFile(file, ImportFormat.CSV, null, "acme");
+
+        // Then
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(ROWS, job.getRowsRead().sum());
+        assertEquals(ROWS / 100, job.getRejected().sum());
+        assertEquals(ROWS - ROWS / 100, job.getImported().sum());
+        assertEquals(ROWS - ROWS / 100, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todos WHERE tenant_id = 'acme'", Integer.class));
+        assertEquals("Note 7", jdbcTemplate.queryForObject(
+                "SELECT d.body FROM todos t JOIN todo_descriptions d ON d.id = t.description_id WHERE t.title = 'Imported 7'",
+                String.class));
+        assertEquals(11, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tags WHERE tenant_id = 'acme'", Integer.class));
+        assertEquals(2 * (ROWS - ROWS / 100), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todo_tags", Integer.class));
+        assertEquals(List.of("batch", "group-7"), jdbcTemplate.queryForList(
+                "SELECT g.name FROM todos t JOIN todo_tags tt ON tt.todo_id = t.id JOIN tags g ON g.id = tt.tag_id "
+                        + "WHERE t.title = 'Imported 7' ORDER BY g.name", String.class));
+        assertEquals(LocalDateTime.of(2026, 12, 8, 8, 0), jdbcTemplate.queryForObject(
+                "SELECT remind_at FROM todos WHERE title = 'Imported 7'", LocalDateTime.class));
+        assertNull(jdbcTemplate.queryForObject(
+                "SELECT remind_at FROM todos WHERE title = 'Imported 8'", LocalDateTime.class));
+        assertEquals(LocalDateTime.of(2026, 12, 9, 8, 0), jdbcTemplate.queryForObject(
+                "SELECT due_at FROM todos WHERE title = 'Imported 8'", LocalDateTime.class));
+
+        List<String> errors = Files.readAllLines(job.getErrorFile());
+        assertEquals(ROWS / 100, errors.size());
+        JsonNode firstError = objectMapper.readTree(errors.stream()
+                .filter(line -> line.contains("\"line\":2,")).findFirst().orElseThrow());
+        assertTrue(firstError.path("errors").get(0).asText().startsWith("title"));
+    }
+
+    @Test
+    void shouldSkipCommittedChunksWhenResuming() throws Exception {
+        // Given - 第0批已在之前的运行中提交
+        String jobId = UUID.randomUUID().toString();
+        Path file = Files.createTempFile("todos", ".ndjson");
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            ndjson.append("{\"title\":\"Resumed ").append(i).append("\"}\n");
+        }
+        Files.writeString(file, ndjson, StandardCharsets.UTF_8);
+        jdbcTemplate.update("INSERT INTO import_checkpoints (job_id, chunk_index, imported_count, rejected_count, "
+                + "committed_at) VALUES (?, 0, 500, 0, ?)", jobId, Timestamp.valueOf(LocalDateTime.now()));
+
+        // When
+        ImportJob job = todoImportService.importFile(file, ImportFormat.NDJSON, jobId, TenantContext.DEFAULT_TENANT);
+
+        // Then
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(1200, job.getImported().sum());
+        assertEquals(700, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todos WHERE title = 'Resumed 499'", Integer.class));
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM import_checkpoints WHERE job_id = ?", Integer.class, jobId));
+    }
+
+    @Test
+    void shouldImportUploadedNdjsonAndReportProgress() throws Exception {
+        // Given
+        String body = "{\"title\":\"Uploaded\",\"description\":\"From API\",\"completed\":true,"
+                + "\"tags\":[\"Api\"],\"dueAt\":\"2026-11-05 18:00:00\"}\n"
+                + "not json\n"
+                + "{\"title\":\"Second\"}\n";
+
+        // When
+        String response = mockMvc.perform(post("/api/v1/todos/import")
+                        .header(TenantFilter.TENANT_HEADER, "uploader")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.status").value("RUNNING"))
+                .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(response).path("data").path("jobId").asText();
+
+        // Then
+        JsonNode status = awaitCompletion(jobId);
+        assertEquals(2, status.path("imported").asLong());
+        assertEquals(1, status.path("rejected").asLong());
+        assertEquals("uploader", status.path("tenant").asText());
+        mockMvc.perform(get("/api/v1/todos").header(TenantFilter.TENANT_HEADER, "uploader"))
+                .andExpect(jsonPath("$.data.length()").value(2));
+        mockMvc.perform(get("/api/v1/todos").param("tags", "api").header(TenantFilter.TENANT_HEADER, "uploader"))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].title").value("Uploaded"))
+                .andExpect(jsonPath("$.data[0].dueAt").value("2026-11-05 18:00:00"));
+        mockMvc.perform(get("/api/v1/todos/import/{jobId}/errors", jobId))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("\"line\":2")));
+        mockMvc.perform(get("/api/v1/todos/import/{jobId}", "missing-job"))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode awaitCompletion(String jobId) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            String body = mockMvc.perform(get("/api/v1/todos/import/{jobId}", jobId))
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode data = objectMapper.readTree(body).path("data");
+            if (!"RUNNING".equals(data.path("status").asText()) || System.currentTimeMillis() > deadline) {
+                assertEquals("COMPLETED", data.path("status").asText());
+                return data;
+            }
+            Thread.sleep(20);
+        }
+    }
+}
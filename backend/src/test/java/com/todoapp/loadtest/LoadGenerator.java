@@ -0,0 +1,212 @@
+package com.todoapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 负载生成器
+ * 每个并发客户端运行在一个虚拟线程上，按负载模型的权重随机选择操作，延迟以微秒记入HdrHistogram
+ */
+public class LoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final LoadProfile profile;
+    private final String baseUrl;
+    private final long[] seedIds;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+
+    /**
+     * @param baseUrl 被测应用地址，例如http://localhost:8080
+     * @param seedIds 预置Todo的ID，读和改操作从中随机选择
+     */
+    public LoadGenerator(LoadProfile profile, String baseUrl, List<Long> seedIds) {
+        if (seedIds.isEmpty()) {
+            throw new IllegalArgumentException("Load test needs at least one seeded todo");
+        }
+        this.profile = profile;
+        this.baseUrl = baseUrl;
+        this.seedIds = seedIds.stream().mapToLong(Long::longValue).toArray();
+
+        List<Map.Entry<Operation, Integer>> weighted = profile.getMix().entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .toList();
+        this.operations = new Operation[weighted.size()];
+        this.cumulativeWeights = new int[weighted.size()];
+        int total = 0;
+        for (int i = 0; i < weighted.size(); i++) {
+            operations[i] = weighted.get(i).getKey();
+            total += weighted.get(i).getValue();
+            cumulativeWeights[i] = total;
+        }
+        for (Operation operation : operations) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    /**
+     * 预热后计量profile.duration，返回各操作的结果
+     */
+    public LoadReport run() throws InterruptedException {
+        long startNanos = System.nanoTime();
+        long measureFrom = startNanos + profile.getWarmUp().toNanos();
+        long endNanos = measureFrom + profile.getDuration().toNanos();
+        // 开环模式下每个客户端的请求间隔
+        long intervalNanos = profile.getTargetRate() > 0
+                ? TimeUnit.SECONDS.toNanos(profile.getConcurrency()) / profile.getTargetRate()
+                : 0;
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < profile.getConcurrency(); i++) {
+                ClientState client = new ClientState(new SplittableRandom(profile.getSeed() + i));
+                // 开环模式下错开各客户端的起始时间，避免同时发出第一批请求
+                long firstSend = startNanos + (intervalNanos > 0 ? intervalNanos * i / profile.getConcurrency() : 0);
+                clients.submit(() -> drive(client, firstSend, intervalNanos, measureFrom, endNanos));
+            }
+        }
+
+        Map<Operation, LoadReport.Result> results = new EnumMap<>(Operation.class);
+        double seconds = profile.getDuration().toNanos() / 1e9;
+        for (Operation operation : operations) {
+            results.put(operation, new LoadReport.Result(operation, histograms.get(operation),
+                    errors.get(operation).get(), seconds));
+        }
+        return new LoadReport(profile, results);
+    }
+
+    private void drive(ClientState client, long firstSend, long intervalNanos, long measureFrom, long endNanos) {
+        long intendedStart = firstSend;
+        while (true) {
+            if (intervalNanos > 0) {
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                intendedStart = System.nanoTime();
+            }
+            if (intendedStart >= endNanos) {
+                return;
+            }
+
+            Operation operation = next(client.random);
+            HttpRequest.Builder builder = operation.request(client);
+            if (builder == null) {
+                operation = Operation.CREATE;
+                builder = operation.request(client);
+            }
+            boolean success = send(client, operation, builder.timeout(Duration.ofSeconds(30)).build());
+            long latencyMicros = (System.nanoTime() - intendedStart) / 1000;
+
+            if (intendedStart >= measureFrom && histograms.containsKey(operation)) {
+                histograms.get(operation).recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+                if (!success) {
+                    errors.get(operation).incrementAndGet();
+                }
+            }
+            intendedStart += intervalNanos;
+        }
+    }
+
+    private boolean send(ClientState client, Operation operation, HttpRequest request) {
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                return false;
+            }
+            if (operation == Operation.CREATE) {
+                JsonNode id = objectMapper.readTree(response.body()).path("data").path("id");
+                if (id.isNumber()) {
+                    client.created.push(id.asLong());
+                }
+            }
+            return true;
+        } catch (IOException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Operation next(SplittableRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * 单个客户端的随机序列和自己创建的Todo
+     */
+    private final class ClientState implements Operation.Client {
+
+        private final SplittableRandom random;
+        private final Deque<Long> created = new ArrayDeque<>();
+        private long sequence;
+
+        ClientState(SplittableRandom random) {
+            this.random = random;
+        }
+
+        @Override
+        public SplittableRandom random() {
+            return random;
+        }
+
+        @Override
+        public long seedId() {
+            return seedIds[random.nextInt(seedIds.length)];
+        }
+
+        @Override
+        public Long takeCreatedId() {
+            return created.poll();
+        }
+
+        @Override
+        public String todoJson() {
+            sequence++;
+            return "{\"title\":\"Load todo " + random.nextInt(1_000_000) + "-" + sequence
+                    + "\",\"description\":\"Generated by the load test\"}";
+        }
+
+        @Override
+        public URI uri(String path) {
+            return URI.create(baseUrl + path);
+        }
+    }
+}
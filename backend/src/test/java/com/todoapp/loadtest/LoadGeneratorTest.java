@@ -0,0 +1,103 @@
+package com.todoapp.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 负载生成器测试
+ * 使用JDK内置HTTP服务器模拟API，不启动应用
+ */
+class LoadGeneratorTest {
+
+    private HttpServer server;
+    private final AtomicLong nextId = new AtomicLong(1000);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // 关闭Nagle算法，否则响应头和响应体分开发送时每个请求会多出约40ms的延迟确认等待
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/v1/todos", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldDriveWeightedMixAndReportPercentiles() throws Exception {
+        // Given
+        LoadProfile profile = profile(Duration.ofSeconds(5));
+
+        // When
+        LoadReport report = new LoadGenerator(profile, baseUrl(), List.of(1L, 2L, 3L)).run();
+
+        // Then
+        Map<Operation, LoadReport.Result> results = report.getResults();
+        assertEquals(3, results.size());
+        assertTrue(results.get(Operation.GET).count() > results.get(Operation.CREATE).count());
+        assertTrue(results.get(Operation.DELETE).count() > 0);
+        results.values().forEach(result -> assertEquals(0, result.errors()));
+        assertTrue(results.get(Operation.GET).percentile(99).toMillis() >= 0);
+        assertTrue(report.violations().isEmpty(), report.violations().toString());
+        assertTrue(report.format().contains("GET /api/v1/todos/{id}"));
+    }
+
+    @Test
+    void shouldReportViolationWhenTailLatencyExceedsBudget() throws Exception {
+        // Given
+        LoadProfile profile = profile(Duration.ofNanos(1));
+
+        // When
+        LoadReport report = new LoadGenerator(profile, baseUrl(), List.of(1L)).run();
+
+        // Then
+        assertFalse(report.violations().isEmpty());
+    }
+
+    private LoadProfile profile(Duration budget) {
+        LoadProfile profile = new LoadProfile();
+        profile.setName("stub");
+        profile.setConcurrency(8);
+        profile.setWarmUp(Duration.ofSeconds(1));
+        profile.setDuration(Duration.ofSeconds(1));
+        profile.getMix().put(Operation.GET, 6);
+        profile.getMix().put(Operation.CREATE, 3);
+        profile.getMix().put(Operation.DELETE, 1);
+        profile.setDefaultBudget(budget);
+        return profile;
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        boolean create = "POST".equals(exchange.getRequestMethod());
+        byte[] body = ("{\"data\":{\"id\":" + (create ? nextId.incrementAndGet() : 1) + "}}")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(create ? 201 : 200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.todoapp.loadtest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 负载模型
+ * 从classpath:loadtest/{name}.properties读取，系统属性loadtest.*可覆盖其中任意一项，
+ * 例如 -Dloadtest.concurrency=256 -Dloadtest.mix.create=20
+ */
+@Data
+public class LoadProfile {
+
+    private String name;
+
+    /**
+     * 压测前写入的Todo数量
+     */
+    private int datasetSize = 1000;
+
+    /**
+     * 并发客户端数（每个客户端一个虚拟线程）
+     */
+    private int concurrency = 16;
+
+    /**
+     * 预热时长，期间的请求不计入结果
+     */
+    private Duration warmUp = Duration.ofSeconds(5);
+
+    /**
+     * 计量时长
+     */
+    private Duration duration = Duration.ofSeconds(30);
+
+    /**
+     * 所有客户端合计的目标请求速率（次/秒），0表示闭环压测（收到响应后立即发下一个请求）；
+     * 设置后按计划发送时间计算延迟，避免服务变慢时少发请求造成的协调遗漏
+     */
+    private int targetRate = 0;
+
+    /**
+     * 随机种子，相同的种子和负载模型产生相同的请求序列
+     */
+    private long seed = 42;
+
+    /**
+     * 各操作的权重
+     */
+    private Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+
+    /**
+     * 尾延迟所用的百分位
+     */
+    private double budgetPercentile = 99.0;
+
+    /**
+     * 各操作的尾延迟预算，未列出的操作使用defaultBudget
+     */
+    private Map<Operation, Duration> budget = new EnumMap<>(Operation.class);
+
+    private Duration defaultBudget = Duration.ofMillis(500);
+
+    /**
+     * 允许的错误率
+     */
+    private double maxErrorRate = 0.0;
+
+    public Duration budgetFor(Operation operation) {
+        return budget.getOrDefault(operation, defaultBudget);
+    }
+
+    /**
+     * 读取负载模型
+     */
+    public static LoadProfile load(String name) {
+        Map<String, String> values = new HashMap<>();
+        try {
+            Properties file = PropertiesLoaderUtils.loadProperties(new ClassPathResource("loadtest/" + name + ".properties"));
+            file.stringPropertyNames().forEach(key -> values.put("loadtest." + key, file.getProperty(key)));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unknown load profile: " + name, ex);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith("loadtest.") && !key.equals("loadtest.profile"))
+                .forEach(key -> values.put(key, System.getProperty(key)));
+
+        LoadProfile profile = new Binder(new MapConfigurationPropertySource(values))
+                .bind("loadtest", LoadProfile.class)
+                .orElseGet(LoadProfile::new);
+        profile.setName(name);
+        if (profile.getMix().values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Load profile " + name + " has no operations in its mix");
+        }
+        return profile;
+    }
+}
@@ -0,0 +1,114 @@
+package com.todoapp.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 负载测试结果：各操作的吞吐量、错误数和延迟百分位
+ */
+public class LoadReport {
+
+    private final LoadProfile profile;
+    private final Map<Operation, Result> results;
+
+    public LoadReport(LoadProfile profile, Map<Operation, Result> results) {
+        this.profile = profile;
+        this.results = results;
+    }
+
+    public Map<Operation, Result> getResults() {
+        return results;
+    }
+
+    /**
+     * 超出尾延迟预算或错误率上限的操作
+     */
+    public List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        for (Result result : results.values()) {
+            Duration budget = profile.budgetFor(result.operation());
+            Duration actual = result.percentile(profile.getBudgetPercentile());
+            if (result.count() > 0 && actual.compareTo(budget) > 0) {
+                violations.add(String.format("%s p%s %dms > budget %dms", result.operation().getEndpoint(),
+                        profile.getBudgetPercentile(), actual.toMillis(), budget.toMillis()));
+            }
+            if (result.errorRate() > profile.getMaxErrorRate()) {
+                violations.add(String.format("%s error rate %.4f > %.4f", result.operation().getEndpoint(),
+                        result.errorRate(), profile.getMaxErrorRate()));
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * 文本表格，延迟单位为毫秒
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("load profile %s: concurrency=%d, dataset=%d, duration=%s, targetRate=%s%n",
+                profile.getName(), profile.getConcurrency(), profile.getDatasetSize(), profile.getDuration(),
+                profile.getTargetRate() > 0 ? profile.getTargetRate() + "/s" : "closed-loop"));
+        out.append(String.format("%-32s %9s %7s %9s %8s %8s %8s %8s %8s%n",
+                "endpoint", "requests", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max"));
+        long total = 0;
+        double throughput = 0;
+        for (Result result : results.values()) {
+            out.append(String.format("%-32s %9d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                    result.operation().getEndpoint(), result.count(), result.errors(), result.throughput(),
+                    result.millis(50), result.millis(90), result.millis(99), result.millis(99.9),
+                    result.histogram().getMaxValue() / 1000.0));
+            total += result.count();
+            throughput += result.throughput();
+        }
+        out.append(String.format("%-32s %9d %7s %9.1f%n", "total", total, "", throughput));
+        return out.toString();
+    }
+
+    /**
+     * 写出文本表格和每个操作的HdrHistogram百分位分布（.hgrm，可用HdrHistogram的绘图工具查看）
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(profile.getName() + ".txt"), format());
+        for (Result result : results.values()) {
+            Path file = directory.resolve(profile.getName() + "-" + result.operation().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                result.histogram().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    /**
+     * 单个操作的结果，直方图单位为微秒
+     */
+    public record Result(Operation operation, Histogram histogram, long errors, double seconds) {
+
+        public long count() {
+            return histogram.getTotalCount();
+        }
+
+        public double throughput() {
+            return count() / seconds;
+        }
+
+        public double errorRate() {
+            return count() == 0 ? 0 : (double) errors / count();
+        }
+
+        public Duration percentile(double percentile) {
+            return Duration.ofNanos(histogram.getValueAtPercentile(percentile) * 1000);
+        }
+
+        double millis(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.todoapp.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+
+/**
+ * 负载中的API操作
+ * 读和改只作用于预置数据，删除只删除当前客户端自己创建的Todo，保证不同操作之间不互相制造404
+ */
+public enum Operation {
+
+    LIST("GET /api/v1/todos") {
+        @Override
+        HttpRequest.Builder request(Client client) {
+            return client.get("/api/v1/todos?completed=" + client.random().nextBoolean() + "&fields=summary");
+        }
+    },
+
+    GET("GET /api/v1/todos/{id}") {
+        @Override
+        HttpRequest.Builder request(Client client) {
+            return client.get("/api/v1/todos/" + client.seedId());
+        }
+    },
+
+    STATS("GET /api/v1/todos/stats") {
+        @Override
+        HttpRequest.Builder request(Client client) {
+            return client.get("/api/v1/todos/stats");
+        }
+    },
+
+    CREATE("POST /api/v1/todos") {
+        @Override
+        HttpRequest.Builder request(Client client) {
+            return client.json("/api/v1/todos").POST(HttpRequest.BodyPublishers.ofString(client.todoJson()));
+        }
+    },
+
+    UPDATE("PUT /api/v1/todos/{id}") {
+        @Override
+        HttpRequest.Builder request(Client client) {
+            return client.json("/api/v1/todos/" + client.seedId())
+                    .PUT(HttpRequest.BodyPublishers.ofString(client.todoJson()));
+        }
+    },
+
+    TOGGLE("PATCH /api/v1/todos/{id}/toggle") {
+        @Override
+        HttpRequest.Builder request(Client client) {
+            return client.json("/api/v1/todos/" + client.seedId() + "/toggle")
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody());
+        }
+    },
+
+    DELETE("DELETE /api/v1/todos/{id}") {
+        @Override
+        HttpRequest.Builder request(Client client) {
+            Long id = client.takeCreatedId();
+            return id == null ? null : client.get("/api/v1/todos/" + id).DELETE();
+        }
+    };
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * 构造请求，当前无法执行时（例如还没有可删除的Todo）返回null
+     */
+    abstract HttpRequest.Builder request(Client client);
+
+    /**
+     * 单个客户端的状态
+     */
+    interface Client {
+
+        SplittableRandom random();
+
+        long seedId();
+
+        Long takeCreatedId();
+
+        String todoJson();
+
+        URI uri(String path);
+
+        default HttpRequest.Builder get(String path) {
+            return HttpRequest.newBuilder(uri(path));
+        }
+
+        default HttpRequest.Builder json(String path) {
+            return HttpRequest.newBuilder(uri(path)).header("Content-Type", "application/json");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.todoapp.loadtest;
+
+import com.todoapp.reminder.TimingWheel;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 时间轮基准测试
+ * 一百万个提醒按5分钟窗口调度、其中一成被改期或取消，再按1秒一格推进到全部触发，
+ * 与按到期时间排序的优先队列（取消需要O(n)删除，这里改用惰性删除作为对照）比较总耗时。
+ * 只在-Ploadtest时执行：mvn -Ploadtest test -Dtest=TimingWheelBenchmarkTest
+ */
+@Tag("load")
+class TimingWheelBenchmarkTest {
+
+    private static final int REMINDERS = 1_000_000;
+    private static final long WINDOW_MS = 300_000;
+    private static final long TICK_MS = 1_000;
+    private static final long START = 0;
+
+    @Test
+    void wheelShouldScheduleAndFireInConstantTimePerItem() {
+        // Given
+        long[] deadlines = deadlines(new Random(42));
+
+        // When
+        long start = System.nanoTime();
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK_MS, 64, 4, START);
+        for (int key = 0; key < REMINDERS; key++) {
+            wheel.schedule(key, deadlines[key]);
+        }
+        for (int key = 0; key < REMINDERS; key += 10) {
+            if (key % 20 == 0) {
+                wheel.cancel(key);
+            } else {
+                wheel.schedule(key, deadlines[key] / 2);
+            }
+        }
+        int fired = 0;
+        for (long now = START; now <= START + WINDOW_MS; now += TICK_MS) {
+            fired += wheel.advanceTo(now).size();
+        }
+        double wheelMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        start = System.nanoTime();
+        int queueFired = runPriorityQueue(deadlines);
+        double queueMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        // Then
+        System.out.printf("Timing wheel: %d reminders in %.1fms (%.0fns per reminder)%n",
+                REMINDERS, wheelMs, wheelMs * 1_000_000 / REMINDERS);
+        System.out.printf("Priority queue: %d reminders in %.1fms (%.0fns per reminder)%n",
+                REMINDERS, queueMs, queueMs * 1_000_000 / REMINDERS);
+        assertEquals(REMINDERS - REMINDERS / 20, fired);
+        assertEquals(fired, queueFired);
+        assertEquals(0, wheel.size());
+    }
+
+    /**
+     * 对照组：优先队列加键到当前到期时间的映射，改期和取消通过比对映射惰性跳过旧条目
+     */
+    private static int runPriorityQueue(long[] deadlines) {
+        PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        Map<Integer, Long> current = new HashMap<>();
+        for (int key = 0; key < REMINDERS; key++) {
+            queue.add(new long[]{deadlines[key], key});
+            current.put(key, deadlines[key]);
+        }
+        for (int key = 0; key < REMINDERS; key += 10) {
+            if (key % 20 == 0) {
+                current.remove(key);
+            } else {
+                queue.add(new long[]{deadlines[key] / 2, key});
+                current.put(key, deadlines[key] / 2);
+            }
+        }
+        int fired = 0;
+        for (long now = START; now <= START + WINDOW_MS; now += TICK_MS) {
+            while (!queue.isEmpty() && queue.peek()[0] <= now) {
+                long[] head = queue.poll();
+                Long deadline = current.get((int) head[1]);
+                if (deadline != null && deadline == head[0]) {
+                    current.remove((int) head[1]);
+                    fired++;
+                }
+            }
+        }
+        return fired;
+    }
+
+    private static long[] deadlines(Random random) {
+        long[] deadlines = new long[REMINDERS];
+        for (int i = 0; i < REMINDERS; i++) {
+            deadlines[i] = START + 1 + (long) (random.nextDouble() * (WINDOW_MS - 1));
+        }
+        return deadlines;
+    }
+}
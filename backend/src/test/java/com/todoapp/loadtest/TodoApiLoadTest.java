@@ -0,0 +1,80 @@
+package com.todoapp.loadtest;
+
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.importer.ImportChunkWriter;
+import com.todoapp.importer.ImportRow;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 全链路负载测试
+ * 在内嵌H2上启动完整应用，按负载模型预置数据并通过HTTP压测/api/v1/todos，尾延迟超出预算时失败。
+ * 只在-Ploadtest时执行：mvn -Ploadtest test -Dloadtest.profile=read-heavy
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "logging.level.com.todoapp=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@ActiveProfiles("test")
+class TodoApiLoadTest {
+
+    private static final int SEED_CHUNK_SIZE = 1000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ImportChunkWriter chunkWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldStayWithinTailLatencyBudget() throws Exception {
+        // Given
+        LoadProfile profile = LoadProfile.load(System.getProperty("loadtest.profile", "smoke"));
+        List<Long> seedIds = seed(profile.getDatasetSize());
+
+        // When
+        LoadReport report = new LoadGenerator(profile, "http://localhost:" + port, seedIds).run();
+
+        // Then
+        System.out.println(report.format());
+        report.write(Path.of("target", "loadtest"));
+        List<String> violations = report.violations();
+        assertTrue(violations.isEmpty(), String.join(System.lineSeparator(), violations));
+    }
+
+    /**
+     * 通过批量导入的写入路径预置数据，约一半为已完成
+     */
+    private List<Long> seed(int size) {
+        List<ImportRow> chunk = new ArrayList<>();
+        int chunkIndex = 0;
+        for (int i = 0; i < size; i++) {
+            TodoCreateRequest request = new TodoCreateRequest("Seed todo " + i, "Seeded description " + i);
+            chunk.add(ImportRow.parsed(i + 1, request, i % 2 == 0, null));
+            if (chunk.size() == SEED_CHUNK_SIZE || i == size - 1) {
+                chunkWriter.write("loadtest-seed", chunkIndex++, chunk, 0);
+                chunk = new ArrayList<>();
+            }
+        }
+        return jdbcTemplate.queryForList("SELECT id FROM todos", Long.class);
+    }
+}
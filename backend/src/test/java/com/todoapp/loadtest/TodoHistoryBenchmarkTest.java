@@ -0,0 +1,137 @@
+package com.todoapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.dto.TodoHistoryStateResponse;
+import com.todoapp.dto.TodoUpdateRequest;
+import com.todoapp.entity.TodoEvent;
+import com.todoapp.history.TodoStates;
+import com.todoapp.repository.TodoEventRepository;
+import com.todoapp.service.TodoHistoryService;
+import com.todoapp.service.TodoService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 变更历史基准测试
+ * 对一个Todo连续修改两千次，测量每次写入的耗时、事件和快照占用的存储（与每个版本保存完整状态比较），
+ * 以及从最近快照重建随机版本与从第一个版本回放的读取代价。
+ * 只在-Ploadtest时执行：mvn -Ploadtest test -Dtest=TodoHistoryBenchmarkTest
+ */
+@Tag("load")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:historybench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "todo.history.snapshot-interval=20",
+        "logging.level.com.todoapp=WARN",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@ActiveProfiles("test")
+class TodoHistoryBenchmarkTest {
+
+    private static final int EDITS = 2_000;
+    private static final int SNAPSHOT_INTERVAL = 20;
+    private static final int READS = 200;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoHistoryService todoHistoryService;
+
+    @Autowired
+    private TodoEventRepository todoEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void snapshotsShouldBoundReplayOfHeavilyEditedTodo() {
+        // Given - 每次改标题，每10次改一次300字的描述，每7次切换一次完成状态
+        long id = todoService.createTodo(new TodoCreateRequest("edit 0", "x".repeat(300))).getId();
+        long start = System.nanoTime();
+        for (int i = 1; i <= EDITS; i++) {
+            String description = i % 10 == 0 ? String.valueOf((char) ('a' + i % 26)).repeat(300) : null;
+            Boolean completed = i % 7 == 0 ? (i / 7) % 2 == 1 : null;
+            todoService.updateTodo(id, new TodoUpdateRequest("edit " + i, description, completed));
+        }
+        double writeMs = (System.nanoTime() - start) / 1_000_000.0 / EDITS;
+        int versions = EDITS + 1;
+
+        // When - 存储
+        Map<String, Object> events = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS cnt, SUM(LENGTH(changes)) AS bytes FROM todo_events WHERE todo_id = ?", id);
+        Map<String, Object> snapshots = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS cnt, SUM(LENGTH(state)) AS bytes FROM todo_snapshots WHERE todo_id = ?", id);
+        long eventBytes = ((Number) events.get("BYTES")).longValue();
+        long snapshotBytes = ((Number) snapshots.get("BYTES")).longValue();
+        long snapshotCount = ((Number) snapshots.get("CNT")).longValue();
+        long fullStateBytes = snapshotBytes / snapshotCount * versions;
+
+        // When - 读取：同一组随机版本分别从快照和从头回放
+        Random random = new Random(42);
+        int[] targets = random.ints(READS, 1, versions + 1).toArray();
+        int maxReplayed = 0;
+        start = System.nanoTime();
+        for (int version : targets) {
+            TodoHistoryStateResponse state = todoHistoryService.getState(id, version, null);
+            assertEquals(version == 1 ? "edit 0" : "edit " + (version - 1), state.getState().path("title").asText());
+            maxReplayed = Math.max(maxReplayed, state.getReplayedEvents());
+        }
+        double snapshotReadMs = (System.nanoTime() - start) / 1_000_000.0 / READS;
+        start = System.nanoTime();
+        for (int version : targets) {
+            ObjectNode state = replayFromStart(id, version);
+            assertEquals(version == 1 ? "edit 0" : "edit " + (version - 1), state.path("title").asText());
+        }
+        double fullReplayMs = (System.nanoTime() - start) / 1_000_000.0 / READS;
+
+        // Then
+        System.out.printf("History write: %.2fms per edit over %d edits%n", writeMs, EDITS);
+        System.out.printf("History storage: %d events %d chars (%.0f per event), %d snapshots %d chars; "
+                        + "full state per version would be ~%d chars%n",
+                versions, eventBytes, (double) eventBytes / versions, snapshotCount, snapshotBytes, fullStateBytes);
+        System.out.printf("History read: %.2fms from nearest snapshot (max %d events replayed), "
+                + "%.2fms replaying from version 1 (avg %d events)%n", snapshotReadMs, maxReplayed, fullReplayMs, versions / 2);
+        assertEquals(versions, ((Number) events.get("CNT")).intValue());
+        assertEquals(versions / SNAPSHOT_INTERVAL, snapshotCount);
+        assertTrue(maxReplayed < SNAPSHOT_INTERVAL);
+        assertTrue(eventBytes + snapshotBytes < fullStateBytes / 2, "deltas plus snapshots should be far smaller");
+        assertTrue(snapshotReadMs < fullReplayMs, "snapshot rebuild should be cheaper than a full replay");
+    }
+
+    /**
+     * 对照组：不使用快照，从第一个版本回放
+     */
+    private ObjectNode replayFromStart(long id, int version) {
+        return transactionTemplate.execute(status -> {
+            ObjectNode state = TodoStates.empty();
+            for (TodoEvent event : todoEventRepository.findRange(id, 0, version)) {
+                try {
+                    TodoStates.apply(state, objectMapper.readTree(event.getChanges()));
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+            return state;
+        });
+    }
+}
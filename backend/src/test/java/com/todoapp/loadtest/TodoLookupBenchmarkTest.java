@@ -0,0 +1,120 @@
+package com.todoapp.loadtest;
+
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.importer.ImportChunkWriter;
+import com.todoapp.importer.ImportRow;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量获取基准测试
+ * 比较N次GET /api/v1/todos/{id}与一次GET /api/v1/todos?ids=的端到端耗时（N = 10/100/500）。
+ * 只在-Ploadtest时执行：mvn -Ploadtest test -Dtest=TodoLookupBenchmarkTest
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:lookupbench;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "todo.coalescing.enabled=false",
+        "logging.level.com.todoapp=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@ActiveProfiles("test")
+class TodoLookupBenchmarkTest {
+
+    private static final int[] BATCH_SIZES = {10, 100, 500};
+    private static final int WARM_UP_ROUNDS = 3;
+    private static final int ROUNDS = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ImportChunkWriter chunkWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    @Test
+    void batchedLookupShouldBeatIndividualGets() throws Exception {
+        // Given
+        List<Long> ids = seed(BATCH_SIZES[BATCH_SIZES.length - 1]);
+
+        for (int batchSize : BATCH_SIZES) {
+            List<Long> batch = ids.subList(0, batchSize);
+            Histogram individual = new Histogram(3);
+            Histogram batched = new Histogram(3);
+
+            // When
+            for (int round = 0; round < WARM_UP_ROUNDS + ROUNDS; round++) {
+                long individualMicros = timeMicros(() -> {
+                    for (Long id : batch) {
+                        get("/api/v1/todos/" + id);
+                    }
+                });
+                long batchedMicros = timeMicros(() -> get("/api/v1/todos?ids="
+                        + batch.stream().map(String::valueOf).collect(Collectors.joining(","))));
+                if (round >= WARM_UP_ROUNDS) {
+                    individual.recordValue(individualMicros);
+                    batched.recordValue(batchedMicros);
+                }
+            }
+
+            // Then
+            System.out.printf("lookup n=%-4d individual p50=%8.2fms p99=%8.2fms | batched p50=%8.2fms p99=%8.2fms%n",
+                    batchSize,
+                    individual.getValueAtPercentile(50) / 1000.0, individual.getValueAtPercentile(99) / 1000.0,
+                    batched.getValueAtPercentile(50) / 1000.0, batched.getValueAtPercentile(99) / 1000.0);
+            assertTrue(batched.getValueAtPercentile(50) < individual.getValueAtPercentile(50),
+                    "batched lookup of " + batchSize + " ids should be faster than individual gets");
+        }
+    }
+
+    private void get(String path) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            assertEquals(200, response.statusCode(), path);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Request failed: " + path, ex);
+        }
+    }
+
+    private static long timeMicros(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return Math.max(1, (System.nanoTime() - start) / 1000);
+    }
+
+    private List<Long> seed(int size) {
+        List<ImportRow> rows = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            TodoCreateRequest request = new TodoCreateRequest("Lookup todo " + i, "Lookup description " + i);
+            rows.add(ImportRow.parsed(i + 1, request, i % 2 == 0, null));
+        }
+        chunkWriter.write("lookup-benchmark", 0, rows, 0);
+        return jdbcTemplate.queryForList("SELECT id FROM todos ORDER BY id", Long.class);
+    }
+}
@@ -0,0 +1,149 @@
+package com.todoapp.loadtest;
+
+import com.todoapp.cache.TodoIdFilter;
+import com.todoapp.config.NegativeLookupProperties;
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.importer.ImportChunkWriter;
+import com.todoapp.importer.ImportRow;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 不存在ID的404吞吐基准测试
+ * 并发请求随机的不存在ID，比较布隆过滤器开启和关闭时的吞吐量与尾延迟。
+ * 只在-Ploadtest时执行：mvn -Ploadtest test -Dtest=TodoNotFoundBenchmarkTest
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:notfoundbench;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "todo.negative-lookup.enabled=true",
+        "logging.level.com.todoapp=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@ActiveProfiles("test")
+class TodoNotFoundBenchmarkTest {
+
+    private static final int DATASET_SIZE = 10_000;
+    private static final int CONCURRENCY = 16;
+    private static final Duration WARM_UP = Duration.ofSeconds(3);
+    private static final Duration DURATION = Duration.ofSeconds(10);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ImportChunkWriter chunkWriter;
+
+    @Autowired
+    private TodoIdFilter todoIdFilter;
+
+    @Autowired
+    private NegativeLookupProperties properties;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    @Test
+    void filterShouldRaiseNotFoundThroughput() throws Exception {
+        // Given
+        seed();
+        todoIdFilter.rebuild();
+
+        // When
+        properties.setEnabled(false);
+        Result withoutFilter = run();
+        properties.setEnabled(true);
+        todoIdFilter.rebuild();
+        Result withFilter = run();
+
+        // Then
+        System.out.println("404 without filter: " + withoutFilter);
+        System.out.println("404 with filter:    " + withFilter);
+        assertEquals(0, withoutFilter.unexpected());
+        assertEquals(0, withFilter.unexpected());
+        assertTrue(withFilter.throughput() > withoutFilter.throughput(),
+                "filter should raise 404 throughput");
+    }
+
+    private Result run() throws InterruptedException {
+        measure(WARM_UP, new ConcurrentHistogram(3), new AtomicLong(), new AtomicLong());
+        Histogram histogram = new ConcurrentHistogram(3);
+        AtomicLong requests = new AtomicLong();
+        AtomicLong unexpected = new AtomicLong();
+        measure(DURATION, histogram, requests, unexpected);
+        return new Result(requests.get() / (double) DURATION.toSeconds(),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                unexpected.get());
+    }
+
+    private void measure(Duration duration, Histogram histogram, AtomicLong requests, AtomicLong unexpected)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long id = DATASET_SIZE * 10L + ThreadLocalRandom.current().nextLong(1_000_000_000L);
+                        long start = System.nanoTime();
+                        int status = get("/api/v1/todos/" + id);
+                        histogram.recordValue(Math.max(1, (System.nanoTime() - start) / 1000));
+                        requests.incrementAndGet();
+                        if (status != 404) {
+                            unexpected.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    private int get(String path) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception ex) {
+            return -1;
+        }
+    }
+
+    private void seed() {
+        List<ImportRow> rows = new ArrayList<>();
+        for (int i = 0; i < DATASET_SIZE; i++) {
+            rows.add(ImportRow.parsed(i + 1, new TodoCreateRequest("Existing todo " + i, null), false, null));
+        }
+        chunkWriter.write("not-found-benchmark", 0, rows, 0);
+    }
+
+    record Result(double throughput, double p50Ms, double p99Ms, long unexpected) {
+
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p50=%.2fms, p99=%.2fms", throughput, p50Ms, p99Ms);
+        }
+    }
+}
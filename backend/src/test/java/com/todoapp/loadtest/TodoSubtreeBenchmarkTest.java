@@ -0,0 +1,166 @@
+package com.todoapp.loadtest;
+
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.dto.TodoTreeNode;
+import com.todoapp.service.TodoService;
+import com.todoapp.service.TodoTreeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 子任务树基准测试
+ * 比较闭包表单次查询读取整棵子树与逐节点递归查询（N+1）的耗时，并测量宽树、深树上子树移动和删除的耗时。
+ * 只在-Ploadtest时执行：mvn -Ploadtest test -Dtest=TodoSubtreeBenchmarkTest
+ */
+@Tag("load")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:subtreebench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "todo.subtasks.max-depth=64",
+        "logging.level.com.todoapp=WARN",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@ActiveProfiles("test")
+class TodoSubtreeBenchmarkTest {
+
+    private static final int FAN_OUT = 8;
+    private static final int WIDE_LEVELS = 4;
+    private static final int DEEP_LEVELS = 64;
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoTreeService todoTreeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        todoService.deleteAllTodos();
+    }
+
+    @Test
+    void singleQueryShouldBeatRecursiveLoadingOnWideTree() {
+        // Given - 8叉、4层，共4681个节点
+        long root = todoService.createTodo(new TodoCreateRequest("wide root", null)).getId();
+        List<Long> level = List.of(root);
+        for (int depth = 1; depth <= WIDE_LEVELS; depth++) {
+            List<Long> next = new ArrayList<>();
+            for (long parent : level) {
+                for (int i = 0; i < FAN_OUT; i++) {
+                    next.add(todoTreeService.createSubtask(parent, new TodoCreateRequest("node " + depth + "-" + i, null)).getId());
+                }
+            }
+            level = next;
+        }
+        int expectedSize = 1 + 8 + 64 + 512 + 4096;
+
+        // When
+        Timing single = time(() -> size(todoTreeService.getSubtree(root)));
+        Timing recursive = time(() -> loadRecursively(root));
+
+        // Then
+        System.out.println("Wide tree (" + expectedSize + " nodes) single query: " + single);
+        System.out.println("Wide tree (" + expectedSize + " nodes) recursive:    " + recursive);
+        assertEquals(expectedSize, single.size());
+        assertEquals(expectedSize, recursive.size());
+        assertTrue(single.avgMs() < recursive.avgMs(), "single query should be faster than N+1 recursion");
+
+        // When - 把一个585节点的分支移到另一分支下，再删除整棵树
+        List<Long> branches = jdbcTemplate.queryForList(
+                "SELECT descendant_id FROM todo_closure WHERE ancestor_id = ? AND depth = 1", Long.class, root);
+        long start = System.nanoTime();
+        todoTreeService.changeParent(branches.get(0), branches.get(1));
+        double moveMs = (System.nanoTime() - start) / 1_000_000.0;
+        start = System.nanoTime();
+        todoService.deleteTodo(root);
+        double deleteMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        // Then
+        // 删除耗时包含为每个被删除的子任务写入的一条outbox事件和一条变更历史事件
+        System.out.printf("Wide tree move of 585-node branch: %.1fms, delete of whole tree: %.1fms%n", moveMs, deleteMs);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo_closure", Integer.class));
+    }
+
+    @Test
+    void shouldLoadAndMoveDeepChain() {
+        // Given - 64层的链，闭包表有64*65/2行
+        long root = todoService.createTodo(new TodoCreateRequest("deep root", null)).getId();
+        long parent = root;
+        List<Long> chain = new ArrayList<>();
+        for (int depth = 1; depth <= DEEP_LEVELS; depth++) {
+            parent = todoTreeService.createSubtask(parent, new TodoCreateRequest("level " + depth, null)).getId();
+            chain.add(parent);
+        }
+
+        // When
+        Timing single = time(() -> size(todoTreeService.getSubtree(root)));
+        Timing recursive = time(() -> loadRecursively(root));
+        long start = System.nanoTime();
+        todoTreeService.changeParent(chain.get(DEEP_LEVELS / 2), null);
+        double moveMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        // Then
+        System.out.println("Deep chain (" + (DEEP_LEVELS + 1) + " levels) single query: " + single);
+        System.out.println("Deep chain (" + (DEEP_LEVELS + 1) + " levels) recursive:    " + recursive);
+        System.out.printf("Deep chain split in half: %.1fms%n", moveMs);
+        assertEquals(DEEP_LEVELS + 1, single.size());
+        assertEquals(DEEP_LEVELS * (DEEP_LEVELS + 1) / 2 - 33 * 32,
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo_closure", Integer.class));
+        assertEquals(DEEP_LEVELS / 2 + 1, size(todoTreeService.getSubtree(root)));
+    }
+
+    /**
+     * 对照组：每个节点一次读取自身、一次读取直接子任务
+     */
+    private int loadRecursively(long id) {
+        jdbcTemplate.queryForMap("SELECT id, title, completed, position FROM todos WHERE id = ?", id);
+        int size = 1;
+        for (long child : jdbcTemplate.queryForList(
+                "SELECT descendant_id FROM todo_closure WHERE ancestor_id = ? AND depth = 1", Long.class, id)) {
+            size += loadRecursively(child);
+        }
+        return size;
+    }
+
+    private static int size(TodoTreeNode node) {
+        int size = 1;
+        for (TodoTreeNode child : node.getChildren()) {
+            size += size(child);
+        }
+        return size;
+    }
+
+    private static Timing time(Supplier<Integer> load) {
+        int size = load.get();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            size = load.get();
+        }
+        return new Timing(size, (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS);
+    }
+
+    record Timing(int size, double avgMs) {
+
+        @Override
+        public String toString() {
+            return String.format("%.2fms avg", avgMs);
+        }
+    }
+}
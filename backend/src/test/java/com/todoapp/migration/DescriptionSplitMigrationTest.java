@@ -0,0 +1,83 @@
+package com.todoapp.migration;
+
+import com.todoapp.entity.Todo;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * V10__split_todo_descriptions测试
+ * 模拟描述拆分前由ddl-auto补列的旧库：todos仍有description列，description_id为空
+ */
+class DescriptionSplitMigrationTest {
+
+    private static final String INSERT_LEGACY_TODO = "INSERT INTO todos (title, description, completed, created_at, "
+            + "updated_at) VALUES (?, ?, FALSE, NOW(), NOW())";
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:description_split;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void shouldMoveLegacyDescriptionsIntoDescriptionTable() {
+        // Given
+        flyway().target(MigrationVersion.fromVersion("9")).load().migrate();
+        jdbc.execute("ALTER TABLE todos ADD COLUMN description VARCHAR(1000)");
+        String longDescription = "很长的描述".repeat(60);
+        jdbc.update(INSERT_LEGACY_TODO, "旧Todo", longDescription);
+        jdbc.update(INSERT_LEGACY_TODO, "短描述", "短");
+        jdbc.update(INSERT_LEGACY_TODO, "无描述", null);
+
+        // When
+        flyway().load().migrate();
+
+        // Then
+        Map<String, Object> migrated = jdbc.queryForMap(
+                "SELECT t.description_preview, t.description_length, d.body FROM todos t "
+                        + "JOIN todo_descriptions d ON d.id = t.description_id WHERE t.title = '旧Todo'");
+        assertEquals(longDescription, migrated.get("BODY"));
+        assertEquals(longDescription.length(), migrated.get("DESCRIPTION_LENGTH"));
+        assertEquals(Todo.preview(longDescription), migrated.get("DESCRIPTION_PREVIEW"));
+        assertEquals("短", jdbc.queryForObject("SELECT d.body FROM todos t "
+                + "JOIN todo_descriptions d ON d.id = t.description_id WHERE t.title = '短描述'", String.class));
+        assertNull(jdbc.queryForObject("SELECT description_id FROM todos WHERE title = '无描述'", Long.class));
+        assertEquals(2, jdbc.queryForObject("SELECT COUNT(*) FROM todo_descriptions", Integer.class));
+    }
+
+    @Test
+    void shouldDoNothingOnFreshSchema() {
+        // When
+        flyway().load().migrate();
+
+        // Then
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM todo_descriptions", Integer.class));
+        assertEquals(1, jdbc.queryForObject(
+                "SELECT COUNT(*) FROM \"flyway_schema_history\" WHERE \"version\" = '10' AND \"success\" = TRUE",
+                Integer.class));
+    }
+
+    private FluentConfiguration flyway() {
+        return Flyway.configure().dataSource(dataSource).locations("classpath:db/migration");
+    }
+}
@@ -0,0 +1,85 @@
+package com.todoapp.migration;
+
+import com.todoapp.entity.Todo;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 从引入版本化迁移前的表结构升级测试
+ * 旧库只有ddl-auto按当时的Todo实体生成的todos表：描述在description列中，没有tenant_id，带三个单列索引
+ */
+class LegacySchemaUpgradeTest {
+
+    private static final String INSERT_LEGACY_TODO = "INSERT INTO todos (title, description, completed, created_at, "
+            + "updated_at) VALUES (?, ?, ?, NOW(), NOW())";
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy_upgrade;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE todos (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(255) NOT NULL, "
+                + "description TEXT, completed BOOLEAN DEFAULT FALSE NOT NULL, created_at TIMESTAMP NOT NULL, "
+                + "updated_at TIMESTAMP NOT NULL)");
+        jdbc.execute("CREATE INDEX idx_todos_completed ON todos (completed)");
+        jdbc.execute("CREATE INDEX idx_todos_created_at ON todos (created_at)");
+        jdbc.execute("CREATE INDEX idx_todos_title ON todos (title)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void shouldUpgradeLegacySchemaToLatestVersion() {
+        // Given
+        jdbc.update(INSERT_LEGACY_TODO, "学习Spring Boot", "完成Spring Boot基础教程", false);
+        jdbc.update(INSERT_LEGACY_TODO, "代码审查", "审查待办事项应用代码", true);
+        jdbc.update(INSERT_LEGACY_TODO, "无描述", null, false);
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/seed")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+
+        // When
+        flyway.migrate();
+
+        // Then
+        MigrationInfo[] applied = flyway.info().applied();
+        assertEquals("0", applied[0].getVersion().getVersion());
+        assertEquals("1", applied[1].getVersion().getVersion());
+        assertTrue(Arrays.stream(applied).noneMatch(info -> info.getState().isFailed()));
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals(3, jdbc.queryForObject("SELECT COUNT(*) FROM todos WHERE tenant_id = 'default'", Integer.class));
+        Map<String, Object> migrated = jdbc.queryForMap("SELECT t.description_preview, t.description_length, d.body "
+                + "FROM todos t JOIN todo_descriptions d ON d.id = t.description_id WHERE t.title = '代码审查'");
+        assertEquals("审查待办事项应用代码", migrated.get("BODY"));
+        assertEquals(Todo.preview("审查待办事项应用代码"), migrated.get("DESCRIPTION_PREVIEW"));
+        assertEquals(2, jdbc.queryForObject("SELECT COUNT(*) FROM todo_descriptions", Integer.class));
+        assertEquals(0, countIndexes("IDX_TODOS_TITLE"));
+        assertEquals(1, countIndexes("IDX_TODOS_TENANT_COMPLETED_CREATED_AT"));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM todo_closure", Integer.class));
+    }
+
+    private int countIndexes(String name) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = ?",
+                Integer.class, name);
+    }
+}
@@ -0,0 +1,110 @@
+package com.todoapp.migration;
+
+import com.todoapp.config.OnlineMigrationProperties;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OnlineMigrationRunner测试
+ * 先按启动流程执行db/migration和db/seed，再执行在线迁移
+ */
+class OnlineMigrationRunnerTest {
+
+    private JdbcTemplate jdbc;
+    private ShardFanOutExecutor shardExecutor;
+    private OnlineMigrationRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:online_migration;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/seed")
+                .load()
+                .migrate();
+
+        OnlineMigrationProperties properties = new OnlineMigrationProperties();
+        properties.setAsync(false);
+        shardExecutor = new ShardFanOutExecutor(List.of(dataSource));
+        runner = new OnlineMigrationRunner(shardExecutor, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardExecutor.destroy();
+        runner.destroy();
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void shouldBuildRemainingIndexesAfterStartup() {
+        // Given - 复合索引由启动迁移V2创建
+        assertTrue(indexExists("IDX_TODOS_TENANT_COMPLETED_CREATED_AT"));
+        assertFalse(indexExists("IDX_TODOS_COMPLETED"));
+        assertFalse(indexExists("IDX_TODOS_TENANT_POSITION"));
+        assertEquals(3, jdbc.queryForObject("SELECT COUNT(*) FROM todos", Integer.class));
+
+        // When
+        runner.onApplicationReady();
+
+        // Then
+        assertEquals(OnlineMigrationRunner.Status.COMPLETED, runner.getStatus());
+        assertTrue(indexExists("IDX_TODOS_TENANT_COMPLETED_CREATED_AT"));
+        assertTrue(indexExists("IDX_TODOS_COMPLETED_UPDATED_AT"));
+        assertTrue(indexExists("IDX_TODOS_TENANT_POSITION"));
+        assertTrue(indexExists("IDX_TODOS_REMIND_AT"));
+        assertTrue(indexExists("IDX_TODOS_RECURRENCE"));
+        assertFalse(indexExists("IDX_TODOS_COMPLETED"));
+        assertFalse(indexExists("IDX_TODOS_TITLE"));
+        assertEquals(1, jdbc.queryForObject(
+                "SELECT COUNT(*) FROM \"flyway_online_history\" WHERE \"version\" = '2' AND \"success\" = TRUE", Integer.class));
+    }
+
+    @Test
+    void shouldBeNoOpWhenAlreadyMigrated() {
+        // Given
+        assertEquals(3, runner.migrateAll());
+
+        // When
+        int executed = runner.migrateAll();
+
+        // Then
+        assertEquals(0, executed);
+        assertEquals(OnlineMigrationRunner.Status.COMPLETED, runner.getStatus());
+    }
+
+    @Test
+    void shouldIgnoreRetiredOnlineMigrationInHistory() {
+        // Given - 旧版本把复合索引作为在线脚本1执行过
+        assertEquals(3, runner.migrateAll());
+        jdbc.update("INSERT INTO \"flyway_online_history\" (\"installed_rank\", \"version\", \"description\", "
+                + "\"type\", \"script\", \"checksum\", \"installed_by\", \"installed_on\", \"execution_time\", "
+                + "\"success\") SELECT MAX(\"installed_rank\") + 1, '1', 'composite todo indexes', 'SQL', "
+                + "'V1__composite_todo_indexes.sql', 0, 'sa', CURRENT_TIMESTAMP, 0, TRUE FROM \"flyway_online_history\"");
+
+        // When
+        int executed = runner.migrateAll();
+
+        // Then
+        assertEquals(0, executed);
+        assertEquals(OnlineMigrationRunner.Status.COMPLETED, runner.getStatus());
+    }
+
+    private boolean indexExists(String name) {
+        Integer count = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = ?", Integer.class, name);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,94 @@
+package com.todoapp.ordering;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RankKeys测试
+ */
+class RankKeysTest {
+
+    @Test
+    void shouldGenerateKeysStrictlyBetweenNeighbours() {
+        // Given
+        List<String> keys = new ArrayList<>(List.of(RankKeys.between(null, null)));
+        Random random = new Random(42);
+
+        // When - 在随机位置反复插入
+        for (int i = 0; i < 2_000; i++) {
+            int index = random.nextInt(keys.size() + 1);
+            String lower = index > 0 ? keys.get(index - 1) : null;
+            String upper = index < keys.size() ? keys.get(index) : null;
+            keys.add(index, RankKeys.between(lower, upper));
+        }
+
+        // Then
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(keys.get(i - 1).compareTo(keys.get(i)) < 0, keys.get(i - 1) + " < " + keys.get(i));
+            assertFalse(keys.get(i).endsWith("0"), keys.get(i));
+        }
+    }
+
+    @Test
+    void shouldKeepKeysShortWhenPrependingOrAppending() {
+        // Given
+        String first = RankKeys.between(null, null);
+        String last = first;
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            first = RankKeys.between(null, first);
+            last = RankKeys.between(last, null);
+        }
+
+        // Then
+        assertTrue(first.length() <= 6, first);
+        assertTrue(last.length() <= 6, last);
+        assertTrue(first.compareTo(last) < 0);
+    }
+
+    @Test
+    void shouldGrowOnlyWhenRepeatedlyInsertingAtTheSamePlace() {
+        // Given
+        String lower = "a";
+        String upper = "b";
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            upper = RankKeys.between(lower, upper);
+        }
+
+        // Then - 每次插入把间隔减半，约每5次增加一位
+        assertTrue(upper.compareTo(lower) > 0);
+        assertTrue(upper.length() > 6 && upper.length() < 20, upper);
+    }
+
+    @Test
+    void shouldSpaceRebalancedKeysEvenly() {
+        // When
+        List<String> keys = RankKeys.spaced(100_000);
+
+        // Then
+        assertEquals(100_000, keys.size());
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(keys.get(i - 1).compareTo(keys.get(i)) < 0);
+        }
+        assertTrue(keys.stream().allMatch(key -> key.length() <= 6));
+        assertNotNull(RankKeys.between(null, keys.get(0)));
+        assertTrue(RankKeys.between(keys.get(keys.size() - 1), null).length() <= 6);
+    }
+
+    @Test
+    void shouldRejectInvalidOrUnorderedKeys() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> RankKeys.between("b", "a"));
+        assertThrows(IllegalArgumentException.class, () -> RankKeys.between("a", "a"));
+        assertThrows(IllegalArgumentException.class, () -> RankKeys.between("A", null));
+        assertThrows(IllegalArgumentException.class, () -> RankKeys.between(null, "a0"));
+    }
+}
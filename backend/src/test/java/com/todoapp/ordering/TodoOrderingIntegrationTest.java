@@ -0,0 +1,229 @@
+package com.todoapp.ordering;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.dto.TodoMoveRequest;
+import com.todoapp.importer.ImportChunkWriter;
+import com.todoapp.importer.ImportRow;
+import com.todoapp.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 手动排序集成测试
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ordering;DB_CLOSE_DELAY=-1",
+        "todo.ordering.rebalance-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoOrderingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TodoRebalancer todoRebalancer;
+
+    @Autowired
+    private ImportChunkWriter chunkWriter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc.perform(delete("/api/v1/todos/all")).andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldMoveTodoByRewritingOnlyItsOwnRow() throws Exception {
+        // Given - 新建的排在最前：c, b, a
+        long a = create("a");
+        long b = create("b");
+        long c = create("c");
+        Map<Long, String> before = positions();
+
+        // When - 把a移到c和b之间
+        mockMvc.perform(patch("/api/v1/todos/{id}/move", a)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoMoveRequest(c, b))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.position").isString());
+
+        // Then
+        assertEquals(List.of(c, a, b), pageIds(null));
+        Map<Long, String> after = positions();
+        assertEquals(before.get(b), after.get(b));
+        assertEquals(before.get(c), after.get(c));
+        assertNotEquals(before.get(a), after.get(a));
+    }
+
+    @Test
+    void shouldMoveToEdgesAndRejectInvalidMoves() throws Exception {
+        // Given
+        long a = create("a");
+        long b = create("b");
+        long c = create("c");
+
+        // When - 只给出一侧时移到它的紧邻位置
+        move(c, new TodoMoveRequest(a, null));
+        move(a, new TodoMoveRequest(null, b));
+
+        // Then
+        assertEquals(List.of(a, b, c), pageIds(null));
+        mockMvc.perform(patch("/api/v1/todos/{id}/move", a)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoMoveRequest(null, null))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/v1/todos/{id}/move", a)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoMoveRequest(b, a))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldPageThroughTodosWithCursor() throws Exception {
+        // Given
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(0, create("Todo " + i));
+        }
+
+        // When
+        List<Long> ids = pageIds(2);
+
+        // Then
+        assertEquals(expected, ids);
+        mockMvc.perform(get("/api/v1/todos").param("sort", "position").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/todos").param("sort", "position").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRebalanceLongKeysAndBackfillImportedTodos() throws Exception {
+        // Given - 模拟反复插入后的长键，以及没有键的导入行
+        long a = create("a");
+        long b = create("b");
+        jdbcTemplate.update("UPDATE todos SET position = ? WHERE id = ?", "i" + "1".repeat(30), a);
+        jdbcTemplate.update("UPDATE todos SET position = ? WHERE id = ?", "i" + "1".repeat(29), b);
+        chunkWriter.write("ordering", 0,
+                List.of(ImportRow.parsed(1, new TodoCreateRequest("imported", null), false, null)), 0);
+        long imported = jdbcTemplate.queryForObject("SELECT id FROM todos WHERE title = 'imported'", Long.class);
+
+        // When
+        todoRebalancer.requestRebalance(TenantContext.DEFAULT_TENANT);
+        todoRebalancer.rebalancePending();
+
+        // Then
+        assertEquals(List.of(b, a, imported), pageIds(null));
+        assertTrue(positions().values().stream().allMatch(position -> position.length() <= 6), positions().toString());
+    }
+
+    @Test
+    void shouldGiveConcurrentCreatesDistinctPositions() throws Exception {
+        // Given
+        create("head");
+        int threads = 8;
+        int perThread = 5;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When - 并发新建，都读取同一个最前的键
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    create("concurrent-" + thread + "-" + i);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        Collection<String> positions = positions().values();
+        assertEquals(threads * perThread + 1, positions.size());
+        assertEquals(positions.size(), new HashSet<>(positions).size());
+    }
+
+    private List<Long> pageIds(Integer limit) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/v1/todos").param("sort", "position");
+            if (limit != null) {
+                request.param("limit", String.valueOf(limit));
+            }
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode data = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString()).path("data");
+            data.path("todos").forEach(todo -> ids.add(todo.path("id").asLong()));
+            cursor = data.hasNonNull("nextCursor") ? data.path("nextCursor").asText() : null;
+        } while (cursor != null);
+        return ids;
+    }
+
+    private void move(long id, TodoMoveRequest request) throws Exception {
+        mockMvc.perform(patch("/api/v1/todos/{id}/move", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+    }
+
+    private long create(String title) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoCreateRequest(title, null))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data").path("id").asLong();
+    }
+
+    private Map<Long, String> positions() {
+        Map<Long, String> positions = new HashMap<>();
+        jdbcTemplate.query("SELECT id, position FROM todos",
+                rs -> {
+                    positions.put(rs.getLong("id"), rs.getString("position"));
+                });
+        return positions;
+    }
+}
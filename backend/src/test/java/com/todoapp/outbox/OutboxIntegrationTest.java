@@ -0,0 +1,147 @@
+package com.todoapp.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.dto.TodoUpdateRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 事务性发件箱集成测试
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1",
+        "todo.outbox.enabled=true",
+        "todo.outbox.sinks=flaky,memory",
+        "todo.outbox.relay-interval-ms=20",
+        "todo.outbox.retry-backoff-ms=10"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OutboxIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InMemoryOutboxSink memorySink;
+
+    @Autowired
+    private FlakySink flakySink;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        memorySink.clear();
+        flakySink.failuresLeft.set(2);
+    }
+
+    @Test
+    void shouldRelayTodoLifecycleInOrderDespiteSinkFailures() throws Exception {
+        // Given
+        String body = mockMvc.perform(post("/api/v1/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoCreateRequest("Outbox todo", null))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(body).path("data").path("id").asLong();
+
+        // When
+        mockMvc.perform(put("/api/v1/todos/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoUpdateRequest("Renamed", null, null))))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/v1/todos/{id}/toggle", id)).andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/todos/{id}", id)).andExpect(status().isOk());
+
+        // Then
+        List<OutboxMessage> events = awaitEvents(id, 4);
+        assertEquals(List.of("CREATED", "UPDATED", "TOGGLED", "DELETED"),
+                events.stream().map(OutboxMessage::eventType).toList());
+        assertTrue(events.get(1).payload().contains("\"title\":\"Renamed\""));
+        assertTrue(flakySink.failuresLeft.get() <= 0);
+    }
+
+    @Test
+    void shouldNotRecordEventsForRolledBackWrites() throws Exception {
+        // Given
+        Integer before = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class);
+
+        // When
+        mockMvc.perform(patch("/api/v1/todos/{id}/toggle", 999_999)).andExpect(status().isNotFound());
+
+        // Then
+        assertEquals(before, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class));
+    }
+
+    /**
+     * 等待某个Todo的事件全部投递，按事件ID去重（至少一次投递可能产生重复）
+     */
+    private List<OutboxMessage> awaitEvents(long todoId, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            Map<Long, OutboxMessage> unique = new LinkedHashMap<>();
+            memorySink.getEvents().stream()
+                    .filter(event -> Long.valueOf(todoId).equals(event.todoId()))
+                    .forEach(event -> unique.putIfAbsent(event.id(), event));
+            Integer pending = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM outbox_events WHERE published_at IS NULL", Integer.class);
+            if ((unique.size() >= expected && pending == 0) || System.currentTimeMillis() > deadline) {
+                return List.copyOf(unique.values());
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * 前几次投递失败的目标，用于验证重试与顺序
+     */
+    static class FlakySink implements OutboxSink {
+
+        final AtomicInteger failuresLeft = new AtomicInteger();
+
+        @Override
+        public String getName() {
+            return "flaky";
+        }
+
+        @Override
+        public void publish(List<OutboxMessage> batch) {
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("simulated sink failure");
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class FlakySinkConfig {
+
+        @Bean
+        FlakySink flakySink() {
+            return new FlakySink();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.todoapp.outbox;
+
+import com.todoapp.config.OutboxProperties;
+import com.todoapp.datasource.ShardFanOutExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OutboxRelay测试
+ * 两个投递实例共用一张outbox_events表
+ */
+class OutboxRelayTest {
+
+    private JdbcTemplate jdbc;
+    private ShardFanOutExecutor shardExecutor;
+    private OutboxProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:outbox_relay;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        shardExecutor = new ShardFanOutExecutor(List.of(dataSource));
+        properties = new OutboxProperties();
+        properties.setBatchSize(50);
+        properties.setRetryBackoffMs(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardExecutor.destroy();
+        jdbc.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void shouldDeliverEachEventOnceInOrderWithTwoRelays() throws Exception {
+        // Given
+        insertEvents(1000, 20);
+        InMemoryOutboxSink sinkA = new InMemoryOutboxSink(10_000);
+        InMemoryOutboxSink sinkB = new InMemoryOutboxSink(10_000);
+        OutboxRelay relayA = relay(sinkA);
+        OutboxRelay relayB = relay(sinkB);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        List<Future<?>> runs = new ArrayList<>();
+        for (OutboxRelay relay : List.of(relayA, relayB)) {
+            runs.add(executor.submit(() -> {
+                start.await();
+                while (pending() > 0) {
+                    relay.relay();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> run : runs) {
+            run.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        List<OutboxMessage> delivered = new ArrayList<>(sinkA.getEvents());
+        delivered.addAll(sinkB.getEvents());
+        Set<Long> ids = new HashSet<>();
+        delivered.forEach(message -> assertTrue(ids.add(message.id()), "event " + message.id() + " delivered twice"));
+        assertEquals(1000, ids.size());
+        for (InMemoryOutboxSink sink : List.of(sinkA, sinkB)) {
+            Map<Long, Long> lastIdPerTodo = new HashMap<>();
+            for (OutboxMessage message : sink.getEvents()) {
+                Long previous = lastIdPerTodo.put(message.todoId(), message.id());
+                assertTrue(previous == null || previous < message.id(), "todo " + message.todoId() + " out of order");
+            }
+        }
+        assertTrue(sinkA.getEvents().isEmpty() || sinkB.getEvents().isEmpty(), "only the lease holder relays");
+    }
+
+    @Test
+    void shouldHandOverLeaseWhenHolderStops() {
+        // Given
+        InMemoryOutboxSink sinkA = new InMemoryOutboxSink(100);
+        InMemoryOutboxSink sinkB = new InMemoryOutboxSink(100);
+        OutboxRelay relayA = relay(sinkA);
+        OutboxRelay relayB = relay(sinkB);
+        insertEvents(3, 1);
+        relayA.relay();
+
+        // When
+        insertEvents(2, 1);
+        relayB.relay();
+        relayA.destroy();
+        relayB.relay();
+
+        // Then
+        assertEquals(3, sinkA.getEvents().size());
+        assertEquals(2, sinkB.getEvents().size());
+        assertEquals(0, pending());
+    }
+
+    @Test
+    void shouldMovePoisonEventToDeadLetterAfterMaxAttempts() {
+        // Given
+        properties.setMaxAttempts(3);
+        insertEvents(10, 2);
+        long poisonId = jdbc.queryForObject("SELECT MIN(id) FROM outbox_events", Long.class) + 3;
+        InMemoryOutboxSink memory = new InMemoryOutboxSink(100);
+        OutboxSink rejecting = new OutboxSink() {
+            @Override
+            public String getName() {
+                return "rejecting";
+            }
+
+            @Override
+            public void publish(List<OutboxMessage> batch) {
+                if (batch.stream().anyMatch(message -> message.id() == poisonId)) {
+                    throw new IllegalArgumentException("cannot encode event " + poisonId);
+                }
+            }
+        };
+        properties.setSinks(List.of("rejecting", "memory"));
+        OutboxRelay relay = new OutboxRelay(shardExecutor, List.of(rejecting, memory), properties, new SimpleMeterRegistry());
+
+        // When & Then - 失败的事件之前的事件已投递，之后的事件等待它
+        relay.relay();
+        assertEquals(3, memory.getEvents().size());
+        relay.relay();
+        assertEquals(3, memory.getEvents().size());
+        relay.relay();
+
+        // Then
+        assertEquals(9, memory.getEvents().size());
+        assertFalse(memory.getEvents().stream().anyMatch(message -> message.id() == poisonId));
+        Map<String, Object> poison = jdbc.queryForMap(
+                "SELECT attempts, last_error, dead_lettered_at, published_at FROM outbox_events WHERE id = ?", poisonId);
+        assertEquals(3, ((Number) poison.get("ATTEMPTS")).intValue());
+        assertEquals("cannot encode event " + poisonId, poison.get("LAST_ERROR"));
+        assertNotNull(poison.get("DEAD_LETTERED_AT"));
+        assertNull(poison.get("PUBLISHED_AT"));
+        assertEquals(0, pending());
+    }
+
+    private OutboxRelay relay(InMemoryOutboxSink sink) {
+        return new OutboxRelay(shardExecutor, List.of(sink), properties, new SimpleMeterRegistry());
+    }
+
+    private void insertEvents(int count, int todos) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{(long) (i % todos + 1), "UPDATED", new Timestamp(System.currentTimeMillis())});
+        }
+        jdbc.batchUpdate("INSERT INTO outbox_events (todo_id, tenant, event_type, payload, created_at) "
+                + "VALUES (?, 'default', ?, '{}', ?)", rows);
+    }
+
+    private int pending() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM outbox_events "
+                + "WHERE published_at IS NULL AND dead_lettered_at IS NULL", Integer.class);
+    }
+}
@@ -0,0 +1,130 @@
+package com.todoapp.recurrence;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RecurrenceRule测试
+ */
+class RecurrenceRuleTest {
+
+    @Test
+    void shouldRepeatOnWeekdaysAndSkipWeekend() {
+        // Given - 2024-01-06是周六
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR");
+        LocalDateTime start = LocalDateTime.of(2024, 1, 6, 9, 0);
+
+        // When
+        List<LocalDateTime> occurrences = occurrences(rule, start, 6);
+
+        // Then
+        assertEquals(List.of(
+                LocalDateTime.of(2024, 1, 8, 9, 0),
+                LocalDateTime.of(2024, 1, 9, 9, 0),
+                LocalDateTime.of(2024, 1, 10, 9, 0),
+                LocalDateTime.of(2024, 1, 11, 9, 0),
+                LocalDateTime.of(2024, 1, 12, 9, 0),
+                LocalDateTime.of(2024, 1, 15, 9, 0)), occurrences);
+    }
+
+    @Test
+    void shouldSkipWeeksByInterval() {
+        // Given - 2024-01-01是周一
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH");
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 30);
+
+        // When
+        List<LocalDateTime> occurrences = occurrences(rule, start, 4);
+
+        // Then
+        assertEquals(List.of(
+                LocalDateTime.of(2024, 1, 1, 8, 30),
+                LocalDateTime.of(2024, 1, 4, 8, 30),
+                LocalDateTime.of(2024, 1, 15, 8, 30),
+                LocalDateTime.of(2024, 1, 18, 8, 30)), occurrences);
+    }
+
+    @Test
+    void shouldRepeatDailyByIntervalAndByDay() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 7, 0);
+
+        // When
+        List<LocalDateTime> everyThirdDay = occurrences(RecurrenceRule.parse("FREQ=DAILY;INTERVAL=3"), start, 3);
+        List<LocalDateTime> weekends = occurrences(RecurrenceRule.parse("FREQ=DAILY;BYDAY=SA,SU"), start, 3);
+
+        // Then
+        assertEquals(List.of(
+                LocalDateTime.of(2024, 1, 1, 7, 0),
+                LocalDateTime.of(2024, 1, 4, 7, 0),
+                LocalDateTime.of(2024, 1, 7, 7, 0)), everyThirdDay);
+        assertEquals(List.of(
+                LocalDateTime.of(2024, 1, 6, 7, 0),
+                LocalDateTime.of(2024, 1, 7, 7, 0),
+                LocalDateTime.of(2024, 1, 13, 7, 0)), weekends);
+    }
+
+    @Test
+    void shouldClampMonthlyToLastDayWithoutDrifting() {
+        // Given
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY");
+        LocalDateTime start = LocalDateTime.of(2024, 1, 31, 10, 0);
+
+        // When
+        List<LocalDateTime> occurrences = occurrences(rule, start, 4);
+
+        // Then - 2月取最后一天，之后仍回到31日
+        assertEquals(List.of(
+                LocalDateTime.of(2024, 1, 31, 10, 0),
+                LocalDateTime.of(2024, 2, 29, 10, 0),
+                LocalDateTime.of(2024, 3, 31, 10, 0),
+                LocalDateTime.of(2024, 4, 30, 10, 0)), occurrences);
+    }
+
+    @Test
+    void shouldStopAfterUntil() {
+        // Given
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY");
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        LocalDateTime until = LocalDateTime.of(2024, 1, 2, 9, 0);
+
+        // When / Then
+        assertEquals(until, rule.next(start, start, until));
+        assertNull(rule.next(start, until, until));
+    }
+
+    @Test
+    void shouldNormalizeRuleText() {
+        // When
+        RecurrenceRule rule = RecurrenceRule.parse(" freq=weekly;interval=1;byday=fr,mo ");
+
+        // Then
+        assertEquals("FREQ=WEEKLY;BYDAY=MO,FR", rule.toString());
+        assertEquals("FREQ=MONTHLY;INTERVAL=3", RecurrenceRule.parse("FREQ=MONTHLY;INTERVAL=3").toString());
+    }
+
+    @Test
+    void shouldRejectInvalidRules() {
+        // When / Then
+        for (String invalid : List.of("", "FREQ=YEARLY", "INTERVAL=2", "FREQ=DAILY;INTERVAL=0",
+                "FREQ=DAILY;INTERVAL=x", "FREQ=WEEKLY;BYDAY=XX", "FREQ=MONTHLY;BYDAY=MO",
+                "FREQ=DAILY;INTERVAL=2;BYDAY=MO", "FREQ=DAILY;COUNT=3", "FREQ=DAILY;FREQ=WEEKLY", "FREQ")) {
+            assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse(invalid), invalid);
+        }
+    }
+
+    private static List<LocalDateTime> occurrences(RecurrenceRule rule, LocalDateTime start, int count) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        LocalDateTime next = rule.first(start);
+        while (occurrences.size() < count) {
+            occurrences.add(next);
+            next = rule.next(start, next);
+        }
+        return occurrences;
+    }
+}
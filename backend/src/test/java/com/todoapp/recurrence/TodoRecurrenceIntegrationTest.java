@@ -0,0 +1,232 @@
+package com.todoapp.recurrence;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.cache.TodoIdFilter;
+import com.todoapp.dto.RecurrenceCreateRequest;
+import com.todoapp.repository.QueryPlanRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 重复待办集成测试
+ * 表结构和索引由迁移脚本创建，后台生成任务由测试直接调用
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:recurrences;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "todo.migration.online.enabled=true",
+        "todo.migration.online.async=false",
+        "todo.recurrence.horizon=2d",
+        "todo.recurrence.interval-ms=3600000",
+        "todo.recurrence.batch-size=2",
+        "todo.recurrence.max-occurrences-per-rule=4",
+        "todo.negative-lookup.enabled=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoRecurrenceIntegrationTest {
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecurrenceMaterializer recurrenceMaterializer;
+
+    @Autowired
+    private TodoIdFilter todoIdFilter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc.perform(delete("/api/v1/todos/all")).andExpect(status().isOk());
+        jdbcTemplate.update("DELETE FROM todo_recurrences");
+    }
+
+    @Test
+    void shouldCreateFirstOccurrenceAndMaterializeOnlyWithinHorizon() throws Exception {
+        // Given
+        LocalDateTime start = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        JsonNode recurrence = create("daily standup", "FREQ=DAILY", start);
+
+        // Then - 第一个实例同步生成
+        assertEquals(start.plusDays(1).format(FORMAT), recurrence.path("nextAt").asText());
+        assertEquals(List.of(start), dueDates(recurrence.path("id").asLong()));
+
+        // When - 窗口为2天，只生成明天的实例
+        int created = recurrenceMaterializer.materializeDue();
+
+        // Then
+        assertEquals(1, created);
+        assertEquals(List.of(start, start.plusDays(1)), dueDates(recurrence.path("id").asLong()));
+        assertEquals(0, recurrenceMaterializer.materializeDue());
+        mockMvc.perform(get("/api/v1/todos/recurrences"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].rule").value("FREQ=DAILY"))
+                .andExpect(jsonPath("$.data[0].nextAt").value(start.plusDays(2).format(FORMAT)));
+        mockMvc.perform(get("/api/v1/todos"))
+                .andExpect(jsonPath("$.data[0].recurrenceId").value(recurrence.path("id").asLong()))
+                .andExpect(jsonPath("$.data[0].dueAt").isNotEmpty());
+    }
+
+    @Test
+    void shouldCatchUpInBatchesAcrossRules() throws Exception {
+        // Given - 十天前开始的规则，每个事务每条规则最多生成4个实例，每批领取2条规则
+        LocalDateTime start = LocalDateTime.now().minusDays(10).plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        long first = create("water plants", "FREQ=DAILY", start).path("id").asLong();
+        long second = create("backup", "FREQ=DAILY;INTERVAL=5", start).path("id").asLong();
+        long third = create("review", "FREQ=WEEKLY", start.plusDays(3)).path("id").asLong();
+
+        // When
+        int created = recurrenceMaterializer.materializeDue();
+
+        // Then - 从第十天前到明天每天一个；每5天一个；每周一个，都停在窗口内
+        assertEquals(12, dueDates(first).size());
+        assertEquals(start.plusDays(11), dueDates(first).get(11));
+        assertEquals(List.of(start, start.plusDays(5), start.plusDays(10)), dueDates(second));
+        assertEquals(List.of(start.plusDays(3), start.plusDays(10)), dueDates(third));
+        assertEquals(11 + 2 + 1, created);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todo_recurrences WHERE next_at < ?", Integer.class,
+                Timestamp.valueOf(LocalDateTime.now().plusDays(2))));
+    }
+
+    @Test
+    void shouldAddMaterializedOccurrencesToIdFilter() throws Exception {
+        // Given
+        LocalDateTime start = LocalDateTime.now().minusDays(2).plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        long recurrenceId = create("stretch", "FREQ=DAILY", start).path("id").asLong();
+        todoIdFilter.rebuild();
+
+        // When
+        recurrenceMaterializer.materializeDue();
+
+        // Then - 新实例的ID直接加入过滤器，不存在的ID仍直接判定
+        List<Long> ids = occurrenceIds(recurrenceId);
+        assertEquals(4, ids.size());
+        ids.forEach(id -> assertTrue(todoIdFilter.mightContain(id)));
+        assertFalse(todoIdFilter.mightContain(987_654_321L));
+    }
+
+    @Test
+    void shouldMaterializeNextOccurrenceWhenLastPendingOneIsCompleted() throws Exception {
+        // Given - 每周一次，下一次在窗口之外
+        LocalDateTime start = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        long recurrenceId = create("weekly report", "FREQ=WEEKLY", start).path("id").asLong();
+        long firstId = occurrenceIds(recurrenceId).get(0);
+
+        // When
+        mockMvc.perform(patch("/api/v1/todos/{id}/toggle", firstId)).andExpect(status().isOk());
+
+        // Then
+        assertEquals(List.of(start, start.plusWeeks(1)), dueDates(recurrenceId));
+        assertEquals(Timestamp.valueOf(start.plusWeeks(2)), jdbcTemplate.queryForObject(
+                "SELECT next_at FROM todo_recurrences WHERE id = ?", Timestamp.class, recurrenceId));
+
+        // When - 还有未完成实例时重新完成不再生成
+        mockMvc.perform(patch("/api/v1/todos/{id}/toggle", firstId)).andExpect(status().isOk());
+        mockMvc.perform(patch("/api/v1/todos/{id}/toggle", firstId)).andExpect(status().isOk());
+
+        // Then
+        assertEquals(2, dueDates(recurrenceId).size());
+    }
+
+    @Test
+    void shouldStopAtEndAndKeepOccurrencesWhenDeleted() throws Exception {
+        // Given - 结束时间在第二次出现之前
+        LocalDateTime start = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        RecurrenceCreateRequest request = new RecurrenceCreateRequest("once", null, "FREQ=DAILY", start, start.plusHours(1));
+        long recurrenceId = create(request).path("id").asLong();
+        long occurrenceId = occurrenceIds(recurrenceId).get(0);
+
+        // When
+        assertEquals(0, recurrenceMaterializer.materializeDue());
+        mockMvc.perform(delete("/api/v1/todos/recurrences/{id}", recurrenceId)).andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/api/v1/todos/{id}", occurrenceId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.recurrenceId").doesNotExist())
+                .andExpect(jsonPath("$.data.dueAt").value(start.format(FORMAT)));
+        mockMvc.perform(get("/api/v1/todos/recurrences")).andExpect(jsonPath("$.data").isEmpty());
+        mockMvc.perform(delete("/api/v1/todos/recurrences/{id}", recurrenceId)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldRejectInvalidRules() throws Exception {
+        // Given
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        // When / Then
+        for (RecurrenceCreateRequest request : List.of(
+                new RecurrenceCreateRequest("bad", null, "FREQ=YEARLY", start, null),
+                new RecurrenceCreateRequest("bad", null, "FREQ=DAILY", start, start.minusDays(1)),
+                new RecurrenceCreateRequest("bad", null, "FREQ=DAILY", null, null))) {
+            mockMvc.perform(post("/api/v1/todos/recurrences")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+        }
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo_recurrences", Integer.class));
+    }
+
+    @Test
+    void shouldClaimDueRulesThroughNextAtIndex() {
+        // When
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> QueryPlanRecorder.explain(connection,
+                "SELECT id FROM todo_recurrences WHERE next_at < CURRENT_TIMESTAMP ORDER BY next_at, id LIMIT 10"));
+
+        // Then
+        assertFalse(QueryPlanRecorder.isFullScan(plan), plan);
+        assertTrue(plan.contains("IDX_TODO_RECURRENCES_NEXT_AT"), plan);
+    }
+
+    private JsonNode create(String title, String rule, LocalDateTime startsAt) throws Exception {
+        return create(new RecurrenceCreateRequest(title, null, rule, startsAt, null));
+    }
+
+    private JsonNode create(RecurrenceCreateRequest request) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/todos/recurrences")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data");
+    }
+
+    private List<LocalDateTime> dueDates(long recurrenceId) {
+        return jdbcTemplate.queryForList("SELECT due_at FROM todos WHERE recurrence_id = ? ORDER BY due_at",
+                Timestamp.class, recurrenceId).stream().map(Timestamp::toLocalDateTime).toList();
+    }
+
+    private List<Long> occurrenceIds(long recurrenceId) {
+        return jdbcTemplate.queryForList("SELECT id FROM todos WHERE recurrence_id = ? ORDER BY due_at",
+                Long.class, recurrenceId);
+    }
+}
@@ -0,0 +1,212 @@
+package com.todoapp.reminder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.repository.QueryPlanRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 到期提醒集成测试
+ * 表结构和idx_todos_remind_at索引由迁移脚本创建，调度按缩短的间隔在后台运行
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reminders;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "todo.migration.online.enabled=true",
+        "todo.migration.online.async=false",
+        "todo.reminders.enabled=true",
+        "todo.reminders.sinks=recording",
+        "todo.reminders.tick-ms=50",
+        "todo.reminders.load-interval-ms=200",
+        "todo.reminders.lookahead-ms=10000",
+        "todo.reminders.lease-ms=1000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReminderSchedulerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordingSink recordingSink;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc.perform(delete("/api/v1/todos/all")).andExpect(status().isOk());
+        jdbcTemplate.update("DELETE FROM reminder_leases");
+        recordingSink.reminders.clear();
+    }
+
+    @Test
+    void shouldFireDueTodoOnceAndSkipCompletedOnes() throws Exception {
+        // Given
+        LocalDateTime dueAt = LocalDateTime.now().plusSeconds(2).truncatedTo(ChronoUnit.SECONDS);
+        long due = create("due", dueAt);
+        long completed = create("completed", dueAt);
+        long later = create("later", dueAt.plusHours(1));
+        mockMvc.perform(patch("/api/v1/todos/{id}/toggle", completed)).andExpect(status().isOk());
+
+        // When
+        List<Reminder> fired = awaitReminders(1);
+        awaitRemindAtCleared(due);
+        Thread.sleep(500);
+
+        // Then
+        assertEquals(List.of(due), recordingSink.reminders.stream().map(Reminder::todoId).toList());
+        assertEquals("due", fired.get(0).title());
+        assertEquals(dueAt, fired.get(0).dueAt());
+        assertFalse(fired.get(0).firedAt().isBefore(dueAt));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos WHERE remind_at IS NOT NULL", Integer.class));
+        assertNotNull(jdbcTemplate.queryForObject("SELECT remind_at FROM todos WHERE id = ?", Timestamp.class, later));
+        mockMvc.perform(get("/api/v1/todos/{id}", due))
+                .andExpect(jsonPath("$.data.dueAt").value(dueAt.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))));
+    }
+
+    @Test
+    void shouldFireRemindersMissedWhileDownOnNextLoad() throws Exception {
+        // Given - 停机期间到期、尚未触发的提醒
+        long missed = create("missed", LocalDateTime.now().plusHours(1));
+        LocalDateTime past = LocalDateTime.now().minusMinutes(5).truncatedTo(ChronoUnit.SECONDS);
+        jdbcTemplate.update("UPDATE todos SET due_at = ?, remind_at = ? WHERE id = ?",
+                Timestamp.valueOf(past), Timestamp.valueOf(past), missed);
+
+        // When
+        List<Reminder> fired = awaitReminders(1);
+
+        // Then
+        assertEquals(missed, fired.get(0).todoId());
+        awaitRemindAtCleared(missed);
+    }
+
+    @Test
+    void shouldStopFiringWhileAnotherInstanceHoldsTheLease() throws Exception {
+        // Given - 另一个实例持有未过期的租约
+        awaitLeaseOwner();
+        jdbcTemplate.update("UPDATE reminder_leases SET owner = 'other', expires_at = ?",
+                Timestamp.valueOf(LocalDateTime.now().plusMinutes(1)));
+        Thread.sleep(500);
+        long id = create("elsewhere", LocalDateTime.now().plusSeconds(1).truncatedTo(ChronoUnit.SECONDS));
+
+        // When
+        Thread.sleep(1500);
+
+        // Then
+        assertTrue(recordingSink.reminders.isEmpty());
+        assertNotNull(jdbcTemplate.queryForObject("SELECT remind_at FROM todos WHERE id = ?", Timestamp.class, id));
+
+        // When - 租约过期后接管，补发错过的提醒
+        jdbcTemplate.update("UPDATE reminder_leases SET expires_at = ?", Timestamp.valueOf(LocalDateTime.now()));
+
+        // Then
+        assertEquals(id, awaitReminders(1).get(0).todoId());
+    }
+
+    @Test
+    void shouldLoadWindowThroughRemindAtIndex() {
+        // When
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                QueryPlanRecorder.explain(connection, ReminderScheduler.LOAD_SQL));
+
+        // Then
+        assertFalse(QueryPlanRecorder.isFullScan(plan), plan);
+        assertTrue(plan.contains("IDX_TODOS_REMIND_AT"), plan);
+    }
+
+    private long create(String title, LocalDateTime dueAt) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoCreateRequest(title, null, null, dueAt))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("data").path("id").asLong();
+    }
+
+    private void awaitLeaseOwner() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reminder_leases", Integer.class) == 0
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * 投递成功后才清空remind_at，投递目标收到提醒时更新可能尚未执行
+     */
+    private void awaitRemindAtCleared(long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (remindAt(id) != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertNull(remindAt(id));
+    }
+
+    private Timestamp remindAt(long id) {
+        return jdbcTemplate.queryForObject("SELECT remind_at FROM todos WHERE id = ?", Timestamp.class, id);
+    }
+
+    private List<Reminder> awaitReminders(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (recordingSink.reminders.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(expected, recordingSink.reminders.size());
+        return List.copyOf(recordingSink.reminders);
+    }
+
+    /**
+     * 记录投递的提醒
+     */
+    static class RecordingSink implements ReminderSink {
+
+        final List<Reminder> reminders = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String getName() {
+            return "recording";
+        }
+
+        @Override
+        public void deliver(List<Reminder> batch) {
+            reminders.addAll(batch);
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingSinkConfig {
+
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+}
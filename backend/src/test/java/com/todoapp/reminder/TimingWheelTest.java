@@ -0,0 +1,120 @@
+package com.todoapp.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TimingWheel测试
+ */
+class TimingWheelTest {
+
+    private static final long START = 1_000_000;
+
+    @Test
+    void shouldFireInDeadlineOrderAcrossLevels() {
+        // Given - 10ms一格、每层8格、3层，跨度约5秒
+        TimingWheel<Integer> wheel = new TimingWheel<>(10, 8, 3, START);
+        Random random = new Random(42);
+        PriorityQueue<long[]> expected = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        for (int key = 0; key < 2_000; key++) {
+            long deadline = START + 1 + random.nextInt((int) wheel.getSpanMs() - 1);
+            assertTrue(wheel.schedule(key, deadline));
+            expected.add(new long[]{deadline, key});
+        }
+
+        // When - 每次推进随机的距离
+        List<TimingWheel.Timeout<Integer>> fired = new ArrayList<>();
+        long now = START;
+        while (now < START + wheel.getSpanMs() + 10) {
+            now += 1 + random.nextInt(50);
+            for (TimingWheel.Timeout<Integer> timeout : wheel.advanceTo(now)) {
+                assertTrue(timeout.deadlineMs() <= now, "fired before deadline");
+                assertTrue(timeout.deadlineMs() > now - 60, "fired too late");
+                fired.add(timeout);
+            }
+        }
+
+        // Then - 精度为一格：格子之间按到期时间有序
+        assertEquals(2_000, fired.size());
+        assertEquals(0, wheel.size());
+        for (int i = 1; i < fired.size(); i++) {
+            assertTrue(fired.get(i - 1).deadlineMs() / 10 <= (fired.get(i).deadlineMs() + 9) / 10);
+        }
+    }
+
+    @Test
+    void shouldCancelAndReschedule() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 2, START);
+        wheel.schedule("cancelled", START + 100);
+        wheel.schedule("moved", START + 100);
+        wheel.schedule("kept", START + 100);
+
+        // When
+        assertTrue(wheel.cancel("cancelled"));
+        assertFalse(wheel.cancel("missing"));
+        wheel.schedule("moved", START + 300);
+
+        // Then
+        assertEquals(2, wheel.size());
+        assertEquals(List.of("kept"), keys(wheel.advanceTo(START + 200)));
+        assertEquals(List.of("moved"), keys(wheel.advanceTo(START + 300)));
+        assertFalse(wheel.contains("moved"));
+    }
+
+    @Test
+    void shouldCancelByPredicate() {
+        // Given
+        TimingWheel<Integer> wheel = new TimingWheel<>(10, 8, 2, START);
+        for (int key = 0; key < 10; key++) {
+            wheel.schedule(key, START + 50 + key * 40L);
+        }
+
+        // When
+        wheel.cancelIf(key -> key % 2 == 0);
+
+        // Then
+        assertEquals(5, wheel.size());
+        assertEquals(List.of(1, 3, 5, 7, 9), keys(wheel.advanceTo(START + 1_000)));
+    }
+
+    @Test
+    void shouldRejectDeadlinesBeyondSpanAndFireOverdueImmediately() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 2, START);
+
+        // When / Then
+        assertFalse(wheel.schedule("far", START + 64 * 10 * 8));
+        assertFalse(wheel.contains("far"));
+        assertTrue(wheel.schedule("edge", START + wheel.getSpanMs()));
+        assertTrue(wheel.schedule("late", START - 5_000));
+        assertEquals(List.of("late"), keys(wheel.advanceTo(START)));
+        assertEquals(List.of("edge"), keys(wheel.advanceTo(START + wheel.getSpanMs())));
+    }
+
+    @Test
+    void shouldJumpOverIdlePeriods() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 2, START);
+        wheel.schedule("cancelled", START + 100);
+        wheel.cancel("cancelled");
+
+        // When - 空闲一小时后再调度
+        assertEquals(List.of(), wheel.advanceTo(START + 3_600_000));
+        wheel.schedule("after", START + 3_600_050);
+
+        // Then
+        assertEquals(List.of(), wheel.advanceTo(START + 3_600_040));
+        assertEquals(List.of("after"), keys(wheel.advanceTo(START + 3_600_050)));
+    }
+
+    private static <K> List<K> keys(List<TimingWheel.Timeout<K>> timeouts) {
+        return timeouts.stream().map(TimingWheel.Timeout::key).toList();
+    }
+}
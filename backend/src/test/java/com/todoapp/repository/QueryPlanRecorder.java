@@ -0,0 +1,82 @@
+package com.todoapp.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 记录Hibernate发出的SQL并获取H2执行计划
+ * 通过hibernate.session_factory.statement_inspector注册
+ */
+public class QueryPlanRecorder implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * 已记录的查询、更新、删除语句（插入语句没有执行计划可言）
+     */
+    public static List<String> recordedQueries() {
+        return STATEMENTS.stream()
+                .filter(sql -> {
+                    String verb = sql.stripLeading().toLowerCase(Locale.ROOT);
+                    return verb.startsWith("select") || verb.startsWith("update") || verb.startsWith("delete");
+                })
+                .toList();
+    }
+
+    /**
+     * 用按参数类型生成的占位值执行EXPLAIN，避免NULL参数被常量折叠改变计划
+     */
+    public static String explain(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            ParameterMetaData metaData = statement.getParameterMetaData();
+            for (int i = 1; i <= metaData.getParameterCount(); i++) {
+                statement.setObject(i, sampleValue(metaData.getParameterType(i)));
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                List<String> lines = new ArrayList<>();
+                while (rs.next()) {
+                    lines.add(rs.getString(1));
+                }
+                return String.join("\n", lines);
+            }
+        }
+    }
+
+    /**
+     * H2的执行计划以"表名.tableScan"标记全表扫描
+     */
+    public static boolean isFullScan(String plan) {
+        return plan.contains(".tableScan");
+    }
+
+    private static Object sampleValue(int sqlType) {
+        return switch (sqlType) {
+            case Types.BOOLEAN, Types.BIT -> Boolean.TRUE;
+            case Types.BIGINT -> 1L;
+            case Types.INTEGER, Types.SMALLINT, Types.TINYINT -> 1;
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> new Timestamp(System.currentTimeMillis());
+            default -> "x";
+        };
+    }
+}
@@ -0,0 +1,200 @@
+package com.todoapp.repository;
+
+import com.todoapp.config.OnlineMigrationConfig;
+import com.todoapp.config.OnlineMigrationProperties;
+import com.todoapp.config.ShardingConfig;
+import com.todoapp.entity.Todo;
+import com.todoapp.migration.OnlineMigrationRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TodoRepository执行计划回归测试
+ * 表结构由版本化迁移脚本（含在线迁移）创建并校验实体映射，每个查询的EXPLAIN中不允许出现全表扫描。
+ * 子任务闭包表、标签关联表、重复规则表和变更历史表的查询与批量语句一并检查，清理孤立路径和孤立标签关联的语句本身是全表检查，不在其列
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplan;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "todo.migration.online.enabled=true",
+        "todo.migration.online.async=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.todoapp.repository.QueryPlanRecorder"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ShardingConfig.class, OnlineMigrationConfig.class})
+@EnableConfigurationProperties(OnlineMigrationProperties.class)
+class TodoQueryPlanTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoClosureRepository todoClosureRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TodoTagRepository todoTagRepository;
+
+    @Autowired
+    private TodoRecurrenceRepository todoRecurrenceRepository;
+
+    @Autowired
+    private TodoEventRepository todoEventRepository;
+
+    @Autowired
+    private TodoSnapshotRepository todoSnapshotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OnlineMigrationRunner onlineMigrationRunner;
+
+    private Long todoId;
+
+    @BeforeEach
+    void setUp() {
+        assertEquals(OnlineMigrationRunner.Status.COMPLETED, onlineMigrationRunner.getStatus());
+        Todo completed = new Todo("Completed Todo", "This is completed");
+        completed.setCompleted(true);
+        entityManager.persist(completed);
+        todoId = entityManager.persistAndFlush(new Todo("Pending Todo", "This is pending")).getId();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldNotFullScanForAnyRepositoryQuery() {
+        // Given
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findById", () -> todoRepository.findById(todoId).orElseThrow().getDescription());
+        queries.put("existsById", () -> todoRepository.existsById(todoId));
+        queries.put("count", todoRepository::count);
+        queries.put("countByCompleted", () -> todoRepository.countByCompleted(true));
+        queries.put("findByCompleted", () -> todoRepository.findByCompleted(false));
+        queries.put("findByCompletedOrderByCreatedAtDesc", () -> todoRepository.findByCompletedOrderByCreatedAtDesc(true));
+        queries.put("findByCompletedOrderByCreatedAtDesc(view)",
+                () -> todoRepository.findByCompletedOrderByCreatedAtDesc(false, TodoPreviewView.class));
+        queries.put("findAllByOrderByCreatedAtDesc", todoRepository::findAllByOrderByCreatedAtDesc);
+        queries.put("findAllByOrderByCreatedAtDesc(view)",
+                () -> todoRepository.findAllByOrderByCreatedAtDesc(TodoSummaryView.class));
+        queries.put("findAllWithDescriptionOrderByCreatedAtDesc", todoRepository::findAllWithDescriptionOrderByCreatedAtDesc);
+        queries.put("findWithDescriptionByCompletedOrderByCreatedAtDesc",
+                () -> todoRepository.findWithDescriptionByCompletedOrderByCreatedAtDesc(true));
+        queries.put("findWithDescriptionByIdIn", () -> todoRepository.findWithDescriptionByIdIn(List.of(todoId)));
+        queries.put("findPositionPage", () -> todoRepository.findPositionPage("", 0L, PageRequest.of(0, 20)));
+        queries.put("findPositionPageByCompleted",
+                () -> todoRepository.findPositionPageByCompleted(false, "i", todoId, PageRequest.of(0, 20)));
+        queries.put("findPositions", () -> todoRepository.findPositions(PageRequest.of(0, 1)));
+        queries.put("findPositionsAfter", () -> todoRepository.findPositionsAfter("i", todoId, PageRequest.of(0, 1)));
+        queries.put("findPositionsBefore", () -> todoRepository.findPositionsBefore("i", todoId, PageRequest.of(0, 1)));
+        queries.put("findSubtree", () -> todoRepository.findSubtree(todoId));
+        queries.put("findDescriptionIdsByCompletedTrue", todoRepository::findDescriptionIdsByCompletedTrue);
+        queries.put("findIdsByCompletedTrue", todoRepository::findIdsByCompletedTrue);
+        queries.put("findAllIds", todoRepository::findAllIds);
+        queries.put("findChildProgress", () -> todoClosureRepository.findChildProgress(List.of(todoId)));
+        queries.put("findDescendantIds", () -> todoClosureRepository.findDescendantIds(todoId));
+        queries.put("findLevel", () -> todoClosureRepository.findLevel(todoId));
+        queries.put("findHeight", () -> todoClosureRepository.findHeight(todoId));
+        queries.put("existsByIdAncestorIdAndIdDescendantId",
+                () -> todoClosureRepository.existsByIdAncestorIdAndIdDescendantId(todoId, todoId));
+        queries.put("findDescendantDescriptionIds", () -> todoClosureRepository.findDescendantDescriptionIds(todoId));
+        queries.put("findCompletedDescendantDescriptionIds",
+                () -> todoClosureRepository.findCompletedDescendantDescriptionIds("default"));
+        queries.put("detachSubtree", () -> todoClosureRepository.detachSubtree(todoId));
+        queries.put("deleteSubtreeLinks", () -> todoClosureRepository.deleteSubtreeLinks(todoId));
+        queries.put("deleteDescendants", () -> todoClosureRepository.deleteDescendants(todoId));
+        queries.put("findCompletedDescendantIds", () -> todoClosureRepository.findCompletedDescendantIds("default"));
+        queries.put("deleteCompletedDescendants", () -> todoClosureRepository.deleteCompletedDescendants("default"));
+        queries.put("deleteLinksTo", () -> todoClosureRepository.deleteLinksTo(List.of(todoId)));
+        queries.put("findTaggedWithAny", () -> todoRepository.findTaggedWithAny(List.of(1L, 2L), null));
+        queries.put("findTaggedWithAll", () -> todoRepository.findTaggedWithAll(List.of(1L, 2L), 2L, false));
+        queries.put("findByNameIn", () -> tagRepository.findByNameIn(List.of("work", "home")));
+        queries.put("findFacets", tagRepository::findFacets);
+        queries.put("findTagNames", () -> todoTagRepository.findTagNames(List.of(todoId)));
+        queries.put("deleteByTodoId", () -> todoTagRepository.deleteByTodoId(todoId));
+        queries.put("deleteSubtreeTags", () -> todoTagRepository.deleteSubtreeTags(todoId));
+        queries.put("deleteByTodoIdIn", () -> todoTagRepository.deleteByTodoIdIn(List.of(todoId)));
+        queries.put("findByTitleContainingIgnoreCase", () -> todoRepository.findByTitleContainingIgnoreCase("todo"));
+        queries.put("existsByRecurrenceIdAndCompletedFalse", () -> todoRepository.existsByRecurrenceIdAndCompletedFalse(1L));
+        queries.put("detachRecurrence", () -> todoRepository.detachRecurrence(1L));
+        queries.put("findForUpdate", () -> todoRecurrenceRepository.findForUpdate(1L));
+        queries.put("findRange", () -> todoEventRepository.findRange(todoId, 0, 20));
+        queries.put("findPage", () -> todoEventRepository.findPage(todoId, 0, PageRequest.of(0, 51)));
+        queries.put("findVersionsAt", () -> todoEventRepository.findVersionsAt(todoId, LocalDateTime.now(), PageRequest.of(0, 1)));
+        queries.put("findLatest", () -> todoSnapshotRepository.findLatest(todoId, 20, PageRequest.of(0, 1)));
+        queries.put("saveAndFlush", () -> {
+            Todo todo = todoRepository.findById(todoId).orElseThrow();
+            todo.setTitle("Renamed");
+            todoRepository.saveAndFlush(todo);
+        });
+        queries.put("deleteByCompletedTrue", todoRepository::deleteByCompletedTrue);
+        queries.put("deleteById", () -> {
+            todoRepository.deleteById(todoId);
+            entityManager.flush();
+        });
+        queries.put("deleteAll", () -> {
+            todoRepository.deleteAll();
+            entityManager.flush();
+        });
+
+        // When
+        List<String> fullScans = new ArrayList<>();
+        int explained = 0;
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            QueryPlanRecorder.clear();
+            query.getValue().run();
+            List<String> statements = QueryPlanRecorder.recordedQueries();
+            assertFalse(statements.isEmpty(), query.getKey() + " issued no SQL");
+            for (String sql : statements) {
+                String plan = explain(sql);
+                explained++;
+                if (QueryPlanRecorder.isFullScan(plan)) {
+                    fullScans.add(query.getKey() + ":\n" + plan);
+                }
+            }
+            entityManager.clear();
+        }
+
+        // Then
+        assertTrue(explained >= queries.size());
+        assertTrue(fullScans.isEmpty(), "Full table scans found:\n" + String.join("\n\n", fullScans));
+    }
+
+    @Test
+    void shouldDetectFullScanOnUnindexedPredicate() {
+        // When
+        String plan = explain("SELECT id FROM todos WHERE title = ?");
+
+        // Then
+        assertTrue(QueryPlanRecorder.isFullScan(plan), plan);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> QueryPlanRecorder.explain(connection, sql));
+    }
+}
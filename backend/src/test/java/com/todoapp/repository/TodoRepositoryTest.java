@@ -1,6 +1,8 @@
 package com.todoapp.repository;
 
 import com.todoapp.entity.Todo;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +27,9 @@ class TodoRepositoryTest {
     @Autowired
     private TodoRepository todoRepository;
     
+    @Autowired
+    private TodoDescriptionRepository todoDescriptionRepository;
+    
     private Todo completedTodo;
     private Todo pendingTodo;
     
@@ -103,4 +108,48 @@ class TodoRepositoryTest {
         assertEquals(1, foundTodos.size());
         assertEquals("Completed Todo", foundTodos.get(0).getTitle());
     }
+    
+    @Test
+    void shouldFindProjectionsWithoutManagingEntities() {
+        // When
+        List<TodoSummaryView> summaries = todoRepository.findAllByOrderByCreatedAtDesc(TodoSummaryView.class);
+        List<TodoPreviewView> pending = todoRepository.findByCompletedOrderByCreatedAtDesc(false, TodoPreviewView.class);
+        List<TodoListView> full = todoRepository.findWithDescriptionByCompletedOrderByCreatedAtDesc(false);
+        
+        // Then
+        assertEquals(2, summaries.size());
+        assertEquals(1, pending.size());
+        assertEquals("This is pending", pending.get(0).getDescriptionPreview());
+        assertEquals("This is pending".length(), pending.get(0).getDescriptionLength());
+        assertFalse(pending.get(0) instanceof TodoListView);
+        assertEquals("This is pending", full.get(0).getDescription());
+        // 投影查询不会把实体放入持久化上下文
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+    
+    @Test
+    void shouldLoadDescriptionBodyLazily() {
+        // When
+        Todo todo = todoRepository.findById(pendingTodo.getId()).orElseThrow();
+        
+        // Then
+        assertFalse(Hibernate.isInitialized(todo.getDescriptionBody()));
+        assertEquals("This is pending", todo.getDescriptionPreview());
+        assertEquals("This is pending", todo.getDescription());
+        assertTrue(Hibernate.isInitialized(todo.getDescriptionBody()));
+    }
+    
+    @Test
+    void shouldCleanUpDescriptionsOfDeletedCompletedTodos() {
+        // Given
+        List<Long> descriptionIds = todoRepository.findDescriptionIdsByCompletedTrue();
+        
+        // When
+        todoRepository.deleteByCompletedTrue();
+        todoDescriptionRepository.deleteAllByIdInBatch(descriptionIds);
+        
+        // Then
+        assertEquals(1, descriptionIds.size());
+        assertEquals(1, todoDescriptionRepository.count());
+    }
 }
@@ -0,0 +1,163 @@
+package com.todoapp.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.todoapp.config.CoalescingProperties;
+import com.todoapp.dto.TodoResponse;
+import com.todoapp.exception.TodoNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RequestCoalescer单元测试
+ */
+class RequestCoalescerTest {
+
+    private CoalescingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CoalescingProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(properties, meterRegistry);
+    }
+
+    @Test
+    void shouldShareInFlightCallBetweenConcurrentCallers() throws Exception {
+        // Given
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> coalescer.execute("stats:", String.class, () -> {
+            loads.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return "result";
+        })));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < callers; i++) {
+            results.add(executor.submit(() -> coalescer.execute("stats:", String.class, () -> {
+                loads.incrementAndGet();
+                return "other";
+            })));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("todo.coalescing.saved", "operation", "stats").count() < callers - 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            assertEquals("result", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.counter("todo.coalescing.db.calls", "operation", "stats").count());
+        assertEquals(callers - 1.0, meterRegistry.counter("todo.coalescing.saved", "operation", "stats").count());
+    }
+
+    @Test
+    void shouldNotReuseCompletedResultWithoutWindow() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        coalescer.execute("get:1", Integer.class, loads::incrementAndGet);
+        coalescer.execute("get:1", Integer.class, loads::incrementAndGet);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldReuseCompletedResultWithinWindowUntilInvalidated() {
+        // Given
+        properties.setWindowMs(60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        Integer first = coalescer.execute("list:null", Integer.class, loads::incrementAndGet);
+        Integer second = coalescer.execute("list:null", Integer.class, loads::incrementAndGet);
+        coalescer.invalidateAll();
+        Integer third = coalescer.execute("list:null", Integer.class, loads::incrementAndGet);
+
+        // Then
+        assertEquals(1, first);
+        assertEquals(1, second);
+        assertEquals(2, third);
+    }
+
+    @Test
+    void shouldPropagateLoaderExceptionAndRetryNextCall() {
+        // Given
+        properties.setWindowMs(60_000);
+
+        // When & Then
+        assertThrows(TodoNotFoundException.class, () -> coalescer.execute("get:999", String.class, () -> {
+            throw new TodoNotFoundException(999L);
+        }));
+        assertEquals("found", coalescer.execute("get:999", String.class, () -> "found"));
+    }
+
+    @Test
+    void shouldGiveEachCallerItsOwnCopyOfSharedResult() {
+        // Given
+        properties.setWindowMs(60_000);
+        TodoResponse todo = new TodoResponse();
+        todo.setId(1L);
+        todo.setTitle("shared");
+        todo.setCompleted(false);
+        todo.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6_000));
+        todo.setTags(new ArrayList<>(List.of("work")));
+        TypeReference<List<TodoResponse>> type = new TypeReference<>() {};
+
+        // When
+        List<TodoResponse> first = coalescer.execute("list:null", type, () -> new ArrayList<>(List.of(todo)));
+        first.get(0).setTitle("changed by first caller");
+        first.get(0).getTags().add("decorated");
+        first.add(new TodoResponse());
+        List<TodoResponse> second = coalescer.execute("list:null", type, List::of);
+        TodoService.TodoStatsResponse stats = coalescer.execute("stats:", TodoService.TodoStatsResponse.class,
+                () -> new TodoService.TodoStatsResponse(3, 1, 2));
+        TodoService.TodoStatsResponse sharedStats = coalescer.execute("stats:", TodoService.TodoStatsResponse.class,
+                () -> null);
+
+        // Then
+        assertEquals(1, second.size());
+        assertEquals("shared", second.get(0).getTitle());
+        assertEquals(List.of("work"), second.get(0).getTags());
+        assertEquals(todo.getCreatedAt(), second.get(0).getCreatedAt());
+        assertNotSame(stats, sharedStats);
+        assertEquals(3, sharedStats.getTotal());
+        assertEquals(2, sharedStats.getPending());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
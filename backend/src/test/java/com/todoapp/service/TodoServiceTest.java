@@ -1,19 +1,39 @@
 package com.todoapp.service;
 
+import com.todoapp.cache.TodoIdFilter;
+import com.todoapp.config.LookupProperties;
+import com.todoapp.config.OrderingProperties;
 import com.todoapp.dto.TodoCreateRequest;
+import com.todoapp.dto.TodoFieldSet;
+import com.todoapp.dto.TodoLookupResponse;
+import com.todoapp.dto.TodoMoveRequest;
 import com.todoapp.dto.TodoResponse;
 import com.todoapp.dto.TodoUpdateRequest;
 import com.todoapp.entity.Todo;
 import com.todoapp.exception.TodoNotFoundException;
+import com.todoapp.exception.TodoPositionConflictException;
+import com.todoapp.ordering.TodoPositionHeads;
+import com.todoapp.ordering.TodoRebalancer;
+import com.todoapp.repository.ArchivedTodoRepository;
+import com.todoapp.repository.TodoClosureRepository;
+import com.todoapp.repository.TodoDescriptionRepository;
+import com.todoapp.repository.TodoListView;
+import com.todoapp.repository.TodoPreviewView;
 import com.todoapp.repository.TodoRepository;
+import com.todoapp.repository.TodoSummaryView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -32,9 +52,41 @@ class TodoServiceTest {
     @Mock
     private TodoRepository todoRepository;
     
+    @Mock
+    private TodoDescriptionRepository todoDescriptionRepository;
+    
+    @Mock
+    private ArchivedTodoRepository archivedTodoRepository;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private TodoIdFilter todoIdFilter;
+    
+    @Spy
+    private LookupProperties lookupProperties = new LookupProperties();
+    
+    @Spy
+    private OrderingProperties orderingProperties = new OrderingProperties();
+    
+    @Mock
+    private TodoRebalancer todoRebalancer;
+
+    @Mock
+    private TodoPositionHeads todoPositionHeads;
+    
+    @Mock
+    private TodoClosureRepository todoClosureRepository;
+    
+    @Mock
+    private TodoTagService todoTagService;
+    
     @InjectMocks
     private TodoService todoService;
     
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    
     private Todo sampleTodo;
     
     @BeforeEach
@@ -46,6 +98,7 @@ class TodoServiceTest {
         sampleTodo.setCompleted(false);
         sampleTodo.setCreatedAt(LocalDateTime.now());
         sampleTodo.setUpdatedAt(LocalDateTime.now());
+        lenient().when(todoIdFilter.mightContain(anyLong())).thenReturn(true);
     }
     
     @Test
@@ -71,6 +124,24 @@ class TodoServiceTest {
         verify(todoRepository, times(1)).save(any(Todo.class));
     }
     
+    @Test
+    void shouldTagTodoWithoutReloadingTags() {
+        // Given
+        TodoCreateRequest request = new TodoCreateRequest("New Todo", null, List.of("Work", "home"), null);
+        Todo savedTodo = new Todo("New Todo", null);
+        savedTodo.setId(1L);
+        
+        when(todoRepository.save(any(Todo.class))).thenReturn(savedTodo);
+        when(todoTagService.replaceTags(1L, request.getTags())).thenReturn(new ArrayList<>(List.of("home", "work")));
+        
+        // When
+        TodoResponse result = todoService.createTodo(request);
+        
+        // Then
+        assertEquals(List.of("home", "work"), result.getTags());
+        verify(todoTagService, never()).attachTags(anyList());
+    }
+    
     @Test
     void shouldGetTodoByIdSuccessfully() {
         // Given
@@ -101,8 +172,8 @@ class TodoServiceTest {
     @Test
     void shouldGetAllTodosWithoutFilter() {
         // Given
-        List<Todo> todos = Arrays.asList(sampleTodo);
-        when(todoRepository.findAllByOrderByCreatedAtDesc()).thenReturn(todos);
+        List<TodoPreviewView> todos = Arrays.asList(projectionFactory.createProjection(TodoPreviewView.class, sampleTodo));
+        when(todoRepository.findAllByOrderByCreatedAtDesc(TodoPreviewView.class)).thenReturn(todos);
         
         // When
         List<TodoResponse> result = todoService.getAllTodos(null);
@@ -111,14 +182,18 @@ class TodoServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Test Todo", result.get(0).getTitle());
-        verify(todoRepository, times(1)).findAllByOrderByCreatedAtDesc();
+        assertNull(result.get(0).getDescription());
+        assertEquals("Test Description", result.get(0).getDescriptionPreview());
+        assertFalse(result.get(0).getDescriptionTruncated());
+        verify(todoRepository, times(1)).findAllByOrderByCreatedAtDesc(TodoPreviewView.class);
+        verify(todoRepository, never()).findAllByOrderByCreatedAtDesc();
     }
     
     @Test
     void shouldGetAllTodosWithCompletedFilter() {
         // Given
-        List<Todo> todos = Arrays.asList(sampleTodo);
-        when(todoRepository.findByCompletedOrderByCreatedAtDesc(false)).thenReturn(todos);
+        List<TodoPreviewView> todos = Arrays.asList(projectionFactory.createProjection(TodoPreviewView.class, sampleTodo));
+        when(todoRepository.findByCompletedOrderByCreatedAtDesc(false, TodoPreviewView.class)).thenReturn(todos);
         
         // When
         List<TodoResponse> result = todoService.getAllTodos(false);
@@ -126,7 +201,53 @@ class TodoServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(todoRepository, times(1)).findByCompletedOrderByCreatedAtDesc(false);
+        verify(todoRepository, times(1)).findByCompletedOrderByCreatedAtDesc(false, TodoPreviewView.class);
+    }
+    
+    @Test
+    void shouldTruncateLongDescriptionInPreview() {
+        // Given
+        sampleTodo.setDescription("x".repeat(Todo.DESCRIPTION_PREVIEW_LENGTH * 10));
+        List<TodoPreviewView> todos = Arrays.asList(projectionFactory.createProjection(TodoPreviewView.class, sampleTodo));
+        when(todoRepository.findAllByOrderByCreatedAtDesc(TodoPreviewView.class)).thenReturn(todos);
+        
+        // When
+        List<TodoResponse> result = todoService.getAllTodos(null);
+        
+        // Then
+        assertEquals(Todo.DESCRIPTION_PREVIEW_LENGTH, result.get(0).getDescriptionPreview().length());
+        assertTrue(result.get(0).getDescriptionTruncated());
+    }
+    
+    @Test
+    void shouldGetAllTodosWithFullDescription() {
+        // Given
+        List<TodoListView> todos = Arrays.asList(projectionFactory.createProjection(TodoListView.class, sampleTodo));
+        when(todoRepository.findAllWithDescriptionOrderByCreatedAtDesc()).thenReturn(todos);
+        
+        // When
+        List<TodoResponse> result = todoService.getAllTodos(null, TodoFieldSet.FULL);
+        
+        // Then
+        assertEquals("Test Description", result.get(0).getDescription());
+        assertNull(result.get(0).getDescriptionPreview());
+        verify(todoRepository, never()).findAllByOrderByCreatedAtDesc(TodoPreviewView.class);
+    }
+    
+    @Test
+    void shouldGetTodoSummariesWithoutDescription() {
+        // Given
+        List<TodoSummaryView> todos = Arrays.asList(projectionFactory.createProjection(TodoSummaryView.class, sampleTodo));
+        when(todoRepository.findAllByOrderByCreatedAtDesc(TodoSummaryView.class)).thenReturn(todos);
+        
+        // When
+        List<TodoResponse> result = todoService.getAllTodos(null, TodoFieldSet.SUMMARY);
+        
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("Test Todo", result.get(0).getTitle());
+        assertNull(result.get(0).getDescription());
+        verify(todoRepository, times(1)).findAllByOrderByCreatedAtDesc(TodoSummaryView.class);
     }
     
     @Test
@@ -191,6 +312,24 @@ class TodoServiceTest {
         verify(todoRepository, times(1)).deleteById(1L);
     }
     
+    @Test
+    void shouldDeleteSubtasksWithBulkStatements() {
+        // Given
+        when(todoRepository.existsById(1L)).thenReturn(true);
+        when(todoClosureRepository.findDescendantIds(1L)).thenReturn(List.of(2L, 3L));
+        when(todoClosureRepository.findDescendantDescriptionIds(1L)).thenReturn(List.of(9L));
+        
+        // When
+        todoService.deleteTodo(1L);
+        
+        // Then
+        verify(todoClosureRepository, times(1)).deleteDescendants(1L);
+        verify(todoClosureRepository, times(1)).deleteSubtreeLinks(1L);
+        verify(todoDescriptionRepository, times(1)).deleteAllByIdInBatch(List.of(9L));
+        verify(todoRepository, times(1)).deleteById(1L);
+        verify(eventPublisher, times(3)).publishEvent(any(Object.class));
+    }
+    
     @Test
     void shouldThrowExceptionWhenDeletingNonExistentTodo() {
         // Given
@@ -207,6 +346,8 @@ class TodoServiceTest {
     @Test
     void shouldDeleteCompletedTodosSuccessfully() {
         // Given
+        when(todoRepository.findDescriptionIdsByCompletedTrue()).thenReturn(List.of(7L, 8L));
+        when(todoRepository.findIdsByCompletedTrue()).thenReturn(List.of(1L, 2L, 3L));
         when(todoRepository.deleteByCompletedTrue()).thenReturn(3);
         
         // When
@@ -215,20 +356,81 @@ class TodoServiceTest {
         // Then
         assertEquals(3, result);
         verify(todoRepository, times(1)).deleteByCompletedTrue();
+        verify(todoClosureRepository, times(1)).deleteLinksTo(List.of(1L, 2L, 3L));
+        verify(todoTagService, times(1)).removeTags(List.of(1L, 2L, 3L));
+        verify(todoDescriptionRepository, times(1)).deleteAllByIdInBatch(List.of(7L, 8L));
     }
     
     @Test
     void shouldDeleteAllTodosSuccessfully() {
         // Given
-        when(todoRepository.count()).thenReturn(5L);
+        when(todoRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
         
         // When
         int result = todoService.deleteAllTodos();
         
         // Then
         assertEquals(5, result);
-        verify(todoRepository, times(1)).count();
         verify(todoRepository, times(1)).deleteAll();
+        verify(todoClosureRepository, times(1)).deleteLinksTo(List.of(1L, 2L, 3L, 4L, 5L));
+    }
+    
+    @Test
+    void shouldLookupTodosInRequestOrderUsingChunkedQueries() {
+        // Given
+        lookupProperties.setChunkSize(2);
+        when(todoRepository.findWithDescriptionByIdIn(List.of(3L, 1L))).thenReturn(List.of(view(1L), view(3L)));
+        when(todoRepository.findWithDescriptionByIdIn(List.of(2L, 4L))).thenReturn(List.of(view(2L)));
+        
+        // When
+        TodoLookupResponse result = todoService.lookupTodos(List.of(3L, 1L, 3L, 2L, 4L), false);
+        
+        // Then
+        assertEquals(List.of(3L, 1L, 2L), result.getTodos().stream().map(TodoResponse::getId).toList());
+        assertEquals(List.of(4L), result.getMissingIds());
+        verify(todoRepository, times(2)).findWithDescriptionByIdIn(any());
+        verify(archivedTodoRepository, never()).findAllById(any());
+    }
+    
+    @Test
+    void shouldRejectLookupOfTooManyIds() {
+        // Given
+        lookupProperties.setMaxIds(2);
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> todoService.lookupTodos(List.of(1L, 2L, 3L), false));
+        verify(todoRepository, never()).findWithDescriptionByIdIn(any());
+    }
+    
+    @Test
+    void shouldMoveTodoBetweenNeighboursRewritingOnlyItsPosition() {
+        // Given
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(sampleTodo));
+        when(todoRepository.findById(2L)).thenReturn(Optional.of(positioned(2L, "a")));
+        when(todoRepository.findById(3L)).thenReturn(Optional.of(positioned(3L, "c")));
+        when(todoRepository.saveAndFlush(sampleTodo)).thenReturn(sampleTodo);
+        
+        // When
+        TodoResponse result = todoService.moveTodo(1L, new TodoMoveRequest(2L, 3L));
+        
+        // Then
+        assertEquals("b", result.getPosition());
+        verify(todoRepository, times(1)).saveAndFlush(sampleTodo);
+        verify(todoRepository, never()).findPositionsAfter(any(), any(), any());
+        verifyNoInteractions(todoRebalancer);
+    }
+    
+    @Test
+    void shouldRequestRebalanceWhenNeighbourHasNoPosition() {
+        // Given
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(sampleTodo));
+        when(todoRepository.findById(2L)).thenReturn(Optional.of(positioned(2L, null)));
+        
+        // When & Then
+        assertThrows(TodoPositionConflictException.class,
+                () -> todoService.moveTodo(1L, new TodoMoveRequest(2L, null)));
+        verify(todoRebalancer, times(1)).requestRebalance(any());
+        verify(todoRepository, never()).saveAndFlush(any());
     }
     
     @Test
@@ -250,4 +452,17 @@ class TodoServiceTest {
         verify(todoRepository, times(1)).countByCompleted(true);
         verify(todoRepository, times(1)).countByCompleted(false);
     }
+    
+    private Todo positioned(Long id, String position) {
+        Todo todo = new Todo("Todo " + id, null);
+        todo.setId(id);
+        todo.setPosition(position);
+        return todo;
+    }
+    
+    private TodoListView view(Long id) {
+        Todo todo = new Todo("Todo " + id, "Description " + id);
+        todo.setId(id);
+        return projectionFactory.createProjection(TodoListView.class, todo);
+    }
 }
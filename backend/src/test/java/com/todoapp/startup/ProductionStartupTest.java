@@ -0,0 +1,74 @@
+package com.todoapp.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 生产启动配置测试
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:prodstartup;DB_CLOSE_DELAY=-1",
+        "todo.startup.warm-up.iterations=5"
+})
+@ActiveProfiles({"test", "prod"})
+class ProductionStartupTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Autowired
+    private WarmUpRunner warmUpRunner;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldSkipApiDocsAndNonCriticalBeans() {
+        // When
+        ResponseEntity<String> apiDocs = restTemplate.getForEntity("/api-docs", String.class);
+        ResponseEntity<String> metrics = restTemplate.getForEntity("/actuator/metrics", String.class);
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, apiDocs.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, metrics.getStatusCode());
+        assertTrue(context.getBeansOfType(OpenAPI.class).isEmpty());
+        assertFalse(context.getBeanFactory().containsSingleton("todoAdminController"));
+        assertFalse(context.getBeanFactory().containsSingleton("todoImportController"));
+    }
+
+    @Test
+    void shouldWarmUpHotPathsBeforeReportingReady() {
+        // Given
+        Timer listRequests = meterRegistry.find("http.server.requests").tag("uri", "/api/v1/todos").timer();
+
+        // When
+        ResponseEntity<String> readiness = restTemplate.getForEntity("/actuator/health/readiness", String.class);
+
+        // Then
+        assertEquals(5, warmUpRunner.getCompletedIterations());
+        assertNotNull(listRequests);
+        assertTrue(listRequests.count() >= 5);
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+        assertEquals(HttpStatus.OK, readiness.getStatusCode());
+        assertTrue(readiness.getBody().contains("\"UP\""));
+    }
+}
@@ -3,6 +3,7 @@
  */
 import React, { useState } from 'react';
 import { Todo } from '../types/todo';
+import { apiService } from '../services/api';
 import './TodoItem.css';
 
 interface TodoItemProps {
@@ -22,7 +23,8 @@ const TodoItem: React.FC<TodoItemProps> = ({
 }) => {
   const [isEditing, setIsEditing] = useState(false);
   const [editTitle, setEditTitle] = useState(todo.title);
-  const [editDescription, setEditDescription] = useState(todo.description || '');
+  const [editDescription, setEditDescription] = useState('');
+  const displayDescription = todo.description ?? todo.descriptionPreview;
 
   const handleToggle = async () => {
     try {
@@ -42,7 +44,19 @@ const TodoItem: React.FC<TodoItemProps> = ({
     }
   };
 
-  const handleEdit = () => {
+  const handleEdit = async () => {
+    // 列表只有描述预览，编辑前加载完整描述，避免保存时截断
+    if (todo.descriptionTruncated) {
+      try {
+        const detail = await apiService.getTodo(todo.id);
+        setEditDescription(detail.description || '');
+      } catch (error) {
+        console.error('加载完整描述失败:', error);
+        return;
+      }
+    } else {
+      setEditDescription(todo.description ?? todo.descriptionPreview ?? '');
+    }
     setIsEditing(true);
   };
 
@@ -68,7 +82,6 @@ const TodoItem: React.FC<TodoItemProps> = ({
 
   const handleCancel = () => {
     setEditTitle(todo.title);
-    setEditDescription(todo.description || '');
     setIsEditing(false);
   };
 
@@ -123,8 +136,11 @@ const TodoItem: React.FC<TodoItemProps> = ({
           ) : (
             <div className="display-content">
               <h3 className="todo-title">{todo.title}</h3>
-              {todo.description && (
-                <p className="todo-description">{todo.description}</p>
+              {displayDescription && (
+                <p className="todo-description">
+                  {displayDescription}
+                  {!todo.description && todo.descriptionTruncated && '…'}
+                </p>
               )}
               <div className="todo-meta">
                 <span className="todo-date">
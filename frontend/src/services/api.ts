@@ -68,8 +68,8 @@ class ApiService {
    */
   async getTodo(id: number): Promise<Todo> {
     try {
-      const response: AxiosResponse<Todo> = await this.api.get(`/todos/${id}`);
-      return response.data;
+      const response: AxiosResponse<TodoResponse> = await this.api.get(`/todos/${id}`);
+      return response.data.data;
     } catch (error) {
       console.error('Error fetching todo:', error);
       throw new Error('获取待办事项详情失败');
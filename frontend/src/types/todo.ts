@@ -6,6 +6,9 @@ export interface Todo {
   id: number;
   title: string;
   description?: string;
+  // 列表接口只返回描述预览，完整描述需通过详情接口获取
+  descriptionPreview?: string;
+  descriptionTruncated?: boolean;
   completed: boolean;
   createdAt: string;
   updatedAt: string;